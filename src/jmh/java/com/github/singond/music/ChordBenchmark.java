@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.singond.music.Inputs.Accidentals;
+
+/**
+ * Benchmarks of creating chords.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChordBenchmark {
+
+	/** The accidentals of the roots of the chords. */
+	@Param
+	public Accidentals accidentals;
+
+	private PitchClass[] roots;
+	private InvertibleChordType[] types;
+
+	@Setup
+	public void setup() {
+		roots = Inputs.pitchClasses(accidentals);
+		types = new InvertibleChordType[roots.length];
+		List<InvertibleChordType> symbolTypes = Chords.symbolTypes();
+		for (int i = 0; i < types.length; i++) {
+			InvertibleChordType type = symbolTypes.get(i % symbolTypes.size());
+			types[i] = type.invert(i % type.size());
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void chordAtRoot(Blackhole bh) {
+		for (int i = 0; i < roots.length; i++) {
+			bh.consume(Chords.chordAtRoot(roots[i], types[i]));
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the throughput of the corpus generator.
+ * The scores are per generated pitch or chord.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CorpusBenchmark {
+
+	private static final int LENGTH = 4096;
+
+	private CorpusGenerator generator;
+
+	@Setup
+	public void setup() {
+		generator = new CorpusGenerator(0x5EED);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public Pitch[] melody() {
+		return generator.melody(Keys.E_FLAT_MAJOR, Pitch.G3, Pitch.C6, LENGTH);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public int[] packedMelody() {
+		return generator.packedMelody(Keys.E_FLAT_MAJOR, Pitch.G3, Pitch.C6,
+				LENGTH);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public int[] packedPitchesParallel() {
+		return generator.packedPitches(Keys.E_FLAT_MAJOR, Pitch.G3, Pitch.C6,
+				LENGTH).parallel().toArray();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public ChordVoicing[] progression() {
+		return generator.progression(Keys.E_FLAT_MAJOR, Pitch.E2, Pitch.G5,
+				LENGTH);
+	}
+}
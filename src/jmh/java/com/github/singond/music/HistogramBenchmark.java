@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of counting pitch classes in all available threads
+ * at once, using a concurrent hash map of adders and using the striped
+ * histograms. The scores are per pitch in each thread.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class HistogramBenchmark {
+
+	private static final int LENGTH = 4096;
+
+	private final ConcurrentMap<PitchClass, LongAdder> map
+			= new ConcurrentHashMap<>();
+	private final PitchClassHistogram histogram
+			= PitchClassHistogram.bySpelledPitchClass();
+
+	private Pitch[] melody;
+	private int[] packedMelody;
+
+	@Setup
+	public void setup() {
+		melody = new CorpusGenerator(0x5EED)
+				.melody(Keys.C_SHARP_MINOR, Pitch.C2, Pitch.C7, LENGTH);
+		packedMelody = new int[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			packedMelody[i] = Pitch.pack(melody[i]);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public void concurrentMap() {
+		for (Pitch p : melody) {
+			PitchClass pc = p.pitchClass();
+			LongAdder adder = map.get(pc);
+			if (adder == null) {
+				LongAdder newAdder = new LongAdder();
+				adder = map.putIfAbsent(pc, newAdder);
+				if (adder == null) {
+					adder = newAdder;
+				}
+			}
+			adder.increment();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public void histogram() {
+		for (Pitch p : melody) {
+			histogram.add(p);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public void histogramBulkPacked() {
+		histogram.addAllPacked(packedMelody);
+	}
+}
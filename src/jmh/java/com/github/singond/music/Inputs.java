@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import java.util.Random;
+
+/**
+ * Generators of benchmark inputs.
+ * All inputs are generated from a fixed seed, so that every run
+ * of a benchmark measures the same data.
+ * <p>
+ * The enums used as benchmark parameters must be public, because they are
+ * referenced from the code generated by JMH in another package.
+ *
+ * @author Singon
+ */
+public final class Inputs {
+
+	/** The number of values processed by one invocation of a benchmark. */
+	static final int SIZE = 256;
+
+	private static final long SEED = 0x5EED;
+
+	private Inputs() {
+		throw new UnsupportedOperationException("Non-instantiable class");
+	}
+
+	/**
+	 * The range of accidentals of the generated pitch classes.
+	 */
+	public enum Accidentals {
+		/** From double flat to double sharp. */
+		COMMON(0, 2),
+		/** From sextuple flat to triple flat and from triple sharp
+		 *  to sextuple sharp. */
+		EXOTIC(3, 6);
+
+		private final int min;
+		private final int max;
+
+		private Accidentals(int min, int max) {
+			this.min = min;
+			this.max = max;
+		}
+
+		private int next(Random random) {
+			int steps = min + random.nextInt(max - min + 1);
+			return random.nextBoolean() ? steps : -steps;
+		}
+	}
+
+	/**
+	 * The range of octaves of the generated pitches,
+	 * relative to the range covered by the table of canonical pitches.
+	 */
+	public enum Octaves {
+		/** Octaves 0 to 8, inside the cached range. */
+		INSIDE(0, 8),
+		/** Octaves 40 to 48, outside the cached range. */
+		OUTSIDE(40, 48);
+
+		private final int min;
+		private final int max;
+
+		private Octaves(int min, int max) {
+			this.min = min;
+			this.max = max;
+		}
+
+		private int next(Random random) {
+			return min + random.nextInt(max - min + 1);
+		}
+	}
+
+	static Random random() {
+		return new Random(SEED);
+	}
+
+	static PitchClass[] pitchClasses(Accidentals accidentals) {
+		Random random = random();
+		BasePitchClass[] bases = BasePitchClass.values();
+		PitchClass[] result = new PitchClass[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			result[i] = PitchClass.of(bases[random.nextInt(bases.length)],
+					Accidental.ofSteps(accidentals.next(random)));
+		}
+		return result;
+	}
+
+	static int[] octaves(Octaves octaves) {
+		Random random = random();
+		int[] result = new int[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			result[i] = octaves.next(random);
+		}
+		return result;
+	}
+
+	static Pitch[] pitches(Accidentals accidentals, Octaves octaves) {
+		PitchClass[] pcs = pitchClasses(accidentals);
+		int[] octs = octaves(octaves);
+		Pitch[] result = new Pitch[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			result[i] = Pitch.of(pcs[i], octs[i]);
+		}
+		return result;
+	}
+
+	static SimpleInterval[] simpleIntervals() {
+		Random random = random();
+		SimpleInterval[] all = SimpleInterval.values()
+				.toArray(new SimpleInterval[0]);
+		SimpleInterval[] result = new SimpleInterval[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			result[i] = all[random.nextInt(all.length)];
+		}
+		return result;
+	}
+}
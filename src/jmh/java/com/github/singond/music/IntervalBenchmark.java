@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of interval arithmetic and lookup.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalBenchmark {
+
+	private SimpleInterval[] first;
+	private SimpleInterval[] second;
+	private int[] degrees;
+	private int[] semitones;
+
+	@Setup
+	public void setup() {
+		first = Inputs.simpleIntervals();
+		second = new SimpleInterval[first.length];
+		degrees = new int[first.length];
+		semitones = new int[first.length];
+		for (int i = 0; i < first.length; i++) {
+			second[i] = first[(i * 7 + 3) % first.length];
+			degrees[i] = first[i].degrees();
+			semitones[i] = first[i].semitones();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void sum(Blackhole bh) {
+		for (int i = 0; i < first.length; i++) {
+			bh.consume(Intervals.sum(first[i], second[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void simpleValueOf(Blackhole bh) {
+		for (int i = 0; i < degrees.length; i++) {
+			bh.consume(SimpleInterval.valueOf(degrees[i], semitones[i]));
+		}
+	}
+
+	/**
+	 * The former implementation of {@code SimpleInterval.valueOf},
+	 * which scans the list of all simple intervals.
+	 * Serves as a baseline for {@link #simpleValueOf}.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void simpleLinearScan(Blackhole bh) {
+		for (int i = 0; i < degrees.length; i++) {
+			bh.consume(linearScan(degrees[i], semitones[i]));
+		}
+	}
+
+	private static SimpleInterval linearScan(int degrees, int semitones) {
+		for (SimpleInterval i : SimpleInterval.values()) {
+			if (i.degrees() == degrees && i.semitones() == semitones) {
+				return i;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.singond.music.Inputs.Accidentals;
+
+/**
+ * Benchmarks of keys and scales.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyBenchmark {
+
+	/** The accidentals of the tonics of the keys. */
+	@Param
+	public Accidentals accidentals;
+
+	private Key[] keys;
+	private Degree[] degrees;
+	private Pitch start;
+	private Pitch end;
+
+	@Setup
+	public void setup() {
+		PitchClass[] tonics = Inputs.pitchClasses(accidentals);
+		keys = new Key[tonics.length];
+		for (int i = 0; i < tonics.length; i++) {
+			keys[i] = (i % 2 == 0 ? Keys.MAJOR : Keys.MINOR).in(tonics[i]);
+		}
+		degrees = new Degree[keys.length];
+		List<Degree> chromatic = Degree.CHROMATIC_DEGREES_ASC;
+		for (int i = 0; i < degrees.length; i++) {
+			degrees[i] = chromatic.get(i % chromatic.size());
+		}
+		start = Pitch.C2;
+		end = Pitch.C6;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void degree(Blackhole bh) {
+		for (int i = 0; i < keys.length; i++) {
+			bh.consume(keys[i].degree(degrees[i]));
+		}
+	}
+
+	/**
+	 * Generates the scale of each key across four octaves
+	 * and reads all of its pitches.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void allBetween(Blackhole bh) {
+		for (Key key : keys) {
+			List<Pitch> scale = Pitches.allBetween(
+					start, end, key.pitchClasses());
+			for (int i = 0; i < scale.size(); i++) {
+				bh.consume(scale.get(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.singond.music.Inputs.Accidentals;
+import com.github.singond.music.Inputs.Octaves;
+
+/**
+ * Benchmarks of creating, parsing and transposing pitches
+ * and pitch classes.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PitchBenchmark {
+
+	@Param
+	public Accidentals accidentals;
+
+	@Param
+	public Octaves octaves;
+
+	private PitchClass[] pitchClasses;
+	private int[] octaveNumbers;
+	private Pitch[] pitches;
+	private String[] names;
+	private SimpleInterval[] intervals;
+
+	@Setup
+	public void setup() {
+		pitchClasses = Inputs.pitchClasses(accidentals);
+		octaveNumbers = Inputs.octaves(octaves);
+		pitches = Inputs.pitches(accidentals, octaves);
+		names = new String[pitches.length];
+		for (int i = 0; i < pitches.length; i++) {
+			names[i] = pitches[i].toString();
+		}
+		intervals = Inputs.simpleIntervals();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void pitchOf(Blackhole bh) {
+		for (int i = 0; i < pitchClasses.length; i++) {
+			bh.consume(Pitch.of(pitchClasses[i], octaveNumbers[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void pitchValueOf(Blackhole bh) {
+		for (String name : names) {
+			bh.consume(Pitch.valueOf(name));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void pitchClassTransposeUp(Blackhole bh) {
+		for (int i = 0; i < pitchClasses.length; i++) {
+			bh.consume(pitchClasses[i].transposeUp(intervals[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void pitchTransposeUp(Blackhole bh) {
+		for (int i = 0; i < pitches.length; i++) {
+			bh.consume(pitches[i].transposeUp(intervals[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Inputs.SIZE)
+	public void pitchTransposeDown(Blackhole bh) {
+		for (int i = 0; i < pitches.length; i++) {
+			bh.consume(pitches[i].transposeDown(intervals[i]));
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of counting the occurrences of pitches in a melody
+ * using a hash map and using the dense pitch maps.
+ * The scores are per pitch.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PitchMapBenchmark {
+
+	private static final int LENGTH = 4096;
+
+	private Pitch[] melody;
+
+	@Setup
+	public void setup() {
+		melody = new CorpusGenerator(0x5EED)
+				.melody(Keys.B_FLAT_MINOR, Pitch.C2, Pitch.C7, LENGTH);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public Map<Pitch, Long> hashMap() {
+		Map<Pitch, Long> counts = new HashMap<>();
+		for (Pitch p : melody) {
+			Long count = counts.get(p);
+			counts.put(p, count == null ? 1 : count + 1);
+		}
+		return counts;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public PitchLongMap spelledMap() {
+		PitchLongMap counts = PitchLongMap.spelled();
+		for (Pitch p : melody) {
+			counts.add(p, 1);
+		}
+		return counts;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public PitchLongMap enharmonicMap() {
+		PitchLongMap counts = PitchLongMap.enharmonic();
+		for (Pitch p : melody) {
+			counts.add(p, 1);
+		}
+		return counts;
+	}
+}
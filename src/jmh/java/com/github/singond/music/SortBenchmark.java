@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of sorting pitches using a comparator and using
+ * the radix sort in {@link Pitches}.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+	/** The number of pitches to be sorted. */
+	@Param({"10000", "1000000"})
+	public int size;
+
+	private Pitch[] pitches;
+	private int[] packed;
+
+	@Setup
+	public void setup() {
+		pitches = new CorpusGenerator(0x5EED)
+				.melody(Keys.E_MAJOR, Pitch.C1, Pitch.C7, size);
+		packed = new int[size];
+		for (int i = 0; i < size; i++) {
+			packed[i] = Pitch.pack(pitches[i]);
+		}
+	}
+
+	@Benchmark
+	public Pitch[] comparator() {
+		Pitch[] copy = pitches.clone();
+		Arrays.sort(copy, Pitch.strictComparator());
+		return copy;
+	}
+
+	@Benchmark
+	public Pitch[] radix() {
+		Pitch[] copy = pitches.clone();
+		Pitches.sort(copy);
+		return copy;
+	}
+
+	@Benchmark
+	public Pitch[] parallelRadix() {
+		Pitch[] copy = pitches.clone();
+		Pitches.parallelSort(copy);
+		return copy;
+	}
+
+	@Benchmark
+	public int[] packedRadix() {
+		int[] copy = packed.clone();
+		Pitches.sortPacked(copy);
+		return copy;
+	}
+}
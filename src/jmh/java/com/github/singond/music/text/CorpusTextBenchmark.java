@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music.text;
+
+import java.text.ParsePosition;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.singond.music.CorpusGenerator;
+import com.github.singond.music.Keys;
+import com.github.singond.music.PackedPitchGroup;
+import com.github.singond.music.Pitch;
+import com.github.singond.music.Pitches;
+
+/**
+ * End-to-end benchmarks of formatting and parsing a generated melody
+ * as text. The scores are per pitch.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CorpusTextBenchmark {
+
+	/** The name of a constant in {@code PitchFormats}. */
+	@Param({"SCIENTIFIC", "HELMHOLTZ_B_ASCII", "HELMHOLTZ_H_UNICODE"})
+	public String format;
+
+	private static final int LENGTH = 4096;
+
+	private PitchFormat pitchFormat;
+	private PackedPitchGroup melody;
+	/** The melody formatted using {@code pitchFormat}. */
+	private String text;
+	/** The melody formatted using {@code Pitch.toString}. */
+	private String defaultText;
+	private StringBuilder builder;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		pitchFormat = (PitchFormat) PitchFormats.class
+				.getField(format).get(null);
+		melody = PackedPitchGroup.ofPacked(new CorpusGenerator(0x5EED)
+				.packedMelody(Keys.F_SHARP_MINOR, Pitch.C2, Pitch.C7, LENGTH));
+		text = pitchFormat.formatTo(melody, " ", new StringBuilder())
+				.toString();
+		StringBuilder sb = new StringBuilder();
+		for (Pitch p : melody) {
+			sb.append(p).append(' ');
+		}
+		defaultText = sb.toString();
+		builder = new StringBuilder(text.length());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public StringBuilder formatTo() {
+		builder.setLength(0);
+		return pitchFormat.formatTo(melody, " ", builder);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public void parse(Blackhole bh) {
+		ParsePosition pos = new ParsePosition(0);
+		while (pos.getIndex() < text.length()) {
+			bh.consume(pitchFormat.parse(text, pos));
+			// Skip the separator
+			pos.setIndex(pos.getIndex() + 1);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public int[] parsePacked() {
+		return Pitches.parsePacked(defaultText);
+	}
+}
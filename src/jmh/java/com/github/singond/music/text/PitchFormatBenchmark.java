@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music.text;
+
+import java.text.ParsePosition;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.singond.music.Pitch;
+import com.github.singond.music.PitchClass;
+
+/**
+ * Benchmarks of formatting and parsing pitches using all formats
+ * provided by {@link PitchFormats}.
+ *
+ * @author Singon
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PitchFormatBenchmark {
+
+	/** The name of a constant in {@code PitchFormats}. */
+	@Param({"SCIENTIFIC", "HELMHOLTZ_B_ASCII", "HELMHOLTZ_B_UNICODE",
+			"HELMHOLTZ_H_ASCII", "HELMHOLTZ_H_UNICODE"})
+	public String format;
+
+	private static final int SIZE = 256;
+
+	private PitchFormat pitchFormat;
+	private Pitch[] pitches;
+	private String[] texts;
+	private StringBuilder builder;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		pitchFormat = (PitchFormat) PitchFormats.class
+				.getField(format).get(null);
+		pitches = new Pitch[SIZE];
+		texts = new String[SIZE];
+		List<PitchClass> pitchClasses = PitchClass.commonPitchClasses();
+		for (int i = 0; i < SIZE; i++) {
+			// All common pitch classes in octaves 1 to 7
+			pitches[i] = Pitch.of(pitchClasses.get(i % pitchClasses.size()),
+					1 + i / pitchClasses.size() % 7);
+			texts[i] = pitchFormat.format(pitches[i]).toString();
+		}
+		builder = new StringBuilder();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void format(Blackhole bh) {
+		for (Pitch p : pitches) {
+			bh.consume(pitchFormat.format(p));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void formatTo(Blackhole bh) {
+		for (Pitch p : pitches) {
+			builder.setLength(0);
+			bh.consume(pitchFormat.formatTo(p, builder));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void parse(Blackhole bh) {
+		ParsePosition pos = new ParsePosition(0);
+		for (String text : texts) {
+			pos.setIndex(0);
+			bh.consume(pitchFormat.parse(text, pos));
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+/**
+ * The common part of {@link PitchHistogram} and {@link PitchClassHistogram}.
+ *
+ * @author Singon
+ * @param <K> the type of the counted keys
+ */
+abstract class AbstractHistogram<K> {
+
+	final Binning<K> binning;
+	final StripedCounts counts;
+
+	AbstractHistogram(Binning<K> binning) {
+		this.binning = binning;
+		this.counts = new StripedCounts(binning.size());
+	}
+
+	/**
+	 * Returns the number of bins of this histogram.
+	 *
+	 * @return the number of bins
+	 */
+	public int bins() {
+		return binning.size();
+	}
+
+	/**
+	 * Counts the given pitch.
+	 *
+	 * @param pitch the pitch to be counted
+	 * @throws NullPointerException if {@code pitch} is null
+	 */
+	public void add(Pitch pitch) {
+		counts.add(binning.binOfPitch(pitch), 1);
+	}
+
+	/**
+	 * Counts the given packed pitch (see {@link Pitch#pack(Pitch)}).
+	 *
+	 * @param packed the packed pitch to be counted
+	 */
+	public void addPacked(int packed) {
+		counts.add(binning.binOfPacked(packed), 1);
+	}
+
+	/**
+	 * Counts all pitches of the given group, for example
+	 * a {@link ChordVoicing}.
+	 * The pitches are counted locally first and then added to the shared
+	 * counts at once.
+	 *
+	 * @param pitches the pitches to be counted
+	 * @throws NullPointerException if any of the pitches is null
+	 */
+	public void addAll(PitchGroup pitches) {
+		if (pitches instanceof PackedPitchGroup) {
+			addAllPacked((PackedPitchGroup) pitches);
+			return;
+		}
+		int n = pitches.size();
+		if (isSmall(n)) {
+			for (Pitch p : pitches) {
+				add(p);
+			}
+			return;
+		}
+		long[] local = new long[binning.size() + 1];
+		for (Pitch p : pitches) {
+			local[index(binning.binOfPitch(p))]++;
+		}
+		counts.addAll(local);
+	}
+
+	/**
+	 * Counts all packed pitches in the given array.
+	 *
+	 * @param packed the packed pitches to be counted
+	 */
+	public void addAllPacked(int[] packed) {
+		if (isSmall(packed.length)) {
+			for (int p : packed) {
+				addPacked(p);
+			}
+			return;
+		}
+		long[] local = new long[binning.size() + 1];
+		for (int p : packed) {
+			local[index(binning.binOfPacked(p))]++;
+		}
+		counts.addAll(local);
+	}
+
+	/**
+	 * Counts the packed pitches of the given group without copying them.
+	 */
+	private void addAllPacked(PackedPitchGroup group) {
+		int n = group.size();
+		if (isSmall(n)) {
+			for (int i = 0; i < n; i++) {
+				addPacked(group.getPacked(i));
+			}
+			return;
+		}
+		long[] local = new long[binning.size() + 1];
+		for (int i = 0; i < n; i++) {
+			local[index(binning.binOfPacked(group.getPacked(i)))]++;
+		}
+		counts.addAll(local);
+	}
+
+	/**
+	 * Returns whether the given number of keys is small enough to be
+	 * counted directly rather than locally.
+	 */
+	final boolean isSmall(int n) {
+		return 4 * n < binning.size();
+	}
+
+	/**
+	 * Returns the index of the given bin in an array of local counts.
+	 */
+	final int index(int bin) {
+		return bin >= 0 ? bin : binning.size();
+	}
+
+	/**
+	 * Returns the current count of the bin of the given key.
+	 * The result is exact only if no keys are being added concurrently.
+	 *
+	 * @param key the key
+	 * @return the count in the bin of {@code key}, or the out-of-range
+	 *         count if {@code key} does not fall into any bin
+	 */
+	public long count(K key) {
+		return counts.get(binning.bin(key));
+	}
+
+	/**
+	 * Returns the current number of all counted keys.
+	 * The result is exact only if no keys are being added concurrently.
+	 *
+	 * @return the total count
+	 */
+	public long total() {
+		long total = 0;
+		for (long count : counts.sum()) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Returns a snapshot of the current counts.
+	 * Keys added concurrently with this method may or may not be included.
+	 *
+	 * @return an immutable copy of the counts
+	 */
+	public HistogramSnapshot<K> snapshot() {
+		return new HistogramSnapshot<>(binning, counts.sum());
+	}
+
+	/**
+	 * Resets all counts to zero.
+	 * Keys added concurrently with this method may or may not be counted.
+	 */
+	public void reset() {
+		counts.reset();
+	}
+}
@@ -1,6 +1,5 @@
 package com.github.singond.music;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -13,6 +12,15 @@ import java.util.List;
  */
 abstract class AbstractTypedChord implements Chord {
 
+	private static final Chords.Transposition<PitchClass> TRANSPOSITION
+			= new Chords.Transposition<PitchClass>() {
+				@Override
+				public PitchClass transposeUp(PitchClass note,
+						int degrees, int semitones) {
+					return note.transposeUp(degrees, semitones);
+				}
+			};
+
 	private final PitchClass root;
 	private final List<PitchClass> notes;
 	private final ChordType type;
@@ -29,33 +37,20 @@ abstract class AbstractTypedChord implements Chord {
 	protected AbstractTypedChord(PitchClass root, List<PitchClass> notes,
 	                             ChordType type) {
 		this.root = root;
-		this.notes = notes;
+		this.notes = Collections.unmodifiableList(notes);
 		this.type = type;
 	}
 
 	protected static final List<PitchClass> fromBass(
 			PitchClass bass, ChordType type) {
-		List<PitchClass> result = new ArrayList<>(type.size());
-		PitchClass note = bass;
-		result.add(note);
-		for (Interval i : type.structure()) {
-			note = note.transposeUp(i);
-			result.add(note);
-		}
-		return result;
+		return Chords.build(bass, type, 0,
+				new PitchClass[type.size()], TRANSPOSITION);
 	}
 
 	protected static final List<PitchClass> fromRoot(
 			PitchClass root, ChordType type) {
-		List<PitchClass> result = new ArrayList<>(type.size());
-		Interval rootInt = type.heightAboveBass(type.rootIndex());
-		PitchClass note = root.transposeDown(rootInt);
-		result.add(note);
-		for (Interval i : type.structure()) {
-			note = note.transposeUp(i);
-			result.add(note);
-		}
-		return result;
+		return Chords.build(root, type, type.rootIndex(),
+				new PitchClass[type.size()], TRANSPOSITION);
 	}
 
 	@Override
@@ -65,7 +60,7 @@ abstract class AbstractTypedChord implements Chord {
 
 	@Override
 	public List<PitchClass> notes() {
-		return Collections.unmodifiableList(notes);
+		return notes;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package com.github.singond.music;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -14,6 +13,14 @@ import java.util.List;
  */
 abstract class AbstractTypedChordVoicing implements ChordVoicing {
 
+	private static final Chords.Transposition<Pitch> TRANSPOSITION
+			= new Chords.Transposition<Pitch>() {
+				@Override
+				public Pitch transposeUp(Pitch note, int degrees, int semitones) {
+					return note.transposeUp(degrees, semitones);
+				}
+			};
+
 	private final Pitch root;
 	private final List<Pitch> notes;
 	private final ChordType type;
@@ -30,36 +37,25 @@ abstract class AbstractTypedChordVoicing implements ChordVoicing {
 	protected AbstractTypedChordVoicing(
 			Pitch root, List<Pitch> notes, ChordType type) {
 		this.root = root;
-		this.notes = notes;
+		this.notes = Collections.unmodifiableList(notes);
 		this.type = type;
 	}
 
-	protected static final List<Pitch> fromBass(Pitch bass, ChordType type) {
-		List<Pitch> result = new ArrayList<>(type.size());
-		Pitch note = bass;
-		result.add(note);
-		for (Interval i : type.structure()) {
-			note = note.transposeUp(i);
-			result.add(note);
-		}
-		return result;
+	protected static final List<Pitch> fromBass(
+			Pitch bass, ChordType type) {
+		return Chords.build(bass, type, 0,
+				new Pitch[type.size()], TRANSPOSITION);
 	}
 
-	protected static final List<Pitch> fromRoot(Pitch root, ChordType type) {
-		List<Pitch> result = new ArrayList<>(type.size());
-		Interval rootInt = type.heightAboveBass(type.rootIndex());
-		Pitch note = root.transposeDown(rootInt);
-		result.add(note);
-		for (Interval i : type.structure()) {
-			note = note.transposeUp(i);
-			result.add(note);
-		}
-		return result;
+	protected static final List<Pitch> fromRoot(
+			Pitch root, ChordType type) {
+		return Chords.build(root, type, type.rootIndex(),
+				new Pitch[type.size()], TRANSPOSITION);
 	}
 
 	@Override
 	public List<Pitch> pitches() {
-		return Collections.unmodifiableList(notes);
+		return notes;
 	}
 
 	@Override
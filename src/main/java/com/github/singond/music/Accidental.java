@@ -16,19 +16,32 @@
 
 package com.github.singond.music;
 
+import java.io.Serializable;
+import java.text.ParsePosition;
 import java.util.Arrays;
-import java.util.regex.Pattern;
 
 /**
  * A modifier which changes the pitch of a note relative to its basic
  * (or "natural") pitch. This encompasses the notion of sharps and flats,
  * while allowing for more unusual accidentals like double or triple sharps.
  * <p>
- * Instances of this class are immutable.
+ * Instances of this class are immutable and canonical: there is only
+ * one instance of each accidental, so accidentals can be compared
+ * using the {@code ==} operator. This also holds for deserialized
+ * instances.
  *
  * @author Singon
  */
-public class Accidental implements Comparable<Accidental> {
+public class Accidental implements Comparable<Accidental>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The number of common accidentals (double flat to double sharp). */
+	private static final int COMMON_COUNT = 5;
+
+	/** The accidentals other than the common ones. */
+	private static final CanonicalPool<Accidental> pool
+			= new CanonicalPool<>(COMMON_COUNT);
 
 	// Preset most widely-used values
 	public static final Accidental DOUBLE_FLAT = new Accidental(-2);
@@ -37,9 +50,6 @@ public class Accidental implements Comparable<Accidental> {
 	public static final Accidental SHARP = new Accidental(1);
 	public static final Accidental DOUBLE_SHARP = new Accidental(2);
 
-	private static final Pattern FLAT_PATTERN = Pattern.compile("b+");
-	private static final Pattern SHARP_PATTERN = Pattern.compile("#+");
-
 	/**
 	 * The number of semitones above the natural pitch.
 	 */
@@ -48,9 +58,20 @@ public class Accidental implements Comparable<Accidental> {
 	/** The symbol string */
 	private final String symbolAscii;
 
+	/** The dense id of this accidental, see {@link #id()}. */
+	private final transient int id;
+
+	/**
+	 * Creates a common accidental.
+	 */
 	private Accidental(int shift) {
+		this(shift, shift + COMMON_COUNT / 2);
+	}
+
+	private Accidental(int shift, int id) {
 		this.shift = shift;
 		this.symbolAscii = makeAsciiSymbol(shift);
+		this.id = id;
 	}
 
 	/**
@@ -58,11 +79,12 @@ public class Accidental implements Comparable<Accidental> {
 	 * of semitone steps above the natural pitch.
 	 *
 	 * @param shift number of semitones above natural pitch
-	 * @return for the most commonly used values (double flat, flat,
-	 *         natural, sharp and double sharp) returns a cached object,
-	 *         otherwise this method may create a new object
+	 * @return the canonical instance of the accidental; the most
+	 *         commonly used values (double flat, flat, natural, sharp
+	 *         and double sharp) are always available, while other
+	 *         accidentals are created on first request
 	 */
-	public static Accidental ofSteps(int shift) {
+	public static Accidental ofSteps(final int shift) {
 		switch (shift) {
 			case -2:
 				return DOUBLE_FLAT;
@@ -75,10 +97,33 @@ public class Accidental implements Comparable<Accidental> {
 			case 2:
 				return DOUBLE_SHARP;
 			default:
-				return new Accidental(shift);
+				Accidental acc = pool.get(shift);
+				if (acc != null) {
+					return acc;
+				}
+				return pool.intern(shift, new CanonicalPool.Factory<Accidental>() {
+					@Override
+					public Accidental create(int id) {
+						return new Accidental(shift, id);
+					}
+				});
 		}
 	}
 
+	/**
+	 * Returns the dense id of this accidental. The common accidentals
+	 * have the ids from 0 (double flat) to 4 (double sharp); other
+	 * accidentals are assigned an id following this range when first
+	 * requested, which may be reused for another accidental once this
+	 * one is no longer reachable. No two live accidentals share an id,
+	 * but the ids of the other accidentals may differ between runs.
+	 *
+	 * @return the id of this accidental
+	 */
+	public int id() {
+		return id;
+	}
+
 	/**
 	 * Returns the number of steps above natural pitch that this accidental
 	 * represents.
@@ -133,30 +178,28 @@ public class Accidental implements Comparable<Accidental> {
 
 	@Override
 	public int hashCode() {
-		return shift;
+		return id;
 	}
 
 	/**
 	 * Indicates whether some other object is "equal to" this one.
 	 * In order for the other object to be equal to this one, it must be
-	 * also an {@code Accidental} ant it must represent the same relative
+	 * also an {@code Accidental} and it must represent the same relative
 	 * position to the respective natural pitch.
+	 * Because the instances are canonical, this is an identity comparison.
 	 *
-	 * @return {@code true}
+	 * @return {@code true} if {@code obj} is the same accidental
 	 */
 	@Override
 	public boolean equals(Object obj) {
-		if (this == obj) {
-			return true;
-		}
-		if (!(obj instanceof Accidental)) {
-			return false;
-		}
-		Accidental other = (Accidental) obj;
-		if (shift != other.shift) {
-			return false;
-		}
-		return true;
+		return this == obj;
+	}
+
+	/**
+	 * Replaces a deserialized accidental with the canonical instance.
+	 */
+	private Object readResolve() {
+		return ofSteps(shift);
 	}
 
 	@Override
@@ -177,28 +220,60 @@ public class Accidental implements Comparable<Accidental> {
 		}
 	}
 
+	/**
+	 * Parses an accidental from its symbol or name.
+	 * The symbol is "bb", "b", "#", "x", or any number of consecutive
+	 * flats or sharps; an empty string denotes natural.
+	 * The names "double flat", "flat", "natural", "sharp"
+	 * and "double sharp" are also recognized.
+	 *
+	 * @param s the string to be parsed
+	 * @return the accidental denoted by {@code s}
+	 * @throws NullPointerException if {@code s} is null
+	 * @throws FormatException if {@code s} is not a valid accidental
+	 */
 	public static Accidental valueOf(String s) {
 		if (s == null) {
 			throw new NullPointerException("The argument is null");
-		} else if (s.equals("bb") || s.equals("double flat")) {
+		}
+		ParsePosition pos = new ParsePosition(0);
+		int steps = PitchParser.parseAccidental(s, pos, s.length());
+		if (pos.getIndex() == s.length()) {
+			return ofSteps(steps);
+		} else if (s.equals("double flat")) {
 			return DOUBLE_FLAT;
-		} else if (s.equals("b") || s.equals("flat")) {
+		} else if (s.equals("flat")) {
 			return FLAT;
-		} else if (s.equals("") || s.equals("natural")) {
+		} else if (s.equals("natural")) {
 			return NATURAL;
-		} else if (s.equals("#") || s.equals("sharp")) {
+		} else if (s.equals("sharp")) {
 			return SHARP;
-		} else if (s.equals("x") || s.equals("double sharp")) {
+		} else if (s.equals("double sharp")) {
 			return DOUBLE_SHARP;
-		} else if (SHARP_PATTERN.matcher(s).matches()) {
-			return ofSteps(s.length());
-		} else if (FLAT_PATTERN.matcher(s).matches()) {
-			return ofSteps(-s.length());
 		} else {
 			throw new FormatException("Illegal accidental format: " + s);
 		}
 	}
 
+	/**
+	 * Parses an accidental symbol from the given character sequence,
+	 * starting at the index given by {@code pos}.
+	 * The symbol is "bb", "b", "#", "x", or any number of consecutive
+	 * flats or sharps. Names of accidentals are not recognized.
+	 * <p>
+	 * The index of {@code pos} is updated to the index after the last
+	 * character of the symbol. If there is no accidental symbol at the
+	 * index of {@code pos}, the index is not changed and {@code NATURAL}
+	 * is returned, so this method never fails.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the parsed accidental
+	 */
+	public static Accidental parse(CharSequence s, ParsePosition pos) {
+		return ofSteps(PitchParser.parseAccidental(s, pos, s.length()));
+	}
+
 	/**
 	 * Compares this object with another accidental for size.
 	 * An accidental is "greater than" another accidental if it is "sharper";
@@ -59,6 +59,9 @@ public enum BasePitchClass {
 	 */
 	B (11);
 
+	/** All values of this enum, cached to avoid cloning in {@code values()}. */
+	private static final BasePitchClass[] VALUES = values();
+
 	/**
 	 * The number of semitone steps above the reference tone
 	 */
@@ -89,6 +92,15 @@ public enum BasePitchClass {
 		return steps;
 	}
 
+	/**
+	 * Returns the zero-based position of this pitch class on the line
+	 * of fifths {@code F, C, G, D, A, E, B}.
+	 * @return
+	 */
+	int fifthsPosition() {
+		return (2 * ordinal() + 1) % 7;
+	}
+
 	/**
 	 * Returns the base pitch class which is the given number of degrees
 	 * ahead of this pitch class, wrapping around if necessary.
@@ -105,7 +117,7 @@ public enum BasePitchClass {
 	public BasePitchClass advance(int shift) {
 		int thisIndex = ordinal();
 		int nextIndex = (((thisIndex + shift) % 7) + 7) % 7;
-		return values()[nextIndex];
+		return VALUES[nextIndex];
 	}
 
 	/**
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+/**
+ * Assigns pitches or pitch classes to the bins of a histogram.
+ * <p>
+ * Every binning has a fixed number of bins. Keys which do not fall
+ * into any bin are assigned the bin -1 and are counted as out of range.
+ * A binning of pitches can be folded into a binning of pitch classes,
+ * which maps every bin to the bin of its pitch class.
+ *
+ * @author Singon
+ * @param <K> the type of the keys counted in the histogram
+ */
+abstract class Binning<K> {
+
+	private static final int SEMITONES = 12;
+	private static final int MIDI_NUMBERS = 128;
+
+	/** Pitches binned by MIDI number from 0 to 127. */
+	static final Binning<Pitch> MIDI = new Binning<Pitch>(MIDI_NUMBERS) {
+		@Override
+		int bin(Pitch key) {
+			return binOfPitch(key);
+		}
+
+		@Override
+		int binOfPitch(Pitch pitch) {
+			return midiBin(pitch.midiNumber());
+		}
+
+		@Override
+		int binOfPacked(int packed) {
+			return midiBin(Pitch.packedMidi(packed));
+		}
+
+		@Override
+		Binning<PitchClass> folded() {
+			return SEMITONE_CLASS;
+		}
+
+		@Override
+		int fold(int bin) {
+			return bin % SEMITONES;
+		}
+	};
+
+	/** Pitches binned by id, for the pitches in the canonical table. */
+	static final Binning<Pitch> SPELLED_PITCH
+			= new Binning<Pitch>(Pitch.CACHE_SIZE) {
+		@Override
+		int bin(Pitch key) {
+			return binOfPitch(key);
+		}
+
+		@Override
+		int binOfPitch(Pitch pitch) {
+			int id = pitch.id();
+			return id < Pitch.CACHE_SIZE ? id : -1;
+		}
+
+		@Override
+		int binOfPacked(int packed) {
+			return Pitch.packedCacheIndex(packed);
+		}
+
+		@Override
+		Binning<PitchClass> folded() {
+			return SPELLED_PITCH_CLASS;
+		}
+
+		@Override
+		int fold(int bin) {
+			return Pitch.cacheIndexPitchClassId(bin);
+		}
+	};
+
+	/** Pitch classes binned by the number of semitones above C. */
+	static final Binning<PitchClass> SEMITONE_CLASS
+			= new Binning<PitchClass>(SEMITONES) {
+		@Override
+		int bin(PitchClass key) {
+			return Util.floorMod(key.stepsAboveReference(), SEMITONES);
+		}
+
+		@Override
+		int binOfPitch(Pitch pitch) {
+			return Util.floorMod(pitch.midiNumber(), SEMITONES);
+		}
+
+		@Override
+		int binOfPacked(int packed) {
+			return Util.floorMod(Pitch.packedMidi(packed), SEMITONES);
+		}
+	};
+
+	/** Pitch classes binned by id, for the common pitch classes. */
+	static final Binning<PitchClass> SPELLED_PITCH_CLASS
+			= new Binning<PitchClass>(PitchClass.COMMON_COUNT) {
+		@Override
+		int bin(PitchClass key) {
+			int id = key.id();
+			return id < PitchClass.COMMON_COUNT ? id : -1;
+		}
+
+		@Override
+		int binOfPitch(Pitch pitch) {
+			return bin(pitch.pitchClass());
+		}
+
+		@Override
+		int binOfPacked(int packed) {
+			return PitchClass.commonId(Pitch.packedBasePitchClass(packed),
+					Pitch.packedAccidental(packed));
+		}
+	};
+
+	private final int size;
+
+	private Binning(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Returns the number of bins.
+	 */
+	final int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the bin of the given key, or -1 if it is out of range.
+	 */
+	abstract int bin(K key);
+
+	/**
+	 * Returns the bin of the given pitch, or -1 if it is out of range.
+	 */
+	abstract int binOfPitch(Pitch pitch);
+
+	/**
+	 * Returns the bin of the given packed pitch,
+	 * or -1 if it is out of range.
+	 */
+	abstract int binOfPacked(int packed);
+
+	/**
+	 * Returns the binning of pitch classes into which this binning folds.
+	 * A binning of pitch classes folds into itself.
+	 */
+	@SuppressWarnings("unchecked")
+	Binning<PitchClass> folded() {
+		return (Binning<PitchClass>) this;
+	}
+
+	/**
+	 * Returns the bin of the folded binning which contains the given bin,
+	 * or -1 if it does not fall into any bin.
+	 */
+	int fold(int bin) {
+		return bin;
+	}
+
+	private static int midiBin(int midi) {
+		return midi >= 0 && midi < MIDI_NUMBERS ? midi : -1;
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+/**
+ * A snapshot of the usage statistics of a cache of instances.
+ * <p>
+ * A <em>hit</em> is a request which was satisfied by an instance already
+ * present in the cache, while a <em>miss</em> is a request which required
+ * a new instance to be created.
+ * An <em>eviction</em> is the removal of an instance from the cache
+ * in order to make room for another one.
+ * <p>
+ * Instances of this class are immutable.
+ *
+ * @author Singon
+ */
+public final class CacheStatistics {
+
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+
+	CacheStatistics(long hits, long misses, long evictions) {
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+
+	/**
+	 * Returns the number of requests satisfied from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long hitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of requests which required a new instance
+	 * to be created.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long missCount() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of instances removed from the cache.
+	 *
+	 * @return the number of evictions
+	 */
+	public long evictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the total number of requests to the cache.
+	 * This is the sum of hits and misses.
+	 *
+	 * @return the number of requests
+	 */
+	public long requestCount() {
+		return hits + misses;
+	}
+
+	/**
+	 * Returns the ratio of requests satisfied from the cache to all
+	 * requests. If no request has been made, this method returns 1.
+	 *
+	 * @return the ratio of hits to all requests
+	 */
+	public double hitRate() {
+		long requests = requestCount();
+		return requests == 0 ? 1.0 : (double) hits / requests;
+	}
+
+	@Override
+	public String toString() {
+		return "hits: " + hits + ", misses: " + misses
+				+ ", evictions: " + evictions;
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of canonical instances of a value class, used for the values
+ * which are not covered by the precomputed table of that class.
+ * <p>
+ * Each instance is identified by a {@code long} key derived from its
+ * state. The first request for a key creates the instance and assigns
+ * it an unused id; all later requests return the same instance for as
+ * long as it is reachable. The pool refers to its instances weakly,
+ * so an instance which is no longer used elsewhere is reclaimed by
+ * the garbage collector, and its id is given to the next instance
+ * created. The ids of the live instances of the class thus remain dense,
+ * and neither the pool nor the range of ids grows with the number
+ * of values which have ever been requested.
+ * Looking up an existing instance does not block.
+ *
+ * @author Singon
+ * @param <T> the type of the instances
+ */
+final class CanonicalPool<T> {
+
+	private final ConcurrentHashMap<Long, Entry<T>> instances
+			= new ConcurrentHashMap<>();
+	/** The entries whose instances have been reclaimed. */
+	private final ReferenceQueue<T> reclaimed = new ReferenceQueue<>();
+
+	/** The id to be assigned if there is no free id. */
+	private int nextId;
+	/** The ids of reclaimed instances, available for reuse. */
+	private int[] freeIds = new int[0];
+	private int freeCount;
+
+	/**
+	 * Creates an empty pool.
+	 *
+	 * @param firstId the id of the first instance to be created,
+	 *        usually the number of instances in the precomputed table
+	 */
+	CanonicalPool(int firstId) {
+		this.nextId = firstId;
+	}
+
+	/**
+	 * Returns the instance with the given key, or {@code null}
+	 * if it does not exist.
+	 */
+	T get(long key) {
+		Entry<T> entry = instances.get(key);
+		return entry == null ? null : entry.get();
+	}
+
+	/**
+	 * Returns the instance with the given key, creating it with
+	 * the given factory if it does not exist.
+	 */
+	synchronized T intern(long key, Factory<T> factory) {
+		expunge();
+		Entry<T> entry = instances.get(key);
+		T instance = entry == null ? null : entry.get();
+		if (instance == null) {
+			int id = newId();
+			instance = factory.create(id);
+			instances.put(key, new Entry<>(instance, key, id, reclaimed));
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the number of live instances in this pool.
+	 */
+	synchronized int size() {
+		expunge();
+		return instances.size();
+	}
+
+	private int newId() {
+		if (freeCount > 0) {
+			return freeIds[--freeCount];
+		}
+		if (nextId == Integer.MAX_VALUE) {
+			throw new IllegalStateException("Too many instances");
+		}
+		return nextId++;
+	}
+
+	/**
+	 * Removes the entries of reclaimed instances and frees their ids.
+	 */
+	private void expunge() {
+		Entry<?> entry;
+		while ((entry = (Entry<?>) reclaimed.poll()) != null) {
+			// The key may have been given to a new instance in the meantime
+			instances.remove(entry.key, entry);
+			if (freeCount == freeIds.length) {
+				freeIds = Arrays.copyOf(freeIds, Math.max(16, 2 * freeCount));
+			}
+			freeIds[freeCount++] = entry.id;
+		}
+	}
+
+	/**
+	 * A weak reference to an instance, which remembers its key and id
+	 * after the instance has been reclaimed.
+	 */
+	private static final class Entry<T> extends WeakReference<T> {
+		private final long key;
+		private final int id;
+
+		Entry(T instance, long key, int id, ReferenceQueue<T> queue) {
+			super(instance, queue);
+			this.key = key;
+			this.id = id;
+		}
+	}
+
+	/**
+	 * Creates a new instance with a given id.
+	 *
+	 * @param <T> the type of the instances
+	 */
+	interface Factory<T> {
+		T create(int id);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A table of canonical chord instances built on the predefined chord
+ * types, indexed by the chord type and the root.
+ * <p>
+ * Only chords of the chord types defined in {@link SmallChordType}
+ * and {@link DefaultChordType} are cached, and only if their root
+ * is a common pitch class (see {@link PitchClassSet#accepts}).
+ * For chord voicings, the octave of the root must also lie between
+ * {@link #MIN_OCTAVE} and {@link #MAX_OCTAVE}.
+ * The table is populated lazily: each slot is filled on its first
+ * request and never changes afterwards.
+ *
+ * @param <T> the type of the cached chords
+ * @author Singon
+ */
+final class ChordCache<T> {
+
+	/** The lowest octave of the root of a cached chord voicing. */
+	static final int MIN_OCTAVE = 1;
+	/** The highest octave of the root of a cached chord voicing. */
+	static final int MAX_OCTAVE = 7;
+
+	private static final int PITCH_CLASSES = PitchClass.COMMON_COUNT;
+	private static final int TYPES
+			= SmallChordType.all().size() + DefaultChordType.predefined().size();
+
+	private final AtomicReferenceArray<T> table;
+
+	/**
+	 * Creates an empty table for chords built on pitch classes
+	 * (if {@code voicings} is false) or on pitches (if true).
+	 */
+	ChordCache(boolean voicings) {
+		int octaves = voicings ? MAX_OCTAVE - MIN_OCTAVE + 1 : 1;
+		this.table = new AtomicReferenceArray<>(
+				TYPES * PITCH_CLASSES * octaves);
+	}
+
+	/**
+	 * Returns the index of the chord type among the predefined types,
+	 * or -1 if it is not one of them.
+	 */
+	private static int typeIndex(ChordType type) {
+		if (type instanceof SmallChordType) {
+			return ((SmallChordType) type).id();
+		} else if (type instanceof DefaultChordType
+				&& ((DefaultChordType) type).id() >= 0) {
+			return SmallChordType.all().size() + ((DefaultChordType) type).id();
+		} else {
+			return -1;
+		}
+	}
+
+	/**
+	 * Returns the index in the table of the chord of the given type
+	 * built on the given root, or -1 if such chord is not cached.
+	 */
+	static int index(ChordType type, PitchClass root) {
+		int typeIndex = typeIndex(type);
+		if (typeIndex < 0 || !PitchClassSet.accepts(root)) {
+			return -1;
+		}
+		return typeIndex * PITCH_CLASSES + root.id();
+	}
+
+	/**
+	 * Returns the index in the table of the chord voicing of the given
+	 * type built on the given root, or -1 if such chord is not cached.
+	 */
+	static int index(ChordType type, Pitch root) {
+		int octave = root.octave();
+		if (octave < MIN_OCTAVE || octave > MAX_OCTAVE) {
+			return -1;
+		}
+		int index = index(type, root.pitchClass());
+		if (index < 0) {
+			return -1;
+		}
+		return (octave - MIN_OCTAVE) * TYPES * PITCH_CLASSES + index;
+	}
+
+	/**
+	 * Returns the chord at the given index, or null if the slot
+	 * has not been filled yet.
+	 */
+	T get(int index) {
+		return table.get(index);
+	}
+
+	/**
+	 * Stores the given chord into the empty slot at the given index,
+	 * unless another thread has filled the slot in the meantime.
+	 *
+	 * @return the canonical instance stored in the slot
+	 */
+	T intern(int index, T chord) {
+		if (table.compareAndSet(index, null, chord)) {
+			return chord;
+		} else {
+			// Another thread was faster, use its instance
+			return table.get(index);
+		}
+	}
+}
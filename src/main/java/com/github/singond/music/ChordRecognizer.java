@@ -0,0 +1,317 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Identifies chords formed by given pitches or pitch classes.
+ * <p>
+ * The recognizer matches the notes against the interval structures
+ * of a set of registered chord types. Initially, these are all chord
+ * types predefined in {@link Chords}, including all inversions of the
+ * invertible ones; more types can be added using {@link #register}.
+ * <p>
+ * The notes are matched by their spelled intervals above the bass first.
+ * If no registered type matches the spelling, the notes are matched
+ * by their distances in semitones only, and the spelling of the recognized
+ * chord is derived from the bass. For example, the pitch classes
+ * [C, E, Ab] are recognized as an augmented triad on Ab, [Ab, C, E],
+ * because they are spelled as one when Ab is taken as the bass.
+ * The pitches [C4, E4, Ab4], on the other hand, have C in the bass,
+ * and no registered type is spelled as a major third and a minor sixth,
+ * so they are recognized as an augmented triad on C, [C, E, G#].
+ * Octave doublings are ignored, and notes are compared modulo octave.
+ * <p>
+ * Lookups do not construct any candidate chords; they consist of a single
+ * hash lookup for each candidate bass note.
+ * Instances of this class are thread-safe: any number of threads can
+ * perform lookups while another thread registers new chord types.
+ *
+ * @author Singon
+ */
+public final class ChordRecognizer {
+
+	private static final int DEGREES = 7;
+	private static final int SEMITONES = 12;
+	/** The height of the natural degrees of the major scale in semitones. */
+	private static final int[] NATURAL = {0, 2, 4, 5, 7, 9, 11};
+	/** The largest alteration of a degree which can be represented. */
+	private static final int MAX_ALTERATION = 3;
+	private static final int ALTERATIONS = 2 * MAX_ALTERATION + 1;
+
+	/**
+	 * The current index of chord types. The index is never modified,
+	 * it is replaced with a new one on every registration instead.
+	 */
+	private volatile Index index;
+
+	/**
+	 * Creates a new recognizer of the chord types predefined
+	 * in {@link Chords}.
+	 */
+	public ChordRecognizer() {
+		List<ChordType> types = new ArrayList<>();
+		types.addAll(SmallChordType.all());
+		types.addAll(DefaultChordType.predefined());
+		this.index = new Index(Collections.<ChordType, Long>emptyMap(),
+				Collections.<Long, ChordType>emptyMap(),
+				Collections.<Integer, ChordType>emptyMap()).with(types);
+	}
+
+	/**
+	 * Adds the given chord type to the types recognized by this recognizer.
+	 * If a type with the same structure (modulo octave) has already been
+	 * registered, the earlier type takes precedence in recognition.
+	 *
+	 * @param type the chord type to be recognized
+	 * @throws NullPointerException if {@code type} is null
+	 * @throws IllegalArgumentException if the structure of {@code type}
+	 *         contains an interval altered by more than three semitones
+	 *         from the major scale
+	 */
+	public synchronized void register(ChordType type) {
+		if (type == null) {
+			throw new NullPointerException("The chord type is null");
+		}
+		index = index.with(Collections.singletonList(type));
+	}
+
+	/**
+	 * Returns all chord types recognized by this recognizer,
+	 * in the order of their registration.
+	 *
+	 * @return a list of the registered chord types
+	 */
+	public List<ChordType> registeredTypes() {
+		return new ArrayList<>(index.types.keySet());
+	}
+
+	/**
+	 * Identifies the chord formed by the given pitches.
+	 * The lowest pitch is taken as the bass, so the recognized chord type
+	 * is the inversion which corresponds to the voicing.
+	 *
+	 * @param pitches the pitches to be recognized
+	 * @return the chord formed by the pitch classes of {@code pitches},
+	 *         or {@code null} if they do not match any registered type
+	 */
+	public Chord recognize(PitchGroup pitches) {
+		if (pitches.size() == 0) {
+			return null;
+		}
+		Pitch bass = null;
+		for (Pitch p : pitches) {
+			if (bass == null || p.compareTo(bass) < 0) {
+				bass = p;
+			}
+		}
+		List<PitchClass> notes = new ArrayList<>(pitches.size());
+		for (Pitch p : pitches) {
+			notes.add(p.pitchClass());
+		}
+		Index idx = this.index;
+		ChordType type = idx.spelled(bass.pitchClass(), notes);
+		if (type == null) {
+			type = idx.enharmonic(bass.pitchClass(), notes);
+		}
+		return type == null ? null : chordAtBass(bass.pitchClass(), type);
+	}
+
+	/**
+	 * Identifies the chord formed by the given pitch classes.
+	 * Since the pitch classes carry no information about the bass,
+	 * the chord is returned in root position.
+	 *
+	 * @param pitchClasses the pitch classes to be recognized
+	 * @return the chord formed by {@code pitchClasses} in root position,
+	 *         or {@code null} if they do not match any registered type
+	 */
+	public Chord recognize(Collection<PitchClass> pitchClasses) {
+		Index idx = this.index;
+		for (PitchClass bass : pitchClasses) {
+			ChordType type = idx.spelled(bass, pitchClasses);
+			if (type != null && type.rootIndex() == 0) {
+				return chordAtBass(bass, type);
+			}
+		}
+		// Sort the candidates to make the choice independent of iteration
+		List<PitchClass> sorted = new ArrayList<>(pitchClasses);
+		Collections.sort(sorted);
+		for (PitchClass bass : sorted) {
+			ChordType type = idx.enharmonic(bass, pitchClasses);
+			if (type != null && type.rootIndex() == 0) {
+				return chordAtBass(bass, type);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Identifies the chord formed by the pitch classes in the given set.
+	 * This is equivalent to {@link #recognize(Collection)}.
+	 *
+	 * @param pitchClasses the pitch classes to be recognized
+	 * @return the chord formed by {@code pitchClasses} in root position,
+	 *         or {@code null} if they do not match any registered type
+	 */
+	public Chord recognize(PitchClassSet pitchClasses) {
+		return recognize((Collection<PitchClass>) pitchClasses);
+	}
+
+	private static Chord chordAtBass(PitchClass bass, ChordType type) {
+		if (type instanceof InvertibleChordType) {
+			return TypedInvertibleChord.ofBass(bass, (InvertibleChordType) type);
+		} else {
+			return TypedChord.ofBass(bass, type);
+		}
+	}
+
+	/**
+	 * Returns the bit representing a note at the given distance above
+	 * the bass in the spelled key, or -1 if it cannot be represented.
+	 */
+	private static int spelledBit(int degrees, int semitones) {
+		int octaves = Util.floorDiv(degrees, DEGREES);
+		int degree = degrees - octaves * DEGREES;
+		int alteration = semitones - octaves * SEMITONES - NATURAL[degree];
+		// Reduce to the nearest alteration in the case of wrapping
+		alteration = Util.floorMod(alteration + SEMITONES / 2, SEMITONES)
+				- SEMITONES / 2;
+		if (alteration < -MAX_ALTERATION || alteration > MAX_ALTERATION) {
+			return -1;
+		}
+		return degree * ALTERATIONS + alteration + MAX_ALTERATION;
+	}
+
+	/**
+	 * Returns the key of the given chord type in the spelled index.
+	 * This is a set of bits, each of which represents the spelled
+	 * interval class between the bass and a note of the chord.
+	 */
+	private static long spelledKey(ChordType type) {
+		long key = 0;
+		for (int i = 0; i < type.size(); i++) {
+			int bit = spelledBit(type.degreesAboveBass(i),
+					type.semitonesAboveBass(i));
+			if (bit < 0) {
+				throw new IllegalArgumentException(
+						"Chord type cannot be recognized: " + type);
+			}
+			key |= 1L << bit;
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the key of the given chord type in the enharmonic index.
+	 * This is a set of bits, each of which represents the distance
+	 * in semitones modulo octave between the bass and a note of the chord.
+	 */
+	private static int enharmonicKey(ChordType type) {
+		int key = 0;
+		for (int i = 0; i < type.size(); i++) {
+			key |= 1 << Util.floorMod(type.semitonesAboveBass(i), SEMITONES);
+		}
+		return key;
+	}
+
+	/**
+	 * An immutable index of chord types.
+	 */
+	private static final class Index {
+
+		/** The registered types and their spelled keys, in order. */
+		private final Map<ChordType, Long> types;
+		private final Map<Long, ChordType> bySpelling;
+		private final Map<Integer, ChordType> bySemitones;
+
+		Index(Map<ChordType, Long> types, Map<Long, ChordType> bySpelling,
+				Map<Integer, ChordType> bySemitones) {
+			this.types = types;
+			this.bySpelling = bySpelling;
+			this.bySemitones = bySemitones;
+		}
+
+		/**
+		 * Returns a new index containing the types of this index
+		 * and the given types.
+		 */
+		Index with(List<? extends ChordType> newTypes) {
+			Map<ChordType, Long> types = new LinkedHashMap<>(this.types);
+			Map<Long, ChordType> bySpelling = new HashMap<>(this.bySpelling);
+			Map<Integer, ChordType> bySemitones = new HashMap<>(this.bySemitones);
+			for (ChordType type : newTypes) {
+				if (types.containsKey(type)) {
+					continue;
+				}
+				long key = spelledKey(type);
+				types.put(type, key);
+				if (!bySpelling.containsKey(key)) {
+					bySpelling.put(key, type);
+				}
+				int enharmonic = enharmonicKey(type);
+				if (!bySemitones.containsKey(enharmonic)) {
+					bySemitones.put(enharmonic, type);
+				}
+			}
+			return new Index(types, bySpelling, bySemitones);
+		}
+
+		/**
+		 * Finds the chord type whose spelled structure above the given
+		 * bass matches the given notes.
+		 */
+		ChordType spelled(PitchClass bass, Iterable<PitchClass> notes) {
+			long key = 0;
+			int bassBase = bass.basePitchClass().ordinal();
+			int bassSteps = bass.stepsAboveReference();
+			for (PitchClass pc : notes) {
+				int bit = spelledBit(
+						Util.floorMod(pc.basePitchClass().ordinal() - bassBase,
+								DEGREES),
+						pc.stepsAboveReference() - bassSteps);
+				if (bit < 0) {
+					return null;
+				}
+				key |= 1L << bit;
+			}
+			return bySpelling.get(key);
+		}
+
+		/**
+		 * Finds the chord type whose structure in semitones above
+		 * the given bass matches the given notes.
+		 */
+		ChordType enharmonic(PitchClass bass, Iterable<PitchClass> notes) {
+			int key = 0;
+			int bassSteps = bass.stepsAboveReference();
+			for (PitchClass pc : notes) {
+				key |= 1 << Util.floorMod(pc.stepsAboveReference() - bassSteps,
+						SEMITONES);
+			}
+			return bySemitones.get(key);
+		}
+	}
+}
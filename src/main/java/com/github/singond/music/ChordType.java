@@ -93,4 +93,31 @@ public interface ChordType {
 	 *         between 0 (inclusive) and {@code size()} (exclusive)
 	 */
 	Interval heightAboveBass(int note);
-}
\ No newline at end of file
+
+	/**
+	 * Returns the number of diatonic degrees between the bass and a note
+	 * of this chord. This is equal to {@code heightAboveBass(note).degrees()}.
+	 *
+	 * @param note the zero-based index of the note in this chord
+	 * @return the number of diatonic degrees between bass and {@code note}
+	 * @throws IndexOutOfBoundsException if the argument does not lie
+	 *         between 0 (inclusive) and {@code size()} (exclusive)
+	 */
+	default int degreesAboveBass(int note) {
+		return heightAboveBass(note).degrees();
+	}
+
+	/**
+	 * Returns the number of semitones between the bass and a note
+	 * of this chord. This is equal to
+	 * {@code heightAboveBass(note).semitones()}.
+	 *
+	 * @param note the zero-based index of the note in this chord
+	 * @return the number of semitones between bass and {@code note}
+	 * @throws IndexOutOfBoundsException if the argument does not lie
+	 *         between 0 (inclusive) and {@code size()} (exclusive)
+	 */
+	default int semitonesAboveBass(int note) {
+		return heightAboveBass(note).semitones();
+	}
+}
@@ -1,5 +1,10 @@
 package com.github.singond.music;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class Chords {
 
 	/** A major triad, for example [C, E, G]. */
@@ -38,10 +43,102 @@ public class Chords {
 	/** An augmented major seventh chord, for example [C, E, G#, B]. */
 	public static final InvertibleChordType AUGMENTED_MAJOR_7 = SmallChordType.AUGMENTED_MAJOR_7;
 
+	private static final List<InvertibleChordType> SYMBOL_TYPES;
+	static {
+		List<InvertibleChordType> types = new ArrayList<>();
+		for (SmallChordType type : SmallChordType.all()) {
+			if (type.inversion() == 0) {
+				types.add(type);
+			}
+		}
+		SYMBOL_TYPES = Collections.unmodifiableList(types);
+	}
+
 	private Chords() {
 		throw new UnsupportedOperationException("Non-instantiable class");
 	}
 
+	/**
+	 * Creates a new chord type with the given interval structure
+	 * in root position.
+	 * Such chord type can be used to create chords or registered
+	 * in a {@link ChordRecognizer}.
+	 *
+	 * @param structure the intervals between adjacent notes of the chord,
+	 *        starting with the lowest pair
+	 * @return a chord type with the given structure
+	 * @throws NullPointerException if {@code structure} is null
+	 * @throws IllegalArgumentException if {@code structure} is empty
+	 */
+	public static final ChordType chordType(List<Interval> structure) {
+		return DefaultChordType.of(structure);
+	}
+
+	/**
+	 * Returns the predefined chord types in root position which have
+	 * a chord symbol, in the order of their definition.
+	 * The symbol of each type can be obtained using {@link #symbol}.
+	 *
+	 * @return an unmodifiable list of chord types with a symbol
+	 */
+	public static final List<InvertibleChordType> symbolTypes() {
+		return SYMBOL_TYPES;
+	}
+
+	/**
+	 * Returns the symbol of the given chord type, like "m" for a minor
+	 * triad or "maj7" for a major seventh chord.
+	 * All inversions of a chord type share the symbol of the chord type
+	 * in root position.
+	 *
+	 * @param type the chord type
+	 * @return the symbol of {@code type}, or {@code null} if it has none
+	 * @throws NullPointerException if {@code type} is null
+	 */
+	public static final String symbol(ChordType type) {
+		if (type == null) {
+			throw new NullPointerException("The chord type is null");
+		} else if (type instanceof SmallChordType) {
+			return ((SmallChordType) type).symbol();
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Transposes the notes of a chord, like pitches or pitch classes.
+	 *
+	 * @param <T> the type of the notes
+	 */
+	interface Transposition<T> {
+		T transposeUp(T note, int degrees, int semitones);
+	}
+
+	/**
+	 * Builds the notes of a chord of the given type from one of its notes.
+	 * Each note is obtained by a single transposition of {@code note}
+	 * by the difference of the precomputed heights above bass.
+	 *
+	 * @param note the known note of the chord
+	 * @param type the type of the chord
+	 * @param index the index of {@code note} in the chord
+	 * @param result an array of {@code type.size()} elements to be filled
+	 * @param transposition the transposition of the notes
+	 * @return all notes of the chord in ascending order,
+	 *         as a list backed by {@code result}
+	 */
+	static <T> List<T> build(T note, ChordType type, int index,
+			T[] result, Transposition<T> transposition) {
+		int degrees = type.degreesAboveBass(index);
+		int semitones = type.semitonesAboveBass(index);
+		for (int i = 0; i < result.length; i++) {
+			result[i] = i == index ? note : transposition.transposeUp(note,
+					type.degreesAboveBass(i) - degrees,
+					type.semitonesAboveBass(i) - semitones);
+		}
+		return Arrays.asList(result);
+	}
+
 	public static final Chord chordAtBass(
 			PitchClass bass, ChordType type) {
 		return TypedChord.ofBass(bass, type);
@@ -16,16 +16,30 @@
 
 package com.github.singond.music;
 
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * An interval spanning more than one octave,
  * which can be decomposed into at least one perfect octave and a single
  * simple interval.
  * These component intervals add up to the width of this interval.
- * Instances of this class are immutable.
+ * Intervals spanning a multiple of seven degrees above the octave
+ * are decomposed into an octave-sized simple part and the remaining
+ * octaves, so that the perfect fifteenth is a perfect octave plus
+ * one octave rather than a unison plus two octaves.
+ * Instances of this class are immutable and canonical, including
+ * deserialized instances.
+ * Note that the compound interval of a unison and one octave
+ * is equal to, but not the same instance as, the simple perfect octave;
+ * intervals should therefore be compared using {@code equals}.
  *
  * @author Singon
  */
-public final class CompoundInterval extends AbstractInterval implements Interval {
+public final class CompoundInterval extends AbstractInterval
+		implements Interval, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final SimpleInterval simple;
 	private final int octaves;
@@ -33,14 +47,94 @@ public final class CompoundInterval extends AbstractInterval implements Interval
 	private static final int OCTAVE_DEGREES = 7;
 	private static final int OCTAVE_SEMITONES = 12;
 
+	/*
+	 * The range of intervals covered by the table of canonical instances.
+	 */
+	private static final int MIN_CACHED_OCTAVES = 0;
+	private static final int MAX_CACHED_OCTAVES = 7;
+	private static final int SIMPLE_DEGREES = SimpleInterval.MAX_DEGREES + 1;
+	private static final int SIMPLE_SEMITONES = SimpleInterval.MAX_SEMITONES + 1;
+
+	/**
+	 * Canonical instances of compound intervals, indexed by the number
+	 * of octaves and the degrees and semitones of the simple part.
+	 * The table is populated lazily: each slot is filled on its first
+	 * request and never changes afterwards.
+	 */
+	private static final AtomicReferenceArray<CompoundInterval> cache
+			= new AtomicReferenceArray<>(SIMPLE_DEGREES * SIMPLE_SEMITONES
+					* (MAX_CACHED_OCTAVES - MIN_CACHED_OCTAVES + 1));
+
+	/** The instances outside the range of the table. */
+	private static final CanonicalPool<CompoundInterval> pool
+			= new CanonicalPool<>(0);
+
 	private CompoundInterval(SimpleInterval simple, int octaves) {
 		this.simple = simple;
 		this.octaves = octaves;
 	}
 
-	public static final CompoundInterval of(SimpleInterval simple, int octaves) {
-		// TODO Cache frequently used values (like up to 15th)?
-		return new CompoundInterval(simple, octaves);
+	/**
+	 * Returns a compound interval composed of the given simple interval
+	 * and the given number of perfect octaves.
+	 * The returned instance is canonical, that is, repeated calls with
+	 * the same arguments return the same instance. Instances spanning
+	 * up to seven octaves are looked up in a table.
+	 * A unison with more than one octave is normalized to an octave-sized
+	 * simple part with one octave less, so that for example
+	 * {@code of(UNISON, 2)} returns the same instance as
+	 * {@code of(PERFECT_OCTAVE, 1)}.
+	 *
+	 * @param simple the simple part of the interval
+	 * @param octaves the number of perfect octaves added to {@code simple}
+	 * @return an instance of {@code CompoundInterval} composed of
+	 *         {@code simple} and {@code octaves} octaves
+	 * @throws NullPointerException if {@code simple} is null
+	 */
+	public static final CompoundInterval of(SimpleInterval simple,
+			int octaves) {
+		if (simple == null) {
+			throw new NullPointerException("The simple interval is null");
+		}
+		if (simple.degrees() == 0 && octaves > 1) {
+			return canonical(SimpleInterval.valueOf(OCTAVE_DEGREES,
+					simple.semitones() + OCTAVE_SEMITONES), octaves - 1);
+		}
+		return canonical(simple, octaves);
+	}
+
+	/**
+	 * Returns the canonical instance composed of the given parts.
+	 */
+	private static CompoundInterval canonical(final SimpleInterval simple,
+			final int octaves) {
+		int simpleIndex = simple.degrees() * SIMPLE_SEMITONES + simple.semitones();
+		if (octaves < MIN_CACHED_OCTAVES || octaves > MAX_CACHED_OCTAVES) {
+			long key = ((long) octaves << 32) | simpleIndex;
+			CompoundInterval interval = pool.get(key);
+			if (interval != null) {
+				return interval;
+			}
+			return pool.intern(key, new CanonicalPool.Factory<CompoundInterval>() {
+				@Override
+				public CompoundInterval create(int id) {
+					return new CompoundInterval(simple, octaves);
+				}
+			});
+		}
+		int index = (octaves - MIN_CACHED_OCTAVES) * SIMPLE_DEGREES
+				* SIMPLE_SEMITONES + simpleIndex;
+		CompoundInterval interval = cache.get(index);
+		if (interval != null) {
+			return interval;
+		}
+		CompoundInterval created = new CompoundInterval(simple, octaves);
+		if (cache.compareAndSet(index, null, created)) {
+			return created;
+		} else {
+			// Another thread was faster, use its instance
+			return cache.get(index);
+		}
 	}
 
 	/**
@@ -59,8 +153,8 @@ public final class CompoundInterval extends AbstractInterval implements Interval
 	 * @return an instance of {@code CompoundInterval} matching the given
 	 *         number of degrees and semitones, or {@code null} if none
 	 *         of the existing instances match
-	 * @throws IllegalArgumentException if a suitable simple interval
-	 *         cannot be found
+	 * @throws IllegalArgumentException if {@code degrees} is smaller than
+	 *         an octave or a suitable simple interval cannot be found
 	 */
 	public static final CompoundInterval of(int degrees, int semitones) {
 		if (degrees < 1) {
@@ -71,8 +165,15 @@ public final class CompoundInterval extends AbstractInterval implements Interval
 			throw new IllegalArgumentException
 					("Number of degrees must be a positive mumber");
 		}
-		final int octaves = degrees / OCTAVE_DEGREES;
-		int simpleDegrees = degrees % OCTAVE_DEGREES;
+		if (degrees < OCTAVE_DEGREES) {
+			throw new IllegalArgumentException
+					("A compound interval spans at least an octave: " + degrees);
+		}
+		// Keep octave-sized simple parts, like the diminished octave in d15,
+		// but split the single octave into a unison and one octave
+		final int octaves = degrees > OCTAVE_DEGREES
+				? (degrees - 1) / OCTAVE_DEGREES : 1;
+		int simpleDegrees = degrees - octaves * OCTAVE_DEGREES;
 		int simpleSemitones = semitones - octaves * OCTAVE_SEMITONES;
 		SimpleInterval simple = SimpleInterval.valueOf
 				(simpleDegrees, simpleSemitones);
@@ -107,4 +208,11 @@ public final class CompoundInterval extends AbstractInterval implements Interval
 	public String toString() {
 		return symbol();
 	}
+
+	/**
+	 * Replaces a deserialized interval with the canonical instance.
+	 */
+	private Object readResolve() {
+		return of(simple, octaves);
+	}
 }
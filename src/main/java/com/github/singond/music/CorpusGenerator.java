@@ -0,0 +1,535 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * A generator of random, but reproducible musical data, intended
+ * for load testing and benchmarking.
+ * <p>
+ * The generator produces melodies in a given key and chord progressions
+ * built from the chord types predefined in {@link Chords}, with all
+ * pitches lying in a given range, like the range of an instrument.
+ * Melodies are random walks on the scale of the key, moving mostly
+ * by steps and occasionally by leaps. Progressions start on the tonic
+ * and follow the usual succession of harmonic functions; each chord
+ * is a triad or a seventh chord in a random inversion.
+ * <p>
+ * Two generators created with the same seed produce the same data when
+ * their methods are called in the same order.
+ * The streams are generated in independent phrases, each of which
+ * is determined only by the seed of the stream and its position,
+ * so they produce the same elements whether processed sequentially
+ * or in parallel.
+ * <p>
+ * Instances of this class are not thread-safe. To generate data in several
+ * threads, give each thread its own generator obtained using
+ * {@link #split}, or use a parallel stream.
+ *
+ * @author Singon
+ */
+public final class CorpusGenerator {
+
+	/** The number of pitches in one phrase of a pitch stream. */
+	private static final int MELODY_PHRASE = 64;
+	/** The number of chords in one phrase of a chord stream. */
+	private static final int PROGRESSION_PHRASE = 8;
+	/** The odd constant used by {@code SplittableRandom} to step seeds. */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * The degrees which usually follow each degree of a heptatonic key,
+	 * using zero-based degree numbers.
+	 */
+	private static final int[][] SUCCESSORS = {
+			{3, 4, 5, 1, 2},    // I   -> IV, V, VI, II, III
+			{4, 6},             // II  -> V, VII
+			{5, 3},             // III -> VI, IV
+			{4, 0, 1},          // IV  -> V, I, II
+			{0, 5},             // V   -> I, VI
+			{1, 3},             // VI  -> II, IV
+			{0, 2}};            // VII -> I, III
+
+	private final SplittableRandom random;
+
+	/**
+	 * Creates a new generator with the given seed.
+	 *
+	 * @param seed the initial seed
+	 */
+	public CorpusGenerator(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	private CorpusGenerator(SplittableRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Returns a new generator which shares no mutable state with this one.
+	 * The data produced by the new generator are independent
+	 * of the data produced by this generator.
+	 * This also advances the state of this generator.
+	 *
+	 * @return a new generator split off this one
+	 */
+	public CorpusGenerator split() {
+		return new CorpusGenerator(random.split());
+	}
+
+	/**
+	 * Generates a melody of the given length in the given key.
+	 *
+	 * @param key the key of the melody
+	 * @param low the lowest allowed pitch (inclusive)
+	 * @param high the highest allowed pitch (inclusive)
+	 * @param length the number of pitches in the melody
+	 * @return an array of {@code length} pitches from the scale of {@code key}
+	 *         between {@code low} and {@code high}
+	 * @throws IllegalArgumentException if {@code length} is negative,
+	 *         or if no pitch of {@code key} lies between {@code low}
+	 *         and {@code high}
+	 */
+	public Pitch[] melody(Key key, Pitch low, Pitch high, int length) {
+		checkLength(length);
+		return new Melody(key, low, high).pitches(random, length);
+	}
+
+	/**
+	 * Generates a melody of the given length in the given key
+	 * as packed pitches.
+	 * The pitches are packed as by {@link Pitch#pack(Pitch)}.
+	 *
+	 * @param key the key of the melody
+	 * @param low the lowest allowed pitch (inclusive)
+	 * @param high the highest allowed pitch (inclusive)
+	 * @param length the number of pitches in the melody
+	 * @return an array of {@code length} packed pitches from the scale
+	 *         of {@code key} between {@code low} and {@code high}
+	 * @throws IllegalArgumentException if {@code length} is negative,
+	 *         or if no pitch of {@code key} lies between {@code low}
+	 *         and {@code high}
+	 */
+	public int[] packedMelody(Key key, Pitch low, Pitch high, int length) {
+		checkLength(length);
+		return new Melody(key, low, high).packed(random, length);
+	}
+
+	/**
+	 * Generates a chord progression of the given length in the given key,
+	 * starting on the tonic.
+	 *
+	 * @param key the key of the progression
+	 * @param low the lowest allowed pitch (inclusive)
+	 * @param high the highest allowed pitch (inclusive)
+	 * @param length the number of chords in the progression
+	 * @return an array of {@code length} chord voicings whose pitches
+	 *         lie between {@code low} and {@code high}
+	 * @throws IllegalArgumentException if {@code length} is negative,
+	 *         or if no chord of {@code key} fits between {@code low}
+	 *         and {@code high}
+	 */
+	public ChordVoicing[] progression(Key key, Pitch low, Pitch high,
+			int length) {
+		checkLength(length);
+		return new Progression(key, low, high).voicings(random, length);
+	}
+
+	/**
+	 * Returns a stream of pitches forming a melody in the given key.
+	 * The melody is made of independent phrases, so it can be generated
+	 * in parallel.
+	 * This advances the state of this generator by one step only,
+	 * regardless of the length of the stream.
+	 *
+	 * @param key the key of the melody
+	 * @param low the lowest allowed pitch (inclusive)
+	 * @param high the highest allowed pitch (inclusive)
+	 * @param count the number of pitches in the stream
+	 * @return a stream of {@code count} pitches from the scale of {@code key}
+	 *         between {@code low} and {@code high}
+	 * @throws IllegalArgumentException if {@code count} is negative,
+	 *         or if no pitch of {@code key} lies between {@code low}
+	 *         and {@code high}
+	 */
+	public Stream<Pitch> pitches(Key key, Pitch low, Pitch high,
+			final long count) {
+		checkCount(count);
+		final Melody melody = new Melody(key, low, high);
+		final long seed = random.nextLong();
+		return phrases(count, MELODY_PHRASE)
+				.mapToObj(new LongFunction<Pitch[]>() {
+					@Override
+					public Pitch[] apply(long phrase) {
+						return melody.pitches(phraseRandom(seed, phrase),
+								phraseLength(count, MELODY_PHRASE, phrase));
+					}
+				})
+				.flatMap(new Function<Pitch[], Stream<Pitch>>() {
+					@Override
+					public Stream<Pitch> apply(Pitch[] pitches) {
+						return Arrays.stream(pitches);
+					}
+				});
+	}
+
+	/**
+	 * Returns a stream of packed pitches forming a melody in the given key.
+	 * The stream contains the packed forms of the pitches which would be
+	 * returned by {@link #pitches} if it were called instead of this method.
+	 *
+	 * @param key the key of the melody
+	 * @param low the lowest allowed pitch (inclusive)
+	 * @param high the highest allowed pitch (inclusive)
+	 * @param count the number of pitches in the stream
+	 * @return a stream of {@code count} packed pitches from the scale
+	 *         of {@code key} between {@code low} and {@code high}
+	 * @throws IllegalArgumentException if {@code count} is negative,
+	 *         or if no pitch of {@code key} lies between {@code low}
+	 *         and {@code high}
+	 */
+	public IntStream packedPitches(Key key, Pitch low, Pitch high,
+			final long count) {
+		checkCount(count);
+		final Melody melody = new Melody(key, low, high);
+		final long seed = random.nextLong();
+		return phrases(count, MELODY_PHRASE)
+				.mapToObj(new LongFunction<int[]>() {
+					@Override
+					public int[] apply(long phrase) {
+						return melody.packed(phraseRandom(seed, phrase),
+								phraseLength(count, MELODY_PHRASE, phrase));
+					}
+				})
+				.flatMapToInt(new Function<int[], IntStream>() {
+					@Override
+					public IntStream apply(int[] packed) {
+						return Arrays.stream(packed);
+					}
+				});
+	}
+
+	/**
+	 * Returns a stream of independent melodies in the given key,
+	 * each as an array of packed pitches.
+	 * This advances the state of this generator by one step only,
+	 * regardless of the length of the stream.
+	 *
+	 * @param key the key of the melodies
+	 * @param low the lowest allowed pitch (inclusive)
+	 * @param high the highest allowed pitch (inclusive)
+	 * @param length the number of pitches in each melody
+	 * @param count the number of melodies in the stream
+	 * @return a stream of {@code count} arrays of {@code length} packed
+	 *         pitches from the scale of {@code key} between {@code low}
+	 *         and {@code high}
+	 * @throws IllegalArgumentException if {@code length} or {@code count}
+	 *         is negative, or if no pitch of {@code key} lies between
+	 *         {@code low} and {@code high}
+	 */
+	public Stream<int[]> packedMelodies(Key key, Pitch low, Pitch high,
+			final int length, long count) {
+		checkLength(length);
+		checkCount(count);
+		final Melody melody = new Melody(key, low, high);
+		final long seed = random.nextLong();
+		return LongStream.range(0, count)
+				.mapToObj(new LongFunction<int[]>() {
+					@Override
+					public int[] apply(long index) {
+						return melody.packed(phraseRandom(seed, index), length);
+					}
+				});
+	}
+
+	/**
+	 * Returns a stream of chord voicings forming a chord progression
+	 * in the given key.
+	 * The progression is made of independent phrases starting
+	 * on the tonic, so it can be generated in parallel.
+	 * This advances the state of this generator by one step only,
+	 * regardless of the length of the stream.
+	 *
+	 * @param key the key of the progression
+	 * @param low the lowest allowed pitch (inclusive)
+	 * @param high the highest allowed pitch (inclusive)
+	 * @param count the number of chords in the stream
+	 * @return a stream of {@code count} chord voicings whose pitches
+	 *         lie between {@code low} and {@code high}
+	 * @throws IllegalArgumentException if {@code count} is negative,
+	 *         or if no chord of {@code key} fits between {@code low}
+	 *         and {@code high}
+	 */
+	public Stream<ChordVoicing> voicings(Key key, Pitch low, Pitch high,
+			final long count) {
+		checkCount(count);
+		final Progression progression = new Progression(key, low, high);
+		final long seed = random.nextLong();
+		return phrases(count, PROGRESSION_PHRASE)
+				.mapToObj(new LongFunction<ChordVoicing[]>() {
+					@Override
+					public ChordVoicing[] apply(long phrase) {
+						return progression.voicings(phraseRandom(seed, phrase),
+								phraseLength(count, PROGRESSION_PHRASE, phrase));
+					}
+				})
+				.flatMap(new Function<ChordVoicing[], Stream<ChordVoicing>>() {
+					@Override
+					public Stream<ChordVoicing> apply(ChordVoicing[] voicings) {
+						return Arrays.stream(voicings);
+					}
+				});
+	}
+
+	private static void checkLength(int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("Negative length: " + length);
+		}
+	}
+
+	private static void checkRange(Pitch low, Pitch high) {
+		if (low.compareTo(high) > 0) {
+			throw new IllegalArgumentException("The lowest pitch " + low
+					+ " is above the highest pitch " + high);
+		}
+	}
+
+	private static void checkCount(long count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Negative count: " + count);
+		}
+	}
+
+	/**
+	 * Returns the indices of the phrases needed to produce
+	 * {@code count} elements in phrases of the given length.
+	 */
+	private static LongStream phrases(long count, int phraseLength) {
+		return LongStream.range(0, (count + phraseLength - 1) / phraseLength);
+	}
+
+	/**
+	 * Returns the length of the given phrase, which is shorter than
+	 * {@code phraseLength} only for the last phrase.
+	 */
+	private static int phraseLength(long count, int phraseLength,
+			long phrase) {
+		return (int) Math.min(phraseLength, count - phrase * phraseLength);
+	}
+
+	/**
+	 * Returns the random generator of the given phrase of a stream.
+	 * The seed is mixed so that the sequences of adjacent phrases
+	 * do not overlap.
+	 */
+	private static SplittableRandom phraseRandom(long seed, long phrase) {
+		return new SplittableRandom(mix(seed + (phrase + 1) * GOLDEN_GAMMA));
+	}
+
+	/** The 64-bit finalizer from MurmurHash3. */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return z ^ (z >>> 33);
+	}
+
+	/**
+	 * The scale on which a melody is generated.
+	 */
+	private static final class Melody {
+		private final Pitch[] scale;
+		private final int[] packed;
+
+		Melody(Key key, Pitch low, Pitch high) {
+			checkRange(low, high);
+			List<Pitch> pitches = key.scale(low, high);
+			if (pitches.isEmpty()) {
+				throw new IllegalArgumentException("No pitch of " + key
+						+ " lies between " + low + " and " + high);
+			}
+			scale = pitches.toArray(new Pitch[pitches.size()]);
+			packed = new int[scale.length];
+			for (int i = 0; i < scale.length; i++) {
+				packed[i] = Pitch.pack(scale[i]);
+			}
+		}
+
+		Pitch[] pitches(SplittableRandom random, int length) {
+			Pitch[] result = new Pitch[length];
+			int index = random.nextInt(scale.length);
+			for (int i = 0; i < length; i++) {
+				result[i] = scale[index];
+				index = next(random, index);
+			}
+			return result;
+		}
+
+		int[] packed(SplittableRandom random, int length) {
+			int[] result = new int[length];
+			int index = random.nextInt(scale.length);
+			for (int i = 0; i < length; i++) {
+				result[i] = packed[index];
+				index = next(random, index);
+			}
+			return result;
+		}
+
+		/**
+		 * Moves from the given position in the scale by a step, a skip,
+		 * a leap or not at all, reflecting the motion at both ends
+		 * of the scale.
+		 */
+		private int next(SplittableRandom random, int index) {
+			int r = random.nextInt(100);
+			int distance;
+			if (r < 60) {
+				distance = 1;
+			} else if (r < 85) {
+				distance = 2;
+			} else if (r < 95) {
+				distance = 3 + random.nextInt(5);
+			} else {
+				distance = 0;
+			}
+			if (random.nextBoolean()) {
+				distance = -distance;
+			}
+			index += distance;
+			int last = scale.length - 1;
+			if (last == 0) {
+				return 0;
+			}
+			while (index < 0 || index > last) {
+				index = index < 0 ? -index : 2 * last - index;
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * The chords from which a progression is generated.
+	 */
+	private static final class Progression {
+		/**
+		 * All voicings of the chords on each degree which fit the range,
+		 * or null for degrees which have no chord.
+		 */
+		private final ChordVoicing[][] voicings;
+		private final boolean heptatonic;
+		private final int tonic;
+
+		Progression(Key key, Pitch low, Pitch high) {
+			checkRange(low, high);
+			List<PitchClass> degrees = key.degrees();
+			int size = degrees.size();
+			voicings = new ChordVoicing[size][];
+			heptatonic = size == 7;
+			int first = -1;
+			for (int d = 0; d < size; d++) {
+				List<ChordVoicing> list = new ArrayList<>();
+				addVoicings(degrees, d, 3, low, high, list);
+				addVoicings(degrees, d, 4, low, high, list);
+				if (!list.isEmpty()) {
+					voicings[d] = list.toArray(new ChordVoicing[list.size()]);
+					if (first < 0) {
+						first = d;
+					}
+				}
+			}
+			if (first < 0) {
+				throw new IllegalArgumentException("No chord of " + key
+						+ " fits between " + low + " and " + high);
+			}
+			tonic = first;
+		}
+
+		/**
+		 * Adds all voicings of the chord of the given size built
+		 * in thirds on the given degree, provided it is one of the
+		 * predefined chord types.
+		 */
+		private static void addVoicings(List<PitchClass> degrees, int degree,
+				int chordSize, Pitch low, Pitch high, List<ChordVoicing> list) {
+			PitchClass[] notes = new PitchClass[chordSize];
+			List<Interval> structure = new ArrayList<>(chordSize - 1);
+			for (int i = 0; i < chordSize; i++) {
+				notes[i] = degrees.get((degree + 2 * i) % degrees.size());
+				if (i > 0) {
+					structure.add(Intervals.between(notes[i - 1], notes[i]));
+				}
+			}
+			InvertibleChordType type = null;
+			for (InvertibleChordType t : Chords.symbolTypes()) {
+				if (t.structure().equals(structure)) {
+					type = t;
+					break;
+				}
+			}
+			if (type == null) {
+				return;
+			}
+			for (int inversion = 0; inversion < chordSize; inversion++) {
+				InvertibleChordType inverted = type.invert(inversion);
+				Pitch bass = Pitch.nearestAboveOrEqual(notes[inversion], low);
+				while (true) {
+					ChordVoicing voicing = Chords.chordAtBass(bass, inverted);
+					List<Pitch> pitches = voicing.pitches();
+					if (pitches.get(pitches.size() - 1).compareTo(high) > 0) {
+						break;
+					}
+					list.add(voicing);
+					bass = bass.transposeUp(SimpleInterval.PERFECT_OCTAVE);
+				}
+			}
+		}
+
+		ChordVoicing[] voicings(SplittableRandom random, int length) {
+			ChordVoicing[] result = new ChordVoicing[length];
+			int degree = tonic;
+			for (int i = 0; i < length; i++) {
+				ChordVoicing[] options = voicings[degree];
+				result[i] = options[random.nextInt(options.length)];
+				degree = next(random, degree);
+			}
+			return result;
+		}
+
+		/**
+		 * Chooses the degree of the next chord, falling back to the tonic
+		 * if the chosen degree has no chord in the range.
+		 */
+		private int next(SplittableRandom random, int degree) {
+			int next;
+			if (heptatonic) {
+				int[] successors = SUCCESSORS[degree];
+				next = successors[random.nextInt(successors.length)];
+			} else {
+				next = random.nextInt(voicings.length);
+			}
+			return voicings[next] != null ? next : tonic;
+		}
+	}
+}
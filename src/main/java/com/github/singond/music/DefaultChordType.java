@@ -36,13 +36,25 @@ class DefaultChordType implements ChordType {
 
 	private transient Interval span;
 
+	/** The height of each note above the bass. */
+	private final Interval[] heights;
+	/** The height of each note above the bass in diatonic degrees. */
+	private final int[] heightDegrees;
+	/** The height of each note above the bass in semitones. */
+	private final int[] heightSemitones;
+
+	/** The predefined instances in the order of creation. */
+	private static final List<DefaultChordType> predefined = new ArrayList<>();
+	/** The index of this instance in {@code predefined}, or -1. */
+	private final int id;
+
 	public static final ChordType AUGMENTED_TRIAD = new DefaultChordType
-			(Arrays.<Interval>asList(MAJOR_THIRD, MAJOR_THIRD));
+			(Arrays.<Interval>asList(MAJOR_THIRD, MAJOR_THIRD), true);
 
 	public static final ChordType DIMINISHED_7 = new DefaultChordType
-			(Arrays.<Interval>asList(MINOR_THIRD, MINOR_THIRD, MINOR_THIRD));
+			(Arrays.<Interval>asList(MINOR_THIRD, MINOR_THIRD, MINOR_THIRD), true);
 
-	private DefaultChordType(List<Interval> structure) {
+	private DefaultChordType(List<Interval> structure, boolean predefined) {
 		if (structure == null) {
 			throw new NullPointerException("The interval structure is null");
 		} else if (structure.isEmpty()) {
@@ -51,6 +63,43 @@ class DefaultChordType implements ChordType {
 
 		this.structure = new ArrayList<>(structure);
 		this.span = calculateSpan(structure);
+		this.heightDegrees = new int[this.structure.size() + 1];
+		this.heightSemitones = new int[this.structure.size() + 1];
+		this.heights = new Interval[this.structure.size() + 1];
+		Intervals.prefixSums(this.structure,
+				heights, heightDegrees, heightSemitones);
+		if (predefined) {
+			this.id = DefaultChordType.predefined.size();
+			DefaultChordType.predefined.add(this);
+		} else {
+			this.id = -1;
+		}
+	}
+
+	/**
+	 * Creates a new chord type with the given interval structure.
+	 * The chord type is in root position.
+	 *
+	 * @param structure the intervals between adjacent notes
+	 * @return a chord type with the given structure
+	 */
+	static ChordType of(List<Interval> structure) {
+		return new DefaultChordType(structure, false);
+	}
+
+	/**
+	 * Returns the predefined instances of this class.
+	 */
+	static List<DefaultChordType> predefined() {
+		return Collections.unmodifiableList(predefined);
+	}
+
+	/**
+	 * Returns the index of this instance among the predefined instances
+	 * of this class, or -1 if this instance is not predefined.
+	 */
+	int id() {
+		return id;
 	}
 
 	@Override
@@ -79,7 +128,17 @@ class DefaultChordType implements ChordType {
 
 	@Override
 	public Interval heightAboveBass(int note) {
-		return Intervals.sum(structure.subList(0, note));
+		return heights[note];
+	}
+
+	@Override
+	public int degreesAboveBass(int note) {
+		return heightDegrees[note];
+	}
+
+	@Override
+	public int semitonesAboveBass(int note) {
+		return heightSemitones[note];
 	}
 
 	@Override
@@ -16,6 +16,7 @@
 
 package com.github.singond.music;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,10 +28,23 @@ import java.util.List;
  * Shift of zero means no change in pitch, other values are the number
  * of semitones above the base (for positive values), or below the base
  * (for negative values).
+ * <p>
+ * Instances of this class are immutable and canonical: there is only
+ * one instance of each degree, so degrees can be compared using the
+ * {@code ==} operator. This also holds for deserialized instances.
  *
  * @author Singon
  */
-public class Degree {
+public class Degree implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The number of common degrees (diatonic, lowered and raised). */
+	private static final int COMMON_COUNT = 21;
+
+	/** The degrees other than the common ones. */
+	private static final CanonicalPool<Degree> pool
+			= new CanonicalPool<>(COMMON_COUNT);
 
 	/** The basic degree (the tonic). */
 	public static final Degree I           = new Degree(1, 0);
@@ -131,20 +145,65 @@ public class Degree {
 	private final int base;
 	private final int shift;
 
+	/** The dense id of this degree, see {@link #id()}. */
+	private final transient int id;
+
+	/**
+	 * Creates a common degree.
+	 */
 	private Degree(int base, int shift) {
+		this(base, shift, (shift + 1) * 7 + base - 1);
+	}
+
+	private Degree(int base, int shift, int id) {
 		this.base = base;
 		this.shift = shift;
+		this.id = id;
 	}
 
-	public static Degree of(int base, int shift) {
+	/**
+	 * Returns the degree with the given base and shift.
+	 * This method always returns the canonical instance.
+	 *
+	 * @param base the degree number, from 1 to 7
+	 * @param shift the number of semitones above the unmodified degree
+	 * @return the degree {@code base} shifted by {@code shift} semitones
+	 */
+	public static Degree of(final int base, final int shift) {
 		if (shift == -1)
 			return LOWERED_DEGREES.get(base - 1);
 		else if (shift == 0)
 			return DIATONIC_DEGREES.get(base - 1);
 		else if (shift == 1)
 			return RAISED_DEGREES.get(base - 1);
-		else
-			return new Degree(base, shift);
+
+		long key = ((long) shift << 32) | (base & 0xFFFFFFFFL);
+		Degree degree = pool.get(key);
+		if (degree != null) {
+			return degree;
+		}
+		return pool.intern(key, new CanonicalPool.Factory<Degree>() {
+			@Override
+			public Degree create(int id) {
+				return new Degree(base, shift, id);
+			}
+		});
+	}
+
+	/**
+	 * Returns the dense id of this degree.
+	 * The diatonic degrees and their lowered and raised variants have
+	 * the ids from 0 to 20 (the lowered degrees first, then the diatonic
+	 * and the raised degrees, each ordered by base). Other degrees are
+	 * assigned an id following this range when first requested, which
+	 * may be reused for another degree once this one is no longer
+	 * reachable. No two live degrees share an id, but the ids of the less
+	 * common degrees may differ between runs.
+	 *
+	 * @return the id of this degree
+	 */
+	public int id() {
+		return id;
 	}
 
 	/**
@@ -167,22 +226,24 @@ public class Degree {
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + base;
-		result = prime * result + shift;
-		return result;
+		return id;
 	}
 
+	/**
+	 * Indicates whether a given object is equal to this object.
+	 * Two degrees are equal if they have the same base and shift.
+	 * Because the instances are canonical, this is an identity comparison.
+	 */
 	@Override
 	public boolean equals(Object obj) {
-		if (this == obj) return true;
-		if (obj == null) return false;
-		if (!(obj instanceof Degree)) return false;
-		Degree other = (Degree) obj;
-		if (base != other.base) return false;
-		if (shift != other.shift) return false;
-		return true;
+		return this == obj;
+	}
+
+	/**
+	 * Replaces a deserialized degree with the canonical instance.
+	 */
+	private Object readResolve() {
+		return of(base, shift);
 	}
 
 	private String makeToString() {
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.Arrays;
+
+/**
+ * The keys of a map of pitches or pitch classes stored in an array
+ * indexed directly by a dense integer index of the key, like the id
+ * or the MIDI number of a pitch.
+ * <p>
+ * The maps built on this table keep their values in parallel arrays
+ * of the same length. Whenever the table grows, the maps resize their
+ * value arrays using one of the {@code resize} methods.
+ * Keys with the same index are considered equal, so an index which
+ * is not unique (like the MIDI number) yields an enharmonic map.
+ *
+ * @author Singon
+ * @param <K> the type of the keys
+ */
+final class DenseKeyTable<K> {
+
+	/**
+	 * A function assigning the integer index to a key.
+	 */
+	interface Index<K> {
+		int of(K key);
+	}
+
+	/** Indexes pitches by their ids. */
+	static final Index<Pitch> PITCH_ID = new Index<Pitch>() {
+		@Override
+		public int of(Pitch pitch) {
+			return pitch.id();
+		}
+	};
+
+	/** Indexes pitches by their MIDI numbers. */
+	static final Index<Pitch> PITCH_MIDI = new Index<Pitch>() {
+		@Override
+		public int of(Pitch pitch) {
+			return pitch.midiNumber();
+		}
+	};
+
+	/** Indexes pitch classes by their ids. */
+	static final Index<PitchClass> PITCH_CLASS_ID = new Index<PitchClass>() {
+		@Override
+		public int of(PitchClass pitchClass) {
+			return pitchClass.id();
+		}
+	};
+
+	/** Indexes pitch classes by their semitones above C. */
+	static final Index<PitchClass> PITCH_CLASS_SEMITONES
+			= new Index<PitchClass>() {
+		@Override
+		public int of(PitchClass pitchClass) {
+			return Util.floorMod(pitchClass.stepsAboveReference(), SEMITONES);
+		}
+	};
+
+	private static final int SEMITONES = 12;
+	/** The smallest number of slots added when the table grows. */
+	private static final int MIN_GROWTH = 16;
+	/** The largest supported length of the array of slots. */
+	private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+	private static final Object[] EMPTY = new Object[0];
+
+	private final Index<K> index;
+	/** The key in each slot, or null if the slot is empty. */
+	private Object[] keys;
+	/** The index of the key in the first slot. */
+	private int origin;
+	/** The number of slots by which the last growth shifted the keys. */
+	private int shift;
+	private int size;
+
+	/**
+	 * Creates a new table with slots allocated for the given range
+	 * of indices.
+	 *
+	 * @param index the index of the keys
+	 * @param start the first index to be allocated (inclusive)
+	 * @param end the last index to be allocated (exclusive);
+	 *        if equal to {@code start}, nothing is allocated
+	 */
+	DenseKeyTable(Index<K> index, int start, int end) {
+		this.index = index;
+		this.keys = start == end ? EMPTY : new Object[end - start];
+		this.origin = start;
+	}
+
+	/**
+	 * Returns the number of keys in this table.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of slots in this table, which is also the length
+	 * of the value arrays of the map.
+	 */
+	int length() {
+		return keys.length;
+	}
+
+	/**
+	 * Returns the slot of the given key, or -1 if it is not present.
+	 *
+	 * @throws NullPointerException if {@code key} is null
+	 */
+	int slotOf(K key) {
+		long slot = (long) index.of(key) - origin;
+		if (slot < 0 || slot >= keys.length || keys[(int) slot] == null) {
+			return -1;
+		}
+		return (int) slot;
+	}
+
+	/**
+	 * Adds the given key to the table, unless a key with the same index
+	 * is already present, and returns its slot.
+	 * The owner must check if {@link #length()} has changed and resize
+	 * its values if needed.
+	 *
+	 * @throws NullPointerException if {@code key} is null
+	 */
+	int add(K key) {
+		int i = index.of(key);
+		if (keys.length == 0 || i < origin || (long) i - origin >= keys.length) {
+			grow(i);
+		}
+		int slot = i - origin;
+		if (keys[slot] == null) {
+			keys[slot] = key;
+			size++;
+		}
+		return slot;
+	}
+
+	/**
+	 * Enlarges the array of slots to include the given index.
+	 */
+	private void grow(int i) {
+		long start, end;
+		if (keys.length == 0) {
+			start = i;
+			end = (long) i + MIN_GROWTH;
+		} else {
+			start = Math.min(origin, i);
+			end = Math.max((long) origin + keys.length, (long) i + 1);
+			long growth = Math.max(MIN_GROWTH, (end - start) / 2);
+			if (i < origin) {
+				start -= growth;
+			} else {
+				end += growth;
+			}
+		}
+		start = Math.max(start, Integer.MIN_VALUE);
+		end = Math.min(end, Integer.MAX_VALUE + 1L);
+		if (end - start > MAX_LENGTH) {
+			throw new IllegalStateException(
+					"The keys span too large a range of indices");
+		}
+		shift = keys.length == 0 ? 0 : (int) (origin - start);
+		Object[] newKeys = new Object[(int) (end - start)];
+		System.arraycopy(keys, 0, newKeys, shift, keys.length);
+		keys = newKeys;
+		origin = (int) start;
+	}
+
+	/**
+	 * Removes the key in the given slot.
+	 * The owner must clear the value in the slot.
+	 */
+	void remove(int slot) {
+		keys[slot] = null;
+		size--;
+	}
+
+	/**
+	 * Removes all keys, retaining the allocated slots.
+	 * The owner must clear all values.
+	 */
+	void clear() {
+		Arrays.fill(keys, null);
+		size = 0;
+	}
+
+	/**
+	 * Returns the key in the given slot.
+	 */
+	@SuppressWarnings("unchecked")
+	K key(int slot) {
+		return (K) keys[slot];
+	}
+
+	/**
+	 * Returns the first occupied slot at or after the given slot,
+	 * or -1 if there is none.
+	 */
+	int next(int slot) {
+		for (; slot < keys.length; slot++) {
+			if (keys[slot] != null) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	/** Copies the values into an array matching the grown table. */
+	int[] resize(int[] values) {
+		int[] result = new int[keys.length];
+		System.arraycopy(values, 0, result, shift, values.length);
+		return result;
+	}
+
+	/** Copies the values into an array matching the grown table. */
+	long[] resize(long[] values) {
+		long[] result = new long[keys.length];
+		System.arraycopy(values, 0, result, shift, values.length);
+		return result;
+	}
+
+	/** Copies the values into an array matching the grown table. */
+	Object[] resize(Object[] values) {
+		Object[] result = new Object[keys.length];
+		System.arraycopy(values, 0, result, shift, values.length);
+		return result;
+	}
+}
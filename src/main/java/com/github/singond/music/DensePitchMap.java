@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+/**
+ * The common part of the maps from pitches to primitive values,
+ * which keeps the keys in a {@link DenseKeyTable}.
+ * <p>
+ * Subclasses store the values in an array parallel to the slots
+ * of the table, and resize it whenever the table grows.
+ *
+ * @author Singon
+ */
+abstract class DensePitchMap {
+
+	final DenseKeyTable<Pitch> keys;
+
+	DensePitchMap(DenseKeyTable<Pitch> keys) {
+		this.keys = keys;
+	}
+
+	/**
+	 * Returns the number of entries in this map.
+	 *
+	 * @return the number of keys
+	 */
+	public int size() {
+		return keys.size();
+	}
+
+	/**
+	 * Returns {@code true} if this map contains no entries.
+	 *
+	 * @return {@code true} if this map is empty
+	 */
+	public boolean isEmpty() {
+		return keys.size() == 0;
+	}
+
+	/**
+	 * Returns {@code true} if this map contains the given pitch.
+	 *
+	 * @param pitch the pitch
+	 * @return {@code true} if there is an entry for {@code pitch}
+	 * @throws NullPointerException if {@code pitch} is null
+	 */
+	public boolean containsKey(Pitch pitch) {
+		return keys.slotOf(pitch) >= 0;
+	}
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		keys.clear();
+		clearValues();
+	}
+
+	/**
+	 * Adds the pitch to the keys and returns its slot,
+	 * resizing the values if needed.
+	 */
+	final int slotFor(Pitch pitch) {
+		int slot = keys.add(pitch);
+		if (valuesLength() != keys.length()) {
+			resizeValues();
+		}
+		return slot;
+	}
+
+	/** Returns the length of the array of values. */
+	abstract int valuesLength();
+
+	/** Resizes the array of values to match the table of keys. */
+	abstract void resizeValues();
+
+	/** Sets all values to zero. */
+	abstract void clearValues();
+
+	/** Appends the value in the given slot to the given builder. */
+	abstract void appendValue(StringBuilder sb, int slot);
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (int s = keys.next(0); s >= 0; s = keys.next(s + 1)) {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(keys.key(s)).append('=');
+			appendValue(sb, s);
+		}
+		return sb.append('}').toString();
+	}
+}
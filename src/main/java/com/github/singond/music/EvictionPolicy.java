@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+/**
+ * A rule for choosing which instance to remove from a full cache
+ * to make room for another one.
+ *
+ * @author Singon
+ */
+public enum EvictionPolicy {
+
+	/**
+	 * Removes the instance which has not been requested for the longest
+	 * time. This suits workloads which return repeatedly to a small set
+	 * of instances.
+	 */
+	LEAST_RECENTLY_USED,
+
+	/**
+	 * Removes the instance which has been in the cache for the longest
+	 * time, regardless of how often it is requested.
+	 */
+	FIRST_IN_FIRST_OUT;
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.Arrays;
+
+/**
+ * An immutable copy of the counts of a {@link PitchHistogram}
+ * or {@link PitchClassHistogram}.
+ * <p>
+ * Snapshots of histograms with the same binning can be merged,
+ * for example to combine the results of several jobs.
+ * A snapshot of pitches can be folded into a snapshot of pitch classes,
+ * and any snapshot can be normalized into a profile of relative
+ * frequencies.
+ *
+ * @author Singon
+ * @param <K> the type of the counted keys
+ */
+public final class HistogramSnapshot<K> {
+
+	private final Binning<K> binning;
+	/** The counts of all bins, followed by the out-of-range count. */
+	private final long[] counts;
+
+	HistogramSnapshot(Binning<K> binning, long[] counts) {
+		this.binning = binning;
+		this.counts = counts;
+	}
+
+	/**
+	 * Returns the number of bins of this snapshot.
+	 * The meaning of the bins depends on the histogram it was taken from.
+	 *
+	 * @return the number of bins
+	 */
+	public int bins() {
+		return binning.size();
+	}
+
+	/**
+	 * Returns the count of the given bin.
+	 *
+	 * @param bin the index of the bin
+	 * @return the count in {@code bin}
+	 * @throws IndexOutOfBoundsException if {@code bin} is negative
+	 *         or not less than {@link #bins()}
+	 */
+	public long countAt(int bin) {
+		if (bin < 0 || bin >= binning.size()) {
+			throw new IndexOutOfBoundsException("Bin out of range: " + bin);
+		}
+		return counts[bin];
+	}
+
+	/**
+	 * Returns the count of the bin of the given key.
+	 *
+	 * @param key the key
+	 * @return the count in the bin of {@code key}, or the out-of-range
+	 *         count if {@code key} does not fall into any bin
+	 */
+	public long count(K key) {
+		int bin = binning.bin(key);
+		return bin >= 0 ? counts[bin] : outOfRange();
+	}
+
+	/**
+	 * Returns the number of counted keys which did not fall into any bin.
+	 *
+	 * @return the out-of-range count
+	 */
+	public long outOfRange() {
+		return counts[binning.size()];
+	}
+
+	/**
+	 * Returns the number of all counted keys, including those
+	 * out of range.
+	 *
+	 * @return the sum of all counts
+	 */
+	public long total() {
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Returns a snapshot with the sums of the counts of this snapshot
+	 * and the given snapshot.
+	 *
+	 * @param other the snapshot to be added to this one
+	 * @return a new snapshot with the combined counts
+	 * @throws IllegalArgumentException if {@code other} comes from
+	 *         a histogram with a different binning
+	 */
+	public HistogramSnapshot<K> merge(HistogramSnapshot<K> other) {
+		if (other.binning != binning) {
+			throw new IllegalArgumentException(
+					"Cannot merge snapshots of different histograms");
+		}
+		long[] sum = counts.clone();
+		for (int i = 0; i < sum.length; i++) {
+			sum[i] += other.counts[i];
+		}
+		return new HistogramSnapshot<>(binning, sum);
+	}
+
+	/**
+	 * Returns the counts of the pitch classes of the counted keys.
+	 * A snapshot of pitches binned by MIDI number folds into twelve bins
+	 * by semitones above C; a snapshot of spelled pitches folds into
+	 * the bins of the common pitch classes, with the other pitch classes
+	 * counted as out of range. A snapshot of pitch classes is returned
+	 * unchanged.
+	 *
+	 * @return a snapshot of the pitch classes
+	 */
+	@SuppressWarnings("unchecked")
+	public HistogramSnapshot<PitchClass> pitchClasses() {
+		Binning<PitchClass> folded = binning.folded();
+		if (folded == binning) {
+			return (HistogramSnapshot<PitchClass>) this;
+		}
+		long[] sum = new long[folded.size() + 1];
+		int size = binning.size();
+		for (int bin = 0; bin < size; bin++) {
+			int target = binning.fold(bin);
+			sum[target >= 0 ? target : folded.size()] += counts[bin];
+		}
+		sum[folded.size()] += counts[size];
+		return new HistogramSnapshot<>(folded, sum);
+	}
+
+	/**
+	 * Returns the relative frequencies of the bins.
+	 * The keys out of range are not included, so the frequencies sum
+	 * to one, unless all keys are out of range.
+	 * A pitch-class profile is obtained by {@code pitchClasses().profile()}.
+	 *
+	 * @return the count of each bin divided by the sum of the counts
+	 *         of all bins, or an array of zeros if all bins are empty
+	 */
+	public double[] profile() {
+		int size = binning.size();
+		long sum = 0;
+		for (int bin = 0; bin < size; bin++) {
+			sum += counts[bin];
+		}
+		double[] profile = new double[size];
+		if (sum > 0) {
+			for (int bin = 0; bin < size; bin++) {
+				profile[bin] = (double) counts[bin] / sum;
+			}
+		}
+		return profile;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(Arrays.copyOf(counts, binning.size()))
+				+ " (" + outOfRange() + " out of range)";
+	}
+}
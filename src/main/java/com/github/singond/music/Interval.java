@@ -29,6 +29,12 @@ package com.github.singond.music;
  * the the wider intervals. If two intervals happen to have the same width,
  * that with higher number of diatonic degrees is sorted last.
  * This natural ordering is consistent with {@code equals}.
+ * <p>
+ * Although the intervals obtained from {@link Intervals} are canonical,
+ * an interval value can have more than one instance, for example
+ * {@link SimpleInterval#PERFECT_OCTAVE} and the compound interval
+ * of a unison and one octave. Intervals must therefore be compared
+ * using {@code equals}, not by identity.
  *
  * @author Singon
  */
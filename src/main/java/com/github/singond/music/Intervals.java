@@ -16,10 +16,73 @@
 
 package com.github.singond.music;
 
+import java.io.Serializable;
+import java.text.ParsePosition;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public final class Intervals {
 
+	private static final int OCTAVE_DEGREES = 7;
+	private static final int OCTAVE_SEMITONES = 12;
+
+	/** Widths of the diatonic steps of the major scale in semitones. */
+	private static final int[] DIATONIC_SEMITONES = {0, 2, 4, 5, 7, 9, 11};
+
+	/*
+	 * The range of intervals covered by the table of canonical instances.
+	 * The semitones are given as a deviation from the diatonic (major
+	 * or perfect) interval with the same number of degrees.
+	 */
+	private static final int MAX_CACHED_DEGREES = 5 * OCTAVE_DEGREES - 1;
+	private static final int MAX_CACHED_DEVIATION = 6;
+	private static final int CACHED_DEVIATIONS = 2 * MAX_CACHED_DEVIATION + 1;
+
+	/**
+	 * Canonical instances of intervals, indexed by their number of degrees
+	 * and their deviation in semitones (see {@link #cacheIndex}).
+	 * The table is populated lazily: each slot is filled on its first
+	 * request and never changes afterwards.
+	 */
+	private static final AtomicReferenceArray<Interval> cache
+			= new AtomicReferenceArray<>(
+					(MAX_CACHED_DEGREES + 1) * CACHED_DEVIATIONS);
+
+	/** The intervals which are neither simple nor compound. */
+	private static final CanonicalPool<Interval> universalPool
+			= new CanonicalPool<>(0);
+
+	/*
+	 * Layout of an interval packed into an int: the number of degrees
+	 * is stored in the upper half and the number of semitones
+	 * in the lower half, both as signed 16-bit values.
+	 */
+	private static final int PACKED_DEGREES_SHIFT = 16;
+	private static final int PACKED_SEMITONES_MASK = 0xFFFF;
+
+	/**
+	 * The value returned by the parser on failure. This is the packed
+	 * form of the largest possible descending interval, which is never
+	 * the result of parsing.
+	 */
+	private static final int INVALID = Integer.MIN_VALUE;
+
+	/**
+	 * The ascending simple intervals between two common pitch classes,
+	 * indexed by the difference of their positions on the line of fifths
+	 * (see {@link PitchClass#fifths()}) offset by {@code COMMON_COUNT - 1}.
+	 */
+	private static final Interval[] pitchClassIntervals
+			= new Interval[2 * PitchClass.COMMON_COUNT - 1];
+	static {
+		for (int i = 0; i < pitchClassIntervals.length; i++) {
+			int packed = packedFifths(i - (PitchClass.COMMON_COUNT - 1));
+			pitchClassIntervals[i] = valueOf(
+					packedDegrees(packed), packedSemitones(packed));
+		}
+	}
+
 	private Intervals() {
 		throw new UnsupportedOperationException("This class cannot be instantiated");
 	}
@@ -98,17 +161,704 @@ public final class Intervals {
 		return valueOf(degrees, semitones);
 	}
 
-	private static Interval valueOf(int degrees, int semitones) {
+	/**
+	 * Returns an interval which spans the given number of diatonic degrees
+	 * and has the given width in semitones.
+	 * <p>
+	 * If a simple interval matches the arguments, it is returned.
+	 * Otherwise, if the interval can be decomposed into a number of perfect
+	 * octaves and a simple interval, an instance of {@code CompoundInterval}
+	 * is returned. In all other cases, the returned interval is an instance
+	 * of an unspecified implementation of {@code Interval}.
+	 * <p>
+	 * The returned instance is canonical, that is, repeated calls with
+	 * the same arguments return the same instance. Intervals spanning
+	 * up to five octaves and deviating from the diatonic interval by
+	 * no more than six semitones are looked up in a table.
+	 *
+	 * @param degrees number of diatonic degrees spanned by the interval
+	 * @param semitones width of the interval in semitones
+	 * @return an interval of {@code degrees} degrees and {@code semitones}
+	 *         semitones
+	 */
+	public static Interval valueOf(int degrees, int semitones) {
+		int index = cacheIndex(degrees, semitones);
+		if (index < 0) {
+			return create(degrees, semitones);
+		}
+		Interval interval = cache.get(index);
+		if (interval != null) {
+			return interval;
+		}
+		Interval created = create(degrees, semitones);
+		if (cache.compareAndSet(index, null, created)) {
+			return created;
+		} else {
+			// Another thread was faster, use its instance
+			return cache.get(index);
+		}
+	}
+
+	/**
+	 * Returns the difference between two intervals, regardless of their
+	 * order. This is the interval between the upper notes of {@code a}
+	 * and {@code b} when both are built on the same note.
+	 * For example, the difference between a perfect octave and a major
+	 * third is a minor sixth.
+	 *
+	 * @param a one of the intervals
+	 * @param b the other interval
+	 * @return the interval between the upper notes of {@code a} and
+	 *         {@code b}
+	 * @throws NullPointerException if any of the arguments is null
+	 */
+	public static Interval difference(Interval a, Interval b) {
+		return unpack(packedDifference(pack(a), pack(b)));
+	}
+
+	/**
+	 * Returns the inversion of the given interval within the octave,
+	 * that is, the interval which completes it to a perfect octave.
+	 * For example, the inversion of a major third is a minor sixth,
+	 * and the inversion of a unison is a perfect octave.
+	 * A compound interval is reduced to a simple interval first
+	 * (see {@link #packedInvert(int)}).
+	 *
+	 * @param interval the interval to be inverted
+	 * @return the inversion of {@code interval}
+	 * @throws NullPointerException if {@code interval} is null
+	 */
+	public static Interval invert(Interval interval) {
+		return unpack(packedInvert(pack(interval)));
+	}
+
+	/**
+	 * Returns the given interval stacked the given number of times.
+	 * For example, three major thirds make an augmented seventh.
+	 *
+	 * @param interval the interval to be multiplied
+	 * @param factor the number of times to stack {@code interval}
+	 * @return the interval {@code factor} times as large as {@code interval}
+	 * @throws NullPointerException if {@code interval} is null
+	 * @throws IllegalArgumentException if {@code factor} is negative
+	 *         or the result cannot be represented in the packed form
+	 */
+	public static Interval multiply(Interval interval, int factor) {
+		if (factor < 0) {
+			throw new IllegalArgumentException
+					("The factor must not be negative: " + factor);
+		}
+		return unpack(packedMultiply(pack(interval), factor));
+	}
+
+	/**
+	 * Returns the simple interval which remains after removing all
+	 * whole octaves from the given interval.
+	 * For example, a major tenth is reduced to a major third.
+	 * Simple intervals, including the octave, are returned unchanged.
+	 *
+	 * @param interval the interval to be reduced
+	 * @return the simple part of {@code interval}
+	 * @throws NullPointerException if {@code interval} is null
+	 * @see #octaves(Interval)
+	 */
+	public static Interval simple(Interval interval) {
+		return unpack(packedSimple(pack(interval)));
+	}
+
+	/**
+	 * Returns the number of whole octaves which must be removed from
+	 * the given interval to obtain its simple part
+	 * (see {@link #simple(Interval)}).
+	 *
+	 * @param interval the interval
+	 * @return the number of whole octaves in {@code interval}
+	 * @throws NullPointerException if {@code interval} is null
+	 */
+	public static int octaves(Interval interval) {
+		return packedOctaves(pack(interval));
+	}
+
+	/**
+	 * Packs the given interval into a single {@code int}
+	 * (see {@link #pack(int, int)}).
+	 *
+	 * @param interval the interval to be packed
+	 * @return the packed representation of {@code interval}
+	 * @throws NullPointerException if {@code interval} is null
+	 * @throws IllegalArgumentException if the interval cannot be packed
+	 */
+	public static int pack(Interval interval) {
+		return pack(interval.degrees(), interval.semitones());
+	}
+
+	/**
+	 * Returns the sum of two packed intervals.
+	 *
+	 * @param a the first packed interval
+	 * @param b the second packed interval
+	 * @return the packed sum of {@code a} and {@code b}
+	 * @throws IllegalArgumentException if the result cannot be packed
+	 */
+	public static int packedSum(int a, int b) {
+		return pack(packedDegrees(a) + packedDegrees(b),
+				packedSemitones(a) + packedSemitones(b));
+	}
+
+	/**
+	 * Returns the directed difference of two packed intervals,
+	 * that is, the interval which must be added to {@code b}
+	 * to obtain {@code a}.
+	 *
+	 * @param a the packed minuend
+	 * @param b the packed subtrahend
+	 * @return the packed difference {@code a - b}
+	 * @throws IllegalArgumentException if the result cannot be packed
+	 */
+	public static int packedDifference(int a, int b) {
+		return pack(packedDegrees(a) - packedDegrees(b),
+				packedSemitones(a) - packedSemitones(b));
+	}
+
+	/**
+	 * Reverses the direction of a packed interval.
+	 *
+	 * @param packed the packed interval
+	 * @return the packed interval of the same size and opposite direction
+	 * @throws IllegalArgumentException if the result cannot be packed
+	 */
+	public static int packedNegate(int packed) {
+		return pack(-packedDegrees(packed), -packedSemitones(packed));
+	}
+
+	/**
+	 * Returns the direction of a packed interval.
+	 * An interval is descending if it spans a negative number of degrees,
+	 * or no degrees and a negative number of semitones.
+	 * Intervals spanning no degrees and no semitones have no direction.
+	 *
+	 * @param packed the packed interval
+	 * @return 1 for an ascending interval, -1 for a descending interval,
+	 *         or 0 for a perfect unison
+	 */
+	public static int packedDirection(int packed) {
+		int degrees = packedDegrees(packed);
+		return degrees != 0 ? Integer.signum(degrees)
+				: Integer.signum(packedSemitones(packed));
+	}
+
+	/**
+	 * Returns the ascending packed interval of the same size as the given
+	 * packed interval.
+	 *
+	 * @param packed the packed interval
+	 * @return {@code packed} if it is not descending, otherwise its negation
+	 */
+	public static int packedAbs(int packed) {
+		return packedDirection(packed) < 0 ? packedNegate(packed) : packed;
+	}
+
+	/**
+	 * Multiplies a packed interval by the given factor.
+	 * A negative factor reverses the direction of the interval.
+	 *
+	 * @param packed the packed interval
+	 * @param factor the factor
+	 * @return the packed product of {@code packed} and {@code factor}
+	 * @throws IllegalArgumentException if the result cannot be packed
+	 */
+	public static int packedMultiply(int packed, int factor) {
+		return pack(packedDegrees(packed) * factor,
+				packedSemitones(packed) * factor);
+	}
+
+	/**
+	 * Returns the number of whole octaves in a packed interval,
+	 * that is, the number of octaves to be removed from it to obtain
+	 * its simple part (see {@link #packedSimple(int)}).
+	 * Descending intervals yield a negative number.
+	 *
+	 * @param packed the packed interval
+	 * @return the number of octaves in {@code packed}
+	 */
+	public static int packedOctaves(int packed) {
+		int degrees = packedDegrees(packed);
+		if (degrees > 0) {
+			return (degrees - 1) / OCTAVE_DEGREES;
+		} else if (degrees < 0) {
+			return -((-degrees - 1) / OCTAVE_DEGREES);
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Removes all whole octaves from a packed interval. The result
+	 * has the same direction as the argument and spans at most
+	 * one octave; an octave itself is not reduced to a unison.
+	 *
+	 * @param packed the packed interval
+	 * @return the packed simple part of {@code packed}
+	 */
+	public static int packedSimple(int packed) {
+		int octaves = packedOctaves(packed);
+		return pack(packedDegrees(packed) - octaves * OCTAVE_DEGREES,
+				packedSemitones(packed) - octaves * OCTAVE_SEMITONES);
+	}
+
+	/**
+	 * Inverts a packed interval within the octave, that is, returns
+	 * the interval which completes its simple part
+	 * (see {@link #packedSimple(int)}) to a perfect octave in the same
+	 * direction. A unison is inverted to a perfect octave and vice versa.
+	 *
+	 * @param packed the packed interval
+	 * @return the packed inversion of {@code packed}
+	 */
+	public static int packedInvert(int packed) {
+		int simple = packedSimple(packed);
+		int octave = packedDirection(simple) < 0
+				? pack(-OCTAVE_DEGREES, -OCTAVE_SEMITONES)
+				: pack(OCTAVE_DEGREES, OCTAVE_SEMITONES);
+		return packedDifference(octave, simple);
+	}
+
+	/**
+	 * Parses an interval from its symbol, like "M3", "P5", "A4", "d7"
+	 * or "m10". The symbol consists of a letter denoting the quality
+	 * ("P" for perfect, "M" for major, "m" for minor, "A" for augmented
+	 * and "d" for diminished) followed by the interval number, where
+	 * a unison is 1 and an octave is 8. This is the inverse operation
+	 * to {@link SimpleInterval#symbol()} and {@link CompoundInterval#symbol()}.
+	 *
+	 * @param s the string to be parsed
+	 * @return the interval denoted by {@code s}
+	 * @throws FormatException if {@code s} is not a valid interval symbol
+	 */
+	public static Interval valueOf(String s) {
+		ParsePosition pos = new ParsePosition(0);
+		int packed = parsePacked(s, pos);
+		if (packed == INVALID || pos.getIndex() != s.length()) {
+			throw new FormatException("Illegal interval format: " + s);
+		}
+		return unpack(packed);
+	}
+
+	/**
+	 * Parses an interval symbol from the given character sequence,
+	 * starting at the index given by {@code pos}.
+	 * For a description of the format, see {@link #valueOf(String)}.
+	 * <p>
+	 * If an interval is parsed successfully, the index of {@code pos}
+	 * is updated to the index after the last character used, and the
+	 * parsed interval is returned.
+	 * If an error occurs, the index of {@code pos} is not changed,
+	 * the error index of {@code pos} is set to the index of the character
+	 * where the error occurred, and {@code null} is returned.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the parsed interval, or {@code null} if the parsing failed
+	 */
+	public static Interval parse(CharSequence s, ParsePosition pos) {
+		int packed = parsePacked(s, pos);
+		return packed == INVALID ? null : unpack(packed);
+	}
+
+	/**
+	 * Parses an interval symbol into a packed interval,
+	 * or returns {@link #INVALID} and sets the error index of {@code pos}.
+	 */
+	private static int parsePacked(CharSequence s, ParsePosition pos) {
+		int start = pos.getIndex();
+		if (start >= s.length()) {
+			pos.setErrorIndex(start);
+			return INVALID;
+		}
+		char quality = s.charAt(start);
+		int i = start + 1;
+		int number = 0;
+		while (i < s.length() && number <= Short.MAX_VALUE) {
+			int digit = s.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			number = number * 10 + digit;
+			i++;
+		}
+		if (i == start + 1 || number < 1 || number > Short.MAX_VALUE) {
+			pos.setErrorIndex(start + 1);
+			return INVALID;
+		}
+		int degrees = number - 1;
+		int degree = degrees % OCTAVE_DEGREES;
+		boolean perfect = degree == 0 || degree == 3 || degree == 4;
+		int deviation;
+		switch (quality) {
+			case 'P':
+				deviation = perfect ? 0 : INVALID;
+				break;
+			case 'M':
+				deviation = perfect ? INVALID : 0;
+				break;
+			case 'm':
+				deviation = perfect ? INVALID : -1;
+				break;
+			case 'A':
+				deviation = 1;
+				break;
+			case 'd':
+				// There is no diminished unison
+				deviation = degrees == 0 ? INVALID : perfect ? -1 : -2;
+				break;
+			default:
+				deviation = INVALID;
+		}
+		if (deviation == INVALID) {
+			pos.setErrorIndex(start);
+			return INVALID;
+		}
+		int semitones = (degrees / OCTAVE_DEGREES) * OCTAVE_SEMITONES
+				+ DIATONIC_SEMITONES[degree] + deviation;
+		if (semitones != (short) semitones) {
+			// Too wide to be packed
+			pos.setErrorIndex(start + 1);
+			return INVALID;
+		}
+		pos.setIndex(i);
+		return pack(degrees, semitones);
+	}
+
+	/**
+	 * Returns the interval between the two given pitches, regardless
+	 * of their order. This is the interval by which the lower pitch
+	 * must be transposed up to obtain the higher pitch, where the lower
+	 * pitch is the one with the lower base pitch class, or the lower
+	 * absolute pitch if the base pitch classes are equal.
+	 * <p>
+	 * The result is canonical under the conditions given
+	 * in {@link #valueOf(int, int)}.
+	 *
+	 * @param a one of the pitches
+	 * @param b the other pitch
+	 * @return the interval between {@code a} and {@code b}
+	 * @throws NullPointerException if any of the arguments is null
+	 */
+	public static Interval between(Pitch a, Pitch b) {
+		int degrees = diatonicIndex(b) - diatonicIndex(a);
+		int semitones = b.midiNumber() - a.midiNumber();
+		if (degrees < 0 || (degrees == 0 && semitones < 0)) {
+			return valueOf(-degrees, -semitones);
+		}
+		return valueOf(degrees, semitones);
+	}
+
+	/**
+	 * Returns the simple interval by which the pitch class {@code from}
+	 * must be transposed up to obtain the pitch class {@code to}.
+	 * If both pitch classes have the same base pitch class and
+	 * {@code to} is lower than {@code from}, the interval spans
+	 * an octave, like the diminished octave from C to C flat.
+	 * <p>
+	 * Intervals between pitch classes with up to two flats or sharps
+	 * are looked up in a precomputed table of canonical instances.
+	 *
+	 * @param from the lower pitch class
+	 * @param to the upper pitch class
+	 * @return the ascending interval from {@code from} to {@code to}
+	 * @throws NullPointerException if any of the arguments is null
+	 */
+	public static Interval between(PitchClass from, PitchClass to) {
+		int fromId = from.id();
+		int toId = to.id();
+		if (fromId >= 0 && fromId < PitchClass.COMMON_COUNT
+				&& toId >= 0 && toId < PitchClass.COMMON_COUNT) {
+			return pitchClassIntervals[toId - fromId
+			                           + PitchClass.COMMON_COUNT - 1];
+		}
+		int packed = packedFifths((int) (to.fifths() - from.fifths()));
+		return valueOf(packedDegrees(packed), packedSemitones(packed));
+	}
+
+	/**
+	 * Returns the directed interval between two pitches in the packed
+	 * form (see {@link #pack(int, int)}). This is the number of degrees
+	 * and semitones by which {@code from} must be transposed to obtain
+	 * {@code to}; both values are negative if {@code to} is below
+	 * {@code from}.
+	 *
+	 * @param from the first pitch
+	 * @param to the second pitch
+	 * @return the packed interval from {@code from} to {@code to}
+	 * @throws NullPointerException if any of the arguments is null
+	 * @throws IllegalArgumentException if the interval cannot be
+	 *         represented in the packed form
+	 */
+	public static int packedBetween(Pitch from, Pitch to) {
+		return pack(diatonicIndex(to) - diatonicIndex(from),
+				to.midiNumber() - from.midiNumber());
+	}
+
+	/**
+	 * Returns the directed interval between two packed pitches
+	 * (see {@link Pitch#pack(Pitch)}) in the packed form.
+	 * The result is the same as that of {@link #packedBetween(Pitch, Pitch)}
+	 * called with the unpacked pitches.
+	 *
+	 * @param from the packed representation of the first pitch
+	 * @param to the packed representation of the second pitch
+	 * @return the packed interval from {@code from} to {@code to}
+	 * @throws IllegalArgumentException if the interval cannot be
+	 *         represented in the packed form
+	 */
+	public static int packedBetween(int from, int to) {
+		return pack(Pitch.packedDiatonicIndex(to)
+				- Pitch.packedDiatonicIndex(from),
+				Pitch.packedMidi(to) - Pitch.packedMidi(from));
+	}
+
+	/**
+	 * Returns the ascending simple interval between two pitch classes
+	 * in the packed form. The result represents the same interval
+	 * as {@link #between(PitchClass, PitchClass)}.
+	 *
+	 * @param from the lower pitch class
+	 * @param to the upper pitch class
+	 * @return the packed interval from {@code from} up to {@code to}
+	 * @throws NullPointerException if any of the arguments is null
+	 */
+	public static int packedBetween(PitchClass from, PitchClass to) {
+		return packedFifths((int) (to.fifths() - from.fifths()));
+	}
+
+	/**
+	 * Returns the sequence of directed intervals between successive pitches
+	 * of a melody, in the packed form (see {@link #pack(int, int)}).
+	 * The element at index {@code i} is the interval from the pitch
+	 * at index {@code i} to the pitch at index {@code i + 1}.
+	 *
+	 * @param melody the pitches of the melody in the order of
+	 *        {@link PitchGroup#pitches()}
+	 * @return the packed intervals between successive pitches,
+	 *         an array one element shorter than {@code melody},
+	 *         or an empty array if {@code melody} is empty
+	 * @throws NullPointerException if {@code melody} is null
+	 * @throws IllegalArgumentException if any of the intervals cannot be
+	 *         represented in the packed form
+	 */
+	public static int[] melodicIntervals(PitchGroup melody) {
+		int size = melody.size();
+		if (size < 2) {
+			return new int[0];
+		}
+		int[] result = new int[size - 1];
+		if (melody instanceof PackedPitchGroup) {
+			PackedPitchGroup packed = (PackedPitchGroup) melody;
+			int prev = packed.getPacked(0);
+			for (int i = 1; i < size; i++) {
+				int next = packed.getPacked(i);
+				result[i - 1] = packedBetween(prev, next);
+				prev = next;
+			}
+		} else {
+			Iterator<Pitch> it = melody.iterator();
+			Pitch prev = it.next();
+			for (int i = 0; i < result.length; i++) {
+				Pitch next = it.next();
+				result[i] = packedBetween(prev, next);
+				prev = next;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the sequence of directed intervals between successive pitches
+	 * of a melody given as packed pitches (see {@link Pitch#pack(Pitch)}).
+	 * The intervals are returned in the packed form.
+	 * The element at index {@code i} is the interval from the pitch
+	 * at index {@code i} to the pitch at index {@code i + 1}.
+	 *
+	 * @param packedMelody the packed pitches of the melody
+	 * @return the packed intervals between successive pitches,
+	 *         an array one element shorter than {@code packedMelody},
+	 *         or an empty array if {@code packedMelody} is empty
+	 * @throws NullPointerException if {@code packedMelody} is null
+	 * @throws IllegalArgumentException if any of the intervals cannot be
+	 *         represented in the packed form
+	 */
+	public static int[] melodicIntervals(int[] packedMelody) {
+		if (packedMelody.length < 2) {
+			return new int[0];
+		}
+		int[] result = new int[packedMelody.length - 1];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = packedBetween(packedMelody[i], packedMelody[i + 1]);
+		}
+		return result;
+	}
+
+	/**
+	 * Packs the given number of degrees and semitones into a single
+	 * {@code int}. Both values may be negative, which represents
+	 * a descending interval.
+	 *
+	 * @param degrees the number of diatonic degrees,
+	 *        from -32768 to 32767 inclusive
+	 * @param semitones the number of semitones,
+	 *        from -32768 to 32767 inclusive
+	 * @return the packed representation of the interval
+	 * @throws IllegalArgumentException if any of the values is out of range
+	 */
+	public static int pack(int degrees, int semitones) {
+		if (degrees != (short) degrees || semitones != (short) semitones) {
+			throw new IllegalArgumentException("The interval of " + degrees
+					+ " degrees and " + semitones + " semitones "
+					+ "cannot be packed");
+		}
+		return (degrees << PACKED_DEGREES_SHIFT)
+				| (semitones & PACKED_SEMITONES_MASK);
+	}
+
+	/**
+	 * Returns the number of diatonic degrees of a packed interval.
+	 *
+	 * @param packed the packed representation of an interval
+	 * @return the number of degrees, negative for a descending interval
+	 */
+	public static int packedDegrees(int packed) {
+		return packed >> PACKED_DEGREES_SHIFT;
+	}
+
+	/**
+	 * Returns the number of semitones of a packed interval.
+	 *
+	 * @param packed the packed representation of an interval
+	 * @return the number of semitones, negative for a descending interval
+	 */
+	public static int packedSemitones(int packed) {
+		return (short) packed;
+	}
+
+	/**
+	 * Returns the interval represented by a packed interval, regardless
+	 * of its direction. A descending interval yields the same instance
+	 * as the ascending interval of the same size.
+	 *
+	 * @param packed the packed representation of an interval
+	 * @return the interval represented by {@code packed}
+	 * @see #valueOf(int, int)
+	 */
+	public static Interval unpack(int packed) {
+		int abs = packedAbs(packed);
+		return valueOf(packedDegrees(abs), packedSemitones(abs));
+	}
+
+	/**
+	 * Returns the ascending simple interval which spans the given
+	 * distance on the line of fifths, in the packed form.
+	 * Intervals which would be descending by less than one degree
+	 * (like the diminished unison) are raised by an octave.
+	 */
+	private static int packedFifths(int fifths) {
+		// A perfect fifth spans 4 degrees and 7 semitones
+		int octaves = Util.floorDiv(4 * fifths, OCTAVE_DEGREES);
+		int degrees = 4 * fifths - octaves * OCTAVE_DEGREES;
+		int semitones = 7 * fifths - octaves * OCTAVE_SEMITONES;
+		if (degrees == 0 && semitones < 0) {
+			degrees += OCTAVE_DEGREES;
+			semitones += OCTAVE_SEMITONES;
+		}
+		return pack(degrees, semitones);
+	}
+
+	/**
+	 * Returns the number of diatonic degrees of a pitch above C0,
+	 * disregarding its accidental.
+	 */
+	private static int diatonicIndex(Pitch pitch) {
+		return pitch.octave() * OCTAVE_DEGREES
+				+ pitch.pitchClass().basePitchClass().ordinal();
+	}
+
+	/**
+	 * Returns the index of the given interval in the table of canonical
+	 * instances, or -1 if the interval lies outside of the table.
+	 */
+	private static int cacheIndex(int degrees, int semitones) {
+		if (degrees < 0 || degrees > MAX_CACHED_DEGREES) {
+			return -1;
+		}
+		int deviation = semitones
+				- (degrees / OCTAVE_DEGREES) * OCTAVE_SEMITONES
+				- DIATONIC_SEMITONES[degrees % OCTAVE_DEGREES];
+		if (deviation < -MAX_CACHED_DEVIATION
+				|| deviation > MAX_CACHED_DEVIATION) {
+			return -1;
+		}
+		return degrees * CACHED_DEVIATIONS + deviation + MAX_CACHED_DEVIATION;
+	}
+
+	/**
+	 * Fills the given arrays with the prefix sums of the given intervals,
+	 * starting with a unison at index 0.
+	 * Each array must be one element longer than {@code intervals}.
+	 */
+	static void prefixSums(List<Interval> intervals,
+			Interval[] sums, int[] degrees, int[] semitones) {
+		sums[0] = SimpleInterval.UNISON;
+		for (int i = 0; i < intervals.size(); i++) {
+			Interval interval = intervals.get(i);
+			degrees[i + 1] = degrees[i] + interval.degrees();
+			semitones[i + 1] = semitones[i] + interval.semitones();
+			sums[i + 1] = valueOf(degrees[i + 1], semitones[i + 1]);
+		}
+	}
+
+	private static Interval create(int degrees, int semitones) {
 		SimpleInterval simple = SimpleInterval.valueOf(degrees, semitones);
 		if (simple != null) {
 			return simple;
-		} else {
-			return new UniversalInterval(degrees, semitones);
 		}
+		if (degrees > OCTAVE_DEGREES) {
+			// The simple part spans one to seven degrees, so that intervals
+			// like the diminished fifteenth decompose into an octave-sized
+			// simple part and the remaining octaves
+			int octaves = (degrees - 1) / OCTAVE_DEGREES;
+			simple = SimpleInterval.valueOf(degrees - octaves * OCTAVE_DEGREES,
+					semitones - octaves * OCTAVE_SEMITONES);
+			if (simple != null) {
+				return CompoundInterval.of(simple, octaves);
+			}
+		}
+		return universal(degrees, semitones);
+	}
+
+	/**
+	 * Returns the canonical instance of an interval which is neither
+	 * simple nor compound, creating it if necessary.
+	 */
+	private static Interval universal(final int degrees, final int semitones) {
+		long key = ((long) degrees << 32) | (semitones & 0xFFFFFFFFL);
+		Interval interval = universalPool.get(key);
+		if (interval != null) {
+			return interval;
+		}
+		return universalPool.intern(key, new CanonicalPool.Factory<Interval>() {
+			@Override
+			public Interval create(int id) {
+				return new UniversalInterval(degrees, semitones);
+			}
+		});
 	}
 
-	// TODO Use CompoundInterval?
-	private static class UniversalInterval extends AbstractInterval {
+	/**
+	 * An interval which is neither simple nor compound.
+	 */
+	private static class UniversalInterval extends AbstractInterval
+			implements Serializable {
+		private static final long serialVersionUID = 1L;
+
 		private final int degrees;
 		private final int semitones;
 
@@ -131,5 +881,12 @@ public final class Intervals {
 		public String toString() {
 			return degrees + " degrees, " + semitones + " semitones";
 		}
+
+		/**
+		 * Replaces a deserialized interval with the canonical instance.
+		 */
+		private Object readResolve() {
+			return valueOf(degrees, semitones);
+		}
 	}
 }
@@ -16,8 +16,11 @@
 
 package com.github.singond.music;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public interface Key {
 
@@ -90,6 +93,61 @@ public interface Key {
 	 */
 	List<Pitch> scale(Pitch start);
 
+	/**
+	 * Returns a stream of the scale of this key between the given
+	 * endpoints. The stream contains the same pitches in the same order
+	 * as the list returned by {@link #scale(Pitch, Pitch)}.
+	 *
+	 * @param start the starting point (inclusive, if part of the key)
+	 * @param end the end point (inclusive, if part of the key)
+	 * @return a stream of all pitches belonging to this key between
+	 *         {@code start} and {@code end}
+	 */
+	default Stream<Pitch> scaleStream(Pitch start, Pitch end) {
+		return scale(start, end).stream();
+	}
+
+	/**
+	 * Returns a stream of the MIDI numbers of the scale of this key
+	 * between the given endpoints. The stream contains the MIDI numbers
+	 * of the pitches returned by {@link #scale(Pitch, Pitch)},
+	 * in the same order.
+	 *
+	 * @param start the starting point (inclusive, if part of the key)
+	 * @param end the end point (inclusive, if part of the key)
+	 * @return a stream of the MIDI numbers of all pitches belonging
+	 *         to this key between {@code start} and {@code end}
+	 */
+	default IntStream scaleMidiNumbers(Pitch start, Pitch end) {
+		return Pitches.midiNumbersBetween(start, end, pitchClasses());
+	}
+
+	/**
+	 * Returns an iterator over the ascending scale of this key starting
+	 * at the given pitch. The iterator never ends.
+	 *
+	 * @param start the starting point (inclusive, if part of the key)
+	 * @return an iterator over all pitches belonging to this key
+	 *         which are higher than or enharmonic to {@code start},
+	 *         from the lowest
+	 */
+	default Iterator<Pitch> ascendingScale(Pitch start) {
+		return Pitches.ascendingFrom(start, pitchClasses());
+	}
+
+	/**
+	 * Returns an iterator over the descending scale of this key starting
+	 * at the given pitch. The iterator never ends.
+	 *
+	 * @param start the starting point (inclusive, if part of the key)
+	 * @return an iterator over all pitches belonging to this key
+	 *         which are lower than or enharmonic to {@code start},
+	 *         from the highest
+	 */
+	default Iterator<Pitch> descendingScale(Pitch start) {
+		return Pitches.descendingFrom(start, pitchClasses());
+	}
+
 	/**
 	 * Returns the type of this key (e.g. for G major returns an object
 	 * representing any major key).
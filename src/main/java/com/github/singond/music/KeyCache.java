@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of key instances, identified by their
+ * type and tonic.
+ * <p>
+ * The common keys are stored in tables by their respective classes
+ * and never enter this cache. This cache holds the other keys, like
+ * G# major, so that repeated requests for the same key return the same
+ * instance instead of building its scale again.
+ * <p>
+ * The cache in use can be replaced with one of a different capacity
+ * or eviction policy using {@link Keys#configureCache}.
+ *
+ * @author Singon
+ */
+final class KeyCache {
+
+	/** The default maximum number of keys in the cache. */
+	static final int DEFAULT_CAPACITY = 256;
+
+	/** The default eviction policy of the cache. */
+	static final EvictionPolicy DEFAULT_POLICY
+			= EvictionPolicy.LEAST_RECENTLY_USED;
+
+	private static volatile KeyCache instance
+			= new KeyCache(DEFAULT_CAPACITY, DEFAULT_POLICY);
+
+	private final int capacity;
+	private final Map<CacheKey, Key> keys;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	private KeyCache(int capacity, EvictionPolicy policy) {
+		this.capacity = capacity;
+		boolean accessOrder = policy == EvictionPolicy.LEAST_RECENTLY_USED;
+		this.keys = new LinkedHashMap<CacheKey, Key>(16, 0.75f, accessOrder) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, Key> e) {
+				if (size() > KeyCache.this.capacity) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Replaces the cache in use with a new, empty cache.
+	 *
+	 * @param capacity the maximum number of keys in the new cache;
+	 *        zero disables caching
+	 * @param policy the eviction policy of the new cache
+	 */
+	static void configure(int capacity, EvictionPolicy policy) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException
+					("Capacity must not be negative: " + capacity);
+		} else if (policy == null) {
+			throw new NullPointerException("The eviction policy is null");
+		}
+		instance = new KeyCache(capacity, policy);
+	}
+
+	/**
+	 * Returns the cache currently in use.
+	 */
+	static KeyCache current() {
+		return instance;
+	}
+
+	/**
+	 * Returns the cached key of the given type and tonic,
+	 * or null if there is none.
+	 */
+	Key get(KeyType type, PitchClass tonic) {
+		Key key;
+		synchronized (keys) {
+			key = keys.get(new CacheKey(type, tonic));
+		}
+		if (key != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return key;
+	}
+
+	/**
+	 * Stores the given key under the given type and tonic, unless another
+	 * thread has already stored a key there in the meantime.
+	 * Returns the key which is in the cache after this call.
+	 */
+	Key intern(KeyType type, PitchClass tonic, Key key) {
+		if (capacity == 0) {
+			return key;
+		}
+		CacheKey cacheKey = new CacheKey(type, tonic);
+		synchronized (keys) {
+			Key existing = keys.get(cacheKey);
+			if (existing != null) {
+				return existing;
+			}
+			keys.put(cacheKey, key);
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the usage statistics of this cache.
+	 */
+	CacheStatistics statistics() {
+		return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum());
+	}
+
+	/**
+	 * The identification of a key in the cache.
+	 */
+	private static final class CacheKey {
+		private final KeyType type;
+		private final PitchClass tonic;
+
+		CacheKey(KeyType type, PitchClass tonic) {
+			this.type = type;
+			this.tonic = tonic;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * type.hashCode() + tonic.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof CacheKey)) return false;
+			CacheKey other = (CacheKey) obj;
+			return type.equals(other.type) && tonic.equals(other.tonic);
+		}
+	}
+}
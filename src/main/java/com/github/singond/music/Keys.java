@@ -88,6 +88,37 @@ public final class Keys {
 	/** The key of <em>A# minor</em>. */
 	public static final Key A_SHARP_MINOR = MinorKey.A_SHARP;
 
+	/**
+	 * Replaces the cache of keys which are not common, like G# major,
+	 * with a new, empty cache of the given capacity and eviction policy.
+	 * The statistics of the previous cache are discarded.
+	 * <p>
+	 * The cache makes repeated requests for the same key (as in
+	 * {@code Keys.MAJOR.in(PitchClass.G_SHARP)}) return the same instance.
+	 * By default, the cache holds up to 256 keys and evicts the least
+	 * recently used ones.
+	 *
+	 * @param capacity the maximum number of keys in the cache;
+	 *        zero disables caching
+	 * @param policy the rule for choosing which key to evict
+	 *        from a full cache
+	 * @throws IllegalArgumentException if {@code capacity} is negative
+	 * @throws NullPointerException if {@code policy} is null
+	 */
+	public static void configureCache(int capacity, EvictionPolicy policy) {
+		KeyCache.configure(capacity, policy);
+	}
+
+	/**
+	 * Returns the usage statistics of the cache of keys which are not
+	 * common. Requests for the common keys are not counted.
+	 *
+	 * @return a snapshot of the current statistics
+	 */
+	public static CacheStatistics cacheStatistics() {
+		return KeyCache.current().statistics();
+	}
+
 	private Keys() {
 		throw new UnsupportedOperationException("Non-instantiable class");
 	}
@@ -17,9 +17,7 @@
 package com.github.singond.music;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * The common major key; that is a key with semitones between the 3rd and 4th
@@ -58,24 +56,18 @@ class MajorKey extends SimpleKey implements Key {
 	public static final MajorKey F_SHARP = new MajorKey(PitchClass.F_SHARP);
 	public static final MajorKey C_SHARP = new MajorKey(PitchClass.C_SHARP);
 
-	private static final Map<PitchClass, MajorKey> commonKeys;
+	/**
+	 * The common keys indexed by the position of their tonic on the line
+	 * of fifths (see {@link PitchClass#id()}).
+	 */
+	private static final MajorKey[] commonKeys;
 	static {
-		commonKeys = new HashMap<>();
-		commonKeys.put(PitchClass.C_FLAT,  MajorKey.C_FLAT);
-		commonKeys.put(PitchClass.G_FLAT,  MajorKey.G_FLAT);
-		commonKeys.put(PitchClass.D_FLAT,  MajorKey.D_FLAT);
-		commonKeys.put(PitchClass.A_FLAT,  MajorKey.A_FLAT);
-		commonKeys.put(PitchClass.E_FLAT,  MajorKey.E_FLAT);
-		commonKeys.put(PitchClass.B_FLAT,  MajorKey.B_FLAT);
-		commonKeys.put(PitchClass.F,       MajorKey.F);
-		commonKeys.put(PitchClass.C,       MajorKey.C);
-		commonKeys.put(PitchClass.G,       MajorKey.G);
-		commonKeys.put(PitchClass.D,       MajorKey.D);
-		commonKeys.put(PitchClass.A,       MajorKey.A);
-		commonKeys.put(PitchClass.E,       MajorKey.E);
-		commonKeys.put(PitchClass.B,       MajorKey.B);
-		commonKeys.put(PitchClass.F_SHARP, MajorKey.F_SHARP);
-		commonKeys.put(PitchClass.C_SHARP, MajorKey.C_SHARP);
+		commonKeys = new MajorKey[PitchClass.COMMON_COUNT];
+		for (MajorKey key : Arrays.asList(
+				C_FLAT, G_FLAT, D_FLAT, A_FLAT, E_FLAT, B_FLAT, F, C, G, D,
+				A, E, B, F_SHARP, C_SHARP)) {
+			commonKeys[key.tonic().id()] = key;
+		}
 	}
 
 	private MajorKey(PitchClass tonic) {
@@ -84,14 +76,27 @@ class MajorKey extends SimpleKey implements Key {
 
 	/**
 	 * Returns a major key with the given tonic.
+	 * The common keys are always returned as the same instances,
+	 * other keys are kept in a cache (see {@link Keys#configureCache}).
 	 *
 	 * @param tonic the tonic of the key
 	 * @return the major key in {@code tonic}
 	 */
 	public static MajorKey in(PitchClass tonic) {
-		if (commonKeys.containsKey(tonic))
-			return commonKeys.get(tonic);
-		else return new MajorKey(tonic);
+		if (PitchClassSet.accepts(tonic)) {
+			MajorKey key = commonKeys[tonic.id()];
+			if (key != null) {
+				return key;
+			}
+		} else if (tonic == null) {
+			throw new NullPointerException("The tonic is null");
+		}
+		KeyCache cache = KeyCache.current();
+		Key key = cache.get(TYPE, tonic);
+		if (key == null) {
+			key = cache.intern(TYPE, tonic, new MajorKey(tonic));
+		}
+		return (MajorKey) key;
 	}
 
 	@Override
@@ -17,9 +17,7 @@
 package com.github.singond.music;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * The common minor key; that is a key with semitones between the 2nd and 3rd
@@ -58,24 +56,18 @@ class MinorKey extends SimpleKey implements Key {
 	public static final MinorKey D_SHARP = new MinorKey(PitchClass.D_SHARP);
 	public static final MinorKey A_SHARP = new MinorKey(PitchClass.A_SHARP);
 
-	private static final Map<PitchClass, MinorKey> commonKeys;
+	/**
+	 * The common keys indexed by the position of their tonic on the line
+	 * of fifths (see {@link PitchClass#id()}).
+	 */
+	private static final MinorKey[] commonKeys;
 	static {
-		commonKeys = new HashMap<>();
-		commonKeys.put(PitchClass.A_FLAT,  MinorKey.A_FLAT);
-		commonKeys.put(PitchClass.E_FLAT,  MinorKey.E_FLAT);
-		commonKeys.put(PitchClass.B_FLAT,  MinorKey.B_FLAT);
-		commonKeys.put(PitchClass.F,       MinorKey.F);
-		commonKeys.put(PitchClass.C,       MinorKey.C);
-		commonKeys.put(PitchClass.G,       MinorKey.G);
-		commonKeys.put(PitchClass.D,       MinorKey.D);
-		commonKeys.put(PitchClass.A,       MinorKey.A);
-		commonKeys.put(PitchClass.E,       MinorKey.E);
-		commonKeys.put(PitchClass.B,       MinorKey.B);
-		commonKeys.put(PitchClass.F_SHARP, MinorKey.F_SHARP);
-		commonKeys.put(PitchClass.C_SHARP, MinorKey.C_SHARP);
-		commonKeys.put(PitchClass.G_SHARP, MinorKey.G_SHARP);
-		commonKeys.put(PitchClass.D_SHARP, MinorKey.D_SHARP);
-		commonKeys.put(PitchClass.A_SHARP, MinorKey.A_SHARP);
+		commonKeys = new MinorKey[PitchClass.COMMON_COUNT];
+		for (MinorKey key : Arrays.asList(
+				A_FLAT, E_FLAT, B_FLAT, F, C, G, D, A, E, B, F_SHARP,
+				C_SHARP, G_SHARP, D_SHARP, A_SHARP)) {
+			commonKeys[key.tonic().id()] = key;
+		}
 	}
 
 	private MinorKey(PitchClass tonic) {
@@ -84,14 +76,27 @@ class MinorKey extends SimpleKey implements Key {
 
 	/**
 	 * Returns a minor key with the given tonic.
+	 * The common keys are always returned as the same instances,
+	 * other keys are kept in a cache (see {@link Keys#configureCache}).
 	 *
 	 * @param tonic the tonic of the key
 	 * @return the minor key in {@code tonic}
 	 */
 	public static MinorKey in(PitchClass tonic) {
-		if (commonKeys.containsKey(tonic))
-			return commonKeys.get(tonic);
-		else return new MinorKey(tonic);
+		if (PitchClassSet.accepts(tonic)) {
+			MinorKey key = commonKeys[tonic.id()];
+			if (key != null) {
+				return key;
+			}
+		} else if (tonic == null) {
+			throw new NullPointerException("The tonic is null");
+		}
+		KeyCache cache = KeyCache.current();
+		Key key = cache.get(TYPE, tonic);
+		if (key == null) {
+			key = cache.intern(TYPE, tonic, new MinorKey(tonic));
+		}
+		return (MinorKey) key;
 	}
 
 	@Override
@@ -0,0 +1,441 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A compact, immutable group of pitches stored as an array of packed
+ * pitches (see {@link Pitch#pack(Pitch)}).
+ * <p>
+ * Unlike most other pitch groups, this class keeps the pitches in the
+ * order in which they were given, which makes it suitable for storing
+ * melodies. To obtain the pitches sorted from the lowest to highest,
+ * use {@link #sorted()} or {@link #sortedEnharmonically()}.
+ * <p>
+ * The {@code Pitch} objects are only obtained when requested through
+ * {@link #pitches()} or {@link #iterator()}. Bulk operations like
+ * transposition, sorting or conversion to MIDI numbers are performed
+ * on the packed values directly.
+ *
+ * @author Singon
+ */
+public final class PackedPitchGroup implements PitchGroup {
+
+	/** An empty group of pitches. */
+	public static final PackedPitchGroup EMPTY
+			= new PackedPitchGroup(new int[0]);
+
+	/** The packed pitches; this array is never modified. */
+	private final int[] packed;
+
+	private PackedPitchGroup(int[] packed) {
+		this.packed = packed;
+	}
+
+	/**
+	 * Creates a group of the given pitches, retaining their order.
+	 *
+	 * @param pitches the pitches to be contained in the group
+	 * @return a group of {@code pitches}
+	 * @throws NullPointerException if any of the pitches is null
+	 * @throws IllegalArgumentException if any of the pitches cannot be
+	 *         represented in the packed form
+	 */
+	public static PackedPitchGroup of(Pitch... pitches) {
+		return of(Arrays.asList(pitches));
+	}
+
+	/**
+	 * Creates a group of the given pitches, retaining their order
+	 * of iteration.
+	 *
+	 * @param pitches the pitches to be contained in the group
+	 * @return a group of {@code pitches}
+	 * @throws NullPointerException if any of the pitches is null
+	 * @throws IllegalArgumentException if any of the pitches cannot be
+	 *         represented in the packed form
+	 */
+	public static PackedPitchGroup of(Collection<Pitch> pitches) {
+		int[] packed = new int[pitches.size()];
+		int i = 0;
+		for (Pitch p : pitches) {
+			packed[i++] = Pitch.pack(p);
+		}
+		return new PackedPitchGroup(packed);
+	}
+
+	/**
+	 * Creates a group of the pitches in the given pitch group,
+	 * retaining their order. If the given group is a
+	 * {@code PackedPitchGroup}, it is returned unchanged.
+	 *
+	 * @param group the pitch group to be copied
+	 * @return a group containing the pitches of {@code group}
+	 * @throws IllegalArgumentException if any of the pitches cannot be
+	 *         represented in the packed form
+	 */
+	public static PackedPitchGroup of(PitchGroup group) {
+		if (group instanceof PackedPitchGroup) {
+			return (PackedPitchGroup) group;
+		}
+		return of(group.pitches());
+	}
+
+	/**
+	 * Creates a group of pitches from an array of packed pitches,
+	 * retaining their order. The array is copied.
+	 *
+	 * @param packed the packed representations of the pitches
+	 * @return a group of the pitches represented by {@code packed}
+	 * @throws IllegalArgumentException if any of the values is not
+	 *         a valid packed pitch
+	 * @see Pitch#pack(Pitch)
+	 * @see Pitches#parsePacked(CharSequence)
+	 */
+	public static PackedPitchGroup ofPacked(int... packed) {
+		for (int p : packed) {
+			// Validates the value
+			Pitch.packedBasePitchClass(p);
+		}
+		return new PackedPitchGroup(packed.clone());
+	}
+
+	/**
+	 * Returns a view of the pitches in this group, in the order in which
+	 * they were given. The pitches are obtained from their packed form
+	 * on each access.
+	 *
+	 * @return an unmodifiable list of the pitches in this group
+	 */
+	@Override
+	public List<Pitch> pitches() {
+		return new PitchList();
+	}
+
+	@Override
+	public int size() {
+		return packed.length;
+	}
+
+	/**
+	 * Returns the pitch at the given position in this group.
+	 *
+	 * @param index the index of the pitch
+	 * @return the pitch at {@code index}
+	 * @throws IndexOutOfBoundsException if {@code index} is out of range
+	 */
+	public Pitch get(int index) {
+		return Pitch.unpack(packed[index]);
+	}
+
+	/**
+	 * Returns the packed representation of the pitch at the given
+	 * position in this group.
+	 *
+	 * @param index the index of the pitch
+	 * @return the packed pitch at {@code index}
+	 * @throws IndexOutOfBoundsException if {@code index} is out of range
+	 */
+	public int getPacked(int index) {
+		return packed[index];
+	}
+
+	/**
+	 * Returns the packed representations of the pitches in this group.
+	 *
+	 * @return a new array of the packed pitches
+	 */
+	public int[] toPackedArray() {
+		return packed.clone();
+	}
+
+	/**
+	 * Returns the MIDI numbers of the pitches in this group.
+	 *
+	 * @return a new array of the MIDI numbers of the pitches,
+	 *         in the order of the pitches
+	 * @see Pitch#midiNumber()
+	 */
+	public int[] toMidiArray() {
+		int[] midi = new int[packed.length];
+		for (int i = 0; i < packed.length; i++) {
+			midi[i] = Pitch.packedMidi(packed[i]);
+		}
+		return midi;
+	}
+
+	/**
+	 * Transposes all pitches in this group up by the given interval.
+	 *
+	 * @param interval the interval to transpose by
+	 * @return a new group of the transposed pitches
+	 * @throws IllegalArgumentException if any of the transposed pitches
+	 *         cannot be represented in the packed form
+	 */
+	public PackedPitchGroup transposeUp(Interval interval) {
+		return transpose(interval.degrees(), interval.semitones());
+	}
+
+	/**
+	 * Transposes all pitches in this group down by the given interval.
+	 *
+	 * @param interval the interval to transpose by
+	 * @return a new group of the transposed pitches
+	 * @throws IllegalArgumentException if any of the transposed pitches
+	 *         cannot be represented in the packed form
+	 */
+	public PackedPitchGroup transposeDown(Interval interval) {
+		return transpose(-interval.degrees(), -interval.semitones());
+	}
+
+	private PackedPitchGroup transpose(int degrees, int semitones) {
+		if (degrees == 0 && semitones == 0) {
+			return this;
+		}
+		int[] result = new int[packed.length];
+		for (int i = 0; i < packed.length; i++) {
+			result[i] = Pitch.packedTranspose(packed[i], degrees, semitones);
+		}
+		return new PackedPitchGroup(result);
+	}
+
+	/**
+	 * Returns the pitches of this group sorted in their natural order.
+	 *
+	 * @return a new group of the pitches sorted from the lowest
+	 *         to highest
+	 * @see Pitch#strictComparator()
+	 */
+	public PackedPitchGroup sorted() {
+		int[] result = packed.clone();
+		Pitches.sortPacked(result);
+		return new PackedPitchGroup(result);
+	}
+
+	/**
+	 * Returns the pitches of this group sorted by their absolute pitch
+	 * only. Enharmonic pitches retain their relative order.
+	 *
+	 * @return a new group of the pitches sorted from the lowest
+	 *         to highest
+	 * @see Pitch#enharmonicComparator()
+	 */
+	public PackedPitchGroup sortedEnharmonically() {
+		int[] result = packed.clone();
+		Pitches.sortPackedEnharmonically(result);
+		return new PackedPitchGroup(result);
+	}
+
+	/**
+	 * Returns the lowest pitch in this group in the natural order.
+	 *
+	 * @return the lowest pitch
+	 * @throws NoSuchElementException if this group is empty
+	 */
+	public Pitch lowest() {
+		return Pitch.unpack(packed[extremeIndex(-1)]);
+	}
+
+	/**
+	 * Returns the highest pitch in this group in the natural order.
+	 *
+	 * @return the highest pitch
+	 * @throws NoSuchElementException if this group is empty
+	 */
+	public Pitch highest() {
+		return Pitch.unpack(packed[extremeIndex(1)]);
+	}
+
+	/**
+	 * Returns the index of the lowest (if {@code sign} is negative)
+	 * or highest (if positive) pitch.
+	 */
+	private int extremeIndex(int sign) {
+		if (packed.length == 0) {
+			throw new NoSuchElementException("The pitch group is empty");
+		}
+		int result = 0;
+		for (int i = 1; i < packed.length; i++) {
+			if (Integer.signum(Pitch.packedCompare(packed[i], packed[result]))
+					== sign) {
+				result = i;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the distance between the lowest and highest pitch
+	 * in this group in semitones.
+	 *
+	 * @return the span of this group in semitones,
+	 *         or zero if this group is empty
+	 */
+	public int span() {
+		if (packed.length == 0) {
+			return 0;
+		}
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for (int p : packed) {
+			int midi = Pitch.packedMidi(p);
+			if (midi < min) min = midi;
+			if (midi > max) max = midi;
+		}
+		return max - min;
+	}
+
+	@Override
+	public Iterator<Pitch> iterator() {
+		return pitches().iterator();
+	}
+
+	/**
+	 * Returns a spliterator over the pitches in this group.
+	 * The spliterator splits the group into halves and thus supports
+	 * efficient parallel processing.
+	 *
+	 * @return a spliterator over the pitches in this group
+	 */
+	@Override
+	public Spliterator<Pitch> spliterator() {
+		return new PitchSpliterator(packed, 0, packed.length);
+	}
+
+	/**
+	 * Returns a spliterator over the packed pitches in this group.
+	 *
+	 * @return a spliterator over the packed pitches in this group
+	 */
+	public Spliterator.OfInt packedSpliterator() {
+		return Spliterators.spliterator(packed, Spliterator.ORDERED
+				| Spliterator.IMMUTABLE | Spliterator.NONNULL);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof PackedPitchGroup)) {
+			return false;
+		}
+		return Arrays.equals(packed, ((PackedPitchGroup) obj).packed);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(packed);
+	}
+
+	@Override
+	public String toString() {
+		return pitches().toString();
+	}
+
+	/**
+	 * A read-only list view of the pitches.
+	 */
+	private class PitchList extends AbstractList<Pitch>
+			implements RandomAccess {
+
+		@Override
+		public Pitch get(int index) {
+			return Pitch.unpack(packed[index]);
+		}
+
+		@Override
+		public int size() {
+			return packed.length;
+		}
+
+		@Override
+		public Spliterator<Pitch> spliterator() {
+			return PackedPitchGroup.this.spliterator();
+		}
+	}
+
+	/**
+	 * A spliterator over a range of packed pitches.
+	 */
+	private static final class PitchSpliterator implements Spliterator<Pitch> {
+
+		private final int[] packed;
+		private int index;
+		private final int end;
+
+		PitchSpliterator(int[] packed, int start, int end) {
+			this.packed = packed;
+			this.index = start;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Pitch> action) {
+			if (action == null) {
+				throw new NullPointerException("The action is null");
+			}
+			if (index < end) {
+				action.accept(Pitch.unpack(packed[index++]));
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Pitch> action) {
+			if (action == null) {
+				throw new NullPointerException("The action is null");
+			}
+			for (int i = index; i < end; i++) {
+				action.accept(Pitch.unpack(packed[i]));
+			}
+			index = end;
+		}
+
+		@Override
+		public Spliterator<Pitch> trySplit() {
+			int start = index;
+			int middle = (start + end) >>> 1;
+			if (middle <= start) {
+				return null;
+			}
+			index = middle;
+			return new PitchSpliterator(packed, start, middle);
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+		}
+	}
+}
@@ -16,15 +16,14 @@
 
 package com.github.singond.music;
 
-import java.util.ArrayList;
+import java.io.Serializable;
+import java.text.ParsePosition;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * An exact pitch; that is a pitch class and an octave.
@@ -33,11 +32,15 @@ import java.util.regex.Pattern;
  * from lower pitches to higher pitches.
  * This ordering is consistent with {@code equals}.
  * <p>
- * Instances of this class are immutable.
+ * Instances of this class are immutable and canonical: there is only
+ * one instance of each pitch, so pitches can be compared using the
+ * {@code ==} operator. This also holds for deserialized instances.
  *
  * @author Singon
  */
-public final class Pitch implements Comparable<Pitch>, PitchGroup {
+public final class Pitch implements Comparable<Pitch>, PitchGroup, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** The pitch class */
 	private final PitchClass pitchClass;
@@ -56,6 +59,9 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 	 */
 	private final transient int pitch;
 
+	/** The dense id of this pitch, see {@link #id()}. */
+	private final transient int id;
+
 	/** The number of semitones in an octave */
 	private static final int SEMITONES = 12;
 
@@ -65,33 +71,65 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 	private static final Comparator<Pitch> ENHARMONIC_COMPARATOR
 			= new EnharmonicComparator();
 
-	private static final Pattern STRING_PATTERN
-			= Pattern.compile("(.*)([0-9]+)");
+	/*
+	 * Layout of the packed representation of a pitch (see pack(Pitch)):
+	 * bits 0-2   the ordinal of the base pitch class,
+	 * bits 3-10  the accidental as a signed number of semitones,
+	 * bits 11-31 the octave as a signed number.
+	 */
+	private static final int PACKED_BASE_MASK = 0x7;
+	private static final int PACKED_ACCIDENTAL_SHIFT = 3;
+	private static final int PACKED_ACCIDENTAL_MASK = 0xFF;
+	private static final int PACKED_OCTAVE_SHIFT = 11;
+
+	/** The lowest accidental which can be stored in a packed pitch. */
+	public static final int MIN_PACKED_ACCIDENTAL = -128;
+	/** The highest accidental which can be stored in a packed pitch. */
+	public static final int MAX_PACKED_ACCIDENTAL = 127;
+	/** The lowest octave which can be stored in a packed pitch. */
+	public static final int MIN_PACKED_OCTAVE = -(1 << 20);
+	/** The highest octave which can be stored in a packed pitch. */
+	public static final int MAX_PACKED_OCTAVE = (1 << 20) - 1;
+
+	/** The number of diatonic degrees in an octave */
+	private static final int DEGREES = 7;
+
+	private static final BasePitchClass[] BASES = BasePitchClass.values();
+
+	/*
+	 * The range of pitches covered by the table of canonical instances.
+	 */
+	private static final int MIN_CACHED_OCTAVE = -16;
+	private static final int MAX_CACHED_OCTAVE = 31;
+	private static final int MIN_CACHED_ACCIDENTAL = -4;
+	private static final int MAX_CACHED_ACCIDENTAL = 4;
+	private static final int CACHED_ACCIDENTALS
+			= MAX_CACHED_ACCIDENTAL - MIN_CACHED_ACCIDENTAL + 1;
+	private static final int CACHED_OCTAVES
+			= MAX_CACHED_OCTAVE - MIN_CACHED_OCTAVE + 1;
 
 	/**
-	 * Pre-cached instances of most common pitches.
+	 * Canonical instances of pitches, indexed by their dense pitch id
+	 * (see {@link #cacheIndex}).
+	 * The table is populated lazily: each slot is filled on its first
+	 * request and never changes afterwards.
 	 */
-	private static final Map<BasePitchClass, List<Pitch>> commonPitches;
-	static {
-		commonPitches = new EnumMap<>(BasePitchClass.class);
-		for (BasePitchClass bpc : BasePitchClass.values()) {
-			// Store all pitches from the same base in a single list:
-			// e.g. [Cbb0, Cb0, C0, C#0, Cx0, Cbb1, Cb1, C1, C#1, Cx1...]
-			int length = 5 * 9;
-			List<Pitch> pitches = new ArrayList<>(length);
-			for (int i = 0; i < length; i++) {
-				pitches.add(null);
-			}
-			for (int acc = 0; acc < 5; acc++) {
-				PitchClass pc = PitchClass.of(bpc, Accidental.ofSteps(acc-2));
-				for (int octave = 0; octave < 9; octave++) {
-					int index = octave * 5 + acc;
-					pitches.set(index, new Pitch(pc, octave));
-				}
-			}
-			commonPitches.put(bpc, pitches);
-		}
-	}
+	private static final AtomicReferenceArray<Pitch> cache
+			= new AtomicReferenceArray<>(
+					CACHED_OCTAVES * CACHED_ACCIDENTALS * DEGREES);
+
+	/**
+	 * The number of pitches in the table of canonical instances.
+	 * These pitches have the ids from 0 to {@code CACHE_SIZE - 1}.
+	 */
+	static final int CACHE_SIZE = cache.length();
+
+	/** The pitches outside the range of the table. */
+	private static final CanonicalPool<Pitch> pool
+			= new CanonicalPool<>(cache.length());
+
+	private static final LongAdder cacheHits = new LongAdder();
+	private static final LongAdder cacheMisses = new LongAdder();
 
 	/** The <em>C-double-flat</em> pitch in the 0th octave. */
 	public static final Pitch CBB0 = Pitch.of(PitchClass.C_DBL_FLAT, 0);
@@ -786,37 +824,46 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 	/** The <em>B-double-sharp</em> pitch in the 8th octave. */
 	public static final Pitch BX8 = Pitch.of(PitchClass.B_DBL_SHARP, 8);
 
-	private Pitch(PitchClass pitchClass, int octave) {
+	private Pitch(PitchClass pitchClass, int octave, int id) {
 		this.pitchClass = pitchClass;
 		this.octave = octave;
 		this.pitch = (octave * SEMITONES) + pitchClass.stepsAboveReference();
+		this.id = id;
 	}
 
 	/**
 	 * Returns a pitch of the given pitch class and the given octave.
-	 * This method returns a pre-cached value for the common pitch classes
-	 * (C, D, E, F, G, A, B, and their single and double flats and sharps)
-	 * in octaves between 0 and 8 (inclusive).
+	 * This method always returns the canonical instance.
+	 * Pitches with accidentals ranging from quadruple flat to quadruple
+	 * sharp in octaves between -16 and 31 (all inclusive), which includes
+	 * all common pitch classes (C, D, E, F, G, A, B, and their single
+	 * and double flats and sharps) in all practically used octaves,
+	 * are looked up in a table; other pitches are kept in a pool.
+	 * The canonical instances are created lazily on first request.
 	 *
 	 * @param pitchClass the pitch class of the pitch
 	 * @param octave the octave of the pitch
 	 * @return a pitch of {@code pitchClass} in {@code octave}
 	 */
 	public static Pitch of(PitchClass pitchClass, int octave) {
-		int acc = pitchClass.accidental().stepsAboveNatural();
-		if (acc >= -2 && acc <= 2 && octave >= 0 && octave < 9) {
-			return commonPitches.get(pitchClass.basePitchClass())
-					.get(octave * 5 + acc + 2);
-		} else {
-			return new Pitch(pitchClass, octave);
+		int index = cacheIndex(pitchClass.basePitchClass(),
+				pitchClass.accidental().stepsAboveNatural(), octave);
+		if (index < 0) {
+			cacheMisses.increment();
+			return pooled(pitchClass, octave);
+		}
+		Pitch pitch = cache.get(index);
+		if (pitch != null) {
+			cacheHits.increment();
+			return pitch;
 		}
+		return cachePitch(index, pitchClass, octave);
 	}
 
 	/**
 	 * Returns a pitch of the given pitch class and the given octave.
-	 * This method returns a pre-cached value for the common pitch classes
-	 * (C, D, E, F, G, A, B, and their single and double flats and sharps)
-	 * in octaves between 0 and 8 (inclusive).
+	 * This method always returns the canonical instance,
+	 * see {@link #of(PitchClass, int)}.
 	 *
 	 * @param base the base pitch class of the pitch
 	 * @param accidental the accidental of the pitch
@@ -825,12 +872,130 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 	 */
 	public static Pitch of(BasePitchClass base, Accidental accidental,
 	                       int octave) {
-		int acc = accidental.stepsAboveNatural();
-		if (acc >= -2 && acc <= 2 && octave >= 0 && octave < 9) {
-			return commonPitches.get(base).get(octave * 5 + acc + 2);
+		return of(base, accidental.stepsAboveNatural(), octave);
+	}
+
+	/**
+	 * Returns a pitch of the given base pitch class, accidental given
+	 * by its number of steps above natural, and octave.
+	 * Unlike the public factory methods, this method does not need
+	 * an instance of {@code Accidental} when a canonical instance
+	 * of the pitch already exists.
+	 */
+	static Pitch of(BasePitchClass base, int accidental, int octave) {
+		int index = cacheIndex(base, accidental, octave);
+		if (index < 0) {
+			cacheMisses.increment();
+			return pooled(PitchClass.of(base,
+					Accidental.ofSteps(accidental)), octave);
+		}
+		Pitch pitch = cache.get(index);
+		if (pitch != null) {
+			cacheHits.increment();
+			return pitch;
+		}
+		return cachePitch(index,
+				PitchClass.of(base, Accidental.ofSteps(accidental)), octave);
+	}
+
+	/**
+	 * Returns the dense pitch id of the given pitch, which is its index
+	 * in the table of canonical instances, or -1 if the pitch lies outside
+	 * the range covered by the table.
+	 */
+	private static int cacheIndex(BasePitchClass base, int accidental,
+	                              int octave) {
+		if (accidental < MIN_CACHED_ACCIDENTAL
+				|| accidental > MAX_CACHED_ACCIDENTAL
+				|| octave < MIN_CACHED_OCTAVE
+				|| octave > MAX_CACHED_OCTAVE) {
+			return -1;
+		}
+		return ((octave - MIN_CACHED_OCTAVE) * CACHED_ACCIDENTALS
+				+ accidental - MIN_CACHED_ACCIDENTAL) * DEGREES
+				+ base.ordinal();
+	}
+
+	/**
+	 * Returns the id of a packed pitch, provided it lies in the range
+	 * of the table of canonical instances, without creating the pitch.
+	 *
+	 * @return the id of the pitch, or -1 if it lies outside the table
+	 */
+	static int packedCacheIndex(int packed) {
+		return cacheIndex(packedBasePitchClass(packed),
+				packedAccidental(packed), packedOctave(packed));
+	}
+
+	/**
+	 * Returns the id of the pitch class of the pitch with the given index
+	 * in the table of canonical instances, provided it is one of the
+	 * common pitch classes.
+	 *
+	 * @return the id of the pitch class, or -1 if it is not common
+	 */
+	static int cacheIndexPitchClassId(int index) {
+		int accidental = index / DEGREES % CACHED_ACCIDENTALS
+				+ MIN_CACHED_ACCIDENTAL;
+		return PitchClass.commonId(BASES[index % DEGREES], accidental);
+	}
+
+	/**
+	 * Stores a new pitch into the empty slot of the table of canonical
+	 * instances at the given index, unless another thread has filled
+	 * the slot in the meantime.
+	 *
+	 * @return the canonical instance stored in the slot
+	 */
+	private static Pitch cachePitch(int index, PitchClass pitchClass,
+	                                int octave) {
+		Pitch created = new Pitch(pitchClass, octave, index);
+		if (cache.compareAndSet(index, null, created)) {
+			cacheMisses.increment();
+			return created;
 		} else {
-			return new Pitch(PitchClass.of(base, accidental), octave);
+			// Another thread was faster, use its instance
+			cacheHits.increment();
+			return cache.get(index);
+		}
+	}
+
+	/**
+	 * Returns the canonical instance of a pitch which lies outside
+	 * the range covered by the table, creating it if necessary.
+	 */
+	private static Pitch pooled(final PitchClass pitchClass,
+	                            final int octave) {
+		long key = ((long) pitchClass.id() << 32) | (octave & 0xFFFFFFFFL);
+		Pitch pitch = pool.get(key);
+		if (pitch != null) {
+			return pitch;
 		}
+		return pool.intern(key, new CanonicalPool.Factory<Pitch>() {
+			@Override
+			public Pitch create(int id) {
+				return new Pitch(pitchClass, octave, id);
+			}
+		});
+	}
+
+	/**
+	 * Returns the number of live pitches outside the range of the table.
+	 */
+	static int pooledCount() {
+		return pool.size();
+	}
+
+	/**
+	 * Returns the usage statistics of the table of canonical instances
+	 * used by the factory methods of this class.
+	 * A request for a pitch which lies outside the range covered by the
+	 * table is counted as a miss.
+	 *
+	 * @return a snapshot of the current statistics
+	 */
+	public static CacheStatistics cacheStatistics() {
+		return new CacheStatistics(cacheHits.sum(), cacheMisses.sum(), 0);
 	}
 
 	private static Pitch ofAbsolutePitch(PitchClass pitchClass,
@@ -951,6 +1116,22 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 		return pitchClass;
 	}
 
+	/**
+	 * Returns the dense id of this pitch.
+	 * The pitches with accidentals ranging from quadruple flat to quadruple
+	 * sharp in octaves between -16 and 31 have fixed ids starting at 0,
+	 * ordered by octave, accidental and base pitch class. Other pitches
+	 * are assigned an id following the fixed range when first requested;
+	 * once such a pitch is no longer reachable, its id may be reused
+	 * for another pitch. No two live pitches share an id, but the ids
+	 * of the pitches outside the fixed range may differ between runs.
+	 *
+	 * @return the id of this pitch
+	 */
+	public int id() {
+		return id;
+	}
+
 	/**
 	 * Returns the octave number of the natural of this pitch in scientific
 	 * pitch notation. Note that this may not be the actual sounding octave,
@@ -1003,11 +1184,7 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + octave;
-		result = prime * result + ((pitchClass == null) ? 0 : pitchClass.hashCode());
-		return result;
+		return id;
 	}
 
 	/**
@@ -1017,6 +1194,7 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 	 * octave.
 	 * Enharmonic pitches are <strong>not</strong> considered to be equal,
 	 * for example D#4 is not equal to Eb4.
+	 * Because the instances are canonical, this is an identity comparison.
 	 *
 	 * @param obj {@inheritDoc}
 	 * @return {@code true} if {@code obj} is also a {@code Pitch} and if
@@ -1029,24 +1207,14 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 	 */
 	@Override
 	public boolean equals(Object obj) {
-		if (this == obj) {
-			return true;
-		}
-		if (!(obj instanceof Pitch)) {
-			return false;
-		}
-		Pitch other = (Pitch) obj;
-		if (octave != other.octave) {
-			return false;
-		}
-		if (pitchClass == null) {
-			if (other.pitchClass != null) {
-				return false;
-			}
-		} else if (!pitchClass.equals(other.pitchClass)) {
-			return false;
-		}
-		return true;
+		return this == obj;
+	}
+
+	/**
+	 * Replaces a deserialized pitch with the canonical instance.
+	 */
+	private Object readResolve() {
+		return of(pitchClass, octave);
 	}
 
 	/**
@@ -1059,9 +1227,7 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 	 *         {@code interval}
 	 */
 	public Pitch transposeUp(Interval interval) {
-		PitchClass newPitchClass = pitchClass.transposeUp(interval);
-		int targetPitch = pitch + interval.semitones();
-		return ofAbsolutePitch(newPitchClass, targetPitch);
+		return transposeUp(interval.degrees(), interval.semitones());
 	}
 
 	/**
@@ -1074,9 +1240,230 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 	 *         {@code interval}
 	 */
 	public Pitch transposeDown(Interval interval) {
-		PitchClass newPitchClass = pitchClass.transposeDown(interval);
-		int targetPitch = pitch - interval.semitones();
-		return ofAbsolutePitch(newPitchClass, targetPitch);
+		return transposeUp(-interval.degrees(), -interval.semitones());
+	}
+
+	/**
+	 * Transposes this pitch by the given number of diatonic degrees
+	 * and semitones; negative values transpose the pitch down.
+	 */
+	Pitch transposeUp(int degrees, int semitones) {
+		PitchClass newPitchClass = pitchClass.transposeUp(degrees, semitones);
+		return ofAbsolutePitch(newPitchClass, pitch + semitones);
+	}
+
+	/**
+	 * Encodes the given pitch into a single {@code int} value.
+	 * <p>
+	 * The packed value stores the base pitch class, the accidental and the
+	 * octave of the pitch, so that the pitch can be restored exactly
+	 * by {@link #unpack}. This allows bulk processing of pitches
+	 * on primitive values only, converting them to {@code Pitch} objects
+	 * at the boundary of such processing.
+	 * Packed values can be transposed, compared and converted to MIDI
+	 * numbers directly, see {@link #packedTranspose},
+	 * {@link #packedCompare} and {@link #packedMidi}.
+	 * <p>
+	 * Any pitch whose accidental lies between {@link #MIN_PACKED_ACCIDENTAL}
+	 * and {@link #MAX_PACKED_ACCIDENTAL} and whose octave lies between
+	 * {@link #MIN_PACKED_OCTAVE} and {@link #MAX_PACKED_OCTAVE} (all
+	 * inclusive) can be packed.
+	 * The numerical value of the result is not specified and should not
+	 * be relied upon, apart from the fact that equal pitches are always
+	 * packed into the same value and vice versa.
+	 *
+	 * @param pitch the pitch to be packed
+	 * @return the packed representation of {@code pitch}
+	 * @throws IllegalArgumentException if the accidental or the octave
+	 *         of {@code pitch} cannot be represented in the packed form
+	 */
+	public static int pack(Pitch pitch) {
+		if (pitch == null) {
+			throw new NullPointerException("The pitch is null");
+		}
+		return pack(pitch.pitchClass.basePitchClass(),
+				pitch.pitchClass.accidental().stepsAboveNatural(),
+				pitch.octave);
+	}
+
+	/**
+	 * Encodes the pitch given by its base pitch class, accidental
+	 * and octave into a single {@code int} value.
+	 * This is equivalent to {@code pack(Pitch.of(base, accidental, octave))},
+	 * but does not need to obtain the {@code Pitch} instance.
+	 *
+	 * @param base the base pitch class of the pitch
+	 * @param accidental the accidental of the pitch
+	 * @param octave the octave of the pitch
+	 * @return the packed representation of the pitch
+	 * @throws IllegalArgumentException if the accidental or the octave
+	 *         cannot be represented in the packed form
+	 * @see #pack(Pitch)
+	 */
+	public static int pack(BasePitchClass base, Accidental accidental,
+	                       int octave) {
+		return pack(base, accidental.stepsAboveNatural(), octave);
+	}
+
+	/**
+	 * Encodes the pitch given by its base pitch class, accidental
+	 * (given as a number of semitones above the natural) and octave
+	 * into a single {@code int} value.
+	 *
+	 * @param base the base pitch class of the pitch
+	 * @param accidental the number of semitones above the natural
+	 * @param octave the octave of the pitch
+	 * @return the packed representation of the pitch
+	 * @throws IllegalArgumentException if the accidental or the octave
+	 *         cannot be represented in the packed form
+	 * @see #pack(Pitch)
+	 */
+	public static int pack(BasePitchClass base, int accidental, int octave) {
+		if (accidental < MIN_PACKED_ACCIDENTAL
+				|| accidental > MAX_PACKED_ACCIDENTAL) {
+			throw new IllegalArgumentException
+					("Accidental cannot be packed: " + accidental);
+		} else if (octave < MIN_PACKED_OCTAVE || octave > MAX_PACKED_OCTAVE) {
+			throw new IllegalArgumentException
+					("Octave cannot be packed: " + octave);
+		}
+		return (octave << PACKED_OCTAVE_SHIFT)
+				| ((accidental & PACKED_ACCIDENTAL_MASK)
+						<< PACKED_ACCIDENTAL_SHIFT)
+				| base.ordinal();
+	}
+
+	/**
+	 * Decodes a pitch from its packed representation.
+	 * This is the inverse operation to {@link #pack(Pitch)}.
+	 *
+	 * @param packed the packed representation of a pitch
+	 * @return the pitch represented by {@code packed}
+	 * @throws IllegalArgumentException if {@code packed} is not a valid
+	 *         packed pitch
+	 */
+	public static Pitch unpack(int packed) {
+		return Pitch.of(packedBasePitchClass(packed),
+				packedAccidental(packed), packedOctave(packed));
+	}
+
+	/**
+	 * Returns the base pitch class of a packed pitch.
+	 *
+	 * @param packed the packed representation of a pitch
+	 * @return the base pitch class of the pitch represented by {@code packed}
+	 * @throws IllegalArgumentException if {@code packed} is not a valid
+	 *         packed pitch
+	 */
+	public static BasePitchClass packedBasePitchClass(int packed) {
+		int base = packed & PACKED_BASE_MASK;
+		if (base >= DEGREES) {
+			throw new IllegalArgumentException
+					("Not a valid packed pitch: " + packed);
+		}
+		return BASES[base];
+	}
+
+	/**
+	 * Returns the accidental of a packed pitch as the number of semitones
+	 * above the natural.
+	 *
+	 * @param packed the packed representation of a pitch
+	 * @return the accidental of the pitch represented by {@code packed}
+	 */
+	public static int packedAccidental(int packed) {
+		// Move the top bit of the accidental to the sign bit and back
+		return (packed << (32 - PACKED_OCTAVE_SHIFT))
+				>> (32 - PACKED_OCTAVE_SHIFT + PACKED_ACCIDENTAL_SHIFT);
+	}
+
+	/**
+	 * Returns the octave of a packed pitch.
+	 * This is the value which {@link #octave()} would return
+	 * for the unpacked pitch.
+	 *
+	 * @param packed the packed representation of a pitch
+	 * @return the octave of the pitch represented by {@code packed}
+	 */
+	public static int packedOctave(int packed) {
+		return packed >> PACKED_OCTAVE_SHIFT;
+	}
+
+	/**
+	 * Returns the MIDI number of a packed pitch.
+	 * This is the value which {@link #midiNumber()} would return
+	 * for the unpacked pitch.
+	 *
+	 * @param packed the packed representation of a pitch
+	 * @return the MIDI number of the pitch represented by {@code packed}
+	 */
+	public static int packedMidi(int packed) {
+		return absolutePitch(packed) + SEMITONES;
+	}
+
+	/**
+	 * Returns the number of semitones of a packed pitch above C0.
+	 */
+	private static int absolutePitch(int packed) {
+		return packedOctave(packed) * SEMITONES
+				+ BASES[packed & PACKED_BASE_MASK].stepsAboveReference()
+				+ packedAccidental(packed);
+	}
+
+	/**
+	 * Returns the number of diatonic degrees of a packed pitch above C0,
+	 * disregarding its accidental.
+	 */
+	static int packedDiatonicIndex(int packed) {
+		return packedOctave(packed) * DEGREES + (packed & PACKED_BASE_MASK);
+	}
+
+	/**
+	 * Transposes a packed pitch by the given number of diatonic degrees
+	 * and semitones. Positive values transpose the pitch up, negative
+	 * values transpose it down.
+	 * <p>
+	 * For example, to transpose a packed pitch {@code p} up by a major
+	 * third, call {@code packedTranspose(p, 2, 4)}; to transpose it down
+	 * by the same interval, call {@code packedTranspose(p, -2, -4)}.
+	 * The spelling of the result is the same as that obtained from
+	 * {@link #transposeUp} and {@link #transposeDown}.
+	 *
+	 * @param packed the packed representation of a pitch
+	 * @param degrees the number of diatonic degrees to move the pitch by
+	 * @param semitones the number of semitones to move the pitch by
+	 * @return the packed representation of the transposed pitch
+	 * @throws IllegalArgumentException if the result cannot be represented
+	 *         in the packed form
+	 */
+	public static int packedTranspose(int packed, int degrees, int semitones) {
+		int target = absolutePitch(packed) + semitones;
+		int degree = packedDiatonicIndex(packed) + degrees;
+		int octave = Util.floorDiv(degree, DEGREES);
+		BasePitchClass base = BASES[degree - octave * DEGREES];
+		int accidental = target - octave * SEMITONES
+				- base.stepsAboveReference();
+		return pack(base, accidental, octave);
+	}
+
+	/**
+	 * Compares two packed pitches.
+	 * The ordering is the same as the natural ordering of the unpacked
+	 * pitches, see {@link #compareTo}.
+	 *
+	 * @param p1 the packed representation of the first pitch
+	 * @param p2 the packed representation of the second pitch
+	 * @return a negative integer, zero, or a positive integer
+	 *         as the first pitch is lower than, equal to,
+	 *         or higher than the second pitch
+	 */
+	public static int packedCompare(int p1, int p2) {
+		int comparison = Integer.compare(absolutePitch(p1), absolutePitch(p2));
+		if (comparison != 0) {
+			return comparison;
+		}
+		// Sort enharmonic pitches in the reverse order of accidentals
+		return Integer.compare(packedAccidental(p2), packedAccidental(p1));
 	}
 
 	@Override
@@ -1084,21 +1471,73 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 		return pitchClass.toString() + octave;
 	}
 
+	/**
+	 * Parses a pitch from its name, like "C#4", "Eb10" or "Ab-1".
+	 * The name consists of the letter of the base pitch class,
+	 * an optional accidental ("bb", "b", "#", "x", or any number
+	 * of consecutive flats or sharps) and the octave number.
+	 * The octave number may be negative and have any number of digits,
+	 * provided it lies between {@link #MIN_PACKED_OCTAVE}
+	 * and {@link #MAX_PACKED_OCTAVE}.
+	 *
+	 * @param s the string to be parsed
+	 * @return the pitch named by {@code s}
+	 * @throws FormatException if {@code s} is not a valid pitch name
+	 */
 	public static Pitch valueOf(String s) {
-		Matcher m = STRING_PATTERN.matcher(s);
-		if (m.matches()) {
-			PitchClass pc = PitchClass.valueOf(m.group(1));
-			String octstr = m.group(2);
-			int octave;
-			try {
-				octave = Integer.parseInt(octstr);
-			} catch (NumberFormatException e) {
-				throw new FormatException("Illegal octave number: " + octstr);
-			}
-			return Pitch.of(pc, octave);
-		} else {
-			throw new FormatException("Illegal pitch format: " + s);
+		return valueOf(s, 0, s.length());
+	}
+
+	/**
+	 * Parses a pitch from a part of the given character sequence.
+	 * The part between {@code start} and {@code end} must contain
+	 * the name of a pitch and nothing else.
+	 * For a description of the format, see {@link #valueOf(String)}.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param start the index of the first character of the pitch name
+	 * @param end the index after the last character of the pitch name
+	 * @return the pitch named by the characters between {@code start}
+	 *         and {@code end}
+	 * @throws FormatException if the characters between {@code start}
+	 *         and {@code end} are not a valid pitch name
+	 * @throws IndexOutOfBoundsException if {@code start} or {@code end}
+	 *         lie outside of {@code s}
+	 */
+	public static Pitch valueOf(CharSequence s, int start, int end) {
+		if (start < 0 || end > s.length() || start > end) {
+			throw new IndexOutOfBoundsException("Illegal range: "
+					+ start + " to " + end);
+		}
+		ParsePosition pos = new ParsePosition(start);
+		int packed = PitchParser.parsePitch(s, pos, end);
+		if (packed == PitchParser.INVALID || pos.getIndex() != end) {
+			throw new FormatException("Illegal pitch format: "
+					+ s.subSequence(start, end));
 		}
+		return unpack(packed);
+	}
+
+	/**
+	 * Parses a pitch from the given character sequence, starting at the
+	 * index given by {@code pos}.
+	 * For a description of the format, see {@link #valueOf(String)}.
+	 * <p>
+	 * If a pitch is parsed successfully, the index of {@code pos} is
+	 * updated to the index after the last character used, and the parsed
+	 * pitch is returned. The characters following the pitch name
+	 * are not examined.
+	 * If an error occurs, the index of {@code pos} is not changed,
+	 * the error index of {@code pos} is set to the index of the character
+	 * where the error occurred, and {@code null} is returned.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the parsed pitch, or {@code null} if the parsing failed
+	 */
+	public static Pitch parse(CharSequence s, ParsePosition pos) {
+		int packed = PitchParser.parsePitch(s, pos, s.length());
+		return packed == PitchParser.INVALID ? null : unpack(packed);
 	}
 
 	/**
@@ -1150,6 +1589,63 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 		return ENHARMONIC_COMPARATOR;
 	}
 
+	/**
+	 * Returns a primitive key which orders pitches in the same way
+	 * as their natural ordering.
+	 * For any two pitches {@code p1} and {@code p2},
+	 * {@code Long.compare(p1.sortKey(), p2.sortKey())} has the same sign
+	 * as {@code p1.compareTo(p2)}, and the keys are equal only if the
+	 * pitches are equal.
+	 * <p>
+	 * The key consists of the absolute pitch in the upper 32 bits
+	 * and the reversed accidental in the lower 32 bits.
+	 * It can be used to sort large numbers of pitches without calling
+	 * a comparator, see {@link Pitches#sort(Pitch[])}.
+	 *
+	 * @return a key consistent with {@link #strictComparator()}
+	 */
+	public long sortKey() {
+		return sortKey(pitch, pitchClass.accidental().stepsAboveNatural());
+	}
+
+	/**
+	 * Returns a primitive key which orders pitches in the same way
+	 * as {@link #enharmonicComparator()}.
+	 * The key is equal to the MIDI number of the pitch, so it is equal
+	 * for all enharmonic pitches.
+	 *
+	 * @return a key consistent with {@link #enharmonicComparator()}
+	 */
+	public int enharmonicSortKey() {
+		return midiNumber();
+	}
+
+	/**
+	 * Returns the key of a packed pitch which orders packed pitches
+	 * in the same way as {@link #packedCompare}.
+	 * The key is equal to the {@linkplain #sortKey() sort key}
+	 * of the unpacked pitch.
+	 * The corresponding key for the enharmonic ordering is the MIDI number
+	 * returned by {@link #packedMidi}.
+	 *
+	 * @param packed the packed representation of a pitch
+	 * @return the sort key of the pitch represented by {@code packed}
+	 */
+	public static long packedSortKey(int packed) {
+		return sortKey(absolutePitch(packed), packedAccidental(packed));
+	}
+
+	/**
+	 * Returns the sort key of a pitch with the given absolute pitch
+	 * and accidental.
+	 * Enharmonic pitches are ordered in the reverse order of accidentals,
+	 * so that for example D#4 is sorted before Eb4.
+	 */
+	private static long sortKey(int absolutePitch, int accidental) {
+		return ((long) absolutePitch << 32)
+				| (Integer.MAX_VALUE - (long) accidental);
+	}
+
 	/**
 	 * A comparator which compares pitches based on both their absolute
 	 * pitch and their pitch class.
@@ -1163,24 +1659,13 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 
 		@Override
 		public int compare(Pitch p1, Pitch p2) {
-			if (p1 == null || p2 == null) {
-				throw new NullPointerException
-						("One of the pitches being compared is null");
-			}
-
-			int comparison = Integer.compare(p1.pitch, p2.pitch);
-			if (comparison != 0) {
-				return comparison;
-			}
 			/*
-			 * The two pitches have equal value (the absolute pitch);
-			 * so we proceed to comparing their base notes:
-			 * We want e.g. C# to be ordered before Db,
-			 * so we *reverse* the order of their respective accidentals.
+			 * The sort key orders the pitches by their absolute pitch first.
+			 * Enharmonic pitches are ordered by their accidentals reversed,
+			 * because we want e.g. C# to be ordered before Db.
+			 * Null arguments cause a NullPointerException here.
 			 */
-			comparison = -p1.pitchClass.accidental()
-			              .compareTo(p2.pitchClass.accidental());
-			return comparison;
+			return Long.compare(p1.sortKey(), p2.sortKey());
 		}
 	}
 
@@ -1196,10 +1681,7 @@ public final class Pitch implements Comparable<Pitch>, PitchGroup {
 
 		@Override
 		public int compare(Pitch p1, Pitch p2) {
-			if (p1 == null || p2 == null) {
-				throw new NullPointerException
-						("One of the pitches being compared is null");
-			}
+			// Null arguments cause a NullPointerException here
 			return Integer.compare(p1.pitch, p2.pitch);
 		}
 	}
@@ -18,6 +18,8 @@ package com.github.singond.music;
 
 import static com.github.singond.music.Accidental.*;
 
+import java.io.Serializable;
+import java.text.ParsePosition;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumMap;
@@ -33,16 +35,42 @@ import java.util.regex.Pattern;
  * in the order of their naturals. For example, D#4 is placed before Eb4.
  * This ordering is consistent with {@code equals}.
  * <p>
- * Instances of this class are immutable.
+ * Instances of this class are immutable and canonical: there is only
+ * one instance of each pitch class, so pitch classes can be compared
+ * using the {@code ==} operator. This also holds for deserialized
+ * instances.
  *
  * @author Singon
  */
-public final class PitchClass implements Comparable<PitchClass> {
+public final class PitchClass implements Comparable<PitchClass>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final BasePitchClass base;
 	private final Accidental accidental;
 
+	/**
+	 * The dense id of this pitch class. For the common pitch classes,
+	 * this is the position on the line of fifths (see {@link #fifths()}).
+	 */
+	private final transient int id;
+
 	private static final int SEMITONES = 12;
+	private static final int DEGREES = 7;
+
+	/** The number of common pitch classes (double flats to double sharps). */
+	static final int COMMON_COUNT = 35;
+
+	/** The pitch classes other than the common ones, keyed by fifths(). */
+	private static final CanonicalPool<PitchClass> pool
+			= new CanonicalPool<>(COMMON_COUNT);
+
+	/**
+	 * The greatest distance on the line of fifths of a simple interval.
+	 * The distance of an interval is {@code 7*semitones - 12*degrees},
+	 * which ranges from -12 (diminished second) to 12 (augmented seventh).
+	 */
+	private static final int MAX_FIFTHS_SHIFT = 12;
 
 	public static final PitchClass
 			C_DBL_FLAT, C_FLAT, C, C_SHARP, C_DBL_SHARP,
@@ -160,35 +188,148 @@ public final class PitchClass implements Comparable<PitchClass> {
 	private static final Pattern STRING_PATTERN
 			= Pattern.compile("[CDEFGABH](b*|#*|x?)");
 
+	/** The common pitch classes indexed by their id. */
+	private static final PitchClass[] byId;
+	static {
+		byId = new PitchClass[COMMON_COUNT];
+		for (PitchClass pc : Util.unmodifiableList(
+				C_DBL_FLAT, C_FLAT, C, C_SHARP, C_DBL_SHARP,
+				D_DBL_FLAT, D_FLAT, D, D_SHARP, D_DBL_SHARP,
+				E_DBL_FLAT, E_FLAT, E, E_SHARP, E_DBL_SHARP,
+				F_DBL_FLAT, F_FLAT, F, F_SHARP, F_DBL_SHARP,
+				G_DBL_FLAT, G_FLAT, G, G_SHARP, G_DBL_SHARP,
+				A_DBL_FLAT, A_FLAT, A, A_SHARP, A_DBL_SHARP,
+				B_DBL_FLAT, B_FLAT, B, B_SHARP, B_DBL_SHARP)) {
+			byId[pc.id] = pc;
+		}
+	}
+
+	/**
+	 * Results of transposing the common pitch classes, indexed by the id
+	 * of the pitch class and by the distance of the interval on the line
+	 * of fifths (offset by {@code MAX_FIFTHS_SHIFT}).
+	 * Because the distance of a downward interval is the negative of the
+	 * distance of the upward interval, the table covers transposition
+	 * by all simple intervals in both directions.
+	 */
+	private static final PitchClass[][] transpositions;
+	static {
+		transpositions = new PitchClass[COMMON_COUNT][2 * MAX_FIFTHS_SHIFT + 1];
+		for (PitchClass pc : byId) {
+			for (SimpleInterval i : SimpleInterval.values()) {
+				int up = fifthsShift(i.degrees(), i.semitones());
+				transpositions[pc.id][MAX_FIFTHS_SHIFT + up]
+						= pc.computeTransposition(i.degrees(), i.semitones());
+				transpositions[pc.id][MAX_FIFTHS_SHIFT - up]
+						= pc.computeTransposition(-i.degrees(), -i.semitones());
+			}
+		}
+	}
+
+	/**
+	 * Creates a common pitch class.
+	 */
 	private PitchClass(BasePitchClass base, Accidental accidental) {
+		this(base, accidental, (int) fifths(base, accidental));
+	}
+
+	private PitchClass(BasePitchClass base, Accidental accidental, int id) {
 		this.base = base;
 		this.accidental = accidental;
+		this.id = id;
 	}
 
 	/**
 	 * Returns the pitch class of the given natural pitch class and accidental.
-	 * This factory always returns a cached result for the pitches with
-	 * accidentals ranging from double flat to double sharp (inclusive).
+	 * This factory always returns the canonical instance. The pitch classes
+	 * with accidentals ranging from double flat to double sharp (inclusive)
+	 * are always available, while other pitch classes are created
+	 * on first request.
 	 *
 	 * @param base the natural pitch class (e.g. {@code C} for {@code C#})
 	 * @param accidental the accidental relating the pitch class to the natural
 	 * @return a {@code PitchClass} with the given {@code base}
 	 *         and {@code accidental}
 	 */
-	public static PitchClass of(BasePitchClass base, Accidental accidental) {
-		if (accidental.equals(DOUBLE_FLAT)) {
-			return doubleFlats.get(base);
-		} else if (accidental.equals(FLAT)) {
-			return flats.get(base);
-		} else if (accidental.equals(NATURAL)) {
-			return naturals.get(base);
-		} else if (accidental.equals(SHARP)) {
-			return sharps.get(base);
-		} else if (accidental.equals(DOUBLE_SHARP)) {
-			return doubleSharps.get(base);
-		} else {
-			return new PitchClass(base, accidental);
+	public static PitchClass of(final BasePitchClass base,
+			final Accidental accidental) {
+		int acc = accidental.stepsAboveNatural();
+		int id = commonId(base, acc);
+		if (id >= 0) {
+			return byId[id];
+		}
+		long key = fifths(base, accidental);
+		PitchClass pc = pool.get(key);
+		if (pc != null) {
+			return pc;
 		}
+		return pool.intern(key, new CanonicalPool.Factory<PitchClass>() {
+			@Override
+			public PitchClass create(int id) {
+				return new PitchClass(base, accidental, id);
+			}
+		});
+	}
+
+	/**
+	 * Returns the id of the common pitch class with the given base
+	 * and accidental.
+	 *
+	 * @param base the natural pitch class
+	 * @param accidental the accidental as a number of semitones
+	 * @return the id of the pitch class, or -1 if {@code accidental}
+	 *         lies outside the range of the common pitch classes
+	 */
+	static int commonId(BasePitchClass base, int accidental) {
+		if (accidental < -2 || accidental > 2) {
+			return -1;
+		}
+		return DEGREES * (accidental + 2) + base.fifthsPosition();
+	}
+
+	/**
+	 * Returns the common pitch class with the given position on the line
+	 * of fifths (see {@link #id()}).
+	 *
+	 * @param id the position of the pitch class, from 0 to 34
+	 * @return the common pitch class at {@code id}
+	 * @throws ArrayIndexOutOfBoundsException if {@code id} is out of range
+	 */
+	static PitchClass ofId(int id) {
+		return byId[id];
+	}
+
+	/**
+	 * Returns the dense id of this pitch class.
+	 * The common pitch classes (with up to two flats or sharps) have
+	 * the ids from 0 to 34, which are their positions on the line of fifths
+	 * from F double flat to B double sharp. Other pitch classes are assigned
+	 * an id following this range when first requested; once such a pitch
+	 * class is no longer reachable, its id may be reused for another one.
+	 * No two live pitch classes share an id, but the ids of the less common
+	 * pitch classes may differ between runs.
+	 *
+	 * @return the id of this pitch class
+	 */
+	public int id() {
+		return id;
+	}
+
+	/**
+	 * Returns the position of this pitch class on the line of fifths,
+	 * numbered so that the common pitch classes occupy the positions
+	 * from 0 (F double flat) to 34 (B double sharp).
+	 * Less common pitch classes lie outside this range.
+	 *
+	 * @return the position of this pitch class on the line of fifths
+	 */
+	long fifths() {
+		return fifths(base, accidental);
+	}
+
+	private static long fifths(BasePitchClass base, Accidental accidental) {
+		return DEGREES * (accidental.stepsAboveNatural() + 2L)
+				+ base.fifthsPosition();
 	}
 
 	/**
@@ -285,7 +426,32 @@ public final class PitchClass implements Comparable<PitchClass> {
 		return transposeUp(-interval.degrees(), -interval.semitones());
 	}
 
-	private PitchClass transposeUp(int degrees, int semitones) {
+	/**
+	 * Transposes this pitch class by the given number of diatonic degrees
+	 * and semitones; negative values transpose the pitch class down.
+	 * The common cases are served from a precomputed table.
+	 */
+	PitchClass transposeUp(int degrees, int semitones) {
+		if (id >= 0 && id < COMMON_COUNT) {
+			int shift = MAX_FIFTHS_SHIFT + fifthsShift(degrees, semitones);
+			if (shift >= 0 && shift <= 2 * MAX_FIFTHS_SHIFT) {
+				return transpositions[id][shift];
+			}
+		}
+		return computeTransposition(degrees, semitones);
+	}
+
+	/**
+	 * Returns the distance on the line of fifths covered by an interval
+	 * of the given number of diatonic degrees and semitones.
+	 * All intervals which differ only by whole octaves have the same
+	 * distance.
+	 */
+	static int fifthsShift(int degrees, int semitones) {
+		return 7 * semitones - 12 * degrees;
+	}
+
+	private PitchClass computeTransposition(int degrees, int semitones) {
 		BasePitchClass newBase = base.advance(degrees);
 		int steps = stepsAboveReference() + semitones;
 		int delta = steps - newBase.stepsAboveReference();
@@ -301,33 +467,82 @@ public final class PitchClass implements Comparable<PitchClass> {
 		return base + accidental.symbolAscii();
 	}
 
+	/**
+	 * Parses a pitch class from its name, like "C", "F#" or "Ebb".
+	 * The name consists of the letter of the base pitch class
+	 * and an optional accidental ("bb", "b", "#", "x", or any number
+	 * of consecutive flats or sharps).
+	 *
+	 * @param s the string to be parsed
+	 * @return the pitch class named by {@code s}
+	 * @throws FormatException if {@code s} is not a valid pitch class name
+	 */
 	public static PitchClass valueOf(String s) {
-		if (s.length() < 1) {
-			throw new FormatException("Expecting at least one character");
-		}
-		String pc = s.substring(0, 1);
-		BasePitchClass base;
-		try {
-			base = BasePitchClass.valueOf(pc);
-		} catch (IllegalArgumentException e) {
-			throw new FormatException("Illegal pitch class format: " + pc);
+		return valueOf(s, 0, s.length());
+	}
+
+	/**
+	 * Parses a pitch class from a part of the given character sequence.
+	 * The part between {@code start} and {@code end} must contain
+	 * the name of a pitch class and nothing else.
+	 * For a description of the format, see {@link #valueOf(String)}.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param start the index of the first character of the name
+	 * @param end the index after the last character of the name
+	 * @return the pitch class named by the characters between
+	 *         {@code start} and {@code end}
+	 * @throws FormatException if the characters between {@code start}
+	 *         and {@code end} are not a valid pitch class name
+	 * @throws IndexOutOfBoundsException if {@code start} or {@code end}
+	 *         lie outside of {@code s}
+	 */
+	public static PitchClass valueOf(CharSequence s, int start, int end) {
+		if (start < 0 || end > s.length() || start > end) {
+			throw new IndexOutOfBoundsException("Illegal range: "
+					+ start + " to " + end);
 		}
-		Accidental acc;
-		if (s.length() > 1) {
-			acc = Accidental.valueOf(s.substring(1));
-		} else {
-			acc = Accidental.NATURAL;
+		ParsePosition pos = new ParsePosition(start);
+		int packed = PitchParser.parsePitchClass(s, pos, end);
+		if (packed == PitchParser.INVALID || pos.getIndex() != end) {
+			throw new FormatException("Illegal pitch class format: "
+					+ s.subSequence(start, end));
 		}
-		return of(base, acc);
+		return unpack(packed);
+	}
+
+	/**
+	 * Parses a pitch class from the given character sequence, starting
+	 * at the index given by {@code pos}.
+	 * For a description of the format, see {@link #valueOf(String)}.
+	 * <p>
+	 * If a pitch class is parsed successfully, the index of {@code pos}
+	 * is updated to the index after the last character used, and the
+	 * parsed pitch class is returned.
+	 * If an error occurs, the index of {@code pos} is not changed,
+	 * the error index of {@code pos} is set to the index of the character
+	 * where the error occurred, and {@code null} is returned.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the parsed pitch class, or {@code null} if the parsing failed
+	 */
+	public static PitchClass parse(CharSequence s, ParsePosition pos) {
+		int packed = PitchParser.parsePitchClass(s, pos, s.length());
+		return packed == PitchParser.INVALID ? null : unpack(packed);
+	}
+
+	/**
+	 * Returns the pitch class of a packed pitch.
+	 */
+	private static PitchClass unpack(int packed) {
+		return of(Pitch.packedBasePitchClass(packed),
+				Accidental.ofSteps(Pitch.packedAccidental(packed)));
 	}
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((accidental == null) ? 0 : accidental.hashCode());
-		result = prime * result + ((base == null) ? 0 : base.hashCode());
-		return result;
+		return id;
 	}
 
 	/**
@@ -336,6 +551,7 @@ public final class PitchClass implements Comparable<PitchClass> {
 	 * same natural pitch class and accidental.
 	 * Enharmonic pitch classes are not considered to be equal, for example
 	 * D# is <strong>not</strong> equal to Eb.
+	 * Because the instances are canonical, this is an identity comparison.
 	 *
 	 * @param obj {@inheritDoc}
 	 * @return {@code true} if {@code obj} is also a {@code PitchClass} and
@@ -344,24 +560,14 @@ public final class PitchClass implements Comparable<PitchClass> {
 	 */
 	@Override
 	public boolean equals(Object obj) {
-		if (this == obj) {
-			return true;
-		}
-		if (!(obj instanceof PitchClass)) {
-			return false;
-		}
-		PitchClass other = (PitchClass) obj;
-		if (accidental == null) {
-			if (other.accidental != null) {
-				return false;
-			}
-		} else if (!accidental.equals(other.accidental)) {
-			return false;
-		}
-		if (base != other.base) {
-			return false;
-		}
-		return true;
+		return this == obj;
+	}
+
+	/**
+	 * Replaces a deserialized pitch class with the canonical instance.
+	 */
+	private Object readResolve() {
+		return of(base, accidental);
 	}
 
 	/**
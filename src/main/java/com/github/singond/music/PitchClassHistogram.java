@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+/**
+ * A histogram of pitch classes, which can be updated by many threads
+ * at once.
+ * <p>
+ * The histogram counts pitch classes directly, or the pitch classes
+ * of pitches. Its counts are striped in the same way as those of
+ * {@link PitchHistogram}.
+ * There are two variants:
+ * <ul>
+ * <li>A histogram {@linkplain #bySemitones() by semitones} treats
+ *     enharmonic pitch classes as equal. It has twelve bins for the number
+ *     of semitones above C, from C to B.</li>
+ * <li>A histogram {@linkplain #bySpelledPitchClass() by spelled pitch
+ *     class} has 35 bins for the pitch classes from double flats to
+ *     double sharps, indexed by their {@linkplain PitchClass#id() id},
+ *     that is in their order on the line of fifths.
+ *     Other pitch classes are counted as out of range.</li>
+ * </ul>
+ * A pitch-class profile, that is the relative frequencies of the pitch
+ * classes, is obtained as {@code snapshot().profile()}.
+ *
+ * @author Singon
+ * @see PitchHistogram
+ */
+public final class PitchClassHistogram extends AbstractHistogram<PitchClass> {
+
+	private PitchClassHistogram(Binning<PitchClass> binning) {
+		super(binning);
+	}
+
+	/**
+	 * Creates an empty histogram of pitch classes by semitones above C.
+	 *
+	 * @return a new histogram with twelve bins
+	 */
+	public static PitchClassHistogram bySemitones() {
+		return new PitchClassHistogram(Binning.SEMITONE_CLASS);
+	}
+
+	/**
+	 * Creates an empty histogram of the common spelled pitch classes.
+	 *
+	 * @return a new histogram with 35 bins
+	 */
+	public static PitchClassHistogram bySpelledPitchClass() {
+		return new PitchClassHistogram(Binning.SPELLED_PITCH_CLASS);
+	}
+
+	/**
+	 * Counts the given pitch class.
+	 *
+	 * @param pitchClass the pitch class to be counted
+	 * @throws NullPointerException if {@code pitchClass} is null
+	 */
+	public void add(PitchClass pitchClass) {
+		counts.add(binning.bin(pitchClass), 1);
+	}
+
+	/**
+	 * Counts all pitch classes of the given chord.
+	 *
+	 * @param chord the chord whose pitch classes are to be counted
+	 */
+	public void addAll(Chord chord) {
+		for (PitchClass pc : chord) {
+			add(pc);
+		}
+	}
+}
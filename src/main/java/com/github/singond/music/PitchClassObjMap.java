@@ -0,0 +1,337 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A map from pitch classes to objects, which stores the values in an array
+ * indexed directly by the pitch class, similarly to an {@code EnumMap}
+ * keyed by {@link BasePitchClass}.
+ * <p>
+ * There are two variants:
+ * <ul>
+ * <li>A {@linkplain #spelled() spelled} map distinguishes all pitch
+ *     classes. It is indexed by the {@linkplain PitchClass#id() id}
+ *     of the pitch class, and its slots for the common pitch classes
+ *     are allocated in advance.</li>
+ * <li>An {@linkplain #enharmonic() enharmonic} map treats enharmonic
+ *     pitch classes as the same key, like C# and Db. It has twelve slots,
+ *     indexed by the number of semitones above C. The key reported
+ *     for each entry is the first pitch class added to the entry.
+ *     Like a {@code TreeMap} with an ordering inconsistent with
+ *     {@code equals}, the enharmonic map does not obey the general
+ *     contract of {@code Map}.</li>
+ * </ul>
+ * The entries are iterated in the order of the index, which for the
+ * enharmonic map is the ascending order from C to B.
+ * <p>
+ * This map does not permit null keys, but permits null values.
+ * It is not thread-safe. Its iterators are fail-fast.
+ *
+ * @author Singon
+ * @param <V> the type of the values
+ * @see PitchIntMap
+ */
+public final class PitchClassObjMap<V> extends AbstractMap<PitchClass, V> {
+
+	private static final int SEMITONES = 12;
+
+	private final DenseKeyTable<PitchClass> keys;
+	/** The value in each slot of {@code keys}; null in empty slots. */
+	private Object[] values;
+	/** The number of structural modifications, for the iterators. */
+	private int modCount;
+
+	private PitchClassObjMap(DenseKeyTable<PitchClass> keys) {
+		this.keys = keys;
+		this.values = new Object[keys.length()];
+	}
+
+	/**
+	 * Creates a new empty map which distinguishes all pitch classes.
+	 *
+	 * @param <V> the type of the values
+	 * @return a new map keyed by spelled pitch classes
+	 */
+	public static <V> PitchClassObjMap<V> spelled() {
+		return new PitchClassObjMap<>(new DenseKeyTable<>(
+				DenseKeyTable.PITCH_CLASS_ID, 0, PitchClass.COMMON_COUNT));
+	}
+
+	/**
+	 * Creates a new empty map which treats enharmonic pitch classes
+	 * as the same key.
+	 *
+	 * @param <V> the type of the values
+	 * @return a new map keyed by pitch classes modulo enharmonic
+	 *         equivalence
+	 */
+	public static <V> PitchClassObjMap<V> enharmonic() {
+		return new PitchClassObjMap<>(new DenseKeyTable<>(
+				DenseKeyTable.PITCH_CLASS_SEMITONES, 0, SEMITONES));
+	}
+
+	@Override
+	public int size() {
+		return keys.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return keys.size() == 0;
+	}
+
+	/**
+	 * Returns the slot of the given key, or -1 if the key is absent
+	 * or is not a pitch class.
+	 */
+	private int slotOf(Object key) {
+		if (key instanceof PitchClass) {
+			return keys.slotOf((PitchClass) key);
+		} else if (key == null) {
+			throw new NullPointerException("The pitch class is null");
+		} else {
+			return -1;
+		}
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return slotOf(key) >= 0;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		for (int s = keys.next(0); s >= 0; s = keys.next(s + 1)) {
+			Object v = values[s];
+			if (value == null ? v == null : value.equals(v)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		int slot = slotOf(key);
+		return slot >= 0 ? (V) values[slot] : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V getOrDefault(Object key, V defaultValue) {
+		int slot = slotOf(key);
+		return slot >= 0 ? (V) values[slot] : defaultValue;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(PitchClass key, V value) {
+		int slot = add(key);
+		Object previous = values[slot];
+		values[slot] = value;
+		return (V) previous;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Unlike the default implementation, this method locates the entry
+	 * only once.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V merge(PitchClass key, V value,
+			BiFunction<? super V, ? super V, ? extends V> function) {
+		if (value == null || function == null) {
+			throw new NullPointerException();
+		}
+		int slot = keys.slotOf(key);
+		if (slot < 0 || values[slot] == null) {
+			put(key, value);
+			return value;
+		}
+		V merged = function.apply((V) values[slot], value);
+		if (merged == null) {
+			removeSlot(slot);
+		} else {
+			values[slot] = merged;
+		}
+		return merged;
+	}
+
+	@Override
+	public V remove(Object key) {
+		int slot = slotOf(key);
+		return slot >= 0 ? removeSlot(slot) : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V removeSlot(int slot) {
+		Object previous = values[slot];
+		values[slot] = null;
+		keys.remove(slot);
+		modCount++;
+		return (V) previous;
+	}
+
+	@Override
+	public void clear() {
+		keys.clear();
+		Arrays.fill(values, null);
+		modCount++;
+	}
+
+	/**
+	 * Adds the pitch class to the keys and returns its slot,
+	 * resizing the values if needed.
+	 */
+	private int add(PitchClass key) {
+		int size = keys.size();
+		int slot = keys.add(key);
+		if (values.length != keys.length()) {
+			values = keys.resize(values);
+		}
+		if (keys.size() != size) {
+			modCount++;
+		}
+		return slot;
+	}
+
+	@Override
+	public Set<Map.Entry<PitchClass, V>> entrySet() {
+		return new AbstractSet<Map.Entry<PitchClass, V>>() {
+			@Override
+			public Iterator<Map.Entry<PitchClass, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return keys.size();
+			}
+
+			@Override
+			public void clear() {
+				PitchClassObjMap.this.clear();
+			}
+		};
+	}
+
+	/**
+	 * An iterator over the occupied slots, returning live entries.
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<PitchClass, V>> {
+		private int next = keys.next(0);
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next >= 0;
+		}
+
+		@Override
+		public Map.Entry<PitchClass, V> next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			} else if (next < 0) {
+				throw new NoSuchElementException();
+			}
+			last = next;
+			next = keys.next(next + 1);
+			return new Entry(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			} else if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeSlot(last);
+			expectedModCount = modCount;
+			last = -1;
+		}
+	}
+
+	/**
+	 * An entry backed by a slot of this map.
+	 */
+	private class Entry implements Map.Entry<PitchClass, V> {
+		private final int slot;
+		private final PitchClass key;
+
+		Entry(int slot) {
+			this.slot = slot;
+			this.key = keys.key(slot);
+		}
+
+		@Override
+		public PitchClass getKey() {
+			return key;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			return (V) values[slot];
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V setValue(V value) {
+			Object previous = values[slot];
+			values[slot] = value;
+			return (V) previous;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+			Object value = getValue();
+			return key.equals(other.getKey()) && (value == null
+					? other.getValue() == null : value.equals(other.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			Object value = getValue();
+			return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+}
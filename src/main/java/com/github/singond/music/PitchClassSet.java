@@ -0,0 +1,381 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of common pitch classes, that is, pitch classes with
+ * accidentals ranging from double flat to double sharp.
+ * <p>
+ * The set is represented by a single {@code long}, in which each bit
+ * stands for one of the 35 common pitch classes. The bits are assigned
+ * in the order of the line of fifths, from F double flat (bit 0)
+ * to B double sharp (bit 34). Thanks to this, set operations like union
+ * or intersection are performed as bitwise operations and transposition
+ * is a bit shift.
+ * <p>
+ * In addition to this spelled representation, the set can also provide
+ * a 12-bit <em>enharmonic mask</em>, in which bit {@code n} is set if
+ * the set contains a pitch class which lies {@code n} semitones above C
+ * (modulo octave). Enharmonic pitch classes like C# and Db thus share
+ * the same bit in this mask.
+ * <p>
+ * The set iterates its elements in their natural order
+ * (see {@link PitchClass#compareTo(PitchClass)}).
+ * It does not permit {@code null} elements; attempts to query the presence
+ * of a {@code null} element return {@code false}.
+ *
+ * @author Singon
+ */
+public final class PitchClassSet extends AbstractSet<PitchClass> {
+
+	private static final int COUNT = PitchClass.COMMON_COUNT;
+	private static final long ALL_BITS = (1L << COUNT) - 1;
+	private static final int SEMITONES = 12;
+	private static final int ENHARMONIC_BITS = (1 << SEMITONES) - 1;
+
+	/** The set containing no pitch classes. */
+	public static final PitchClassSet EMPTY = new PitchClassSet(0);
+
+	/** The set containing all common pitch classes. */
+	public static final PitchClassSet ALL = new PitchClassSet(ALL_BITS);
+
+	/**
+	 * The ids of the common pitch classes sorted in their natural order.
+	 */
+	private static final int[] NATURAL_ORDER;
+	/**
+	 * The semitones above C of the common pitch classes modulo octave,
+	 * indexed by their id.
+	 */
+	private static final int[] SEMITONES_BY_ID;
+	static {
+		NATURAL_ORDER = new int[COUNT];
+		SEMITONES_BY_ID = new int[COUNT];
+		List<PitchClass> common = PitchClass.commonPitchClasses();
+		Collections.sort(common);
+		int i = 0;
+		for (PitchClass pc : common) {
+			NATURAL_ORDER[i++] = pc.id();
+			SEMITONES_BY_ID[pc.id()]
+					= Util.floorMod(pc.stepsAboveReference(), SEMITONES);
+		}
+	}
+
+	private final long bits;
+
+	private PitchClassSet(long bits) {
+		this.bits = bits;
+	}
+
+	/**
+	 * Returns a set containing the given pitch classes.
+	 *
+	 * @param pitchClasses the pitch classes to be contained in the set
+	 * @return a set of {@code pitchClasses}
+	 * @throws NullPointerException if any of the pitch classes is null
+	 * @throws IllegalArgumentException if any of the pitch classes
+	 *         is not a common pitch class
+	 */
+	public static PitchClassSet of(PitchClass... pitchClasses) {
+		long bits = 0;
+		for (PitchClass pc : pitchClasses) {
+			bits |= bit(pc);
+		}
+		return new PitchClassSet(bits);
+	}
+
+	/**
+	 * Returns a set containing the pitch classes in the given collection.
+	 * If the collection is a {@code PitchClassSet}, it is returned.
+	 *
+	 * @param pitchClasses the pitch classes to be contained in the set
+	 * @return a set of {@code pitchClasses}
+	 * @throws NullPointerException if the collection or any of the pitch
+	 *         classes is null
+	 * @throws IllegalArgumentException if any of the pitch classes
+	 *         is not a common pitch class
+	 */
+	public static PitchClassSet of(Collection<PitchClass> pitchClasses) {
+		if (pitchClasses instanceof PitchClassSet) {
+			return (PitchClassSet) pitchClasses;
+		}
+		long bits = 0;
+		for (PitchClass pc : pitchClasses) {
+			bits |= bit(pc);
+		}
+		return new PitchClassSet(bits);
+	}
+
+	/**
+	 * Returns a set whose elements are given by a bit mask.
+	 * Bit {@code n} of the mask stands for the pitch class at position
+	 * {@code n} on the line of fifths, counted from F double flat.
+	 * This is the inverse of {@link #bits()}.
+	 *
+	 * @param bits the bit mask of the set
+	 * @return the set represented by {@code bits}
+	 * @throws IllegalArgumentException if any bit above bit 34 is set
+	 */
+	public static PitchClassSet ofBits(long bits) {
+		if ((bits & ~ALL_BITS) != 0) {
+			throw new IllegalArgumentException(
+					"Bit mask out of range: " + Long.toHexString(bits));
+		}
+		return new PitchClassSet(bits);
+	}
+
+	/**
+	 * Returns {@code true} if the given pitch class can be an element
+	 * of a {@code PitchClassSet}, that is, if it is a common pitch class.
+	 *
+	 * @param pitchClass the pitch class to be tested
+	 * @return {@code true} if {@code pitchClass} is a common pitch class
+	 */
+	public static boolean accepts(PitchClass pitchClass) {
+		return pitchClass != null
+				&& pitchClass.id() >= 0 && pitchClass.id() < COUNT;
+	}
+
+	private static long bit(PitchClass pc) {
+		if (pc == null) {
+			throw new NullPointerException("The pitch class is null");
+		} else if (!accepts(pc)) {
+			throw new IllegalArgumentException(
+					"Not a common pitch class: " + pc);
+		}
+		return 1L << pc.id();
+	}
+
+	/**
+	 * Returns the bit mask representing this set, in which bit {@code n}
+	 * stands for the pitch class at position {@code n} on the line
+	 * of fifths, counted from F double flat.
+	 *
+	 * @return the bit mask of this set
+	 */
+	public long bits() {
+		return bits;
+	}
+
+	/**
+	 * Returns the enharmonic mask of this set. Bit {@code n} of the mask
+	 * is set if this set contains a pitch class lying {@code n} semitones
+	 * above C, modulo octave.
+	 *
+	 * @return the 12-bit enharmonic mask of this set
+	 */
+	public int enharmonicMask() {
+		int mask = 0;
+		long remaining = bits;
+		while (remaining != 0) {
+			int id = Long.numberOfTrailingZeros(remaining);
+			mask |= 1 << SEMITONES_BY_ID[id];
+			remaining &= remaining - 1;
+		}
+		return mask;
+	}
+
+	/**
+	 * Transposes an enharmonic mask by the given number of semitones.
+	 * This is a rotation of the lowest 12 bits of the mask.
+	 *
+	 * @param mask the enharmonic mask to be transposed
+	 * @param semitones the number of semitones to transpose by;
+	 *        negative values transpose downwards
+	 * @return the transposed mask
+	 * @see #enharmonicMask()
+	 */
+	public static int transposeEnharmonicMask(int mask, int semitones) {
+		int shift = Util.floorMod(semitones, SEMITONES);
+		mask &= ENHARMONIC_BITS;
+		return ((mask << shift) | (mask >>> (SEMITONES - shift)))
+				& ENHARMONIC_BITS;
+	}
+
+	/**
+	 * Returns the union of this set and the given set.
+	 *
+	 * @param other the other set
+	 * @return a set of pitch classes contained in either of the two sets
+	 */
+	public PitchClassSet union(PitchClassSet other) {
+		return new PitchClassSet(bits | other.bits);
+	}
+
+	/**
+	 * Returns the intersection of this set and the given set.
+	 *
+	 * @param other the other set
+	 * @return a set of pitch classes contained in both sets
+	 */
+	public PitchClassSet intersection(PitchClassSet other) {
+		return new PitchClassSet(bits & other.bits);
+	}
+
+	/**
+	 * Returns the difference of this set and the given set.
+	 *
+	 * @param other the set of pitch classes to be removed
+	 * @return a set of pitch classes contained in this set,
+	 *         but not in {@code other}
+	 */
+	public PitchClassSet difference(PitchClassSet other) {
+		return new PitchClassSet(bits & ~other.bits);
+	}
+
+	/**
+	 * Returns the complement of this set, that is, the set of all common
+	 * pitch classes which are not contained in this set.
+	 *
+	 * @return the complement of this set
+	 */
+	public PitchClassSet complement() {
+		return new PitchClassSet(~bits & ALL_BITS);
+	}
+
+	/**
+	 * Transposes all pitch classes in this set up by the given interval.
+	 *
+	 * @param interval the interval to transpose by
+	 * @return a set of pitch classes of this set transposed up
+	 *         by {@code interval}
+	 * @throws IllegalArgumentException if the transposition would produce
+	 *         a pitch class which is not a common pitch class
+	 */
+	public PitchClassSet transposeUp(Interval interval) {
+		return shift(PitchClass.fifthsShift(
+				interval.degrees(), interval.semitones()));
+	}
+
+	/**
+	 * Transposes all pitch classes in this set down by the given interval.
+	 *
+	 * @param interval the interval to transpose by
+	 * @return a set of pitch classes of this set transposed down
+	 *         by {@code interval}
+	 * @throws IllegalArgumentException if the transposition would produce
+	 *         a pitch class which is not a common pitch class
+	 */
+	public PitchClassSet transposeDown(Interval interval) {
+		return shift(-PitchClass.fifthsShift(
+				interval.degrees(), interval.semitones()));
+	}
+
+	/**
+	 * Moves all elements by the given distance along the line of fifths.
+	 */
+	private PitchClassSet shift(int distance) {
+		if (distance == 0) {
+			return this;
+		}
+		long shifted;
+		if (distance >= COUNT || distance <= -COUNT) {
+			shifted = 0;
+		} else if (distance > 0) {
+			shifted = bits << distance;
+		} else {
+			shifted = bits >>> -distance;
+		}
+		if (Long.bitCount(shifted & ALL_BITS) != Long.bitCount(bits)) {
+			throw new IllegalArgumentException("Transposing " + this
+					+ " would produce an uncommon pitch class");
+		}
+		return new PitchClassSet(shifted);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof PitchClass)) {
+			return false;
+		}
+		PitchClass pc = (PitchClass) o;
+		return accepts(pc) && (bits & (1L << pc.id())) != 0;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		if (c instanceof PitchClassSet) {
+			long other = ((PitchClassSet) c).bits;
+			return (other & ~bits) == 0;
+		}
+		return super.containsAll(c);
+	}
+
+	@Override
+	public int size() {
+		return Long.bitCount(bits);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return bits == 0;
+	}
+
+	@Override
+	public Iterator<PitchClass> iterator() {
+		return new Iterator<PitchClass>() {
+			private int next = advance(0);
+
+			private int advance(int rank) {
+				while (rank < COUNT && (bits & (1L << NATURAL_ORDER[rank])) == 0) {
+					rank++;
+				}
+				return rank;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next < COUNT;
+			}
+
+			@Override
+			public PitchClass next() {
+				if (next >= COUNT) {
+					throw new NoSuchElementException();
+				}
+				PitchClass pc = PitchClass.ofId(NATURAL_ORDER[next]);
+				next = advance(next + 1);
+				return pc;
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		} else if (o instanceof PitchClassSet) {
+			return bits == ((PitchClassSet) o).bits;
+		} else {
+			return super.equals(o);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		// Must be equal to the sum of hash codes of the elements
+		// as required by the contract of Set
+		return super.hashCode();
+	}
+}
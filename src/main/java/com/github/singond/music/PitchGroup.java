@@ -26,7 +26,8 @@ import java.util.List;
 public interface PitchGroup extends Iterable<Pitch> {
 
 	/**
-	 * Returns the pitches in this group sorted from the lowest to highest.
+	 * Returns the pitches in this group sorted from the lowest to highest,
+	 * unless the implementing class specifies a different order.
 	 *
 	 * @return the pitches forming this group
 	 */
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+/**
+ * A histogram of pitches, which can be updated by many threads at once.
+ * <p>
+ * The counts are striped: every thread updates one of several copies
+ * of the bins, selected by its thread id, so that threads adding pitches
+ * at once usually update different copies. The copies are summed when
+ * the counts are read, most usefully as a {@link #snapshot()}.
+ * Bulk methods like {@link #addAll(PitchGroup)} count the pitches
+ * locally and update the shared counts only once per bin.
+ * <p>
+ * There are two variants:
+ * <ul>
+ * <li>A histogram {@linkplain #byMidiNumber() by MIDI number} treats
+ *     enharmonic pitches as equal. It has 128 bins for the MIDI numbers
+ *     from 0 to 127.</li>
+ * <li>A histogram {@linkplain #bySpelledPitch() by spelled pitch}
+ *     distinguishes all pitches. Its bins are indexed by the
+ *     {@linkplain Pitch#id() pitch id} and cover the pitches with fixed
+ *     ids, that is those with up to four flats or sharps in octaves
+ *     from -16 to 31.</li>
+ * </ul>
+ * Pitches which do not fall into any bin are counted as out of range.
+ * The pitch-class profile of a histogram can be obtained
+ * as {@code snapshot().pitchClasses().profile()}.
+ *
+ * @author Singon
+ * @see PitchClassHistogram
+ */
+public final class PitchHistogram extends AbstractHistogram<Pitch> {
+
+	private PitchHistogram(Binning<Pitch> binning) {
+		super(binning);
+	}
+
+	/**
+	 * Creates an empty histogram of pitches by MIDI number.
+	 *
+	 * @return a new histogram with a bin for each MIDI number
+	 */
+	public static PitchHistogram byMidiNumber() {
+		return new PitchHistogram(Binning.MIDI);
+	}
+
+	/**
+	 * Creates an empty histogram of spelled pitches.
+	 *
+	 * @return a new histogram with a bin for each pitch with a fixed id
+	 */
+	public static PitchHistogram bySpelledPitch() {
+		return new PitchHistogram(Binning.SPELLED_PITCH);
+	}
+}
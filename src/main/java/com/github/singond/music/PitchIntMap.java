@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A map from pitches to primitive {@code int} values, like counts
+ * of pitches in a piece.
+ * <p>
+ * The values are stored in an array indexed directly by the pitch,
+ * so that no hashing or boxing is involved. There are two variants:
+ * <ul>
+ * <li>A {@linkplain #spelled() spelled} map distinguishes all pitches.
+ *     It is indexed by the {@linkplain Pitch#id() id} of the pitch.</li>
+ * <li>An {@linkplain #enharmonic() enharmonic} map treats enharmonic
+ *     pitches as the same key, like C#4 and Db4.
+ *     It is indexed by the MIDI number of the pitch. The key reported
+ *     for each entry is the first pitch added to the entry.</li>
+ * </ul>
+ * The memory used by the map is proportional to the range of indices
+ * spanned by its keys. Absent keys map to zero.
+ * <p>
+ * This map does not permit null keys. It is not thread-safe.
+ *
+ * @author Singon
+ * @see PitchLongMap
+ * @see PitchClassObjMap
+ */
+public final class PitchIntMap extends DensePitchMap {
+
+	/** The value in each slot of {@code keys}; zero in empty slots. */
+	private int[] values;
+
+	private PitchIntMap(DenseKeyTable<Pitch> keys) {
+		super(keys);
+		this.values = new int[keys.length()];
+	}
+
+	/**
+	 * Creates a new empty map which distinguishes all pitches.
+	 *
+	 * @return a new map keyed by spelled pitches
+	 */
+	public static PitchIntMap spelled() {
+		return new PitchIntMap(
+				new DenseKeyTable<>(DenseKeyTable.PITCH_ID, 0, 0));
+	}
+
+	/**
+	 * Creates a new empty map which treats enharmonic pitches
+	 * as the same key.
+	 *
+	 * @return a new map keyed by absolute pitch
+	 */
+	public static PitchIntMap enharmonic() {
+		return new PitchIntMap(
+				new DenseKeyTable<>(DenseKeyTable.PITCH_MIDI, 0, 128));
+	}
+
+	/**
+	 * Returns the value of the given pitch, or zero if there is none.
+	 *
+	 * @param pitch the pitch
+	 * @return the value of {@code pitch}
+	 * @throws NullPointerException if {@code pitch} is null
+	 */
+	public int get(Pitch pitch) {
+		return getOrDefault(pitch, 0);
+	}
+
+	/**
+	 * Returns the value of the given pitch, or the given default value
+	 * if there is none.
+	 *
+	 * @param pitch the pitch
+	 * @param defaultValue the value to be returned if {@code pitch}
+	 *        is not present
+	 * @return the value of {@code pitch}
+	 * @throws NullPointerException if {@code pitch} is null
+	 */
+	public int getOrDefault(Pitch pitch, int defaultValue) {
+		int slot = keys.slotOf(pitch);
+		return slot >= 0 ? values[slot] : defaultValue;
+	}
+
+	/**
+	 * Sets the value of the given pitch.
+	 *
+	 * @param pitch the pitch
+	 * @param value the new value
+	 * @return the previous value of {@code pitch}, or zero if there
+	 *         was none
+	 * @throws NullPointerException if {@code pitch} is null
+	 */
+	public int put(Pitch pitch, int value) {
+		int slot = slotFor(pitch);
+		int previous = values[slot];
+		values[slot] = value;
+		return previous;
+	}
+
+	/**
+	 * Adds the given number to the value of the given pitch.
+	 * If the pitch is not present, it is added with the value
+	 * {@code delta}.
+	 *
+	 * @param pitch the pitch
+	 * @param delta the number to be added
+	 * @return the new value of {@code pitch}
+	 * @throws NullPointerException if {@code pitch} is null
+	 */
+	public int add(Pitch pitch, int delta) {
+		int slot = slotFor(pitch);
+		return values[slot] += delta;
+	}
+
+	/**
+	 * Combines the given value with the value of the given pitch.
+	 * If the pitch is not present, it is added with the given value;
+	 * otherwise its value is replaced with the result of the function
+	 * applied to the old value and the given value.
+	 *
+	 * @param pitch the pitch
+	 * @param value the value to be combined with the present value
+	 * @param function the function combining the present value
+	 *        with {@code value}
+	 * @return the new value of {@code pitch}
+	 * @throws NullPointerException if {@code pitch} is null
+	 */
+	public int merge(Pitch pitch, int value, IntBinaryOperator function) {
+		int slot = keys.slotOf(pitch);
+		if (slot < 0) {
+			slot = slotFor(pitch);
+			return values[slot] = value;
+		}
+		return values[slot] = function.applyAsInt(values[slot], value);
+	}
+
+	/**
+	 * Merges all entries of the given map into this map,
+	 * as if by calling {@link #merge} for each entry.
+	 *
+	 * @param other the map whose entries are to be merged
+	 * @param function the function combining the present value
+	 *        with the value from {@code other}
+	 */
+	public void mergeAll(PitchIntMap other, IntBinaryOperator function) {
+		DenseKeyTable<Pitch> otherKeys = other.keys;
+		for (int s = otherKeys.next(0); s >= 0; s = otherKeys.next(s + 1)) {
+			merge(otherKeys.key(s), other.values[s], function);
+		}
+	}
+
+	/**
+	 * Removes the given pitch from this map.
+	 *
+	 * @param pitch the pitch
+	 * @return the value of {@code pitch}, or zero if there was none
+	 * @throws NullPointerException if {@code pitch} is null
+	 */
+	public int remove(Pitch pitch) {
+		int slot = keys.slotOf(pitch);
+		if (slot < 0) {
+			return 0;
+		}
+		int previous = values[slot];
+		values[slot] = 0;
+		keys.remove(slot);
+		return previous;
+	}
+
+	/**
+	 * Performs the given action for each entry of this map.
+	 * The entries of an enharmonic map are processed from the lowest
+	 * pitch to the highest.
+	 *
+	 * @param action the action to be performed for each key and value
+	 */
+	public void forEach(ObjIntConsumer<Pitch> action) {
+		for (int s = keys.next(0); s >= 0; s = keys.next(s + 1)) {
+			action.accept(keys.key(s), values[s]);
+		}
+	}
+
+	/**
+	 * Returns the sum of all values in this map.
+	 *
+	 * @return the sum of the values
+	 */
+	public long sum() {
+		long sum = 0;
+		for (int value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	@Override
+	int valuesLength() {
+		return values.length;
+	}
+
+	@Override
+	void resizeValues() {
+		values = keys.resize(values);
+	}
+
+	@Override
+	void clearValues() {
+		Arrays.fill(values, 0);
+	}
+
+	@Override
+	void appendValue(StringBuilder sb, int slot) {
+		sb.append(values[slot]);
+	}
+}
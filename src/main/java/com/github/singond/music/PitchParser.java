@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import java.text.ParsePosition;
+import java.util.Arrays;
+
+/**
+ * A single-pass parser of pitch names like "C#4", "Ebb-1" or "Gb".
+ * <p>
+ * The methods of this class read a {@code CharSequence} directly,
+ * starting at the index of a {@code ParsePosition} and stopping
+ * at a given end index, without creating any intermediate strings.
+ * Parsed pitches are returned in their packed representation
+ * (see {@link Pitch#pack(Pitch)}); pitch classes are returned packed
+ * with octave number zero.
+ * <p>
+ * On success, the index of the {@code ParsePosition} is advanced past
+ * the last character used. On failure, the index is left unchanged,
+ * the error index is set to the offending character and
+ * {@link #INVALID} is returned.
+ *
+ * @author Singon
+ */
+final class PitchParser {
+
+	/**
+	 * The value returned on failure. This is not a valid packed pitch,
+	 * because its base pitch class bits are out of range.
+	 */
+	static final int INVALID = 0x7;
+
+	private static final BasePitchClass[] BASES = BasePitchClass.values();
+
+	private PitchParser() {
+		throw new UnsupportedOperationException("This class cannot be instantiated");
+	}
+
+	/**
+	 * Reads a symbolic accidental ("bb", "b", "#", "x", or any number
+	 * of consecutive flats or sharps) and returns its number of steps
+	 * above natural. If no accidental is present, returns zero
+	 * and leaves the index unchanged. This method never fails.
+	 */
+	static int parseAccidental(CharSequence s, ParsePosition pos, int end) {
+		int i = pos.getIndex();
+		if (i >= end) {
+			return 0;
+		}
+		char c = s.charAt(i);
+		if (c == 'x') {
+			pos.setIndex(i + 1);
+			return 2;
+		} else if (c == '#' || c == 'b') {
+			int start = i;
+			do {
+				i++;
+			} while (i < end && s.charAt(i) == c);
+			pos.setIndex(i);
+			return c == '#' ? i - start : start - i;
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Reads a pitch class, that is, a base pitch class letter followed
+	 * by an optional accidental.
+	 */
+	static int parsePitchClass(CharSequence s, ParsePosition pos, int end) {
+		int start = pos.getIndex();
+		int base = start < end ? baseOrdinal(s.charAt(start)) : -1;
+		if (base < 0) {
+			pos.setErrorIndex(start);
+			return INVALID;
+		}
+		pos.setIndex(start + 1);
+		int accidental = parseAccidental(s, pos, end);
+		if (accidental < Pitch.MIN_PACKED_ACCIDENTAL
+				|| accidental > Pitch.MAX_PACKED_ACCIDENTAL) {
+			pos.setIndex(start);
+			pos.setErrorIndex(start + 1);
+			return INVALID;
+		}
+		return Pitch.pack(BASES[base], accidental, 0);
+	}
+
+	/**
+	 * Reads a pitch, that is, a pitch class followed by an octave number.
+	 * The octave number is a sequence of decimal digits, optionally
+	 * preceded by a minus sign.
+	 */
+	static int parsePitch(CharSequence s, ParsePosition pos, int end) {
+		int start = pos.getIndex();
+		int pitchClass = parsePitchClass(s, pos, end);
+		if (pitchClass == INVALID) {
+			return INVALID;
+		}
+		int i = pos.getIndex();
+		boolean negative = i < end && s.charAt(i) == '-';
+		if (negative) {
+			i++;
+		}
+		int digitsStart = i;
+		int octave = 0;
+		while (i < end) {
+			int digit = s.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			octave = octave * 10 + digit;
+			if (octave > Pitch.MAX_PACKED_OCTAVE + 1) {
+				pos.setIndex(start);
+				pos.setErrorIndex(digitsStart);
+				return INVALID;
+			}
+			i++;
+		}
+		if (i == digitsStart) {
+			pos.setIndex(start);
+			pos.setErrorIndex(i);
+			return INVALID;
+		}
+		if (negative) {
+			octave = -octave;
+		}
+		if (octave > Pitch.MAX_PACKED_OCTAVE) {
+			pos.setIndex(start);
+			pos.setErrorIndex(digitsStart);
+			return INVALID;
+		}
+		pos.setIndex(i);
+		return Pitch.pack(Pitch.packedBasePitchClass(pitchClass),
+				Pitch.packedAccidental(pitchClass), octave);
+	}
+
+	/**
+	 * Parses a sequence of pitches separated by whitespace or commas
+	 * into an array of packed pitches.
+	 *
+	 * @throws FormatException if the sequence contains anything else
+	 *         than pitches and separators
+	 */
+	static int[] parsePitches(CharSequence s, int start, int end) {
+		int[] result = new int[Math.max(4, (end - start) / 4)];
+		int count = 0;
+		ParsePosition pos = new ParsePosition(start);
+		int i = skipSeparators(s, start, end);
+		while (i < end) {
+			pos.setIndex(i);
+			int packed = parsePitch(s, pos, end);
+			if (packed == INVALID) {
+				throw new FormatException("Illegal pitch format at index "
+						+ pos.getErrorIndex());
+			}
+			i = pos.getIndex();
+			if (i < end && !isSeparator(s.charAt(i))) {
+				throw new FormatException("Illegal pitch format at index " + i);
+			}
+			if (count == result.length) {
+				result = Arrays.copyOf(result, 2 * count);
+			}
+			result[count++] = packed;
+			i = skipSeparators(s, i, end);
+		}
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Returns the ordinal of the base pitch class denoted by the given
+	 * letter, or -1 if the character is not a valid letter.
+	 */
+	private static int baseOrdinal(char c) {
+		switch (c) {
+			case 'C': return 0;
+			case 'D': return 1;
+			case 'E': return 2;
+			case 'F': return 3;
+			case 'G': return 4;
+			case 'A': return 5;
+			case 'B': return 6;
+			default: return -1;
+		}
+	}
+
+	private static int skipSeparators(CharSequence s, int i, int end) {
+		while (i < end && isSeparator(s.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isSeparator(char c) {
+		return c == ',' || Character.isWhitespace(c);
+	}
+}
@@ -16,12 +16,12 @@
 
 package com.github.singond.music;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.NavigableSet;
+import java.util.ListIterator;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * A utility class for working with instances of {@code Pitch}.
@@ -44,6 +44,9 @@ public final class Pitches {
 	 * that is from lowest to highest pitch, if the start pitch is lower
 	 * than the end pitch. If the start pitch is greater than end pitch,
 	 * this order is reversed.
+	 * <p>
+	 * The returned list is an unmodifiable view, whose elements
+	 * are obtained only when accessed.
 	 *
 	 * @param start the starting point (inclusive, if contained in
 	 *        {@code pitchClasses})
@@ -56,92 +59,353 @@ public final class Pitches {
 	 */
 	public static List<Pitch> allBetween(Pitch start, Pitch end,
 			Set<PitchClass> pitchClasses) {
-		if (start.compareTo(end) < 0) {
-			return ascending(pitchClasses, start, end);
-		} else if (start.compareTo(end) > 0) {
-			return descending(pitchClasses, start, end);
-		} else {
-			return Collections.singletonList(start);
-		}
+		return allBetween(start, end, ScalePattern.of(pitchClasses));
 	}
 
 	/**
-	 * Given a set of pitch classes, generates a sequence of all pitches
-	 * of those pitch classes, which lie between the specified endpoints.
-	 * The endpoints are inclusive, ie. both may appear in the resulting
-	 * sequence, if their respective pitch class is contained in the set.
-	 * The returned sequence is sorted in the natural pitch ordering,
-	 * that is from lowest to highest pitch.
+	 * Returns all pitches of the given pattern between the endpoints.
+	 */
+	static List<Pitch> allBetween(Pitch start, Pitch end,
+			ScalePattern pattern) {
+		return pattern.between(start, end);
+	}
+
+	/**
+	 * Returns a stream of the pitches of the given pitch classes which
+	 * lie between the specified endpoints.
+	 * The stream contains the same pitches in the same order as the list
+	 * returned by {@link #allBetween}, and is split evenly when processed
+	 * in parallel.
 	 *
+	 * @param start the starting point (inclusive, if contained in
+	 *        {@code pitchClasses})
+	 * @param end the end point (inclusive, if contained in
+	 *        {@code pitchClasses})
 	 * @param pitchClasses the set of allowed pitch classes
+	 * @return a stream of pitches of {@code pitchClasses} between
+	 *         {@code start} and {@code end}
+	 */
+	public static Stream<Pitch> streamBetween(Pitch start, Pitch end,
+			Set<PitchClass> pitchClasses) {
+		return allBetween(start, end, pitchClasses).stream();
+	}
+
+	/**
+	 * Returns a stream of the MIDI numbers of the pitches of the given
+	 * pitch classes which lie between the specified endpoints.
+	 * The stream contains the MIDI numbers of the pitches returned by
+	 * {@link #allBetween}, in the same order, but does not create
+	 * the pitches themselves.
+	 *
 	 * @param start the starting point (inclusive, if contained in
 	 *        {@code pitchClasses})
 	 * @param end the end point (inclusive, if contained in
-	 *        {@code pitchClasses}). Should be higher than {@code start}.
-	 * @return a list of pitches of {@code pitchClasses} between
-	 *         {@code start} and {@code end}, sorted from lowest to highest
-	 */
-	private static List<Pitch> ascending(Set<PitchClass> pitchClasses,
-	                                     Pitch start, Pitch end) {
-		List<Pitch> result = new ArrayList<>();
-		// The pattern of pitch classes to apply
-		NavigableSet<PitchClass> pattern = new TreeSet<>(pitchClasses);
-
-		PitchClass current = start.pitchClass();
-		Pitch currentPitch = start;
-		if (!pattern.contains(current)) current = pattern.higher(current);
-		while (currentPitch.compareTo(end) < 0) {
-			currentPitch = Pitch.nearestAboveOrEnharmonic(current, currentPitch);
-			if (currentPitch.compareTo(end) <= 0) {
-				result.add(currentPitch);
-			}
-			if (current.equals(pattern.last())) {
-				current = pattern.first();
-			} else {
-				current = pattern.higher(current);
-			}
-		}
+	 *        {@code pitchClasses})
+	 * @param pitchClasses the set of allowed pitch classes
+	 * @return a stream of MIDI numbers of the pitches
+	 *         of {@code pitchClasses} between {@code start} and {@code end}
+	 */
+	public static IntStream midiNumbersBetween(Pitch start, Pitch end,
+			Set<PitchClass> pitchClasses) {
+		return midiNumbersBetween(start, end, ScalePattern.of(pitchClasses));
+	}
 
-		return result;
+	/**
+	 * Returns the MIDI numbers of all pitches of the given pattern
+	 * between the endpoints.
+	 */
+	static IntStream midiNumbersBetween(Pitch start, Pitch end,
+			ScalePattern pattern) {
+		return pattern.between(start, end).midiNumbers();
 	}
 
 	/**
-	 * Given a set of pitch classes, generates a sequence of all pitches
-	 * of those pitch classes, which lie between the specified endpoints.
-	 * The endpoints are inclusive, ie. both may appear in the resulting
-	 * sequence, if their respective pitch class is contained in the set.
-	 * The returned sequence is sorted in the reverse of the natural pitch
-	 * ordering, that is from highest to lowest pitch.
+	 * Returns an iterator over all pitches of the given pitch classes
+	 * starting at the lowest pitch which is higher than or enharmonic
+	 * to {@code start} and proceeding up.
+	 * The iterator never ends, unless {@code pitchClasses} is empty.
 	 *
+	 * @param start the starting point (inclusive, if contained in
+	 *        {@code pitchClasses})
 	 * @param pitchClasses the set of allowed pitch classes
+	 * @return an iterator over the pitches of {@code pitchClasses}
+	 *         from {@code start} upwards
+	 */
+	public static Iterator<Pitch> ascendingFrom(Pitch start,
+			Set<PitchClass> pitchClasses) {
+		return ScalePattern.of(pitchClasses).ascendingFrom(start);
+	}
+
+	/**
+	 * Returns an iterator over all pitches of the given pitch classes
+	 * starting at the highest pitch which is lower than or enharmonic
+	 * to {@code start} and proceeding down.
+	 * The iterator never ends, unless {@code pitchClasses} is empty.
+	 *
 	 * @param start the starting point (inclusive, if contained in
 	 *        {@code pitchClasses})
-	 * @param end the end point (inclusive, if contained in
-	 *        {@code pitchClasses}). Should be lower than {@code start}.
-	 * @return a list of pitches of {@code pitchClasses} between
-	 *         {@code start} and {@code end}, sorted from lowest to highest
-	 */
-	private static List<Pitch> descending(Set<PitchClass> pitchClasses,
-	                                      Pitch start, Pitch end) {
-		List<Pitch> result = new ArrayList<>();
-		// The pattern of pitch classes to apply
-		NavigableSet<PitchClass> pattern = new TreeSet<>(pitchClasses);
-
-		PitchClass current = start.pitchClass();
-		Pitch currentPitch = start;
-		if (!pattern.contains(current)) current = pattern.lower(current);
-		while (currentPitch.compareTo(end) > 0) {
-			currentPitch = Pitch.nearestBelowOrEnharmonic(current, currentPitch);
-			if (currentPitch.compareTo(end) >= 0) {
-				result.add(currentPitch);
-			}
-			if (current.equals(pattern.first())) {
-				current = pattern.last();
-			} else {
-				current = pattern.lower(current);
-			}
+	 * @param pitchClasses the set of allowed pitch classes
+	 * @return an iterator over the pitches of {@code pitchClasses}
+	 *         from {@code start} downwards
+	 */
+	public static Iterator<Pitch> descendingFrom(Pitch start,
+			Set<PitchClass> pitchClasses) {
+		return ScalePattern.of(pitchClasses).descendingFrom(start);
+	}
+
+	/**
+	 * Parses a sequence of pitch names separated by whitespace or commas.
+	 * Any number of separators may appear between the pitch names
+	 * and at both ends of the sequence.
+	 * For a description of the format of individual pitch names,
+	 * see {@link Pitch#valueOf(String)}.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @return the parsed pitches, in the order of their appearance
+	 *         in {@code s}
+	 * @throws FormatException if {@code s} contains anything else than
+	 *         pitch names and separators
+	 */
+	public static Pitch[] parseAll(CharSequence s) {
+		return parseAll(s, 0, s.length());
+	}
+
+	/**
+	 * Parses a sequence of pitch names separated by whitespace or commas
+	 * from a part of the given character sequence.
+	 * For a description of the format, see {@link #parseAll(CharSequence)}.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param start the index at which to start parsing
+	 * @param end the index at which to stop parsing
+	 * @return the parsed pitches, in the order of their appearance
+	 *         in {@code s}
+	 * @throws FormatException if the part of {@code s} between
+	 *         {@code start} and {@code end} contains anything else than
+	 *         pitch names and separators
+	 * @throws IndexOutOfBoundsException if {@code start} or {@code end}
+	 *         lie outside of {@code s}
+	 */
+	public static Pitch[] parseAll(CharSequence s, int start, int end) {
+		int[] packed = parsePacked(s, start, end);
+		Pitch[] pitches = new Pitch[packed.length];
+		for (int i = 0; i < packed.length; i++) {
+			pitches[i] = Pitch.unpack(packed[i]);
 		}
+		return pitches;
+	}
+
+	/**
+	 * Parses a sequence of pitch names separated by whitespace or commas
+	 * into packed pitches (see {@link Pitch#pack(Pitch)}).
+	 * No instances of {@code Pitch} are created in the process.
+	 * For a description of the format, see {@link #parseAll(CharSequence)}.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @return the parsed pitches in their packed form, in the order
+	 *         of their appearance in {@code s}
+	 * @throws FormatException if {@code s} contains anything else than
+	 *         pitch names and separators
+	 */
+	public static int[] parsePacked(CharSequence s) {
+		return parsePacked(s, 0, s.length());
+	}
 
-		return result;
+	/**
+	 * Parses a sequence of pitch names separated by whitespace or commas
+	 * from a part of the given character sequence into packed pitches
+	 * (see {@link Pitch#pack(Pitch)}).
+	 * No instances of {@code Pitch} are created in the process.
+	 * For a description of the format, see {@link #parseAll(CharSequence)}.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param start the index at which to start parsing
+	 * @param end the index at which to stop parsing
+	 * @return the parsed pitches in their packed form, in the order
+	 *         of their appearance in {@code s}
+	 * @throws FormatException if the part of {@code s} between
+	 *         {@code start} and {@code end} contains anything else than
+	 *         pitch names and separators
+	 * @throws IndexOutOfBoundsException if {@code start} or {@code end}
+	 *         lie outside of {@code s}
+	 */
+	public static int[] parsePacked(CharSequence s, int start, int end) {
+		if (start < 0 || end > s.length() || start > end) {
+			throw new IndexOutOfBoundsException("Illegal range: "
+					+ start + " to " + end);
+		}
+		return PitchParser.parsePitches(s, start, end);
+	}
+
+	/**
+	 * Sorts the given array of pitches into their natural order.
+	 * <p>
+	 * Instead of comparing the pitches, this method sorts them
+	 * by their {@linkplain Pitch#sortKey() sort keys} using radix sort,
+	 * which runs in time linear in the number of pitches.
+	 * The result is the same as that of
+	 * {@code Arrays.sort(pitches, Pitch.strictComparator())}.
+	 *
+	 * @param pitches the array to be sorted
+	 * @throws NullPointerException if any of the pitches is null
+	 */
+	public static void sort(Pitch[] pitches) {
+		sort(pitches, strictKeys(pitches), false);
+	}
+
+	/**
+	 * Sorts the given list of pitches into their natural order.
+	 * The list must be modifiable, but need not be resizable.
+	 * For a description of the algorithm, see {@link #sort(Pitch[])}.
+	 *
+	 * @param pitches the list to be sorted
+	 * @throws NullPointerException if any of the pitches is null
+	 * @throws UnsupportedOperationException if the list does not support
+	 *         the {@code set} operation
+	 */
+	public static void sort(List<Pitch> pitches) {
+		Pitch[] array = pitches.toArray(new Pitch[pitches.size()]);
+		sort(array);
+		setAll(pitches, array);
+	}
+
+	/**
+	 * Sorts the given array of pitches by their absolute pitch only,
+	 * as by {@link Pitch#enharmonicComparator()}.
+	 * The sort is stable: enharmonic pitches retain their relative order.
+	 * For a description of the algorithm, see {@link #sort(Pitch[])}.
+	 *
+	 * @param pitches the array to be sorted
+	 * @throws NullPointerException if any of the pitches is null
+	 */
+	public static void sortEnharmonically(Pitch[] pitches) {
+		sort(pitches, enharmonicKeys(pitches), false);
+	}
+
+	/**
+	 * Sorts the given list of pitches by their absolute pitch only,
+	 * as by {@link Pitch#enharmonicComparator()}.
+	 * The sort is stable: enharmonic pitches retain their relative order.
+	 * The list must be modifiable, but need not be resizable.
+	 *
+	 * @param pitches the list to be sorted
+	 * @throws NullPointerException if any of the pitches is null
+	 * @throws UnsupportedOperationException if the list does not support
+	 *         the {@code set} operation
+	 */
+	public static void sortEnharmonically(List<Pitch> pitches) {
+		Pitch[] array = pitches.toArray(new Pitch[pitches.size()]);
+		sortEnharmonically(array);
+		setAll(pitches, array);
+	}
+
+	/**
+	 * Sorts the given array of pitches into their natural order,
+	 * processing large arrays in parallel.
+	 * The result is the same as that of {@link #sort(Pitch[])}.
+	 *
+	 * @param pitches the array to be sorted
+	 * @throws NullPointerException if any of the pitches is null
+	 */
+	public static void parallelSort(Pitch[] pitches) {
+		sort(pitches, strictKeys(pitches), true);
+	}
+
+	/**
+	 * Sorts the given array of packed pitches into the natural order
+	 * of the pitches they represent, as by {@link Pitch#packedCompare}.
+	 * For a description of the algorithm, see {@link #sort(Pitch[])}.
+	 *
+	 * @param packed the array of packed pitches to be sorted
+	 */
+	public static void sortPacked(int[] packed) {
+		sortPacked(packed, strictKeys(packed), false);
+	}
+
+	/**
+	 * Sorts the given array of packed pitches by their absolute pitch only,
+	 * that is by their MIDI numbers.
+	 * The sort is stable: enharmonic pitches retain their relative order.
+	 *
+	 * @param packed the array of packed pitches to be sorted
+	 */
+	public static void sortPackedEnharmonically(int[] packed) {
+		sortPacked(packed, enharmonicKeys(packed), false);
+	}
+
+	/**
+	 * Sorts the given array of packed pitches into the natural order
+	 * of the pitches they represent, processing large arrays in parallel.
+	 * The result is the same as that of {@link #sortPacked(int[])}.
+	 *
+	 * @param packed the array of packed pitches to be sorted
+	 */
+	public static void parallelSortPacked(int[] packed) {
+		sortPacked(packed, strictKeys(packed), true);
+	}
+
+	private static long[] strictKeys(Pitch[] pitches) {
+		long[] keys = new long[pitches.length];
+		for (int i = 0; i < pitches.length; i++) {
+			keys[i] = pitches[i].sortKey();
+		}
+		return keys;
+	}
+
+	private static long[] enharmonicKeys(Pitch[] pitches) {
+		long[] keys = new long[pitches.length];
+		for (int i = 0; i < pitches.length; i++) {
+			keys[i] = (long) pitches[i].enharmonicSortKey() << 32;
+		}
+		return keys;
+	}
+
+	private static long[] strictKeys(int[] packed) {
+		long[] keys = new long[packed.length];
+		for (int i = 0; i < packed.length; i++) {
+			keys[i] = Pitch.packedSortKey(packed[i]);
+		}
+		return keys;
+	}
+
+	private static long[] enharmonicKeys(int[] packed) {
+		long[] keys = new long[packed.length];
+		for (int i = 0; i < packed.length; i++) {
+			keys[i] = (long) Pitch.packedMidi(packed[i]) << 32;
+		}
+		return keys;
+	}
+
+	/**
+	 * Rearranges the pitches in the order of the given keys.
+	 */
+	private static void sort(Pitch[] pitches, long[] keys, boolean parallel) {
+		int bits = RadixSort.compact(keys);
+		int[] order = RadixSort.order(keys, bits, parallel);
+		Pitch[] original = pitches.clone();
+		for (int i = 0; i < order.length; i++) {
+			pitches[i] = original[order[i]];
+		}
+	}
+
+	/**
+	 * Rearranges the packed pitches in the order of the given keys.
+	 */
+	private static void sortPacked(int[] packed, long[] keys,
+			boolean parallel) {
+		int bits = RadixSort.compact(keys);
+		int[] order = RadixSort.order(keys, bits, parallel);
+		int[] original = packed.clone();
+		for (int i = 0; i < order.length; i++) {
+			packed[i] = original[order[i]];
+		}
+	}
+
+	private static void setAll(List<Pitch> list, Pitch[] pitches) {
+		ListIterator<Pitch> it = list.listIterator();
+		for (Pitch p : pitches) {
+			it.next();
+			it.set(p);
+		}
 	}
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A least-significant-digit radix sort of unsigned {@code long} keys,
+ * which computes the permutation sorting the keys.
+ * <p>
+ * The sort is stable and runs in time linear in the number of keys.
+ * The number of passes is given by the number of significant bits
+ * in the keys, so the keys should be made as small as possible
+ * before sorting (see {@link #compact}).
+ *
+ * @author Singon
+ */
+final class RadixSort {
+
+	private static final int DIGIT_BITS = 11;
+	private static final int RADIX = 1 << DIGIT_BITS;
+	private static final int DIGIT_MASK = RADIX - 1;
+
+	/** The smallest number of keys to be sorted in parallel. */
+	private static final int PARALLEL_THRESHOLD = 1 << 16;
+	/** The smallest number of keys processed by one parallel task. */
+	private static final int MIN_CHUNK = 1 << 13;
+
+	private RadixSort() {
+		throw new UnsupportedOperationException("Non-instantiable class");
+	}
+
+	/**
+	 * Replaces keys made of two signed 32-bit halves with smaller
+	 * unsigned keys of the same order, by subtracting the minimum from
+	 * each half and joining the halves without the unused bits.
+	 * The upper half is signed and the lower half unsigned,
+	 * as in {@link Pitch#sortKey()}.
+	 *
+	 * @param keys the keys to be compacted; the array is modified
+	 * @return the number of significant bits in the compacted keys
+	 */
+	static int compact(long[] keys) {
+		if (keys.length == 0) {
+			return 0;
+		}
+		long minHigh = Long.MAX_VALUE, maxHigh = Long.MIN_VALUE;
+		long minLow = Long.MAX_VALUE, maxLow = Long.MIN_VALUE;
+		for (long key : keys) {
+			long high = key >> 32;
+			long low = key & 0xFFFFFFFFL;
+			minHigh = Math.min(minHigh, high);
+			maxHigh = Math.max(maxHigh, high);
+			minLow = Math.min(minLow, low);
+			maxLow = Math.max(maxLow, low);
+		}
+		int lowBits = bits(maxLow - minLow);
+		for (int i = 0; i < keys.length; i++) {
+			long key = keys[i];
+			keys[i] = ((key >> 32) - minHigh) << lowBits
+					| ((key & 0xFFFFFFFFL) - minLow);
+		}
+		return bits(maxHigh - minHigh) + lowBits;
+	}
+
+	/**
+	 * Returns the number of significant bits in the given
+	 * non-negative number.
+	 */
+	private static int bits(long n) {
+		return Long.SIZE - Long.numberOfLeadingZeros(n);
+	}
+
+	/**
+	 * Computes the permutation which sorts the given keys, considering
+	 * only the given number of lowest bits, which are treated as unsigned.
+	 *
+	 * @param keys the keys to be sorted; the contents of the array
+	 *        are unspecified after this method returns
+	 * @param bits the number of significant bits in the keys
+	 * @param parallel whether to sort large arrays in parallel
+	 * @return the permutation which sorts the keys: the element at index
+	 *         {@code i} is the original index of the {@code i}-th
+	 *         smallest key
+	 */
+	static int[] order(long[] keys, int bits, boolean parallel) {
+		int n = keys.length;
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		long[] keysBuffer = new long[n];
+		int[] orderBuffer = new int[n];
+		parallel = parallel && n >= PARALLEL_THRESHOLD;
+		for (int shift = 0; shift < bits; shift += DIGIT_BITS) {
+			boolean moved = parallel
+					? parallelPass(keys, order, keysBuffer, orderBuffer, shift)
+					: pass(keys, order, keysBuffer, orderBuffer, shift);
+			if (moved) {
+				long[] k = keys;
+				keys = keysBuffer;
+				keysBuffer = k;
+				int[] o = order;
+				order = orderBuffer;
+				orderBuffer = o;
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Distributes the keys and their indices into the buffers by the digit
+	 * at the given position.
+	 *
+	 * @return {@code false} if all keys have the same digit and nothing
+	 *         has been moved into the buffers
+	 */
+	private static boolean pass(long[] keys, int[] order,
+			long[] keysOut, int[] orderOut, int shift) {
+		int n = keys.length;
+		int[] offsets = new int[RADIX];
+		for (long key : keys) {
+			offsets[(int) (key >>> shift) & DIGIT_MASK]++;
+		}
+		if (offsets[(int) (keys[0] >>> shift) & DIGIT_MASK] == n) {
+			return false;
+		}
+		int sum = 0;
+		for (int d = 0; d < RADIX; d++) {
+			int count = offsets[d];
+			offsets[d] = sum;
+			sum += count;
+		}
+		for (int i = 0; i < n; i++) {
+			long key = keys[i];
+			int index = offsets[(int) (key >>> shift) & DIGIT_MASK]++;
+			keysOut[index] = key;
+			orderOut[index] = order[i];
+		}
+		return true;
+	}
+
+	/**
+	 * Performs the same operation as {@link #pass}, counting
+	 * and distributing contiguous chunks of the keys in parallel.
+	 * Each chunk is given its own range of indices within every digit,
+	 * so the distribution is stable.
+	 */
+	private static boolean parallelPass(final long[] keys, final int[] order,
+			final long[] keysOut, final int[] orderOut, final int shift) {
+		final int n = keys.length;
+		final int chunks = Math.min(
+				4 * Runtime.getRuntime().availableProcessors(),
+				n / MIN_CHUNK);
+		final int[][] offsets = new int[chunks][RADIX];
+		IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+			@Override
+			public void accept(int c) {
+				int[] counts = offsets[c];
+				int end = start(c + 1, chunks, n);
+				for (int i = start(c, chunks, n); i < end; i++) {
+					counts[(int) (keys[i] >>> shift) & DIGIT_MASK]++;
+				}
+			}
+		});
+		int first = (int) (keys[0] >>> shift) & DIGIT_MASK;
+		int firstCount = 0;
+		for (int c = 0; c < chunks; c++) {
+			firstCount += offsets[c][first];
+		}
+		if (firstCount == n) {
+			return false;
+		}
+		int sum = 0;
+		for (int d = 0; d < RADIX; d++) {
+			for (int c = 0; c < chunks; c++) {
+				int count = offsets[c][d];
+				offsets[c][d] = sum;
+				sum += count;
+			}
+		}
+		IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+			@Override
+			public void accept(int c) {
+				int[] chunkOffsets = offsets[c];
+				int end = start(c + 1, chunks, n);
+				for (int i = start(c, chunks, n); i < end; i++) {
+					long key = keys[i];
+					int index = chunkOffsets[(int) (key >>> shift) & DIGIT_MASK]++;
+					keysOut[index] = key;
+					orderOut[index] = order[i];
+				}
+			}
+		});
+		return true;
+	}
+
+	/** Returns the first index of the given chunk. */
+	private static int start(int chunk, int chunks, int n) {
+		return (int) ((long) n * chunk / chunks);
+	}
+}
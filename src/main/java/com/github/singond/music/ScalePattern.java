@@ -0,0 +1,426 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The pattern of a scale formed by a set of pitch classes, repeated
+ * in every octave.
+ * <p>
+ * The pattern lists the pitch classes in the order in which they appear
+ * within an octave starting at C, together with their height above C
+ * and the octave number correction needed to place them in that octave.
+ * All pitches of the scale can then be numbered by a single index,
+ * and the pitch at any index is obtained by table lookup, without
+ * searching for the nearest pitch of a given pitch class.
+ * Index 0 denotes the lowest pitch of the scale in octave zero,
+ * that is, the lowest pitch which is enharmonic to C0 or higher.
+ *
+ * @author Singon
+ */
+final class ScalePattern {
+
+	private static final int SEMITONES = 12;
+
+	/** The pitch classes in the order of their appearance in an octave. */
+	private final PitchClass[] pitchClasses;
+	/** The height of each pitch class above C, modulo octave. */
+	private final int[] heights;
+	/** The accidental of each pitch class, in steps above natural. */
+	private final int[] accidentals;
+	/** The octave correction of each pitch class. */
+	private final int[] octaveShifts;
+
+	private ScalePattern(PitchClass[] pitchClasses) {
+		int n = pitchClasses.length;
+		this.pitchClasses = pitchClasses;
+		this.heights = new int[n];
+		this.accidentals = new int[n];
+		this.octaveShifts = new int[n];
+		for (int i = 0; i < n; i++) {
+			int steps = pitchClasses[i].stepsAboveReference();
+			heights[i] = Util.floorMod(steps, SEMITONES);
+			accidentals[i] = pitchClasses[i].accidental().stepsAboveNatural();
+			octaveShifts[i] = -Util.floorDiv(steps, SEMITONES);
+		}
+	}
+
+	/**
+	 * Creates the scale pattern of the given set of pitch classes.
+	 *
+	 * @param pitchClasses the pitch classes forming the scale
+	 * @return the pattern of the scale
+	 */
+	static ScalePattern of(Set<PitchClass> pitchClasses) {
+		PitchClass[] pattern = pitchClasses.toArray(
+				new PitchClass[pitchClasses.size()]);
+		Arrays.sort(pattern, OCTAVE_ORDER);
+		return new ScalePattern(pattern);
+	}
+
+	/**
+	 * Orders pitch classes by their height above C modulo octave
+	 * and then by the reverse order of their accidentals, which agrees
+	 * with the natural order of pitches within a single octave.
+	 */
+	private static final Comparator<PitchClass> OCTAVE_ORDER
+			= new Comparator<PitchClass>() {
+		@Override
+		public int compare(PitchClass p1, PitchClass p2) {
+			int comparison = Integer.compare(
+					Util.floorMod(p1.stepsAboveReference(), SEMITONES),
+					Util.floorMod(p2.stepsAboveReference(), SEMITONES));
+			if (comparison != 0) {
+				return comparison;
+			}
+			return -p1.accidental().compareTo(p2.accidental());
+		}
+	};
+
+	/**
+	 * Returns the number of pitches in one octave of the scale.
+	 */
+	int size() {
+		return pitchClasses.length;
+	}
+
+	/**
+	 * Returns the pitch at the given index of the scale.
+	 */
+	Pitch pitch(long index) {
+		int octave = octave(index);
+		int i = (int) (index - (long) octave * pitchClasses.length);
+		return Pitch.of(pitchClasses[i], octave + octaveShifts[i]);
+	}
+
+	/**
+	 * Returns the MIDI number of the pitch at the given index of the scale.
+	 */
+	int midiNumber(long index) {
+		int octave = octave(index);
+		int i = (int) (index - (long) octave * pitchClasses.length);
+		return (octave + 1) * SEMITONES + heights[i];
+	}
+
+	/**
+	 * Returns the octave of the scale containing the given index,
+	 * that is, the index divided by the size of the scale rounded down.
+	 * The indexes are derived from pitches, so the octave fits in an int.
+	 */
+	private int octave(long index) {
+		int n = pitchClasses.length;
+		return (int) (index >= 0 ? index / n : (index + 1) / n - 1);
+	}
+
+	/**
+	 * Returns the index of the lowest pitch of the scale which is higher
+	 * than or enharmonic to the given pitch.
+	 */
+	long indexAtOrAbove(Pitch pitch) {
+		int absolute = pitch.midiNumber() - SEMITONES;
+		int octave = Util.floorDiv(absolute, SEMITONES);
+		int height = absolute - octave * SEMITONES;
+		int n = pitchClasses.length;
+		int i = 0;
+		while (i < n && heights[i] < height) {
+			i++;
+		}
+		return (long) octave * n + i;
+	}
+
+	/**
+	 * Returns the index of the highest pitch of the scale which is lower
+	 * than or enharmonic to the given pitch.
+	 */
+	long indexAtOrBelow(Pitch pitch) {
+		int absolute = pitch.midiNumber() - SEMITONES;
+		int octave = Util.floorDiv(absolute, SEMITONES);
+		int height = absolute - octave * SEMITONES;
+		int n = pitchClasses.length;
+		int i = n - 1;
+		while (i >= 0 && heights[i] > height) {
+			i--;
+		}
+		return (long) octave * n + i;
+	}
+
+	/**
+	 * Returns the index of the highest pitch of the scale which is lower
+	 * than or equal to the given pitch in the natural order.
+	 */
+	long indexNotAbove(Pitch pitch) {
+		long index = indexAtOrBelow(pitch);
+		while (pitch(index).compareTo(pitch) > 0) {
+			index--;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the index of the lowest pitch of the scale which is higher
+	 * than or equal to the given pitch in the natural order.
+	 */
+	long indexNotBelow(Pitch pitch) {
+		long index = indexAtOrAbove(pitch);
+		while (pitch(index).compareTo(pitch) < 0) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the pitches of the scale which lie between the given
+	 * endpoints in the natural order. Both endpoints are inclusive
+	 * if they are contained in the scale; pitches which are only
+	 * enharmonic to an endpoint are included only if they lie
+	 * between the endpoints.
+	 * The pitches are ordered from {@code start} to {@code end}.
+	 *
+	 * @return an unmodifiable list view of the pitches
+	 */
+	ScaleRange between(Pitch start, Pitch end) {
+		if (pitchClasses.length == 0) {
+			return new ScaleRange(this, 0, 0, 1);
+		}
+		if (start.compareTo(end) <= 0) {
+			long first = indexNotBelow(start);
+			long last = indexNotAbove(end);
+			return new ScaleRange(this, first, size(first, last), 1);
+		} else {
+			long first = indexNotAbove(start);
+			long last = indexNotBelow(end);
+			return new ScaleRange(this, first, size(last, first), -1);
+		}
+	}
+
+	private static int size(long first, long last) {
+		long size = Math.max(0, last - first + 1);
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The scale is too long");
+		}
+		return (int) size;
+	}
+
+	/**
+	 * Returns an iterator over the pitches of the scale starting
+	 * at the lowest pitch higher than or enharmonic to {@code start}
+	 * and proceeding up without bound.
+	 */
+	Iterator<Pitch> ascendingFrom(Pitch start) {
+		return new UnboundedIterator(this, indexAtOrAbove(start), 1);
+	}
+
+	/**
+	 * Returns an iterator over the pitches of the scale starting
+	 * at the highest pitch lower than or enharmonic to {@code start}
+	 * and proceeding down without bound.
+	 */
+	Iterator<Pitch> descendingFrom(Pitch start) {
+		return new UnboundedIterator(this, indexAtOrBelow(start), -1);
+	}
+
+	/**
+	 * A contiguous range of pitches of a scale, as an unmodifiable list.
+	 */
+	static final class ScaleRange extends AbstractList<Pitch>
+			implements RandomAccess {
+
+		private final ScalePattern pattern;
+		/** The scale index of the first element. */
+		private final long first;
+		private final int size;
+		/** The difference of scale indices of adjacent elements. */
+		private final int step;
+
+		private ScaleRange(ScalePattern pattern, long first, int size,
+				int step) {
+			this.pattern = pattern;
+			this.first = first;
+			this.size = size;
+			this.step = step;
+		}
+
+		@Override
+		public Pitch get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index
+						+ ", size: " + size);
+			}
+			return pattern.pitch(first + (long) step * index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Spliterator<Pitch> spliterator() {
+			return new PitchSpliterator(this, 0, size);
+		}
+
+		/**
+		 * Returns a stream of the MIDI numbers of the pitches in this range.
+		 */
+		IntStream midiNumbers() {
+			return StreamSupport.intStream(
+					new MidiSpliterator(this, 0, size), false);
+		}
+	}
+
+	/**
+	 * A spliterator over the pitches of a range of a scale.
+	 */
+	private static final class PitchSpliterator implements Spliterator<Pitch> {
+
+		private final ScaleRange range;
+		private int index;
+		private final int end;
+
+		PitchSpliterator(ScaleRange range, int start, int end) {
+			this.range = range;
+			this.index = start;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Pitch> action) {
+			if (index < end) {
+				action.accept(range.get(index++));
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public Spliterator<Pitch> trySplit() {
+			int start = index;
+			int middle = (start + end) >>> 1;
+			if (middle <= start) {
+				return null;
+			}
+			index = middle;
+			return new PitchSpliterator(range, start, middle);
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+		}
+	}
+
+	/**
+	 * A spliterator over the MIDI numbers of a range of a scale.
+	 */
+	private static final class MidiSpliterator implements Spliterator.OfInt {
+
+		private final ScaleRange range;
+		private int index;
+		private final int end;
+
+		MidiSpliterator(ScaleRange range, int start, int end) {
+			this.range = range;
+			this.index = start;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			if (index < end) {
+				action.accept(range.pattern.midiNumber(
+						range.first + (long) range.step * index++));
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			int start = index;
+			int middle = (start + end) >>> 1;
+			if (middle <= start) {
+				return null;
+			}
+			index = middle;
+			return new MidiSpliterator(range, start, middle);
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+		}
+	}
+
+	/**
+	 * An iterator over the pitches of a scale which never ends.
+	 */
+	private static final class UnboundedIterator implements Iterator<Pitch> {
+
+		private final ScalePattern pattern;
+		private long index;
+		private final int step;
+
+		UnboundedIterator(ScalePattern pattern, long start, int step) {
+			this.pattern = pattern;
+			this.index = start;
+			this.step = step;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return pattern.size() > 0;
+		}
+
+		@Override
+		public Pitch next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Pitch result = pattern.pitch(index);
+			index += step;
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -16,6 +16,7 @@
 
 package com.github.singond.music;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -25,10 +26,16 @@ import java.util.List;
  * that is, from unison to octave.
  * The width of these intervals does not exceed 12 steps (a perfect octave),
  * with one exception: There is augmented octave, which spans 13 semitones.
+ * <p>
+ * Instances of this class are immutable and canonical, including
+ * deserialized instances.
  *
  * @author Singon
  */
-public final class SimpleInterval extends AbstractInterval implements Interval {
+public final class SimpleInterval extends AbstractInterval
+		implements Interval, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** Diatonic interval */
 	public static final SimpleInterval UNISON, MINOR_SECOND, MAJOR_SECOND,
@@ -89,9 +96,25 @@ public final class SimpleInterval extends AbstractInterval implements Interval {
 			DIMINISHED_OCTAVE, AUGMENTED_OCTAVE
 	);
 
+	static final int MAX_DEGREES = 7;
+	static final int MAX_SEMITONES = 13;
+
+	/**
+	 * The simple intervals indexed by the number of degrees and semitones,
+	 * with {@code null} in place of the combinations which do not exist.
+	 */
+	private static final SimpleInterval[][] byDegreesAndSemitones;
+	static {
+		byDegreesAndSemitones
+				= new SimpleInterval[MAX_DEGREES + 1][MAX_SEMITONES + 1];
+		for (SimpleInterval i : values) {
+			byDegreesAndSemitones[i.degrees][i.semitones] = i;
+		}
+	}
+
 	private final int degrees;
 	private final int semitones;
-	private final Quality quality;
+	private final transient Quality quality;
 	private final String name;
 	private final String symbol;
 
@@ -121,18 +144,11 @@ public final class SimpleInterval extends AbstractInterval implements Interval {
 	 *         of the existing instances match
 	 */
 	public static final SimpleInterval valueOf(int degrees, int semitones) {
-		// A short circuit for impossible numbers of diatonic degrees
-		if (degrees < 0 || degrees > 7) {
+		if (degrees < 0 || degrees > MAX_DEGREES
+				|| semitones < 0 || semitones > MAX_SEMITONES) {
 			return null;
 		}
-
-		// Search the available constants
-		for (SimpleInterval i : values) {
-			if (i.degrees == degrees && i.semitones == semitones) {
-				return i;
-			}
-		}
-		return null;
+		return byDegreesAndSemitones[degrees][semitones];
 	}
 
 	@Override
@@ -180,6 +196,13 @@ public final class SimpleInterval extends AbstractInterval implements Interval {
 		return symbol;
 	}
 
+	/**
+	 * Replaces a deserialized interval with the canonical instance.
+	 */
+	private Object readResolve() {
+		return valueOf(degrees, semitones);
+	}
+
 	public static List<SimpleInterval> values() {
 		return Collections.unmodifiableList(values);
 	}
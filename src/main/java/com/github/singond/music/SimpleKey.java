@@ -17,10 +17,13 @@
 package com.github.singond.music;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 /**
  * A skeletal implementation of a simple type of musical key,
@@ -41,6 +44,25 @@ abstract class SimpleKey extends AbstractKey implements Key {
 	 */
 	private final List<PitchClass> pitchClasses;
 
+	/** The degrees of this key, starting with the tonic at index zero. */
+	private final PitchClass[] degrees;
+
+	/** The degrees of this key lowered by a chromatic semitone. */
+	private final PitchClass[] loweredDegrees;
+
+	/** The degrees of this key raised by a chromatic semitone. */
+	private final PitchClass[] raisedDegrees;
+
+	/**
+	 * All pitch classes in this key as an unmodifiable set.
+	 * This is a {@code PitchClassSet} unless the key contains pitch classes
+	 * with more than two flats or sharps.
+	 */
+	private final Set<PitchClass> pitchClassSet;
+
+	/** The pattern of the scale of this key. */
+	private final ScalePattern scalePattern;
+
 	/**
 	 * Creates a new key from the given pitch classes.
 	 * The pitch classes must be sorted into the order they appear
@@ -49,7 +71,28 @@ abstract class SimpleKey extends AbstractKey implements Key {
 	 * @param pitchClasses pitch classes from the key's scale
 	 */
 	private SimpleKey(List<PitchClass> pitchClasses) {
-		this.pitchClasses = new ArrayList<>(pitchClasses);
+		this.degrees = pitchClasses.toArray(new PitchClass[pitchClasses.size()]);
+		this.pitchClasses = Collections.unmodifiableList(Arrays.asList(degrees));
+		this.loweredDegrees = new PitchClass[degrees.length];
+		this.raisedDegrees = new PitchClass[degrees.length];
+		for (int i = 0; i < degrees.length; i++) {
+			loweredDegrees[i] = degrees[i].transposeDown(
+					SimpleInterval.AUGMENTED_UNISON);
+			raisedDegrees[i] = degrees[i].transposeUp(
+					SimpleInterval.AUGMENTED_UNISON);
+		}
+		this.pitchClassSet = toSet(this.pitchClasses);
+		this.scalePattern = ScalePattern.of(pitchClassSet);
+	}
+
+	private static Set<PitchClass> toSet(List<PitchClass> pitchClasses) {
+		for (PitchClass pc : pitchClasses) {
+			if (!PitchClassSet.accepts(pc)) {
+				return Collections.unmodifiableSet(
+						new HashSet<PitchClass>(pitchClasses));
+			}
+		}
+		return PitchClassSet.of(pitchClasses);
 	}
 
 	/**
@@ -155,18 +198,17 @@ abstract class SimpleKey extends AbstractKey implements Key {
 
 	@Override
 	public PitchClass tonic() {
-		return pitchClasses.get(0);
+		return degrees[0];
 	}
 
 	/**
 	 * {@inheritDoc}
-	 * @return a new set on every invocation
+	 * The returned set is unmodifiable. If all pitch classes in this key
+	 * have at most two flats or sharps, it is a {@code PitchClassSet}.
 	 */
 	@Override
 	public Set<PitchClass> pitchClasses() {
-		Set<PitchClass> result = new HashSet<>();
-		result.addAll(pitchClasses);
-		return result;
+		return pitchClassSet;
 	}
 
 	/**
@@ -175,11 +217,60 @@ abstract class SimpleKey extends AbstractKey implements Key {
 	 */
 	@Override
 	public List<PitchClass> degrees() {
-		return Collections.unmodifiableList(pitchClasses);
+		return pitchClasses;
 	}
 
+	@Override
+	public PitchClass degree(int degree) {
+		if (degree < 1 || degree > degrees.length) {
+			throw new IndexOutOfBoundsException("Degree " + degree
+					+ " does not exist in " + this);
+		}
+		return degrees[degree - 1];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Diatonic degrees and degrees raised or lowered by one semitone
+	 * are looked up in a table computed when this key is created.
+	 */
+	@Override
+	public PitchClass degree(Degree degree) {
+		int index = degree.base() - 1;
+		if (index < 0 || index >= degrees.length) {
+			throw new IndexOutOfBoundsException("Degree " + degree.base()
+					+ " does not exist in " + this);
+		}
+		switch (degree.shift()) {
+			case -1: return loweredDegrees[index];
+			case 0:  return degrees[index];
+			case 1:  return raisedDegrees[index];
+			default: return super.degree(degree);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The returned list is an unmodifiable view, whose elements
+	 * are obtained only when accessed.
+	 */
 	@Override
 	public List<Pitch> scale(Pitch start, Pitch end) {
-		return Pitches.allBetween(start, end, pitchClasses());
+		return Pitches.allBetween(start, end, scalePattern);
+	}
+
+	@Override
+	public IntStream scaleMidiNumbers(Pitch start, Pitch end) {
+		return Pitches.midiNumbersBetween(start, end, scalePattern);
+	}
+
+	@Override
+	public Iterator<Pitch> ascendingScale(Pitch start) {
+		return scalePattern.ascendingFrom(start);
+	}
+
+	@Override
+	public Iterator<Pitch> descendingScale(Pitch start) {
+		return scalePattern.descendingFrom(start);
 	}
 }
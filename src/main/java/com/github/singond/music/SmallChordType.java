@@ -48,6 +48,20 @@ class SmallChordType implements InvertibleChordType {
 	private final List<SmallChordType> inversions;
 	/** The index of this instance in {@code inversions}. */
 	private final int inversionNumber;
+	/** The height of each note above the bass. */
+	private final Interval[] heights;
+	/** The height of each note above the bass in diatonic degrees. */
+	private final int[] heightDegrees;
+	/** The height of each note above the bass in semitones. */
+	private final int[] heightSemitones;
+
+	/**
+	 * All instances in the order of creation. All instances are created
+	 * during the initialization of this class.
+	 */
+	private static final List<SmallChordType> instances = new ArrayList<>();
+	/** The index of this instance in {@code instances}. */
+	private final int id;
 
 	public static final InvertibleChordType
 			MAJOR_TRIAD, MAJOR_TRIAD_6, MAJOR_TRIAD_64,
@@ -127,6 +141,27 @@ class SmallChordType implements InvertibleChordType {
 		this.span = span;
 		this.inversionNumber = inversionNumber;
 		this.inversions = inversions;
+		this.heightDegrees = new int[this.structure.size() + 1];
+		this.heightSemitones = new int[this.structure.size() + 1];
+		this.heights = new Interval[this.structure.size() + 1];
+		Intervals.prefixSums(this.structure,
+				heights, heightDegrees, heightSemitones);
+		this.id = instances.size();
+		instances.add(this);
+	}
+
+	/**
+	 * Returns all instances of this class, including all inversions.
+	 */
+	static List<SmallChordType> all() {
+		return Collections.unmodifiableList(instances);
+	}
+
+	/**
+	 * Returns the index of this instance among all instances of this class.
+	 */
+	int id() {
+		return id;
 	}
 
 	private static Interval calculateSpan(List<Interval> intervals) {
@@ -148,7 +183,8 @@ class SmallChordType implements InvertibleChordType {
 		// Complete the list of structural intervals to make one octave
 		List<Interval> intv = new ArrayList<>(intervals.size() + 1);
 		intv.addAll(intervals);
-		intv.add(octaveComplement(Intervals.sum(intervals)));
+		intv.add(Intervals.difference(
+				SimpleInterval.PERFECT_OCTAVE, Intervals.sum(intervals)));
 		List<Interval> curInt = intv.subList(0, intv.size() - 1);
 
 		List<SmallChordType> inversions = new ArrayList<>(intv.size());
@@ -167,13 +203,6 @@ class SmallChordType implements InvertibleChordType {
 		return new ArrayList<>(inversions);
 	}
 
-	private static Interval octaveComplement(Interval interval) {
-		// TODO Implement using interval subtraction
-		int degrees = 7 - interval.degrees();
-		int semitones = 12 - interval.semitones();
-		return SimpleInterval.valueOf(degrees, semitones);
-	}
-
 	@Override
 	public List<Interval> structure() {
 		return Collections.unmodifiableList(structure);
@@ -196,7 +225,17 @@ class SmallChordType implements InvertibleChordType {
 
 	@Override
 	public Interval heightAboveBass(int note) {
-		return Intervals.sum(structure.subList(0, note));
+		return heights[note];
+	}
+
+	@Override
+	public int degreesAboveBass(int note) {
+		return heightDegrees[note];
+	}
+
+	@Override
+	public int semitonesAboveBass(int note) {
+		return heightSemitones[note];
 	}
 
 	/**
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent counts of a fixed number of bins, striped over several
+ * arrays to reduce contention between threads.
+ * <p>
+ * Each thread updates the stripe selected by a hash of its id.
+ * Threads whose ids map to different stripes do not touch the same
+ * memory, but threads sharing a stripe still contend for its bins.
+ * The last bin of each stripe counts the keys which are out of range.
+ * The stripes are padded to keep them on separate cache lines.
+ *
+ * @author Singon
+ */
+final class StripedCounts {
+
+	/** The number of unused slots at both ends of each stripe. */
+	private static final int PADDING = 8;
+	private static final int MAX_STRIPES = 64;
+
+	private final AtomicLongArray[] stripes;
+	private final int mask;
+	/** The number of bins including the bin of out-of-range keys. */
+	private final int bins;
+
+	/**
+	 * Creates new counts with the given number of bins in range.
+	 */
+	StripedCounts(int bins) {
+		this.bins = bins + 1;
+		int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(
+				2 * Runtime.getRuntime().availableProcessors() - 1) << 1);
+		this.stripes = new AtomicLongArray[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new AtomicLongArray(this.bins + 2 * PADDING);
+		}
+		this.mask = stripeCount - 1;
+	}
+
+	/**
+	 * Returns the stripe of the current thread.
+	 */
+	private AtomicLongArray stripe() {
+		long id = Thread.currentThread().getId();
+		// The 64-bit finalizer from MurmurHash3 spreads consecutive ids
+		id = (id ^ (id >>> 33)) * 0xff51afd7ed558ccdL;
+		id = (id ^ (id >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return stripes[(int) (id ^ (id >>> 33)) & mask];
+	}
+
+	/**
+	 * Returns the index of the given bin in a stripe.
+	 * Bin -1 is mapped to the out-of-range bin.
+	 */
+	private int slot(int bin) {
+		return PADDING + (bin < 0 ? bins - 1 : bin);
+	}
+
+	/**
+	 * Adds the given number to the given bin.
+	 */
+	void add(int bin, long count) {
+		stripe().getAndAdd(slot(bin), count);
+	}
+
+	/**
+	 * Adds the given local counts to the bins.
+	 * The array must have one element for every bin, including
+	 * the out-of-range bin as the last element.
+	 */
+	void addAll(long[] counts) {
+		AtomicLongArray stripe = stripe();
+		for (int bin = 0; bin < bins; bin++) {
+			long count = counts[bin];
+			if (count != 0) {
+				stripe.getAndAdd(PADDING + bin, count);
+			}
+		}
+	}
+
+	/**
+	 * Returns the current count of the given bin.
+	 */
+	long get(int bin) {
+		int slot = slot(bin);
+		long sum = 0;
+		for (AtomicLongArray stripe : stripes) {
+			sum += stripe.get(slot);
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the current counts of all bins, with the out-of-range bin
+	 * as the last element.
+	 */
+	long[] sum() {
+		long[] sum = new long[bins];
+		for (AtomicLongArray stripe : stripes) {
+			for (int bin = 0; bin < bins; bin++) {
+				sum[bin] += stripe.get(PADDING + bin);
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Resets all counts to zero.
+	 */
+	void reset() {
+		for (AtomicLongArray stripe : stripes) {
+			for (int bin = 0; bin < bins; bin++) {
+				stripe.set(PADDING + bin, 0);
+			}
+		}
+	}
+}
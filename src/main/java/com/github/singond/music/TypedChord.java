@@ -26,6 +26,10 @@ import java.util.List;
  */
 class TypedChord extends AbstractTypedChord implements Chord {
 
+	/** Canonical instances of chords of the predefined chord types. */
+	private static final ChordCache<TypedChord> cache
+			= new ChordCache<>(false);
+
 	/**
 	 * Creates a new {@code TypedChord} with the given attributes.
 	 * This constructor directly stores the given references, meaning
@@ -54,10 +58,8 @@ class TypedChord extends AbstractTypedChord implements Chord {
 		} else if (type == null) {
 			throw new NullPointerException("The chord type is null");
 		}
-		// TODO Return preset constant if available
-		List<PitchClass> notes = fromBass(bass, type);
-		PitchClass root = notes.get(type.rootIndex());
-		return new TypedChord(root, notes, type);
+		PitchClass root = bass.transposeUp(type.heightAboveBass(type.rootIndex()));
+		return ofRoot(root, type);
 	}
 
 	/**
@@ -74,8 +76,15 @@ class TypedChord extends AbstractTypedChord implements Chord {
 		} else if (type == null) {
 			throw new NullPointerException("The chord type is null");
 		}
-		// TODO Return preset constant if available
-		List<PitchClass> notes = fromRoot(root, type);
-		return new TypedChord(root, notes, type);
+		int index = ChordCache.index(type, root);
+		if (index < 0) {
+			return new TypedChord(root, fromRoot(root, type), type);
+		}
+		TypedChord chord = cache.get(index);
+		if (chord == null) {
+			chord = cache.intern(index,
+					new TypedChord(root, fromRoot(root, type), type));
+		}
+		return chord;
 	}
 }
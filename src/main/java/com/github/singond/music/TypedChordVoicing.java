@@ -11,6 +11,10 @@ import java.util.List;
 class TypedChordVoicing extends AbstractTypedChordVoicing
                         implements ChordVoicing {
 
+	/** Canonical instances of chords of the predefined chord types. */
+	private static final ChordCache<TypedChordVoicing> cache
+			= new ChordCache<>(true);
+
 	/**
 	 * Creates a new {@code TypedChordVoicing} with the given attributes.
 	 * This constructor directly stores the given references, meaning
@@ -38,10 +42,8 @@ class TypedChordVoicing extends AbstractTypedChordVoicing
 		} else if (type == null) {
 			throw new NullPointerException("The chord type is null");
 		}
-		// TODO Return preset constant if available
-		List<Pitch> notes = fromBass(bass, type);
-		Pitch root = notes.get(type.rootIndex());
-		return new TypedChordVoicing(root, notes, type);
+		Pitch root = bass.transposeUp(type.heightAboveBass(type.rootIndex()));
+		return ofRoot(root, type);
 	}
 
 	/**
@@ -58,8 +60,15 @@ class TypedChordVoicing extends AbstractTypedChordVoicing
 		} else if (type == null) {
 			throw new NullPointerException("The chord type is null");
 		}
-		// TODO Return preset constant if available
-		List<Pitch> notes = fromRoot(root, type);
-		return new TypedChordVoicing(root, notes, type);
+		int index = ChordCache.index(type, root);
+		if (index < 0) {
+			return new TypedChordVoicing(root, fromRoot(root, type), type);
+		}
+		TypedChordVoicing chord = cache.get(index);
+		if (chord == null) {
+			chord = cache.intern(index,
+					new TypedChordVoicing(root, fromRoot(root, type), type));
+		}
+		return chord;
 	}
 }
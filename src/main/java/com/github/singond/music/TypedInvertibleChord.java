@@ -15,6 +15,10 @@ class TypedInvertibleChord extends AbstractTypedChord
 	private final PitchClass root;
 	private final InvertibleChordType type;
 
+	/** Canonical instances of chords of the predefined chord types. */
+	private static final ChordCache<TypedInvertibleChord> cache
+			= new ChordCache<>(false);
+
 	/**
 	 * Creates a new {@code TypedChord} with the given attributes.
 	 * This constructor directly stores the given references, meaning
@@ -46,10 +50,8 @@ class TypedInvertibleChord extends AbstractTypedChord
 		} else if (type == null) {
 			throw new NullPointerException("The chord type is null");
 		}
-		// TODO Return preset constant if available
-		List<PitchClass> notes = fromBass(bass, type);
-		PitchClass root = notes.get(type.rootIndex());
-		return new TypedInvertibleChord(root, notes, type);
+		PitchClass root = bass.transposeUp(type.heightAboveBass(type.rootIndex()));
+		return ofRoot(root, type);
 	}
 
 	/**
@@ -67,9 +69,16 @@ class TypedInvertibleChord extends AbstractTypedChord
 		} else if (type == null) {
 			throw new NullPointerException("The chord type is null");
 		}
-		// TODO Return preset constant if available
-		List<PitchClass> notes = fromRoot(root, type);
-		return new TypedInvertibleChord(root, notes, type);
+		int index = ChordCache.index(type, root);
+		if (index < 0) {
+			return new TypedInvertibleChord(root, fromRoot(root, type), type);
+		}
+		TypedInvertibleChord chord = cache.get(index);
+		if (chord == null) {
+			chord = cache.intern(index,
+					new TypedInvertibleChord(root, fromRoot(root, type), type));
+		}
+		return chord;
 	}
 
 	@Override
@@ -77,8 +86,7 @@ class TypedInvertibleChord extends AbstractTypedChord
 		if (type.inversion() == n) {
 			return this;
 		} else {
-			InvertibleChordType type = this.type.invert(n);
-			return new TypedInvertibleChord(root, fromRoot(root, type), type);
+			return ofRoot(root, type.invert(n));
 		}
 	}
 
@@ -87,8 +95,7 @@ class TypedInvertibleChord extends AbstractTypedChord
 		if (type.inversion() == 0) {
 			return this;
 		} else {
-			InvertibleChordType type = this.type.rootPosition();
-			return new TypedInvertibleChord(root, fromRoot(root, type), type);
+			return ofRoot(root, type.rootPosition());
 		}
 	}
 }
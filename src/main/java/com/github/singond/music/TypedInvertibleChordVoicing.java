@@ -15,6 +15,10 @@ class TypedInvertibleChordVoicing extends AbstractTypedChordVoicing
 	private final Pitch root;
 	private final InvertibleChordType type;
 
+	/** Canonical instances of chords of the predefined chord types. */
+	private static final ChordCache<TypedInvertibleChordVoicing> cache
+			= new ChordCache<>(true);
+
 	/**
 	 * Creates a new {@code TypedChordVoicing} with the given attributes.
 	 * This constructor directly stores the given references, meaning
@@ -46,10 +50,8 @@ class TypedInvertibleChordVoicing extends AbstractTypedChordVoicing
 		} else if (type == null) {
 			throw new NullPointerException("The chord type is null");
 		}
-		// TODO Return preset constant if available
-		List<Pitch> notes = fromBass(bass, type);
-		Pitch root = notes.get(type.rootIndex());
-		return new TypedInvertibleChordVoicing(root, notes, type);
+		Pitch root = bass.transposeUp(type.heightAboveBass(type.rootIndex()));
+		return ofRoot(root, type);
 	}
 
 	/**
@@ -67,9 +69,16 @@ class TypedInvertibleChordVoicing extends AbstractTypedChordVoicing
 		} else if (type == null) {
 			throw new NullPointerException("The chord type is null");
 		}
-		// TODO Return preset constant if available
-		List<Pitch> notes = fromRoot(root, type);
-		return new TypedInvertibleChordVoicing(root, notes, type);
+		int index = ChordCache.index(type, root);
+		if (index < 0) {
+			return new TypedInvertibleChordVoicing(root, fromRoot(root, type), type);
+		}
+		TypedInvertibleChordVoicing chord = cache.get(index);
+		if (chord == null) {
+			chord = cache.intern(index,
+					new TypedInvertibleChordVoicing(root, fromRoot(root, type), type));
+		}
+		return chord;
 	}
 
 	@Override
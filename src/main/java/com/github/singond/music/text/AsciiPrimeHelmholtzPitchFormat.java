@@ -16,6 +16,9 @@
 
 package com.github.singond.music.text;
 
+import java.io.IOException;
+import java.text.ParsePosition;
+
 class AsciiPrimeHelmholtzPitchFormat extends BasicHelmholtzPitchFormat {
 
 	private static final CharSequence lowOctaveMark = ",";
@@ -27,13 +30,25 @@ class AsciiPrimeHelmholtzPitchFormat extends BasicHelmholtzPitchFormat {
 	}
 
 	@Override
-	protected CharSequence lowOctaveMark(int number) {
-		return TextUtil.repeat(lowOctaveMark, number);
+	protected void appendLowOctaveMark(int number, Appendable out)
+			throws IOException {
+		TextUtil.repeatTo(lowOctaveMark, number, out);
+	}
+
+	@Override
+	protected void appendHighOctaveMark(int number, Appendable out)
+			throws IOException {
+		TextUtil.repeatTo(highOctaveMark, number, out);
+	}
+
+	@Override
+	protected int parseLowOctaveMark(CharSequence s, ParsePosition pos) {
+		return TextUtil.countRepeats(lowOctaveMark, s, pos);
 	}
 
 	@Override
-	protected CharSequence highOctaveMark(int number) {
-		return TextUtil.repeat(highOctaveMark, number);
+	protected int parseHighOctaveMark(CharSequence s, ParsePosition pos) {
+		return TextUtil.countRepeats(highOctaveMark, s, pos);
 	}
 
 }
@@ -16,7 +16,11 @@
 
 package com.github.singond.music.text;
 
+import java.io.IOException;
+import java.text.ParsePosition;
+
 import com.github.singond.music.Pitch;
+import com.github.singond.music.PitchClass;
 
 /**
  * Partial implementation of the most common form of Helmholtz pitch notation,
@@ -33,6 +37,8 @@ import com.github.singond.music.Pitch;
 abstract class BasicHelmholtzPitchFormat implements PitchFormat {
 
 	private final PitchClassFormat pitchClassFmt;
+	/** The symbolic format underlying pitchClassFmt, if any */
+	private final SymbolicPitchClassFormat symbolicFmt;
 	private final CharSequence prefixSeparator;
 	private final CharSequence suffixSeparator;
 	private final boolean prefixLower;
@@ -53,6 +59,15 @@ abstract class BasicHelmholtzPitchFormat implements PitchFormat {
 			CharSequence prefixSeparator, CharSequence suffixSeparator,
 			boolean leadingLowOctaveMark) {
 		this.pitchClassFmt = pitchClassFormat;
+		PitchClassFormat underlying = pitchClassFormat;
+		if (underlying instanceof CompiledPitchClassFormat) {
+			underlying = ((CompiledPitchClassFormat) underlying).underlying();
+		}
+		if (underlying instanceof SymbolicPitchClassFormat) {
+			this.symbolicFmt = (SymbolicPitchClassFormat) underlying;
+		} else {
+			this.symbolicFmt = null;
+		}
 		this.prefixSeparator = prefixSeparator;
 		this.suffixSeparator = suffixSeparator;
 		this.prefixLower = leadingLowOctaveMark;
@@ -60,43 +75,163 @@ abstract class BasicHelmholtzPitchFormat implements PitchFormat {
 
 	@Override
 	public CharSequence format(Pitch pitch) {
+		return formatTo(pitch, new StringBuilder());
+	}
+
+	@Override
+	public Appendable formatTo(Pitch pitch, Appendable out)
+			throws IOException {
+		int octave = pitch.octave();
+		if (octave < 2) {
+			if (prefixLower) {
+				appendLowOctaveMark(2 - octave, out);
+				out.append(prefixSeparator);
+				appendPitchClass(pitch, out);
+			} else {
+				appendPitchClass(pitch, out);
+				out.append(suffixSeparator);
+				appendLowOctaveMark(2 - octave, out);
+			}
+		} else if (octave > 3) {
+			appendPitchClass(pitch, out);
+			out.append(suffixSeparator);
+			appendHighOctaveMark(octave - 3, out);
+		} else {
+			appendPitchClass(pitch, out);
+		}
+		return out;
+	}
+
+	/**
+	 * Appends the pitch class of the given pitch, with the first letter
+	 * in upper case for octave 2 and below, and in lower case otherwise.
+	 */
+	private void appendPitchClass(Pitch pitch, Appendable out)
+			throws IOException {
+		boolean upperCase = pitch.octave() < 3;
+		if (symbolicFmt != null) {
+			symbolicFmt.formatTo(pitch.pitchClass(), upperCase, out);
+			return;
+		}
 		CharSequence pc = pitchClassFmt.format(pitch.pitchClass());
 		// Check that the pitch class is formatted to non-empty string
 		if (pc.length() <= 0) {
 			throw new IllegalStateException(
 					"The formatted pitch class is empty");
 		}
-		if (pitch.octave() < 3 && Character.isLowerCase(pc.charAt(0))) {
-			StringBuilder sb = new StringBuilder(pc);
-			sb.setCharAt(0, Character.toUpperCase(pc.charAt(0)));
-			pc = sb;
-		} else if (pitch.octave() > 2 && Character.isUpperCase(pc.charAt(0))) {
-			StringBuilder sb = new StringBuilder(pc);
-			sb.setCharAt(0, Character.toLowerCase(pc.charAt(0)));
-			pc = sb;
+		char first = pc.charAt(0);
+		out.append(upperCase ? Character.toUpperCase(first)
+				: Character.toLowerCase(first));
+		out.append(pc, 1, pc.length());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Parsing is supported only if the pitch class format is one of those
+	 * provided by {@link PitchClassFormats}.
+	 */
+	@Override
+	public Pitch parse(CharSequence s, ParsePosition pos) {
+		if (symbolicFmt == null) {
+			throw new UnsupportedOperationException(
+					"The pitch class format does not support parsing");
 		}
-		int octave = pitch.octave();
-		StringBuilder result = new StringBuilder();
-		if (octave < 2) {
-			if (prefixLower) {
-				result.append(lowOctaveMark(2 - octave));
-				result.append(prefixSeparator);
-				result.append(pc);
-			} else {
-				result.append(pc);
-				result.append(suffixSeparator);
-				result.append(lowOctaveMark(2 - octave));
+		int start = pos.getIndex();
+		int low = 0;
+		if (prefixLower) {
+			low = parseLowOctaveMark(s, pos);
+			if (low > 0) {
+				if (!TextUtil.startsWith(s, pos.getIndex(), prefixSeparator)) {
+					return fail(pos, start, pos.getIndex());
+				}
+				pos.setIndex(pos.getIndex() + prefixSeparator.length());
 			}
-		} else if (octave > 3) {
-			result.append(pc);
-			result.append(suffixSeparator);
-			result.append(highOctaveMark(octave - 3));
+		}
+
+		int pcStart = pos.getIndex();
+		PitchClass pc = symbolicFmt.parse(s, pos, true);
+		if (pc == null) {
+			pos.setIndex(start);
+			return null;
+		}
+		boolean upperCase = Character.isUpperCase(s.charAt(pcStart));
+		if (low > 0) {
+			if (!upperCase) {
+				return fail(pos, start, pcStart);
+			}
+			return Pitch.of(pc, 2 - low);
+		}
+
+		int high = 0;
+		int suffixStart = pos.getIndex();
+		if (TextUtil.startsWith(s, suffixStart, suffixSeparator)) {
+			pos.setIndex(suffixStart + suffixSeparator.length());
+			if (upperCase && !prefixLower) {
+				low = parseLowOctaveMark(s, pos);
+			} else if (!upperCase) {
+				high = parseHighOctaveMark(s, pos);
+			}
+			if (low == 0 && high == 0) {
+				pos.setIndex(suffixStart);
+			}
+		}
+		if (low > 0) {
+			return Pitch.of(pc, 2 - low);
+		} else if (high > 0) {
+			return Pitch.of(pc, 3 + high);
 		} else {
-			result.append(pc);
+			return Pitch.of(pc, upperCase ? 2 : 3);
 		}
-		return result;
 	}
 
-	protected abstract CharSequence lowOctaveMark(int number);
-	protected abstract CharSequence highOctaveMark(int number);
+	private static Pitch fail(ParsePosition pos, int start, int errorIndex) {
+		pos.setIndex(start);
+		pos.setErrorIndex(errorIndex);
+		return null;
+	}
+
+	/**
+	 * Appends the mark of an octave below the great octave.
+	 *
+	 * @param number the number of octaves below the great octave
+	 * @param out the destination of the text
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected abstract void appendLowOctaveMark(int number, Appendable out)
+			throws IOException;
+
+	/**
+	 * Appends the mark of an octave above the small octave.
+	 *
+	 * @param number the number of octaves above the small octave
+	 * @param out the destination of the text
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected abstract void appendHighOctaveMark(int number, Appendable out)
+			throws IOException;
+
+	/**
+	 * Reads the mark of an octave below the great octave, advancing
+	 * the index of {@code pos} past it.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the number of octaves below the great octave,
+	 *         or zero if there is no mark at {@code pos}
+	 */
+	protected abstract int parseLowOctaveMark(CharSequence s,
+			ParsePosition pos);
+
+	/**
+	 * Reads the mark of an octave above the small octave, advancing
+	 * the index of {@code pos} past it.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the number of octaves above the small octave,
+	 *         or zero if there is no mark at {@code pos}
+	 */
+	protected abstract int parseHighOctaveMark(CharSequence s,
+			ParsePosition pos);
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music.text;
+
+import java.io.IOException;
+import java.text.ParsePosition;
+
+import com.github.singond.music.Chord;
+import com.github.singond.music.ChordType;
+import com.github.singond.music.Chords;
+import com.github.singond.music.InvertibleChord;
+import com.github.singond.music.InvertibleChordType;
+import com.github.singond.music.PitchClass;
+
+/**
+ * A format which represents chords by chord symbols, like {@code F#m7}
+ * or {@code Bb7/5-}.
+ * <p>
+ * A chord symbol consists of the root of the chord, followed by the
+ * symbol of the chord type as given by {@link Chords#symbol}.
+ * An inverted chord is written in slash notation, with the bass
+ * following the chord symbol after a slash, like {@code C/E}
+ * for the first inversion of the C major triad.
+ * Only the chord types listed by {@link Chords#symbolTypes()}
+ * and their inversions are supported.
+ * <p>
+ * The chord type symbols are compiled into a prefix tree when the format
+ * is created, so that parsing examines each character only once.
+ * Parsed chords are the canonical instances returned by
+ * {@link Chords#chordAtRoot(PitchClass, InvertibleChordType)}.
+ * <p>
+ * Instances of this class are immutable.
+ *
+ * @author Singon
+ */
+public final class ChordSymbolFormat {
+
+	/**
+	 * A chord symbol format with notes named {@code C, D, E, F, G, A, B}
+	 * and accidentals in ASCII approximation, like {@code Bb7/5-}.
+	 */
+	public static final ChordSymbolFormat ENGLISH_ASCII
+			= new ChordSymbolFormat(PitchClassFormats.ENGLISH_ASCII);
+
+	/**
+	 * A chord symbol format with notes named {@code C, D, E, F, G, A, B}
+	 * and Unicode accidentals.
+	 */
+	public static final ChordSymbolFormat ENGLISH_UNICODE
+			= new ChordSymbolFormat(PitchClassFormats.ENGLISH_UNICODE);
+
+	/** The character separating the bass from the chord symbol. */
+	private static final char BASS_SEPARATOR = '/';
+
+	private final PitchClassFormat pitchClassFormat;
+	private final SymbolTrie<InvertibleChordType> typeTrie;
+
+	/**
+	 * Creates a new chord symbol format which uses the given format
+	 * for the root and the bass.
+	 *
+	 * @param pitchClassFormat the format of the root and the bass;
+	 *        parsing is supported only if this format supports parsing
+	 * @throws NullPointerException if {@code pitchClassFormat} is null
+	 */
+	public ChordSymbolFormat(PitchClassFormat pitchClassFormat) {
+		if (pitchClassFormat == null) {
+			throw new NullPointerException("The pitch class format is null");
+		}
+		this.pitchClassFormat = pitchClassFormat;
+		this.typeTrie = new SymbolTrie<>();
+		for (InvertibleChordType type : Chords.symbolTypes()) {
+			typeTrie.put(Chords.symbol(type), type);
+		}
+	}
+
+	/**
+	 * Returns the chord symbol of the given chord.
+	 *
+	 * @param chord the chord to be converted to text
+	 * @return the chord symbol of {@code chord}
+	 * @throws IllegalArgumentException if the type of {@code chord}
+	 *         has no symbol
+	 */
+	public String format(Chord chord) {
+		return formatTo(chord, new StringBuilder()).toString();
+	}
+
+	/**
+	 * Appends the chord symbol of the given chord to the given
+	 * {@code Appendable}.
+	 *
+	 * @param chord the chord to be converted to text
+	 * @param out the destination of the text
+	 * @return {@code out}
+	 * @throws IOException if an I/O error occurs when appending to {@code out}
+	 * @throws IllegalArgumentException if the type of {@code chord}
+	 *         has no symbol
+	 */
+	public Appendable formatTo(Chord chord, Appendable out)
+			throws IOException {
+		ChordType type = chord.type();
+		String symbol = Chords.symbol(type);
+		if (symbol == null) {
+			throw new IllegalArgumentException
+					("The chord type has no symbol: " + type);
+		}
+		pitchClassFormat.formatTo(chord.root(), out);
+		out.append(symbol);
+		if (chord.inversion() != 0) {
+			out.append(BASS_SEPARATOR);
+			pitchClassFormat.formatTo(chord.bass(), out);
+		}
+		return out;
+	}
+
+	/**
+	 * Appends the chord symbol of the given chord to the given
+	 * {@code StringBuilder}.
+	 * This method behaves like {@link #formatTo(Chord, Appendable)},
+	 * except that it does not throw {@code IOException}.
+	 *
+	 * @param chord the chord to be converted to text
+	 * @param out the destination of the text
+	 * @return {@code out}
+	 * @throws IllegalArgumentException if the type of {@code chord}
+	 *         has no symbol
+	 */
+	public StringBuilder formatTo(Chord chord, StringBuilder out) {
+		try {
+			formatTo(chord, (Appendable) out);
+		} catch (IOException e) {
+			throw new AssertionError("StringBuilder has thrown IOException", e);
+		}
+		return out;
+	}
+
+	/**
+	 * Parses a chord symbol from the given character sequence, starting
+	 * at the index given by {@code pos}. This is the inverse operation
+	 * to {@link #format(Chord)}.
+	 * <p>
+	 * The longest chord type symbol following the root is used,
+	 * so that {@code Cm7} is read as a minor seventh chord rather than
+	 * a minor triad followed by {@code 7}. A slash following the chord
+	 * type symbol must be followed by a tone of the chord, which is then
+	 * used as the bass.
+	 * <p>
+	 * If a chord is parsed successfully, the index of {@code pos} is
+	 * updated to the index after the last character used, and the parsed
+	 * chord is returned. The characters following it are not examined.
+	 * If an error occurs, the index of {@code pos} is not changed,
+	 * the error index of {@code pos} is set to the index of the character
+	 * where the error occurred, and {@code null} is returned.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the parsed chord, or {@code null} if the parsing failed
+	 * @throws UnsupportedOperationException if the pitch class format
+	 *         of this format does not support parsing
+	 */
+	public InvertibleChord parse(CharSequence s, ParsePosition pos) {
+		int start = pos.getIndex();
+		PitchClass root = pitchClassFormat.parse(s, pos);
+		if (root == null) {
+			return null;
+		}
+		// The empty symbol of the major triad always matches
+		InvertibleChordType type = typeTrie.match(s, pos);
+		InvertibleChord chord = Chords.chordAtRoot(root, type);
+
+		int slash = pos.getIndex();
+		if (slash < s.length() && s.charAt(slash) == BASS_SEPARATOR) {
+			pos.setIndex(slash + 1);
+			PitchClass bass = pitchClassFormat.parse(s, pos);
+			int inversion = bass == null ? -1 : chord.notes().indexOf(bass);
+			if (inversion < 0) {
+				pos.setIndex(start);
+				pos.setErrorIndex(slash + 1);
+				return null;
+			}
+			chord = chord.invert(inversion);
+		}
+		return chord;
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music.text;
+
+import java.io.IOException;
+import java.text.ParsePosition;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.singond.music.Accidental;
+import com.github.singond.music.BasePitchClass;
+import com.github.singond.music.PitchClass;
+
+/**
+ * A pitch class format which renders the most common pitch classes
+ * from a table precomputed by another format.
+ * <p>
+ * When created, the compiled format renders all pitch classes with up
+ * to double flats or sharps using the underlying format and stores the
+ * results. Formatting any of these pitch classes then only looks up the
+ * stored string. All other pitch classes are passed to the underlying
+ * format.
+ * <p>
+ * Instances of this class are immutable, provided that the underlying
+ * format always renders a given pitch class the same way.
+ *
+ * @author Singon
+ */
+public final class CompiledPitchClassFormat implements PitchClassFormat {
+
+	/*
+	 * The range of pitch classes covered by the table.
+	 */
+	private static final int MAX_ACCIDENTAL = 2;
+	private static final int ACCIDENTALS = 2 * MAX_ACCIDENTAL + 1;
+	private static final int DEGREES = 7;
+
+	private final PitchClassFormat format;
+	private final String[] rendered;
+	private final Map<PitchClass, String> table;
+
+	private CompiledPitchClassFormat(PitchClassFormat format) {
+		this.format = format;
+		this.rendered = new String[ACCIDENTALS * DEGREES];
+		Map<PitchClass, String> map = new LinkedHashMap<>();
+		for (int acc = -MAX_ACCIDENTAL; acc <= MAX_ACCIDENTAL; acc++) {
+			for (BasePitchClass base : BasePitchClass.values()) {
+				PitchClass pc = PitchClass.of(base, Accidental.ofSteps(acc));
+				String text = format.format(pc).toString();
+				rendered[index(base, acc)] = text;
+				map.put(pc, text);
+			}
+		}
+		this.table = Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * Returns a compiled version of the given pitch class format.
+	 * If the format is already compiled, it is returned unchanged.
+	 *
+	 * @param format the format to be compiled
+	 * @return a compiled format rendering pitch classes in the same way
+	 *         as {@code format}
+	 * @throws NullPointerException if {@code format} is null
+	 */
+	public static CompiledPitchClassFormat of(PitchClassFormat format) {
+		if (format == null) {
+			throw new NullPointerException("The format is null");
+		}
+		if (format instanceof CompiledPitchClassFormat) {
+			return (CompiledPitchClassFormat) format;
+		}
+		return new CompiledPitchClassFormat(format);
+	}
+
+	/**
+	 * Returns the table of precomputed text representations of pitch
+	 * classes. The returned map is unmodifiable and is sorted
+	 * by accidental and then by the base pitch class.
+	 *
+	 * @return the precomputed text representations of all pitch classes
+	 *         covered by this format
+	 */
+	public Map<PitchClass, String> table() {
+		return table;
+	}
+
+	@Override
+	public CharSequence format(PitchClass pitchClass) {
+		int index = index(pitchClass);
+		if (index < 0) {
+			return format.format(pitchClass);
+		}
+		return rendered[index];
+	}
+
+	@Override
+	public Appendable formatTo(PitchClass pitchClass, Appendable out)
+			throws IOException {
+		int index = index(pitchClass);
+		if (index < 0) {
+			return format.formatTo(pitchClass, out);
+		}
+		return out.append(rendered[index]);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation delegates to the underlying format.
+	 */
+	@Override
+	public PitchClass parse(CharSequence s, ParsePosition pos) {
+		return format.parse(s, pos);
+	}
+
+	/**
+	 * Returns the format underlying this compiled format.
+	 *
+	 * @return the format which was compiled into this format
+	 */
+	PitchClassFormat underlying() {
+		return format;
+	}
+
+	/**
+	 * Returns the index of the given pitch class in the table, or -1
+	 * if the pitch class is not covered by the table.
+	 */
+	private static int index(PitchClass pitchClass) {
+		if (pitchClass == null) {
+			throw new NullPointerException("The pitch class is null");
+		}
+		int acc = pitchClass.accidental().stepsAboveNatural();
+		if (acc < -MAX_ACCIDENTAL || acc > MAX_ACCIDENTAL) {
+			return -1;
+		}
+		return index(pitchClass.basePitchClass(), acc);
+	}
+
+	private static int index(BasePitchClass base, int acc) {
+		return (acc + MAX_ACCIDENTAL) * DEGREES + base.ordinal();
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music.text;
+
+import java.io.IOException;
+import java.text.ParsePosition;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.singond.music.Accidental;
+import com.github.singond.music.BasePitchClass;
+import com.github.singond.music.Pitch;
+
+/**
+ * A pitch format which renders the most common pitches from a table
+ * precomputed by another format.
+ * <p>
+ * When created, the compiled format renders all pitches in octaves
+ * 0 to 8 with up to double flats or sharps using the underlying format
+ * and stores the results. Formatting any of these pitches then only
+ * looks up the stored string. All other pitches are passed to the
+ * underlying format.
+ * <p>
+ * Instances of this class are immutable, provided that the underlying
+ * format always renders a given pitch the same way.
+ *
+ * @author Singon
+ */
+public final class CompiledPitchFormat implements PitchFormat {
+
+	/*
+	 * The range of pitches covered by the table.
+	 */
+	private static final int MIN_OCTAVE = 0;
+	private static final int MAX_OCTAVE = 8;
+	private static final int MAX_ACCIDENTAL = 2;
+	private static final int ACCIDENTALS = 2 * MAX_ACCIDENTAL + 1;
+	private static final int DEGREES = 7;
+
+	private final PitchFormat format;
+	private final String[] rendered;
+	private final Map<Pitch, String> table;
+
+	private CompiledPitchFormat(PitchFormat format) {
+		this.format = format;
+		this.rendered = new String[
+				(MAX_OCTAVE - MIN_OCTAVE + 1) * ACCIDENTALS * DEGREES];
+		Map<Pitch, String> map = new LinkedHashMap<>();
+		for (int octave = MIN_OCTAVE; octave <= MAX_OCTAVE; octave++) {
+			for (int acc = -MAX_ACCIDENTAL; acc <= MAX_ACCIDENTAL; acc++) {
+				for (BasePitchClass base : BasePitchClass.values()) {
+					Pitch pitch = Pitch.of(base, Accidental.ofSteps(acc), octave);
+					String text = format.format(pitch).toString();
+					rendered[index(base, acc, octave)] = text;
+					map.put(pitch, text);
+				}
+			}
+		}
+		this.table = Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * Returns a compiled version of the given pitch format.
+	 * If the format is already compiled, it is returned unchanged.
+	 *
+	 * @param format the format to be compiled
+	 * @return a compiled format rendering pitches in the same way
+	 *         as {@code format}
+	 * @throws NullPointerException if {@code format} is null
+	 */
+	public static CompiledPitchFormat of(PitchFormat format) {
+		if (format == null) {
+			throw new NullPointerException("The format is null");
+		}
+		if (format instanceof CompiledPitchFormat) {
+			return (CompiledPitchFormat) format;
+		}
+		return new CompiledPitchFormat(format);
+	}
+
+	/**
+	 * Returns the table of precomputed text representations of pitches.
+	 * The returned map is unmodifiable and is sorted by octave,
+	 * then by accidental and then by the base pitch class.
+	 *
+	 * @return the precomputed text representations of all pitches
+	 *         covered by this format
+	 */
+	public Map<Pitch, String> table() {
+		return table;
+	}
+
+	@Override
+	public CharSequence format(Pitch pitch) {
+		int index = index(pitch);
+		if (index < 0) {
+			return format.format(pitch);
+		}
+		return rendered[index];
+	}
+
+	@Override
+	public Appendable formatTo(Pitch pitch, Appendable out)
+			throws IOException {
+		int index = index(pitch);
+		if (index < 0) {
+			return format.formatTo(pitch, out);
+		}
+		return out.append(rendered[index]);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation delegates to the underlying format.
+	 */
+	@Override
+	public Pitch parse(CharSequence s, ParsePosition pos) {
+		return format.parse(s, pos);
+	}
+
+	/**
+	 * Returns the index of the given pitch in the table, or -1 if the
+	 * pitch is not covered by the table.
+	 */
+	private static int index(Pitch pitch) {
+		if (pitch == null) {
+			throw new NullPointerException("The pitch is null");
+		}
+		int octave = pitch.octave();
+		int acc = pitch.pitchClass().accidental().stepsAboveNatural();
+		if (octave < MIN_OCTAVE || octave > MAX_OCTAVE
+				|| acc < -MAX_ACCIDENTAL || acc > MAX_ACCIDENTAL) {
+			return -1;
+		}
+		return index(pitch.pitchClass().basePitchClass(), acc, octave);
+	}
+
+	private static int index(BasePitchClass base, int acc, int octave) {
+		return ((octave - MIN_OCTAVE) * ACCIDENTALS + acc + MAX_ACCIDENTAL)
+				* DEGREES + base.ordinal();
+	}
+}
@@ -16,27 +16,33 @@
 
 package com.github.singond.music.text;
 
+import java.util.Collections;
+
+import com.github.singond.music.BasePitchClass;
 import com.github.singond.music.PitchClass;
 
 class GermanSymbolicPitchClassFormat extends SymbolicPitchClassFormat {
 
-	private final String bflat;
-
 	public GermanSymbolicPitchClassFormat(AccidentalSymbols accidentals) {
-		super(SymbolicPitchClassFormat.GERMAN_NOTES, accidentals);
-		this.bflat = "B" + accidentals.getFlat();
+		super(SymbolicPitchClassFormat.GERMAN_NOTES, accidentals,
+				Collections.singletonMap("B", BasePitchClass.B));
 	}
 
 	public GermanSymbolicPitchClassFormat() {
 		this(AccidentalSymbols.UNICODE);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * In German notation, B natural is called "H", but B flat is called "B".
+	 */
 	@Override
-	public CharSequence format(PitchClass pc) {
+	String baseName(PitchClass pc) {
 		if (PitchClass.B_FLAT.equals(pc)) {
-			return bflat;
+			return "B";
 		} else {
-			return super.format(pc);
+			return super.baseName(pc);
 		}
 	}
 
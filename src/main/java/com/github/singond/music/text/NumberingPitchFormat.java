@@ -16,7 +16,11 @@
 
 package com.github.singond.music.text;
 
+import java.io.IOException;
+import java.text.ParsePosition;
+
 import com.github.singond.music.Pitch;
+import com.github.singond.music.PitchClass;
 
 /**
  * A format, wherein a pitch is represented by a pitch class symbol
@@ -26,6 +30,12 @@ import com.github.singond.music.Pitch;
  */
 class NumberingPitchFormat implements PitchFormat {
 
+	/**
+	 * The largest magnitude of a parsed octave number, which is beyond
+	 * the range of int even after the octave offset is subtracted.
+	 */
+	private static final long MAX_PARSED_OCTAVE = 1L << 33;
+
 	private final PitchClassFormat pitchClassFmt;
 	private final CharSequence separator;
 	private final int octaveOffset;
@@ -49,14 +59,74 @@ class NumberingPitchFormat implements PitchFormat {
 
 	@Override
 	public CharSequence format(Pitch pitch) {
+		return formatTo(pitch, new StringBuilder());
+	}
+
+	@Override
+	public Appendable formatTo(Pitch pitch, Appendable out)
+			throws IOException {
 		if (pitch == null) {
 			throw new NullPointerException("The pitch is null");
 		}
-		StringBuilder result = new StringBuilder(
-				pitchClassFmt.format(pitch.pitchClass()));
-		result.append(separator);
-		result.append(Integer.toString(pitch.octave() + octaveOffset));
-		return result;
+		pitchClassFmt.formatTo(pitch.pitchClass(), out);
+		out.append(separator);
+		TextUtil.appendInt(pitch.octave() + octaveOffset, out);
+		return out;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Parsing is supported only if the pitch class format supports it.
+	 */
+	@Override
+	public Pitch parse(CharSequence s, ParsePosition pos) {
+		int start = pos.getIndex();
+		PitchClass pc = pitchClassFmt.parse(s, pos);
+		if (pc == null) {
+			return null;
+		}
+		int i = pos.getIndex();
+		if (!TextUtil.startsWith(s, i, separator)) {
+			return fail(pos, start, i);
+		}
+		i += separator.length();
+		boolean negative = i < s.length() && s.charAt(i) == '-';
+		if (negative) {
+			i++;
+		}
+		int digitsStart = i;
+		long octave = 0;
+		while (i < s.length()) {
+			int digit = s.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			octave = octave * 10 + digit;
+			if (octave > MAX_PARSED_OCTAVE) {
+				return fail(pos, start, digitsStart);
+			}
+			i++;
+		}
+		if (i == digitsStart) {
+			return fail(pos, start, i);
+		}
+		if (negative) {
+			octave = -octave;
+		}
+		// The octave offset can move the number into or out of int range
+		octave -= octaveOffset;
+		if (octave != (int) octave) {
+			return fail(pos, start, digitsStart);
+		}
+		pos.setIndex(i);
+		return Pitch.of(pc, (int) octave);
+	}
+
+	private static Pitch fail(ParsePosition pos, int start, int errorIndex) {
+		pos.setIndex(start);
+		pos.setErrorIndex(errorIndex);
+		return null;
 	}
 
 }
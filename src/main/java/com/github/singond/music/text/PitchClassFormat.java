@@ -16,6 +16,9 @@
 
 package com.github.singond.music.text;
 
+import java.io.IOException;
+import java.text.ParsePosition;
+
 import com.github.singond.music.PitchClass;
 
 /**
@@ -33,4 +36,67 @@ public interface PitchClassFormat {
 	 * @return a character sequence representing the value of {@code pitchClass}
 	 */
 	CharSequence format(PitchClass pitchClass);
+
+	/**
+	 * Appends a textual representation of the given pitch class
+	 * to the given {@code Appendable}.
+	 * <p>
+	 * The default implementation appends the result of
+	 * {@link #format(PitchClass)}. Implementations are encouraged
+	 * to override this method to append the text directly, without
+	 * creating intermediate objects.
+	 *
+	 * @param pitchClass the pitch class to be converted to text
+	 * @param out the destination of the text
+	 * @return {@code out}
+	 * @throws IOException if an I/O error occurs when appending to {@code out}
+	 */
+	default Appendable formatTo(PitchClass pitchClass, Appendable out)
+			throws IOException {
+		return out.append(format(pitchClass));
+	}
+
+	/**
+	 * Appends a textual representation of the given pitch class
+	 * to the given {@code StringBuilder}.
+	 * This method behaves like {@link #formatTo(PitchClass, Appendable)},
+	 * except that it does not throw {@code IOException}.
+	 *
+	 * @param pitchClass the pitch class to be converted to text
+	 * @param out the destination of the text
+	 * @return {@code out}
+	 */
+	default StringBuilder formatTo(PitchClass pitchClass, StringBuilder out) {
+		try {
+			formatTo(pitchClass, (Appendable) out);
+		} catch (IOException e) {
+			throw new AssertionError("StringBuilder has thrown IOException", e);
+		}
+		return out;
+	}
+
+	/**
+	 * Parses a pitch class from the given character sequence, starting at the
+	 * index given by {@code pos}. This is the inverse operation
+	 * to {@link #format(PitchClass)} (optional operation).
+	 * <p>
+	 * If a pitch class is parsed successfully, the index of {@code pos} is
+	 * updated to the index after the last character used, and the parsed
+	 * pitch class is returned. The characters following it are not examined.
+	 * If an error occurs, the index of {@code pos} is not changed,
+	 * the error index of {@code pos} is set to the index of the character
+	 * where the error occurred, and {@code null} is returned.
+	 * <p>
+	 * The default implementation throws {@code UnsupportedOperationException}.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the parsed pitch class, or {@code null} if the parsing failed
+	 * @throws UnsupportedOperationException if this format does not
+	 *         support parsing
+	 */
+	default PitchClass parse(CharSequence s, ParsePosition pos) {
+		throw new UnsupportedOperationException(
+				"This format does not support parsing");
+	}
 }
@@ -25,6 +25,10 @@ import static com.github.singond.music.text.SymbolicPitchClassFormat.ITALIAN_NOT
 /**
  * A utility class for formatting pitch classes. Provides several commonly
  * used formats.
+ * <p>
+ * All formats provided by this class are compiled, that is, they render
+ * the common pitch classes from a precomputed table
+ * (see {@link CompiledPitchClassFormat}).
  *
  * @author Singon
  */
@@ -38,14 +42,16 @@ public class PitchClassFormats {
 	 * and {@code Bb} for B-flat.
 	 */
 	public static final PitchClassFormat ENGLISH_ASCII
-			= new SymbolicPitchClassFormat(ENGLISH_NOTES, ASCII);
+			= CompiledPitchClassFormat.of(
+					new SymbolicPitchClassFormat(ENGLISH_NOTES, ASCII));
 
 	/**
 	 * A pitch class format with notes named {@code C, D, E, F, G, A, B}
 	 * and Unicode accidentals.
 	 */
 	public static final PitchClassFormat ENGLISH_UNICODE
-			= new SymbolicPitchClassFormat(ENGLISH_NOTES, UNICODE);
+			= CompiledPitchClassFormat.of(
+					new SymbolicPitchClassFormat(ENGLISH_NOTES, UNICODE));
 
 	/**
 	 * A pitch class format with notes named {@code C, D, E, F, G, A, H},
@@ -55,14 +61,16 @@ public class PitchClassFormats {
 	 * and {@code Bb} for B-flat.
 	 */
 	public static final PitchClassFormat GERMAN_ASCII
-			= new GermanSymbolicPitchClassFormat(ASCII);
+			= CompiledPitchClassFormat.of(
+					new GermanSymbolicPitchClassFormat(ASCII));
 
 	/**
 	 * A pitch class format with notes named {@code C, D, E, F, G, A, H},
 	 * using {@code Bb} for B flat and Unicode accidentals.
 	 */
 	public static final PitchClassFormat GERMAN_UNICODE
-			= new GermanSymbolicPitchClassFormat(UNICODE);
+			= CompiledPitchClassFormat.of(
+					new GermanSymbolicPitchClassFormat(UNICODE));
 
 	/**
 	 * A pitch class format with notes named {@code Do, Re, Mi, Fa, Sol, La, Si}
@@ -72,14 +80,16 @@ public class PitchClassFormats {
 	 * and {@code Sib} for B-flat.
 	 */
 	public static final PitchClassFormat ITALIAN_SI_ASCII
-			= new SymbolicPitchClassFormat(ITALIAN_NOTES_SI, ASCII);
+			= CompiledPitchClassFormat.of(
+					new SymbolicPitchClassFormat(ITALIAN_NOTES_SI, ASCII));
 
 	/**
 	 * A pitch class format with notes named {@code Do, Re, Mi, Fa, Sol, La, Si}
 	 * and Unicode accidentals.
 	 */
 	public static final PitchClassFormat ITALIAN_SI_UNICODE
-			= new SymbolicPitchClassFormat(ITALIAN_NOTES_SI, UNICODE);
+			= CompiledPitchClassFormat.of(
+					new SymbolicPitchClassFormat(ITALIAN_NOTES_SI, UNICODE));
 
 	/**
 	 * A pitch class format with notes named {@code Do, Re, Mi, Fa, Sol, La, Ti}
@@ -89,14 +99,16 @@ public class PitchClassFormats {
 	 * and {@code Tib} for B-flat.
 	 */
 	public static final PitchClassFormat ITALIAN_TI_ASCII
-			= new SymbolicPitchClassFormat(ITALIAN_NOTES_TI, ASCII);
+			= CompiledPitchClassFormat.of(
+					new SymbolicPitchClassFormat(ITALIAN_NOTES_TI, ASCII));
 
 	/**
 	 * A pitch class format with notes named {@code Do, Re, Mi, Fa, Sol, La, Ti}
 	 * and Unicode accidentals.
 	 */
 	public static final PitchClassFormat ITALIAN_TI_UNICODE
-			= new SymbolicPitchClassFormat(ITALIAN_NOTES_TI, UNICODE);
+			= CompiledPitchClassFormat.of(
+					new SymbolicPitchClassFormat(ITALIAN_NOTES_TI, UNICODE));
 
 	private PitchClassFormats() {
 		throw new AssertionError("Non-instantiable class");
@@ -16,7 +16,11 @@
 
 package com.github.singond.music.text;
 
+import java.io.IOException;
+import java.text.ParsePosition;
+
 import com.github.singond.music.Pitch;
+import com.github.singond.music.PitchGroup;
 
 /**
  * An interface for classes which can transform a pitch into a textual
@@ -33,4 +37,115 @@ public interface PitchFormat {
 	 * @return a character sequence representing the value of {@code pitch}
 	 */
 	CharSequence format(Pitch pitch);
+
+	/**
+	 * Appends a textual representation of the given pitch to the given
+	 * {@code Appendable}.
+	 * <p>
+	 * The default implementation appends the result of
+	 * {@link #format(Pitch)}. Implementations are encouraged to override
+	 * this method to append the text directly, without creating
+	 * intermediate objects.
+	 *
+	 * @param pitch the pitch to be converted to text
+	 * @param out the destination of the text
+	 * @return {@code out}
+	 * @throws IOException if an I/O error occurs when appending to {@code out}
+	 */
+	default Appendable formatTo(Pitch pitch, Appendable out)
+			throws IOException {
+		return out.append(format(pitch));
+	}
+
+	/**
+	 * Appends a textual representation of the given pitch to the given
+	 * {@code StringBuilder}.
+	 * This method behaves like {@link #formatTo(Pitch, Appendable)},
+	 * except that it does not throw {@code IOException}.
+	 *
+	 * @param pitch the pitch to be converted to text
+	 * @param out the destination of the text
+	 * @return {@code out}
+	 */
+	default StringBuilder formatTo(Pitch pitch, StringBuilder out) {
+		try {
+			formatTo(pitch, (Appendable) out);
+		} catch (IOException e) {
+			throw new AssertionError("StringBuilder has thrown IOException", e);
+		}
+		return out;
+	}
+
+	/**
+	 * Appends a textual representation of all pitches in the given group
+	 * to the given {@code Appendable}, separated by {@code separator}.
+	 * The pitches are appended in the order of iteration of the group,
+	 * which need not be sorted by pitch.
+	 * This works for chord voicings as well, since they are pitch groups.
+	 *
+	 * @param pitches the pitches to be converted to text
+	 * @param separator the text to be inserted between two pitches
+	 * @param out the destination of the text
+	 * @return {@code out}
+	 * @throws IOException if an I/O error occurs when appending to {@code out}
+	 */
+	default Appendable formatTo(PitchGroup pitches, CharSequence separator,
+			Appendable out) throws IOException {
+		boolean first = true;
+		for (Pitch pitch : pitches) {
+			if (!first) {
+				out.append(separator);
+			}
+			formatTo(pitch, out);
+			first = false;
+		}
+		return out;
+	}
+
+	/**
+	 * Appends a textual representation of all pitches in the given group
+	 * to the given {@code StringBuilder}, separated by {@code separator}.
+	 * This method behaves like
+	 * {@link #formatTo(PitchGroup, CharSequence, Appendable)},
+	 * except that it does not throw {@code IOException}.
+	 *
+	 * @param pitches the pitches to be converted to text
+	 * @param separator the text to be inserted between two pitches
+	 * @param out the destination of the text
+	 * @return {@code out}
+	 */
+	default StringBuilder formatTo(PitchGroup pitches, CharSequence separator,
+			StringBuilder out) {
+		try {
+			formatTo(pitches, separator, (Appendable) out);
+		} catch (IOException e) {
+			throw new AssertionError("StringBuilder has thrown IOException", e);
+		}
+		return out;
+	}
+
+	/**
+	 * Parses a pitch from the given character sequence, starting at the
+	 * index given by {@code pos}. This is the inverse operation
+	 * to {@link #format(Pitch)} (optional operation).
+	 * <p>
+	 * If a pitch is parsed successfully, the index of {@code pos} is
+	 * updated to the index after the last character used, and the parsed
+	 * pitch is returned. The characters following it are not examined.
+	 * If an error occurs, the index of {@code pos} is not changed,
+	 * the error index of {@code pos} is set to the index of the character
+	 * where the error occurred, and {@code null} is returned.
+	 * <p>
+	 * The default implementation throws {@code UnsupportedOperationException}.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @return the parsed pitch, or {@code null} if the parsing failed
+	 * @throws UnsupportedOperationException if this format does not
+	 *         support parsing
+	 */
+	default Pitch parse(CharSequence s, ParsePosition pos) {
+		throw new UnsupportedOperationException(
+				"This format does not support parsing");
+	}
 }
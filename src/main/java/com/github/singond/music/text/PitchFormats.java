@@ -16,29 +16,39 @@
 
 package com.github.singond.music.text;
 
+/**
+ * A utility class for formatting pitches. Provides several commonly
+ * used formats.
+ * <p>
+ * All formats provided by this class are compiled, that is, they render
+ * the common pitches from a precomputed table
+ * (see {@link CompiledPitchFormat}).
+ *
+ * @author Singon
+ */
 public class PitchFormats {
 
 	/**
 	 * A format representing the scientific pitch notation.
 	 */
-	public static final PitchFormat SCIENTIFIC = new NumberingPitchFormat(
-			PitchClassFormats.ENGLISH_UNICODE, "", 0);
+	public static final PitchFormat SCIENTIFIC = CompiledPitchFormat.of(
+			new NumberingPitchFormat(PitchClassFormats.ENGLISH_UNICODE, "", 0));
 
 	public static final PitchFormat HELMHOLTZ_B_ASCII
-			= new AsciiPrimeHelmholtzPitchFormat(
-					PitchClassFormats.ENGLISH_ASCII, true);
+			= CompiledPitchFormat.of(new AsciiPrimeHelmholtzPitchFormat(
+					PitchClassFormats.ENGLISH_ASCII, true));
 
 	public static final PitchFormat HELMHOLTZ_B_UNICODE
-			= new UnicodePrimeHelmholtzPitchFormat(
-					PitchClassFormats.ENGLISH_UNICODE, true);
+			= CompiledPitchFormat.of(new UnicodePrimeHelmholtzPitchFormat(
+					PitchClassFormats.ENGLISH_UNICODE, true));
 
 	public static final PitchFormat HELMHOLTZ_H_ASCII
-			= new AsciiPrimeHelmholtzPitchFormat(
-					PitchClassFormats.GERMAN_ASCII, true);
+			= CompiledPitchFormat.of(new AsciiPrimeHelmholtzPitchFormat(
+					PitchClassFormats.GERMAN_ASCII, true));
 
 	public static final PitchFormat HELMHOLTZ_H_UNICODE
-			= new UnicodePrimeHelmholtzPitchFormat(
-					PitchClassFormats.GERMAN_UNICODE, true);
+			= CompiledPitchFormat.of(new UnicodePrimeHelmholtzPitchFormat(
+					PitchClassFormats.GERMAN_UNICODE, true));
 
 	private PitchFormats() {
 		throw new AssertionError("Non-instantiable class");
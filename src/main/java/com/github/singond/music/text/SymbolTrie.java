@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music.text;
+
+import java.text.ParsePosition;
+import java.util.Arrays;
+
+/**
+ * A prefix tree of symbols, used for parsing text produced by formats.
+ * <p>
+ * Each symbol is associated with a value. Given a position in a character
+ * sequence, the trie finds the longest symbol starting at that position
+ * in a single pass over the characters, without backtracking.
+ * <p>
+ * A trie is meant to be populated once, when a format is created,
+ * and only read afterwards.
+ *
+ * @author Singon
+ * @param <V> the type of values associated with the symbols
+ */
+final class SymbolTrie<V> {
+
+	private final Node<V> root = new Node<>();
+
+	/**
+	 * Associates a value with the given symbol, replacing any value
+	 * previously associated with it.
+	 * The empty symbol may be used to provide a value to be returned
+	 * when no other symbol matches.
+	 *
+	 * @param symbol the symbol
+	 * @param value the value associated with {@code symbol}
+	 */
+	void put(CharSequence symbol, V value) {
+		Node<V> node = root;
+		for (int i = 0; i < symbol.length(); i++) {
+			node = node.childOrCreate(symbol.charAt(i));
+		}
+		node.value = value;
+	}
+
+	/**
+	 * Finds the longest symbol which starts at the index of {@code pos}
+	 * and returns its value. If a symbol is found, the index of {@code pos}
+	 * is advanced past it. Otherwise the index is not changed and
+	 * {@code null} is returned.
+	 *
+	 * @param s the text to be searched
+	 * @param pos the position at which the symbol should start
+	 * @return the value of the longest matching symbol,
+	 *         or {@code null} if there is none
+	 */
+	V match(CharSequence s, ParsePosition pos) {
+		return match(s, pos, false);
+	}
+
+	/**
+	 * Finds the longest symbol which starts at the index of {@code pos}
+	 * and returns its value, optionally ignoring the letter case
+	 * of the first character.
+	 *
+	 * @param s the text to be searched
+	 * @param pos the position at which the symbol should start
+	 * @param ignoreFirstCase if {@code true}, the first character
+	 *        of the symbol is matched regardless of its case
+	 * @return the value of the longest matching symbol,
+	 *         or {@code null} if there is none
+	 * @see #match(CharSequence, ParsePosition)
+	 */
+	V match(CharSequence s, ParsePosition pos, boolean ignoreFirstCase) {
+		int i = pos.getIndex();
+		Node<V> node = root;
+		V result = root.value;
+		int resultEnd = i;
+		if (ignoreFirstCase && i < s.length()) {
+			char c = s.charAt(i);
+			node = root.child(c);
+			if (node == null) {
+				node = root.child(Character.isUpperCase(c)
+						? Character.toLowerCase(c) : Character.toUpperCase(c));
+			}
+			if (node == null) {
+				return result;
+			}
+			i++;
+			if (node.value != null) {
+				result = node.value;
+				resultEnd = i;
+			}
+		}
+		while (i < s.length()) {
+			node = node.child(s.charAt(i));
+			if (node == null) {
+				break;
+			}
+			i++;
+			if (node.value != null) {
+				result = node.value;
+				resultEnd = i;
+			}
+		}
+		if (result != null) {
+			pos.setIndex(resultEnd);
+		}
+		return result;
+	}
+
+	private static final class Node<V> {
+		private char[] keys = new char[0];
+		private Node<V>[] children = newArray(0);
+		private V value;
+
+		private Node<V> child(char c) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] == c) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		private Node<V> childOrCreate(char c) {
+			Node<V> child = child(c);
+			if (child == null) {
+				child = new Node<>();
+				int n = keys.length;
+				keys = Arrays.copyOf(keys, n + 1);
+				children = Arrays.copyOf(children, n + 1);
+				keys[n] = c;
+				children[n] = child;
+			}
+			return child;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <V> Node<V>[] newArray(int length) {
+			return (Node<V>[]) new Node<?>[length];
+		}
+	}
+}
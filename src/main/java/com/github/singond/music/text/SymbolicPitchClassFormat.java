@@ -16,6 +16,8 @@
 
 package com.github.singond.music.text;
 
+import java.io.IOException;
+import java.text.ParsePosition;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
@@ -36,6 +38,8 @@ class SymbolicPitchClassFormat implements PitchClassFormat {
 
 	private final Map<BasePitchClass, String> baseNames;
 	private final AccidentalSymbols accidentalSymbols;
+	private final SymbolTrie<BasePitchClass> baseNameTrie;
+	private final SymbolTrie<Integer> accidentalTrie;
 
 	public static final Map<BasePitchClass, String> ENGLISH_NOTES;
 	public static final Map<BasePitchClass, String> GERMAN_NOTES;
@@ -86,8 +90,38 @@ class SymbolicPitchClassFormat implements PitchClassFormat {
 
 	public SymbolicPitchClassFormat(Map<BasePitchClass, String> names,
 			AccidentalSymbols accidentals) {
+		this(names, accidentals, Collections.<String, BasePitchClass>emptyMap());
+	}
+
+	/**
+	 * Constructs a new format using the given names and accidental symbols.
+	 *
+	 * @param names the names of base pitch classes
+	 * @param accidentals the symbols of accidentals
+	 * @param aliases other names of base pitch classes which are used
+	 *        in some contexts and which should be recognized when parsing
+	 */
+	SymbolicPitchClassFormat(Map<BasePitchClass, String> names,
+			AccidentalSymbols accidentals,
+			Map<String, BasePitchClass> aliases) {
 		this.baseNames = new EnumMap<>(names);
 		this.accidentalSymbols = accidentals;
+
+		this.baseNameTrie = new SymbolTrie<>();
+		for (Map.Entry<BasePitchClass, String> e : baseNames.entrySet()) {
+			baseNameTrie.put(e.getValue(), e.getKey());
+		}
+		for (Map.Entry<String, BasePitchClass> e : aliases.entrySet()) {
+			baseNameTrie.put(e.getKey(), e.getValue());
+		}
+
+		this.accidentalTrie = new SymbolTrie<>();
+		accidentalTrie.put("", 0);
+		accidentalTrie.put(accidentals.getNatural(), 0);
+		accidentalTrie.put(accidentals.getDoubleFlat(), -2);
+		accidentalTrie.put(accidentals.getFlat(), -1);
+		accidentalTrie.put(accidentals.getSharp(), 1);
+		accidentalTrie.put(accidentals.getDoubleSharp(), 2);
 	}
 
 	public SymbolicPitchClassFormat(AccidentalSymbols accidentals) {
@@ -100,35 +134,107 @@ class SymbolicPitchClassFormat implements PitchClassFormat {
 
 	@Override
 	public CharSequence format(PitchClass pc) {
-		StringBuilder sb = new StringBuilder(baseNames.get(pc.basePitchClass()));
-		sb.append(accidentalSymbol(pc.accidental()));
-		return sb;
+		return formatTo(pc, new StringBuilder());
+	}
+
+	@Override
+	public Appendable formatTo(PitchClass pc, Appendable out)
+			throws IOException {
+		out.append(baseName(pc));
+		appendAccidental(pc.accidental(), out);
+		return out;
+	}
+
+	/**
+	 * Appends the given pitch class to the given {@code Appendable},
+	 * with the first letter converted to upper or lower case.
+	 *
+	 * @param pc the pitch class to be converted to text
+	 * @param upperCase {@code true} to convert the first letter to upper
+	 *        case, {@code false} to convert it to lower case
+	 * @param out the destination of the text
+	 * @throws IOException if an I/O error occurs
+	 */
+	void formatTo(PitchClass pc, boolean upperCase, Appendable out)
+			throws IOException {
+		String name = baseName(pc);
+		char first = name.charAt(0);
+		out.append(upperCase ? Character.toUpperCase(first)
+				: Character.toLowerCase(first));
+		out.append(name, 1, name.length());
+		appendAccidental(pc.accidental(), out);
+	}
+
+	@Override
+	public PitchClass parse(CharSequence s, ParsePosition pos) {
+		return parse(s, pos, false);
+	}
+
+	/**
+	 * Parses a pitch class, optionally ignoring the letter case
+	 * of the first character.
+	 *
+	 * @param s the character sequence to be parsed
+	 * @param pos the position at which to start parsing
+	 * @param ignoreFirstCase if {@code true}, the first letter of the name
+	 *        of the base pitch class is matched regardless of its case
+	 * @return the parsed pitch class, or {@code null} if the parsing failed
+	 * @see #parse(CharSequence, ParsePosition)
+	 */
+	PitchClass parse(CharSequence s, ParsePosition pos,
+			boolean ignoreFirstCase) {
+		int start = pos.getIndex();
+		BasePitchClass base = baseNameTrie.match(s, pos, ignoreFirstCase);
+		if (base == null) {
+			pos.setErrorIndex(start);
+			return null;
+		}
+		int steps = accidentalTrie.match(s, pos);
+		// Higher order accidentals are formatted by repeating the symbol
+		if (steps < 0) {
+			steps -= TextUtil.countRepeats(
+					accidentalSymbols.getFlat(), s, pos);
+		} else if (steps > 0) {
+			steps += TextUtil.countRepeats(
+					accidentalSymbols.getSharp(), s, pos);
+		}
+		return PitchClass.of(base, Accidental.ofSteps(steps));
+	}
+
+	/**
+	 * Returns the name of the base pitch class of the given pitch class.
+	 *
+	 * @param pc the pitch class
+	 * @return the name of the base pitch class of {@code pc}
+	 */
+	String baseName(PitchClass pc) {
+		return baseNames.get(pc.basePitchClass());
 	}
 
 	/**
-	 * Returns the textual symbol of an accidental.
+	 * Appends the textual symbol of an accidental.
 	 *
 	 * @param acc the accidental
-	 * @return a string representation of the accidental
+	 * @param out the destination of the text
+	 * @throws IOException if an I/O error occurs
 	 */
-	private CharSequence accidentalSymbol(Accidental acc) {
+	private void appendAccidental(Accidental acc, Appendable out)
+			throws IOException {
 		int steps = acc.stepsAboveNatural();
 		if (steps == 0) {
-			return accidentalSymbols.getNatural();
+			out.append(accidentalSymbols.getNatural());
 		} else if (steps == -1) {
-			return accidentalSymbols.getFlat();
+			out.append(accidentalSymbols.getFlat());
 		} else if (steps == 1) {
-			return accidentalSymbols.getSharp();
+			out.append(accidentalSymbols.getSharp());
 		} else if (steps == -2) {
-			return accidentalSymbols.getDoubleFlat();
+			out.append(accidentalSymbols.getDoubleFlat());
 		} else if (steps == 2) {
-			return accidentalSymbols.getDoubleSharp();
+			out.append(accidentalSymbols.getDoubleSharp());
+		} else if (steps < 0) {
+			TextUtil.repeatTo(accidentalSymbols.getFlat(), -steps, out);
 		} else {
-			if (steps < 0) {
-				return TextUtil.repeat(accidentalSymbols.getFlat(), -steps);
-			} else {
-				return TextUtil.repeat(accidentalSymbols.getSharp(), steps);
-			}
+			TextUtil.repeatTo(accidentalSymbols.getSharp(), steps, out);
 		}
 	}
 }
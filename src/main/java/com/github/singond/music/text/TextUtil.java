@@ -16,6 +16,9 @@
 
 package com.github.singond.music.text;
 
+import java.io.IOException;
+import java.text.ParsePosition;
+
 class TextUtil {
 
 	/**
@@ -48,4 +51,104 @@ class TextUtil {
     		return value;
 		}
 	}
+
+	/**
+	 * Appends a given text to an {@code Appendable} a given number of times.
+	 *
+	 * @param text the text to be repeated
+	 * @param times how many times to append {@code text}
+	 * @param out the destination of the text
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void repeatTo(CharSequence text, int times, Appendable out)
+			throws IOException {
+		if (times < 0) {
+			throw new IllegalArgumentException(
+					"The number of repeats must be non-negative");
+		} else if (text == null) {
+			throw new NullPointerException(
+					"The text to be repeated must not be null");
+		}
+		for (int i = 0; i < times; i++) {
+			out.append(text);
+		}
+	}
+
+	/**
+	 * Appends the decimal representation of an integer to an
+	 * {@code Appendable} without creating an intermediate string.
+	 *
+	 * @param n the number to be appended
+	 * @param out the destination of the text
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void appendInt(int n, Appendable out) throws IOException {
+		if (out instanceof StringBuilder) {
+			((StringBuilder) out).append(n);
+			return;
+		}
+		// Work with non-positive numbers to handle Integer.MIN_VALUE
+		if (n < 0) {
+			out.append('-');
+		} else {
+			n = -n;
+		}
+		int divisor = 1;
+		while (n / divisor <= -10) {
+			divisor *= 10;
+		}
+		while (divisor > 0) {
+			out.append((char) ('0' - (n / divisor) % 10));
+			divisor /= 10;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the given text occurs in {@code s}
+	 * at the given index.
+	 *
+	 * @param s the character sequence to be searched
+	 * @param index the index in {@code s} at which to look
+	 * @param text the text to look for
+	 * @return {@code true} if {@code s} contains {@code text}
+	 *         starting at {@code index}
+	 */
+	public static boolean startsWith(CharSequence s, int index,
+			CharSequence text) {
+		int length = text.length();
+		if (index + length > s.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (s.charAt(index + i) != text.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Counts the consecutive occurrences of the given text in {@code s}
+	 * starting at the index of {@code pos}, and advances the index
+	 * of {@code pos} past them.
+	 *
+	 * @param text the text to look for
+	 * @param s the character sequence to be searched
+	 * @param pos the position at which to start
+	 * @return the number of consecutive occurrences of {@code text}
+	 */
+	public static int countRepeats(CharSequence text, CharSequence s,
+			ParsePosition pos) {
+		if (text.length() == 0) {
+			return 0;
+		}
+		int index = pos.getIndex();
+		int count = 0;
+		while (startsWith(s, index, text)) {
+			index += text.length();
+			count++;
+		}
+		pos.setIndex(index);
+		return count;
+	}
 }
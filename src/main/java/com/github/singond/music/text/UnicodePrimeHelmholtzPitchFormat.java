@@ -16,6 +16,8 @@
 
 package com.github.singond.music.text;
 
+import java.io.IOException;
+import java.text.ParsePosition;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -51,6 +53,14 @@ class UnicodePrimeHelmholtzPitchFormat extends BasicHelmholtzPitchFormat {
 		marks.put(4, "\u2057");
 		octaveMarks = Collections.unmodifiableMap(marks);
 	}
+	private static final SymbolTrie<Integer> highOctaveMarks;
+	static {
+		highOctaveMarks = new SymbolTrie<>();
+		highOctaveMarks.put(highOctaveMark, 1);
+		for (Map.Entry<Integer, CharSequence> e : octaveMarks.entrySet()) {
+			highOctaveMarks.put(e.getValue(), e.getKey());
+		}
+	}
 
 	public UnicodePrimeHelmholtzPitchFormat(PitchClassFormat pcFmt,
 			boolean prefix) {
@@ -58,21 +68,38 @@ class UnicodePrimeHelmholtzPitchFormat extends BasicHelmholtzPitchFormat {
 	}
 
 	@Override
-	protected CharSequence lowOctaveMark(int number) {
+	protected void appendLowOctaveMark(int number, Appendable out)
+			throws IOException {
 		if (octaveMarks.containsKey(-number)) {
-			return octaveMarks.get(-number);
+			out.append(octaveMarks.get(-number));
 		} else {
-			return TextUtil.repeat(lowOctaveMark, number);
+			TextUtil.repeatTo(lowOctaveMark, number, out);
 		}
 	}
 
 	@Override
-	protected CharSequence highOctaveMark(int number) {
+	protected void appendHighOctaveMark(int number, Appendable out)
+			throws IOException {
 		if (octaveMarks.containsKey(number)) {
-			return octaveMarks.get(number);
+			out.append(octaveMarks.get(number));
 		} else {
-			return TextUtil.repeat(highOctaveMark, number);
+			TextUtil.repeatTo(highOctaveMark, number, out);
+		}
+	}
+
+	@Override
+	protected int parseLowOctaveMark(CharSequence s, ParsePosition pos) {
+		return TextUtil.countRepeats(lowOctaveMark, s, pos);
+	}
+
+	@Override
+	protected int parseHighOctaveMark(CharSequence s, ParsePosition pos) {
+		int octaves = 0;
+		Integer mark;
+		while ((mark = highOctaveMarks.match(s, pos)) != null) {
+			octaves += mark;
 		}
+		return octaves;
 	}
 
 }
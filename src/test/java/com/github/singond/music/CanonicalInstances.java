@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CanonicalInstances {
+
+	@Test
+	public void accidentals() {
+		assertSame(Accidental.ofSteps(5), Accidental.ofSteps(5));
+		assertSame(Accidental.ofSteps(-7), Accidental.valueOf("bbbbbbb"));
+		assertEquals(0, Accidental.DOUBLE_FLAT.id());
+		assertEquals(4, Accidental.DOUBLE_SHARP.id());
+		assertTrue(Accidental.ofSteps(5).id() >= 5);
+		assertNotEquals(Accidental.ofSteps(5).id(), Accidental.ofSteps(-5).id());
+	}
+
+	@Test
+	public void pitchClasses() {
+		PitchClass cTripleSharp = PitchClass.of(
+				BasePitchClass.C, Accidental.ofSteps(3));
+		assertSame(cTripleSharp, PitchClass.valueOf("C###"));
+		assertTrue(cTripleSharp.id() >= PitchClass.COMMON_COUNT);
+		Set<Integer> ids = new HashSet<>();
+		for (PitchClass pc : PitchClass.commonPitchClasses()) {
+			assertTrue(pc.id() >= 0 && pc.id() < PitchClass.COMMON_COUNT);
+			ids.add(pc.id());
+		}
+		assertEquals(PitchClass.COMMON_COUNT, ids.size());
+	}
+
+	@Test
+	public void pitches() {
+		Pitch high = Pitch.of(PitchClass.C, 100);
+		assertSame(high, Pitch.of(BasePitchClass.C, Accidental.NATURAL, 100));
+		assertSame(high, Pitch.valueOf("C100"));
+		assertSame(Pitch.valueOf("C#####4"), Pitch.valueOf("C#####4"));
+		assertNotEquals(high.id(), Pitch.of(PitchClass.D, 100).id());
+		assertNotEquals(Pitch.C4.id(), Pitch.CS4.id());
+	}
+
+	@Test
+	public void unusedPitchesAreReclaimed() throws InterruptedException {
+		int count = 200_000;
+		int maxId = 0;
+		for (int i = 0; i < count; i++) {
+			maxId = Math.max(maxId, Pitch.valueOf("Fb" + (1000 + i)).id());
+		}
+		for (int i = 0; i < 100 && Pitch.pooledCount() >= count / 2; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertTrue(Pitch.pooledCount() < count / 2);
+		// The ids of the reclaimed pitches are reused
+		assertTrue(Pitch.valueOf("Fb" + (1000 + count)).id() <= maxId);
+	}
+
+	@Test
+	public void degrees() {
+		assertSame(Degree.of(3, 2), Degree.of(3, 2));
+		assertSame(Degree.II_RAISED, Degree.of(2, 1));
+		assertEquals(0, Degree.I_LOWERED.id());
+		assertEquals(20, Degree.VII_RAISED.id());
+		assertTrue(Degree.of(3, 2).id() >= 21);
+	}
+
+	@Test
+	public void intervals() {
+		assertSame(CompoundInterval.of(SimpleInterval.MAJOR_THIRD, 10),
+				CompoundInterval.of(SimpleInterval.MAJOR_THIRD, 10));
+		assertSame(Intervals.valueOf(100, 3), Intervals.valueOf(100, 3));
+		assertSame(Intervals.valueOf(2, 12), Intervals.valueOf(2, 12));
+		// A single normal form for octave multiples
+		assertSame(Intervals.valueOf(14, 24),
+				CompoundInterval.of(SimpleInterval.UNISON, 2));
+		assertSame(Intervals.valueOf(21, 37),
+				CompoundInterval.of(SimpleInterval.AUGMENTED_UNISON, 3));
+		assertSame(Intervals.valueOf(14, 24), CompoundInterval.of(14, 24));
+		// Equal, but distinct instances
+		assertEquals(SimpleInterval.PERFECT_OCTAVE,
+				CompoundInterval.of(SimpleInterval.UNISON, 1));
+	}
+
+	@Test
+	public void serialization() throws Exception {
+		Object[] values = {Accidental.SHARP, Accidental.ofSteps(6),
+				PitchClass.F_SHARP, PitchClass.valueOf("Bbbbb"),
+				Pitch.C4, Pitch.of(PitchClass.A, 50), Degree.IV,
+				Degree.of(5, -3), SimpleInterval.PERFECT_FIFTH,
+				CompoundInterval.of(SimpleInterval.MINOR_SIXTH, 2),
+				CompoundInterval.of(SimpleInterval.MINOR_SIXTH, 12),
+				Intervals.valueOf(3, 20)};
+		for (Object value : values) {
+			assertSame(value, roundTrip(value));
+		}
+	}
+
+	private static Object roundTrip(Object value)
+			throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(value);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(
+				new ByteArrayInputStream(bytes.toByteArray()))) {
+			return in.readObject();
+		}
+	}
+}
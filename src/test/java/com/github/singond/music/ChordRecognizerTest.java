@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import static com.github.singond.music.PitchClass.*;
+import static com.github.singond.music.SimpleInterval.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ChordRecognizerTest {
+
+	private final ChordRecognizer recognizer = new ChordRecognizer();
+
+	@Test
+	public void allPredefinedTypes() {
+		for (ChordType type : recognizer.registeredTypes()) {
+			for (PitchClass root : Arrays.asList(C, F_SHARP, B_FLAT, E_FLAT)) {
+				Chord expected = Chords.chordAtRoot(root, type);
+				Chord chord = recognizer.recognize(Chords.chordAtRoot(
+						Pitch.of(root, 4), type));
+				assertEquals(type, chord.type());
+				assertEquals(root, chord.root());
+				assertEquals(expected.notes(), chord.notes());
+				assertEquals(type.inversion(), chord.inversion());
+			}
+		}
+	}
+
+	@Test
+	public void pitchClasses() {
+		Chord chord = recognizer.recognize(Arrays.asList(G, B_FLAT, E_FLAT));
+		assertEquals(Chords.MAJOR_TRIAD, chord.type());
+		assertEquals(E_FLAT, chord.root());
+
+		chord = recognizer.recognize(PitchClassSet.of(A, C, E_FLAT, G_FLAT));
+		assertEquals(Chords.DIMINISHED_7, chord.type());
+		assertEquals(A, chord.root());
+
+		assertNull(recognizer.recognize(Arrays.asList(C, D, E)));
+	}
+
+	@Test
+	public void enharmonicSpelling() {
+		// Spelled as C, E, Ab, but sounds like an augmented triad
+		Chord chord = recognizer.recognize(PackedPitchGroup.of(
+				Pitch.C4, Pitch.E4, Pitch.AB4));
+		assertEquals(Chords.AUGMENTED_TRIAD, chord.type());
+		assertEquals(Arrays.asList(C, E, G_SHARP), chord.notes());
+
+		// Without a bass, the same pitch classes are spelled as Ab augmented
+		chord = recognizer.recognize(Arrays.asList(C, E, A_FLAT));
+		assertEquals(Chords.AUGMENTED_TRIAD, chord.type());
+		assertEquals(A_FLAT, chord.root());
+		assertEquals(Arrays.asList(A_FLAT, C, E), chord.notes());
+
+		// A misspelled first inversion of E major
+		chord = recognizer.recognize(PackedPitchGroup.of(
+				Pitch.AB3, Pitch.B3, Pitch.E4));
+		assertEquals(Chords.MAJOR_TRIAD_6, chord.type());
+		assertEquals(Arrays.asList(A_FLAT, C_FLAT, F_FLAT), chord.notes());
+	}
+
+	@Test
+	public void customTypes() {
+		ChordType sus4 = Chords.chordType(Arrays.<Interval>asList(
+				PERFECT_FOURTH, MAJOR_SECOND));
+		assertNull(recognizer.recognize(Arrays.asList(D, G, A)));
+		recognizer.register(sus4);
+		Chord chord = recognizer.recognize(Arrays.asList(A, D, G));
+		assertSame(sus4, chord.type());
+		assertEquals(D, chord.root());
+	}
+}
@@ -170,4 +170,19 @@ public class ChordTypes {
 		}
 	}
 
+	@Test
+	public void heightsAboveBass() {
+		List<ChordType> types = Arrays.<ChordType>asList(
+				SmallChordType.MINOR_TRIAD_64, SmallChordType.DOMINANT_7.invert(3),
+				SmallChordType.HALF_DIMINISHED_7.invert(1),
+				DefaultChordType.DIMINISHED_7);
+		for (ChordType type : types) {
+			for (int i = 0; i < type.size(); i++) {
+				Interval expected = Intervals.sum(type.structure().subList(0, i));
+				assertEquals(expected, type.heightAboveBass(i));
+				assertEquals(expected.degrees(), type.degreesAboveBass(i));
+				assertEquals(expected.semitones(), type.semitonesAboveBass(i));
+			}
+		}
+	}
 }
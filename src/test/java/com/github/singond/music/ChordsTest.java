@@ -18,6 +18,7 @@ package com.github.singond.music;
 
 import static com.github.singond.music.PitchClass.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -151,4 +152,20 @@ public class ChordsTest {
 		for (PitchClass pc : ch) iterated.add(pc);
 		assertEquals("Bad iterator: ", iterated, expected);
 	}
+
+	@Test
+	public void canonicalInstances() {
+		InvertibleChord chord = Chords.chordAtRoot(D, Chords.MINOR_7);
+		assertSame(chord, Chords.chordAtRoot(D, Chords.MINOR_7));
+		assertSame(chord, Chords.chordAtBass(D, Chords.MINOR_7));
+		assertSame(chord.invert(2), Chords.chordAtBass(A, Chords.MINOR_7.invert(2)));
+		assertSame(chord, chord.invert(3).rootPosition());
+		assertSame(Chords.chordAtRoot(C, Chords.AUGMENTED_TRIAD),
+				Chords.chordAtBass(C, Chords.AUGMENTED_TRIAD));
+
+		ChordVoicing voicing = Chords.chordAtRoot(Pitch.C4, Chords.MAJOR_TRIAD_64);
+		assertSame(voicing, Chords.chordAtBass(Pitch.G3, Chords.MAJOR_TRIAD_64));
+		assertEquals(Arrays.asList(Pitch.G3, Pitch.C4, Pitch.E4),
+				voicing.pitches());
+	}
 }
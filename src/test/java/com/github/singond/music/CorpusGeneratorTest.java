@@ -0,0 +1,135 @@
+package com.github.singond.music;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class CorpusGeneratorTest {
+
+	private static final long SEED = 42;
+
+	@Test
+	public void melodyInKeyAndRange() {
+		CorpusGenerator generator = new CorpusGenerator(SEED);
+		Set<PitchClass> pcs = Keys.E_FLAT_MAJOR.pitchClasses();
+		for (Pitch p : generator.melody(Keys.E_FLAT_MAJOR,
+				Pitch.BB3, Pitch.F5, 1000)) {
+			assertTrue(pcs.contains(p.pitchClass()));
+			assertTrue(p.compareTo(Pitch.BB3) >= 0);
+			assertTrue(p.compareTo(Pitch.F5) <= 0);
+		}
+	}
+
+	@Test
+	public void enharmonicRangeEndpoints() {
+		// D4 is enharmonic to Ebb4, but lies below it in the natural order
+		Pitch low = Pitch.EBB4;
+		Pitch high = Pitch.AB5;
+		Key[] keys = {Keys.C_MAJOR, Keys.A_MAJOR};
+		for (Key key : keys) {
+			CorpusGenerator generator = new CorpusGenerator(SEED);
+			List<Pitch> pitches = new ArrayList<>(Arrays.asList(
+					generator.melody(key, low, high, 1000)));
+			pitches.addAll(generator.pitches(key, low, high, 1000)
+					.collect(Collectors.toList()));
+			for (Pitch p : pitches) {
+				assertTrue(p + " is below " + low, p.compareTo(low) >= 0);
+				assertTrue(p + " is above " + high, p.compareTo(high) <= 0);
+			}
+		}
+		assertArrayEquals(new Pitch[] {Pitch.C4, Pitch.C4},
+				new CorpusGenerator(SEED).melody(Keys.C_MAJOR,
+						Pitch.C4, Pitch.C4, 2));
+	}
+
+	@Test
+	public void reproducible() {
+		CorpusGenerator g1 = new CorpusGenerator(SEED);
+		CorpusGenerator g2 = new CorpusGenerator(SEED);
+		assertArrayEquals(
+				g1.melody(Keys.D_MINOR, Pitch.C3, Pitch.C5, 100),
+				g2.melody(Keys.D_MINOR, Pitch.C3, Pitch.C5, 100));
+		assertArrayEquals(
+				g1.packedMelody(Keys.D_MINOR, Pitch.C3, Pitch.C5, 100),
+				g2.packedMelody(Keys.D_MINOR, Pitch.C3, Pitch.C5, 100));
+		assertArrayEquals(
+				g1.progression(Keys.D_MINOR, Pitch.C3, Pitch.C5, 100),
+				g2.progression(Keys.D_MINOR, Pitch.C3, Pitch.C5, 100));
+		assertFalse(Arrays.equals(
+				g1.melody(Keys.D_MINOR, Pitch.C3, Pitch.C5, 100),
+				g1.split().melody(Keys.D_MINOR, Pitch.C3, Pitch.C5, 100)));
+	}
+
+	@Test
+	public void parallelStreamsMatchSequential() {
+		long count = 10_000;
+		List<Pitch> sequential = new CorpusGenerator(SEED)
+				.pitches(Keys.A_MAJOR, Pitch.E2, Pitch.A4, count)
+				.collect(Collectors.toList());
+		List<Pitch> parallel = new CorpusGenerator(SEED)
+				.pitches(Keys.A_MAJOR, Pitch.E2, Pitch.A4, count)
+				.parallel().collect(Collectors.toList());
+		assertEquals(count, sequential.size());
+		assertEquals(sequential, parallel);
+
+		int[] packed = new CorpusGenerator(SEED)
+				.packedPitches(Keys.A_MAJOR, Pitch.E2, Pitch.A4, count)
+				.parallel().toArray();
+		assertEquals(count, packed.length);
+		for (int i = 0; i < packed.length; i++) {
+			assertEquals(sequential.get(i), Pitch.unpack(packed[i]));
+		}
+
+		List<ChordVoicing> chords = new CorpusGenerator(SEED)
+				.voicings(Keys.A_MAJOR, Pitch.E2, Pitch.A4, 1001)
+				.collect(Collectors.toList());
+		assertEquals(1001, chords.size());
+		assertEquals(chords, new CorpusGenerator(SEED)
+				.voicings(Keys.A_MAJOR, Pitch.E2, Pitch.A4, 1001)
+				.parallel().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void progressionInKeyAndRange() {
+		CorpusGenerator generator = new CorpusGenerator(SEED);
+		Set<PitchClass> pcs = Keys.B_FLAT_MINOR.pitchClasses();
+		ChordVoicing[] chords = generator.progression(Keys.B_FLAT_MINOR,
+				Pitch.F3, Pitch.BB5, 500);
+		assertEquals(Keys.B_FLAT_MINOR.tonic(), chords[0].root());
+		for (ChordVoicing chord : chords) {
+			assertNotNull(Chords.symbol(chord.type()));
+			for (Pitch p : chord) {
+				assertTrue(pcs.contains(p.pitchClass()));
+				assertTrue(p.compareTo(Pitch.F3) >= 0);
+				assertTrue(p.compareTo(Pitch.BB5) <= 0);
+			}
+		}
+	}
+
+	@Test
+	public void packedMelodies() {
+		List<int[]> melodies = new CorpusGenerator(SEED)
+				.packedMelodies(Keys.G_MAJOR, Pitch.G3, Pitch.G5, 16, 50)
+				.parallel().collect(Collectors.toList());
+		assertEquals(50, melodies.size());
+		for (int[] melody : melodies) {
+			assertEquals(16, melody.length);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyRange() {
+		new CorpusGenerator(SEED).melody(Keys.C_MAJOR, Pitch.CS4, Pitch.CS4, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invertedRange() {
+		new CorpusGenerator(SEED).progression(Keys.C_MAJOR, Pitch.C5, Pitch.C3, 1);
+	}
+}
@@ -0,0 +1,175 @@
+package com.github.singond.music;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+	private static final Pitch[] MELODY = new CorpusGenerator(3)
+			.melody(Keys.E_FLAT_MAJOR, Pitch.C3, Pitch.C6, 10_000);
+
+	@Test
+	public void countByMidiNumber() {
+		PitchHistogram h = PitchHistogram.byMidiNumber();
+		h.add(Pitch.CS4);
+		h.add(Pitch.DB4);
+		h.addPacked(Pitch.pack(Pitch.BX3));
+		h.add(Pitch.of(PitchClass.C, 20));
+		assertEquals(128, h.bins());
+		assertEquals(3, h.count(Pitch.DB4));
+		HistogramSnapshot<Pitch> s = h.snapshot();
+		assertEquals(3, s.countAt(61));
+		assertEquals(1, s.outOfRange());
+		assertEquals(4, s.total());
+		h.reset();
+		assertEquals(0, h.total());
+		assertEquals(4, s.total());
+	}
+
+	@Test
+	public void countBySpelledPitch() {
+		PitchHistogram h = PitchHistogram.bySpelledPitch();
+		h.add(Pitch.CS4);
+		h.add(Pitch.DB4);
+		h.add(Pitch.DB4);
+		h.addPacked(Pitch.pack(Pitch.of(PitchClass.C, 40)));
+		assertEquals(1, h.count(Pitch.CS4));
+		assertEquals(2, h.count(Pitch.DB4));
+		HistogramSnapshot<Pitch> s = h.snapshot();
+		assertEquals(2, s.countAt(Pitch.DB4.id()));
+		assertEquals(1, s.outOfRange());
+	}
+
+	@Test
+	public void bulkAddsMatchSingleAdds() {
+		PitchGroup group = PackedPitchGroup.of(MELODY);
+		int[] packed = ((PackedPitchGroup) group).toPackedArray();
+		List<Pitch> pitches = group.pitches();
+		for (PitchHistogram h : new PitchHistogram[] {
+				PitchHistogram.byMidiNumber(), PitchHistogram.bySpelledPitch()}) {
+			for (Pitch p : MELODY) {
+				h.add(p);
+			}
+			HistogramSnapshot<Pitch> single = h.snapshot();
+			h.reset();
+			h.addAllPacked(packed);
+			assertEquals(single.toString(), h.snapshot().toString());
+			h.reset();
+			h.addAll(group);
+			h.addAll(new ArrayPitchGroup(pitches));
+			assertEquals(single.merge(single).toString(),
+					h.snapshot().toString());
+		}
+	}
+
+	@Test
+	public void pitchClasses() {
+		PitchClassHistogram semitones = PitchClassHistogram.bySemitones();
+		PitchClassHistogram spelled = PitchClassHistogram.bySpelledPitchClass();
+		ChordVoicing chord = Chords.chordAtRoot(Pitch.AB3, Chords.DOMINANT_7);
+		for (PitchClassHistogram h : new PitchClassHistogram[] {
+				semitones, spelled}) {
+			h.addAll(chord);
+			h.addAll(Chords.chordAtRoot(PitchClass.G_SHARP, Chords.MAJOR_TRIAD));
+			h.add(PitchClass.of(BasePitchClass.C, Accidental.ofSteps(3)));
+		}
+		assertEquals(12, semitones.bins());
+		assertEquals(35, spelled.bins());
+		assertEquals(2, semitones.count(PitchClass.A_FLAT));
+		// Eb, D# and C triple sharp
+		assertEquals(3, semitones.count(PitchClass.E_FLAT));
+		assertEquals(1, spelled.count(PitchClass.A_FLAT));
+		assertEquals(1, spelled.count(PitchClass.G_SHARP));
+		assertEquals(0, semitones.snapshot().outOfRange());
+		assertEquals(1, spelled.snapshot().outOfRange());
+		assertEquals(8, spelled.total());
+	}
+
+	@Test
+	public void foldingAndProfile() {
+		PitchHistogram midi = PitchHistogram.byMidiNumber();
+		PitchHistogram spelled = PitchHistogram.bySpelledPitch();
+		PitchClassHistogram classes = PitchClassHistogram.bySpelledPitchClass();
+		for (Pitch p : MELODY) {
+			midi.add(p);
+			spelled.add(p);
+			classes.add(p);
+		}
+		HistogramSnapshot<PitchClass> folded = spelled.snapshot().pitchClasses();
+		assertEquals(classes.snapshot().toString(), folded.toString());
+		assertEquals(12, midi.snapshot().pitchClasses().bins());
+
+		double[] profile = folded.profile();
+		double sum = 0;
+		for (double d : profile) {
+			sum += d;
+		}
+		assertEquals(1.0, sum, 1e-9);
+		// Only the seven pitch classes of the key occur
+		int nonZero = 0;
+		for (double d : profile) {
+			if (d > 0) nonZero++;
+		}
+		assertEquals(7, nonZero);
+		assertEquals(0.0, folded.profile()[PitchClass.E.id()], 0.0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mergeDifferentBinnings() {
+		PitchHistogram.byMidiNumber().snapshot()
+				.merge(PitchHistogram.bySpelledPitch().snapshot());
+	}
+
+	@Test
+	public void concurrentAdds() throws InterruptedException {
+		final PitchHistogram h = PitchHistogram.bySpelledPitch();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10; i++) {
+						for (Pitch p : MELODY) {
+							h.add(p);
+						}
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(8L * 10 * MELODY.length, h.total());
+	}
+
+	/** A pitch group which is not packed. */
+	private static class ArrayPitchGroup implements PitchGroup {
+		private final List<Pitch> pitches;
+
+		ArrayPitchGroup(List<Pitch> pitches) {
+			this.pitches = pitches;
+		}
+
+		@Override
+		public List<Pitch> pitches() {
+			return pitches;
+		}
+
+		@Override
+		public int size() {
+			return pitches.size();
+		}
+
+		@Override
+		public Iterator<Pitch> iterator() {
+			return pitches.iterator();
+		}
+	}
+}
@@ -17,7 +17,10 @@
 package com.github.singond.music;
 
 import static com.github.singond.music.SimpleInterval.*;
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.text.ParsePosition;
+import java.util.Arrays;
 
 import org.junit.Test;
 
@@ -48,6 +51,11 @@ public class IntervalsTest {
 		simpleIntervalSearch(2, 3, SimpleInterval.MINOR_THIRD);
 		simpleIntervalSearch(2, 4, SimpleInterval.MAJOR_THIRD);
 		simpleIntervalSearch(7, 12, SimpleInterval.PERFECT_OCTAVE);
+		simpleIntervalSearch(7, 14, null);
+		simpleIntervalSearch(8, 12, null);
+		for (SimpleInterval i : SimpleInterval.values()) {
+			simpleIntervalSearch(i.degrees(), i.semitones(), i);
+		}
 	}
 
 	/**
@@ -112,4 +120,215 @@ public class IntervalsTest {
 				fromSimple, fromNumbers);
 		printInterval(fromSimple);
 	}
+
+	@Test
+	public void canonicalInstances() {
+		assertSame(CompoundInterval.of(MAJOR_THIRD, 2),
+				CompoundInterval.of(MAJOR_THIRD, 2));
+		assertSame(PERFECT_FIFTH, Intervals.valueOf(4, 7));
+		assertSame(CompoundInterval.of(MINOR_THIRD, 1),
+				Intervals.valueOf(9, 15));
+		assertSame(Intervals.valueOf(8, 20), Intervals.valueOf(8, 20));
+		assertEquals(CompoundInterval.of(PERFECT_FIFTH, 1),
+				Intervals.sum(PERFECT_OCTAVE, PERFECT_FIFTH));
+		assertTrue(Intervals.sum(PERFECT_OCTAVE, PERFECT_FIFTH)
+				instanceof CompoundInterval);
+	}
+
+	@Test
+	public void octaveMultiples() {
+		assertSame(CompoundInterval.of(DIMINISHED_OCTAVE, 1),
+				Intervals.valueOf(14, 23));
+		assertSame(CompoundInterval.of(PERFECT_OCTAVE, 1),
+				Intervals.valueOf(14, 24));
+		assertSame(CompoundInterval.of(AUGMENTED_OCTAVE, 1),
+				Intervals.valueOf(14, 25));
+		assertSame(CompoundInterval.of(DIMINISHED_OCTAVE, 2),
+				Intervals.valueOf(21, 35));
+		assertEquals("d15", Intervals.valueOf(14, 23).toString());
+		assertEquals("A15", CompoundInterval.of(14, 25).symbol());
+		// A single octave is a unison plus one octave
+		CompoundInterval octave = CompoundInterval.of(7, 12);
+		assertSame(CompoundInterval.of(UNISON, 1), octave);
+		assertEquals(7, octave.degrees());
+		assertEquals(12, octave.semitones());
+		assertEquals(PERFECT_OCTAVE, octave);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void compoundDiminishedOctave() {
+		CompoundInterval.of(7, 11);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void compoundBelowOctave() {
+		CompoundInterval.of(4, 7);
+	}
+
+	@Test
+	public void intervalTable() {
+		for (int d = 0; d < 40; d++) {
+			for (int s = -5; s < 80; s++) {
+				Interval i = Intervals.valueOf(d, s);
+				assertEquals(d, i.degrees());
+				assertEquals(s, i.semitones());
+			}
+		}
+	}
+
+	@Test
+	public void betweenPitches() {
+		assertSame(MAJOR_THIRD, Intervals.between(Pitch.C4, Pitch.E4));
+		assertSame(MAJOR_THIRD, Intervals.between(Pitch.E4, Pitch.C4));
+		assertSame(AUGMENTED_SECOND,
+				Intervals.between(Pitch.valueOf("Eb4"), Pitch.valueOf("F#4")));
+		assertSame(DIMINISHED_SECOND,
+				Intervals.between(Pitch.C4, Pitch.valueOf("B#3")));
+		assertSame(AUGMENTED_UNISON,
+				Intervals.between(Pitch.C4, Pitch.CB4));
+		assertSame(CompoundInterval.of(MINOR_SIXTH, 1),
+				Intervals.between(Pitch.E3, Pitch.C5));
+		// Compound intervals spanning a multiple of seven degrees
+		assertSame(CompoundInterval.of(DIMINISHED_OCTAVE, 1),
+				Intervals.between(Pitch.C4, Pitch.CB6));
+		assertSame(CompoundInterval.of(PERFECT_OCTAVE, 1),
+				Intervals.between(Pitch.C6, Pitch.C4));
+		assertSame(CompoundInterval.of(AUGMENTED_OCTAVE, 2),
+				Intervals.between(Pitch.C3, Pitch.CS6));
+		assertSame(CompoundInterval.of(DIMINISHED_OCTAVE, 2),
+				Intervals.between(Pitch.CS3, Pitch.C6));
+	}
+
+	@Test
+	public void betweenPitchClasses() {
+		assertSame(MAJOR_SEVENTH, Intervals.between(PitchClass.C, PitchClass.B));
+		assertSame(MINOR_SECOND, Intervals.between(PitchClass.B, PitchClass.C));
+		assertSame(DIMINISHED_OCTAVE,
+				Intervals.between(PitchClass.C, PitchClass.C_FLAT));
+		for (PitchClass from : PitchClass.commonPitchClasses()) {
+			for (PitchClass to : PitchClass.commonPitchClasses()) {
+				Interval i = Intervals.between(from, to);
+				assertEquals(to, from.transposeUp(i));
+				assertTrue(i.degrees() >= 0 && i.degrees() <= 7);
+				int packed = Intervals.packedBetween(from, to);
+				assertEquals(i.degrees(), Intervals.packedDegrees(packed));
+				assertEquals(i.semitones(), Intervals.packedSemitones(packed));
+			}
+		}
+	}
+
+	@Test
+	public void packedIntervals() {
+		int packed = Intervals.pack(-2, -4);
+		assertEquals(-2, Intervals.packedDegrees(packed));
+		assertEquals(-4, Intervals.packedSemitones(packed));
+		assertSame(MAJOR_THIRD, Intervals.unpack(packed));
+		assertEquals(Intervals.pack(-2, -3),
+				Intervals.packedBetween(Pitch.E4, Pitch.CS4));
+		assertEquals(Intervals.pack(-2, -3), Intervals.packedBetween(
+				Pitch.pack(Pitch.E4), Pitch.pack(Pitch.CS4)));
+		assertEquals(Intervals.pack(9, 15),
+				Intervals.packedBetween(Pitch.C4, Pitch.valueOf("Eb5")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void packOutOfRange() {
+		Intervals.pack(0, 40000);
+	}
+
+	@Test
+	public void melodicIntervals() {
+		Pitch[] melody = {Pitch.C4, Pitch.E4, Pitch.G4, Pitch.C5, Pitch.B4};
+		int[] expected = {Intervals.pack(2, 4), Intervals.pack(2, 3),
+				Intervals.pack(3, 5), Intervals.pack(-1, -1)};
+		assertArrayEquals(expected,
+				Intervals.melodicIntervals(PackedPitchGroup.of(melody)));
+		assertArrayEquals(expected, Intervals.melodicIntervals(
+				PackedPitchGroup.of(melody).toPackedArray()));
+		assertEquals(0, Intervals.melodicIntervals(new int[0]).length);
+		assertArrayEquals(Arrays.copyOf(expected, 2), Intervals.melodicIntervals(
+				Chords.chordAtRoot(Pitch.C4, Chords.MAJOR_TRIAD)));
+	}
+
+	@Test
+	public void algebra() {
+		assertSame(MINOR_SIXTH, Intervals.difference(PERFECT_OCTAVE, MAJOR_THIRD));
+		assertSame(MINOR_SIXTH, Intervals.difference(MAJOR_THIRD, PERFECT_OCTAVE));
+		assertSame(MINOR_SIXTH, Intervals.invert(MAJOR_THIRD));
+		assertSame(PERFECT_OCTAVE, Intervals.invert(UNISON));
+		assertSame(UNISON, Intervals.invert(PERFECT_OCTAVE));
+		assertSame(DIMINISHED_OCTAVE, Intervals.invert(AUGMENTED_UNISON));
+		assertSame(MINOR_SIXTH,
+				Intervals.invert(CompoundInterval.of(MAJOR_THIRD, 1)));
+		assertSame(AUGMENTED_SEVENTH, Intervals.multiply(MAJOR_THIRD, 3));
+		assertSame(CompoundInterval.of(MAJOR_SECOND, 1),
+				Intervals.multiply(PERFECT_FIFTH, 2));
+		assertSame(MAJOR_THIRD,
+				Intervals.simple(CompoundInterval.of(MAJOR_THIRD, 2)));
+		assertSame(PERFECT_OCTAVE, Intervals.simple(PERFECT_OCTAVE));
+		assertEquals(2, Intervals.octaves(CompoundInterval.of(MAJOR_THIRD, 2)));
+		assertEquals(0, Intervals.octaves(PERFECT_OCTAVE));
+	}
+
+	@Test
+	public void packedAlgebra() {
+		int third = Intervals.pack(MAJOR_THIRD);
+		int down = Intervals.packedNegate(third);
+		assertEquals(Intervals.pack(-2, -4), down);
+		assertEquals(-1, Intervals.packedDirection(down));
+		assertEquals(0, Intervals.packedDirection(Intervals.pack(UNISON)));
+		assertEquals(third, Intervals.packedAbs(down));
+		assertEquals(Intervals.pack(MINOR_THIRD), Intervals.packedSum(
+				Intervals.pack(PERFECT_FIFTH), down));
+		assertEquals(Intervals.pack(-4, -7), Intervals.packedDifference(
+				down, Intervals.pack(MINOR_THIRD)));
+		assertEquals(Intervals.pack(-6, -12),
+				Intervals.packedMultiply(down, 3));
+		int tenthDown = Intervals.pack(-9, -16);
+		assertEquals(-1, Intervals.packedOctaves(tenthDown));
+		assertEquals(down, Intervals.packedSimple(tenthDown));
+		assertEquals(Intervals.pack(-5, -8), Intervals.packedInvert(tenthDown));
+	}
+
+	@Test
+	public void parse() {
+		for (SimpleInterval i : SimpleInterval.values()) {
+			assertSame(i, Intervals.valueOf(i.symbol()));
+		}
+		for (int octaves = 1; octaves < 4; octaves++) {
+			for (SimpleInterval i : SimpleInterval.values()) {
+				// The canonical instance, which is not necessarily composed
+				// of i and octaves, like P15 = P8 + P8 rather than P1 + 2 * P8
+				Interval c = Intervals.valueOf(i.degrees() + 7 * octaves,
+						i.semitones() + 12 * octaves);
+				assertSame(c, Intervals.valueOf(c.toString()));
+			}
+		}
+		assertSame(CompoundInterval.of(MINOR_THIRD, 1), Intervals.valueOf("m10"));
+		ParsePosition pos = new ParsePosition(4);
+		assertSame(AUGMENTED_FOURTH, Intervals.parse("P5, A4, d7", pos));
+		assertEquals(6, pos.getIndex());
+	}
+
+	@Test
+	public void parseInvalid() {
+		for (String s : new String[] {"", "P", "M5", "P3", "m1", "d1", "X3",
+				"M0", "P99999", "M29000", "A32000"}) {
+			ParsePosition pos = new ParsePosition(0);
+			assertNull(s, Intervals.parse(s, pos));
+			assertEquals(s, 0, pos.getIndex());
+			assertTrue(s, pos.getErrorIndex() >= 0);
+		}
+	}
+
+	@Test(expected = FormatException.class)
+	public void valueOfTrailing() {
+		Intervals.valueOf("M3 ");
+	}
+
+	@Test(expected = FormatException.class)
+	public void valueOfTooWide() {
+		// The number fits into 16 bits, but the semitones do not
+		Intervals.valueOf("A32000");
+	}
 }
@@ -177,4 +177,22 @@ public class IntervalsWithPitchClasses {
 		System.out.println();
 	}
 
+	@Test
+	public void transpositionRoundTrip() {
+		for (BasePitchClass base : BasePitchClass.values()) {
+			for (int acc = -3; acc <= 3; acc++) {
+				PitchClass pc = PitchClass.of(base, Accidental.ofSteps(acc));
+				for (SimpleInterval i : SimpleInterval.values()) {
+					PitchClass up = pc.transposeUp(i);
+					assertEquals("Bad transposition of " + pc + " up by " + i,
+							pc, up.transposeDown(i));
+					assertEquals("Bad distance from " + pc + " up by " + i,
+							i.semitones() % 12,
+							Util.floorMod(up.stepsAboveReference()
+									- pc.stepsAboveReference(), 12));
+				}
+			}
+		}
+	}
+
 }
@@ -19,6 +19,8 @@ package com.github.singond.music;
 import static com.github.singond.music.Pitch.*;
 import static com.github.singond.music.PitchClass.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -170,6 +172,23 @@ public class KeysTest {
 		System.out.println();
 	}
 
+	@Test
+	public void enharmonicEndpoints() {
+		// D4 is enharmonic to Ebb4, but lower in the natural order
+		assertEquals(E4, Keys.C_MAJOR.scale(EBB4, AS6).get(0));
+		assertEquals(E4, Keys.C_MAJOR.scale(EBB4, F4).get(0));
+		List<Pitch> down = Keys.C_MAJOR.scale(F4, EBB4);
+		assertEquals(Arrays.asList(F4, E4), down);
+		assertEquals(Arrays.asList(D5, C5, B4),
+				Keys.C_MAJOR.scale(EBB5, B4));
+		// C2 is enharmonic to Dbb2, but lower in the natural order
+		assertEquals(Collections.emptyList(), Keys.C_MAJOR.scale(DBB2, DB2));
+		assertEquals(Collections.emptyList(), Keys.C_MAJOR.scale(DB2, DBB2));
+		assertEquals(Collections.emptyList(), Keys.C_MAJOR.scale(CS4, CS4));
+		assertEquals(Arrays.asList(C4), Keys.C_MAJOR.scale(C4, C4));
+		assertEquals(0, Keys.C_MAJOR.scaleMidiNumbers(DBB2, DB2).count());
+	}
+
 	@Test
 	public void degrees() {
 		assertEquals(G, Keys.C_MAJOR.degree(5));
@@ -198,4 +217,49 @@ public class KeysTest {
 		assertEquals(Keys.F_SHARP_MINOR, MinorKey.F_SHARP);
 		assertEquals(Keys.F_SHARP_MINOR, Keys.MINOR.in(F_SHARP));
 	}
+
+	@Test
+	public void degreeLookup() {
+		assertSame(Keys.E_FLAT_MAJOR, Keys.MAJOR.in(E_FLAT));
+		assertSame(Keys.A_SHARP_MINOR, Keys.MINOR.in(A_SHARP));
+		for (PitchClass tonic : PitchClass.commonPitchClasses()) {
+			for (KeyType type : Arrays.asList(Keys.MAJOR, Keys.MINOR)) {
+				Key key = type.in(tonic);
+				for (int i = 1; i <= 7; i++) {
+					PitchClass pc = key.degrees().get(i - 1);
+					assertEquals(pc, key.degree(i));
+					assertEquals(pc, key.degree(Degree.of(i, 0)));
+					assertEquals(pc.transposeUp(SimpleInterval.AUGMENTED_UNISON),
+							key.degree(Degree.of(i, 1)));
+					assertEquals(pc.transposeDown(SimpleInterval.AUGMENTED_UNISON),
+							key.degree(Degree.of(i, -1)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void cache() {
+		Keys.configureCache(2, EvictionPolicy.LEAST_RECENTLY_USED);
+		try {
+			Key gSharp = Keys.MAJOR.in(G_SHARP);
+			assertSame(gSharp, Keys.MAJOR.in(G_SHARP));
+			Key fFlat = Keys.MAJOR.in(F_FLAT);
+			assertSame(gSharp, Keys.MAJOR.in(G_SHARP));
+			// Evicts F_FLAT, which is least recently used
+			Keys.MINOR.in(F_FLAT);
+			assertSame(gSharp, Keys.MAJOR.in(G_SHARP));
+			assertNotSame(fFlat, Keys.MAJOR.in(F_FLAT));
+			// Common keys do not use the cache
+			Keys.MAJOR.in(C);
+
+			CacheStatistics stats = Keys.cacheStatistics();
+			assertEquals(3, stats.hitCount());
+			assertEquals(4, stats.missCount());
+			assertEquals(2, stats.evictionCount());
+		} finally {
+			Keys.configureCache(KeyCache.DEFAULT_CAPACITY,
+					KeyCache.DEFAULT_POLICY);
+		}
+	}
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+public class PackedPitchGroupTest {
+
+	private static final List<Pitch> MELODY = Arrays.asList(
+			Pitch.E4, Pitch.DS4, Pitch.E4, Pitch.EB4, Pitch.CS2,
+			Pitch.B3, Pitch.D5, Pitch.CBB4, Pitch.C4, Pitch.A3);
+
+	@Test
+	public void retainsOrder() {
+		PackedPitchGroup group = PackedPitchGroup.of(MELODY);
+		assertEquals(MELODY, group.pitches());
+		assertEquals(MELODY.size(), group.size());
+		assertEquals(Pitch.D5, group.get(6));
+		assertEquals(group, PackedPitchGroup.ofPacked(group.toPackedArray()));
+	}
+
+	@Test
+	public void sorting() {
+		PackedPitchGroup group = PackedPitchGroup.of(MELODY);
+		List<Pitch> expected = new ArrayList<>(MELODY);
+		Collections.sort(expected);
+		assertEquals(expected, group.sorted().pitches());
+
+		expected = new ArrayList<>(MELODY);
+		Collections.sort(expected, Pitch.enharmonicComparator());
+		assertEquals(expected, group.sortedEnharmonically().pitches());
+	}
+
+	@Test
+	public void bulkOperations() {
+		PackedPitchGroup group = PackedPitchGroup.of(MELODY);
+		int[] midi = group.toMidiArray();
+		for (int i = 0; i < MELODY.size(); i++) {
+			assertEquals(MELODY.get(i).midiNumber(), midi[i]);
+		}
+		assertEquals(Pitch.CS2, group.lowest());
+		assertEquals(Pitch.D5, group.highest());
+		assertEquals(Pitch.D5.midiNumber() - Pitch.CS2.midiNumber(),
+				group.span());
+
+		List<Pitch> expected = new ArrayList<>();
+		for (Pitch p : MELODY) {
+			expected.add(p.transposeUp(SimpleInterval.MINOR_THIRD));
+		}
+		assertEquals(expected,
+				group.transposeUp(SimpleInterval.MINOR_THIRD).pitches());
+		assertEquals(group, group.transposeUp(SimpleInterval.MINOR_THIRD)
+				.transposeDown(SimpleInterval.MINOR_THIRD));
+	}
+
+	@Test
+	public void parallelStream() {
+		List<Pitch> pitches = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			pitches.add(Pitch.of(BasePitchClass.values()[i % 7],
+					Accidental.ofSteps(i % 5 - 2), i % 11 - 1));
+		}
+		PackedPitchGroup group = PackedPitchGroup.of(pitches);
+		assertEquals(pitches, StreamSupport.stream(group.spliterator(), true)
+				.collect(Collectors.toList()));
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music;
+
+import static com.github.singond.music.PitchClass.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class PitchClassSetTest {
+
+	private static final PitchClassSet C_MAJOR
+			= PitchClassSet.of(C, D, E, F, G, A, B);
+
+	@Test
+	public void basicOperations() {
+		PitchClassSet triad = PitchClassSet.of(C, E, G);
+		PitchClassSet other = PitchClassSet.of(E, G_SHARP);
+		assertEquals(PitchClassSet.of(C, E, G, G_SHARP), triad.union(other));
+		assertEquals(PitchClassSet.of(E), triad.intersection(other));
+		assertEquals(PitchClassSet.of(C, G), triad.difference(other));
+		assertEquals(PitchClassSet.ALL, triad.union(triad.complement()));
+		assertTrue(triad.intersection(triad.complement()).isEmpty());
+		assertEquals(35, PitchClassSet.ALL.size());
+	}
+
+	@Test
+	public void equalToOtherSets() {
+		Set<PitchClass> hashSet = new HashSet<>(Arrays.asList(C, E, G));
+		PitchClassSet set = PitchClassSet.of(G, E, C);
+		assertEquals(hashSet, set);
+		assertEquals(set, hashSet);
+		assertEquals(hashSet.hashCode(), set.hashCode());
+		assertTrue(set.containsAll(hashSet));
+		assertFalse(set.contains(C_SHARP));
+	}
+
+	@Test
+	public void iterationOrder() {
+		List<PitchClass> expected = PitchClass.commonPitchClasses();
+		Collections.sort(expected);
+		assertEquals(expected, new ArrayList<>(PitchClassSet.ALL));
+		assertEquals(Arrays.asList(C, D, E, F, G, A, B),
+				new ArrayList<>(C_MAJOR));
+	}
+
+	@Test
+	public void transposition() {
+		for (SimpleInterval i : SimpleInterval.values()) {
+			PitchClassSet triad = PitchClassSet.of(C, E, G);
+			Set<PitchClass> expected = new HashSet<>();
+			for (PitchClass pc : triad) {
+				expected.add(pc.transposeUp(i));
+			}
+			assertEquals("Bad transposition up by " + i,
+					expected, triad.transposeUp(i));
+		}
+		assertEquals(PitchClassSet.of(G, A, B, C, D, E, F_SHARP),
+				C_MAJOR.transposeUp(SimpleInterval.PERFECT_FIFTH));
+		assertEquals(PitchClassSet.of(F, G, A, B_FLAT, C, D, E),
+				C_MAJOR.transposeDown(SimpleInterval.PERFECT_FIFTH));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void transpositionOutOfRange() {
+		PitchClassSet.of(B_DBL_SHARP).transposeUp(SimpleInterval.PERFECT_FIFTH);
+	}
+
+	@Test
+	public void enharmonicMask() {
+		assertEquals(0xAB5, C_MAJOR.enharmonicMask());
+		assertEquals(0b10010001, PitchClassSet.of(C, E, G).enharmonicMask());
+		assertEquals(PitchClassSet.of(C, E, G).enharmonicMask(),
+				PitchClassSet.of(B_SHARP, F_FLAT, A_DBL_FLAT).enharmonicMask());
+		int g = C_MAJOR.transposeUp(SimpleInterval.PERFECT_FIFTH)
+				.enharmonicMask();
+		assertEquals(g,
+				PitchClassSet.transposeEnharmonicMask(C_MAJOR.enharmonicMask(), 7));
+		assertEquals(g,
+				PitchClassSet.transposeEnharmonicMask(C_MAJOR.enharmonicMask(), -5));
+	}
+}
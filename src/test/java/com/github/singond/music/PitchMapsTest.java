@@ -0,0 +1,181 @@
+package com.github.singond.music;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ObjIntConsumer;
+
+import org.junit.Test;
+
+public class PitchMapsTest {
+
+	private static final IntBinaryOperator MAX = new IntBinaryOperator() {
+		@Override
+		public int applyAsInt(int a, int b) {
+			return Math.max(a, b);
+		}
+	};
+
+	private static final LongBinaryOperator SUM = new LongBinaryOperator() {
+		@Override
+		public long applyAsLong(long a, long b) {
+			return a + b;
+		}
+	};
+
+	private static final BiFunction<String, String, String> CONCAT
+			= new BiFunction<String, String, String>() {
+		@Override
+		public String apply(String a, String b) {
+			return a + b;
+		}
+	};
+
+	private static final BiFunction<String, String, String> REMOVE
+			= new BiFunction<String, String, String>() {
+		@Override
+		public String apply(String a, String b) {
+			return null;
+		}
+	};
+
+	@Test
+	public void spelledIntMap() {
+		PitchIntMap map = PitchIntMap.spelled();
+		assertTrue(map.isEmpty());
+		assertEquals(0, map.get(Pitch.C4));
+		assertEquals(0, map.put(Pitch.C4, 5));
+		assertEquals(5, map.put(Pitch.C4, 7));
+		assertEquals(3, map.add(Pitch.BS3, 3));
+		assertEquals(4, map.add(Pitch.BS3, 1));
+		assertEquals(2, map.size());
+		assertEquals(7, map.get(Pitch.C4));
+		assertEquals(4, map.get(Pitch.BS3));
+		assertFalse(map.containsKey(Pitch.DBB4));
+		assertEquals(-1, map.getOrDefault(Pitch.DBB4, -1));
+		assertEquals(7, map.merge(Pitch.C4, 6, MAX));
+		assertEquals(11, map.sum());
+		assertEquals(7, map.remove(Pitch.C4));
+		assertFalse(map.containsKey(Pitch.C4));
+		assertEquals(0, map.get(Pitch.C4));
+		assertEquals(1, map.size());
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertEquals(0, map.sum());
+	}
+
+	@Test
+	public void enharmonicIntMap() {
+		PitchIntMap map = PitchIntMap.enharmonic();
+		map.add(Pitch.DB4, 1);
+		map.add(Pitch.CS4, 1);
+		map.add(Pitch.BX3, 1);
+		map.add(Pitch.A4, 1);
+		assertEquals(2, map.size());
+		assertEquals(3, map.get(Pitch.CS4));
+
+		final List<Pitch> keys = new ArrayList<>();
+		map.forEach(new ObjIntConsumer<Pitch>() {
+			@Override
+			public void accept(Pitch pitch, int value) {
+				keys.add(pitch);
+			}
+		});
+		// The first pitch added represents the entry
+		assertEquals(Pitch.DB4, keys.get(0));
+		assertEquals(Pitch.A4, keys.get(1));
+		assertEquals("{Db4=3, A4=1}", map.toString());
+	}
+
+	@Test
+	public void growsInBothDirections() {
+		PitchLongMap spelled = PitchLongMap.spelled();
+		PitchLongMap enharmonic = PitchLongMap.enharmonic();
+		Map<Pitch, Long> expected = new HashMap<>();
+		int[] octaves = {4, 5, 3, -1, 9, -40, 80, 0};
+		for (int octave : octaves) {
+			for (PitchClass pc : PitchClass.commonPitchClasses()) {
+				Pitch p = Pitch.of(pc, octave);
+				spelled.add(p, octave);
+				enharmonic.add(p, 1);
+				Long previous = expected.get(p);
+				expected.put(p, (previous == null ? 0 : previous) + octave);
+			}
+		}
+		assertEquals(expected.size(), spelled.size());
+		for (Map.Entry<Pitch, Long> e : expected.entrySet()) {
+			assertEquals((long) e.getValue(), spelled.get(e.getKey()));
+		}
+		assertEquals(expected.size(), enharmonic.sum());
+		assertEquals(3, enharmonic.get(Pitch.C4)); // C4, B#3 and Dbb4
+	}
+
+	@Test
+	public void mergeAll() {
+		PitchLongMap a = PitchLongMap.spelled();
+		PitchLongMap b = PitchLongMap.enharmonic();
+		a.put(Pitch.C4, 10);
+		b.put(Pitch.BS3, 1);
+		b.put(Pitch.G2, 2);
+		a.mergeAll(b, SUM);
+		assertEquals(3, a.size());
+		assertEquals(10, a.get(Pitch.C4));
+		assertEquals(1, a.get(Pitch.BS3));
+		assertEquals(2, a.get(Pitch.G2));
+	}
+
+	@Test
+	public void pitchClassMap() {
+		PitchClassObjMap<String> map = PitchClassObjMap.spelled();
+		assertNull(map.put(PitchClass.C, "c"));
+		assertNull(map.put(PitchClass.B_SHARP, "b#"));
+		PitchClass exotic = PitchClass.of(BasePitchClass.F, Accidental.ofSteps(-5));
+		map.put(exotic, "f5b");
+		assertEquals(3, map.size());
+		assertEquals("c", map.get(PitchClass.C));
+		assertEquals("f5b", map.get(exotic));
+		assertNull(map.get("C"));
+		assertEquals("c!", map.merge(PitchClass.C, "!", CONCAT));
+		assertNull(map.merge(PitchClass.C, "!", REMOVE));
+		assertFalse(map.containsKey(PitchClass.C));
+
+		Map<PitchClass, String> expected = new HashMap<>();
+		expected.put(PitchClass.B_SHARP, "b#");
+		expected.put(exotic, "f5b");
+		assertEquals(expected, map);
+		assertEquals(map, expected);
+		assertEquals(expected.hashCode(), map.hashCode());
+
+		Iterator<Map.Entry<PitchClass, String>> it = map.entrySet().iterator();
+		it.next();
+		it.remove();
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void enharmonicPitchClassMap() {
+		PitchClassObjMap<Integer> map = PitchClassObjMap.enharmonic();
+		map.put(PitchClass.G_SHARP, 1);
+		map.put(PitchClass.A_FLAT, 2);
+		map.put(PitchClass.C, 3);
+		map.put(PitchClass.B_SHARP, 4);
+		assertEquals(2, map.size());
+		assertEquals(Integer.valueOf(2), map.get(PitchClass.G_SHARP));
+		assertEquals(Integer.valueOf(4), map.get(PitchClass.D_DBL_FLAT));
+		List<PitchClass> keys = new ArrayList<>(map.keySet());
+		assertEquals(PitchClass.C, keys.get(0));
+		assertEquals(PitchClass.G_SHARP, keys.get(1));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullKey() {
+		PitchIntMap.spelled().put(null, 1);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.singond.music;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PitchPacking {
+
+	@Test
+	public void roundTrip() {
+		for (Pitch p : samplePitches()) {
+			int packed = Pitch.pack(p);
+			assertEquals("Bad round trip of " + p, p, Pitch.unpack(packed));
+			assertEquals("Bad octave of " + p,
+					p.octave(), Pitch.packedOctave(packed));
+			assertEquals("Bad accidental of " + p,
+					p.pitchClass().accidental().stepsAboveNatural(),
+					Pitch.packedAccidental(packed));
+			assertEquals("Bad base of " + p, p.pitchClass().basePitchClass(),
+					Pitch.packedBasePitchClass(packed));
+			assertEquals("Bad MIDI number of " + p,
+					p.midiNumber(), Pitch.packedMidi(packed));
+		}
+	}
+
+	@Test
+	public void extremeValues() {
+		int packed = Pitch.pack(BasePitchClass.B,
+				Pitch.MIN_PACKED_ACCIDENTAL, Pitch.MIN_PACKED_OCTAVE);
+		assertEquals(BasePitchClass.B, Pitch.packedBasePitchClass(packed));
+		assertEquals(Pitch.MIN_PACKED_ACCIDENTAL, Pitch.packedAccidental(packed));
+		assertEquals(Pitch.MIN_PACKED_OCTAVE, Pitch.packedOctave(packed));
+
+		packed = Pitch.pack(BasePitchClass.C,
+				Pitch.MAX_PACKED_ACCIDENTAL, Pitch.MAX_PACKED_OCTAVE);
+		assertEquals(BasePitchClass.C, Pitch.packedBasePitchClass(packed));
+		assertEquals(Pitch.MAX_PACKED_ACCIDENTAL, Pitch.packedAccidental(packed));
+		assertEquals(Pitch.MAX_PACKED_OCTAVE, Pitch.packedOctave(packed));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void accidentalOutOfRange() {
+		Pitch.pack(BasePitchClass.C, Pitch.MAX_PACKED_ACCIDENTAL + 1, 4);
+	}
+
+	@Test
+	public void transposition() {
+		List<Pitch> pitches = samplePitches();
+		for (Pitch p : pitches) {
+			for (SimpleInterval i : SimpleInterval.values()) {
+				int packed = Pitch.pack(p);
+				assertEquals("Bad transposition of " + p + " up by " + i,
+						p.transposeUp(i), Pitch.unpack(Pitch.packedTranspose(
+								packed, i.degrees(), i.semitones())));
+				assertEquals("Bad transposition of " + p + " down by " + i,
+						p.transposeDown(i), Pitch.unpack(Pitch.packedTranspose(
+								packed, -i.degrees(), -i.semitones())));
+			}
+		}
+	}
+
+	@Test
+	public void comparison() {
+		List<Pitch> pitches = samplePitches();
+		for (Pitch p1 : pitches) {
+			for (Pitch p2 : pitches) {
+				assertEquals("Bad comparison of " + p1 + " and " + p2,
+						Integer.signum(p1.compareTo(p2)),
+						Integer.signum(Pitch.packedCompare(
+								Pitch.pack(p1), Pitch.pack(p2))));
+			}
+		}
+	}
+
+	private static List<Pitch> samplePitches() {
+		List<Pitch> pitches = new ArrayList<>();
+		for (BasePitchClass base : BasePitchClass.values()) {
+			for (int acc = -3; acc <= 3; acc++) {
+				for (int octave = -2; octave <= 11; octave += 3) {
+					pitches.add(Pitch.of(base, Accidental.ofSteps(acc), octave));
+				}
+			}
+		}
+		return pitches;
+	}
+}
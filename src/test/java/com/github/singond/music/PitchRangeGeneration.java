@@ -19,11 +19,14 @@ package com.github.singond.music;
 import static org.junit.Assert.*;
 import static com.github.singond.music.PitchClass.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
@@ -99,6 +102,40 @@ public class PitchRangeGeneration {
 		assertEquals("Wrong reverse scale", exp, gen);
 	}
 
+	@Test
+	public void streams() {
+		Set<PitchClass> pcs = new HashSet<>(Arrays.asList(
+				D, E_SHARP, F_FLAT, G, A_SHARP, B_DBL_FLAT, C));
+		Pitch low = Pitch.of(C_SHARP, 1);
+		Pitch high = Pitch.of(B_FLAT, 7);
+		for (Pitch[] ends : new Pitch[][] {{low, high}, {high, low}}) {
+			List<Pitch> list = Pitches.allBetween(ends[0], ends[1], pcs);
+			assertEquals(list, Pitches.streamBetween(ends[0], ends[1], pcs)
+					.parallel().collect(Collectors.toList()));
+			List<Integer> midi = new ArrayList<>();
+			for (Pitch p : list) {
+				midi.add(p.midiNumber());
+			}
+			assertEquals(midi, Pitches.midiNumbersBetween(ends[0], ends[1], pcs)
+					.boxed().collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void unbounded() {
+		Set<PitchClass> pcs = Keys.E_FLAT_MAJOR.pitchClasses();
+		List<Pitch> up = Pitches.allBetween(Pitch.C4, Pitch.C6, pcs);
+		Iterator<Pitch> it = Keys.E_FLAT_MAJOR.ascendingScale(Pitch.C4);
+		for (Pitch p : up) {
+			assertEquals(p, it.next());
+		}
+		List<Pitch> down = Pitches.allBetween(Pitch.C6, Pitch.C4, pcs);
+		it = Pitches.descendingFrom(Pitch.C6, pcs);
+		for (Pitch p : down) {
+			assertEquals(p, it.next());
+		}
+	}
+
 	private void check(Set<PitchClass> pcs, Pitch start, Pitch end, Pitch... expected) {
 		List<Pitch> generated = Pitches.allBetween(start, end, pcs);
 		List<Pitch> exp = Arrays.asList(expected);
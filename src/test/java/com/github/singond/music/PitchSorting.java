@@ -0,0 +1,125 @@
+package com.github.singond.music;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PitchSorting {
+
+	/** Random pitches with accidentals up to 5 and octaves -20 to 40. */
+	private static Pitch[] randomPitches(int n) {
+		Random random = new Random(7);
+		BasePitchClass[] bases = BasePitchClass.values();
+		Pitch[] pitches = new Pitch[n];
+		for (int i = 0; i < n; i++) {
+			pitches[i] = Pitch.of(bases[random.nextInt(bases.length)],
+					Accidental.ofSteps(random.nextInt(11) - 5),
+					random.nextInt(61) - 20);
+		}
+		return pitches;
+	}
+
+	private static int[] pack(Pitch[] pitches) {
+		int[] packed = new int[pitches.length];
+		for (int i = 0; i < pitches.length; i++) {
+			packed[i] = Pitch.pack(pitches[i]);
+		}
+		return packed;
+	}
+
+	@Test
+	public void sortKeysAgreeWithComparators() {
+		Pitch[] pitches = randomPitches(2000);
+		for (int i = 1; i < pitches.length; i++) {
+			Pitch p1 = pitches[i - 1];
+			Pitch p2 = pitches[i];
+			assertEquals(Integer.signum(p1.compareTo(p2)),
+					Long.signum(Long.compare(p1.sortKey(), p2.sortKey())));
+			assertEquals(Integer.signum(
+					Pitch.enharmonicComparator().compare(p1, p2)),
+					Integer.signum(Integer.compare(
+							p1.enharmonicSortKey(), p2.enharmonicSortKey())));
+			assertEquals(p1.sortKey(), Pitch.packedSortKey(Pitch.pack(p1)));
+		}
+		assertTrue(Pitch.DS4.sortKey() < Pitch.EB4.sortKey());
+		assertEquals(Pitch.DS4.enharmonicSortKey(), Pitch.EB4.enharmonicSortKey());
+	}
+
+	@Test
+	public void sortArray() {
+		Pitch[] pitches = randomPitches(5000);
+		Pitch[] expected = pitches.clone();
+		Arrays.sort(expected, Pitch.strictComparator());
+		Pitches.sort(pitches);
+		assertArrayEquals(expected, pitches);
+	}
+
+	@Test
+	public void sortList() {
+		List<Pitch> pitches = new ArrayList<>(Arrays.asList(randomPitches(500)));
+		List<Pitch> expected = new ArrayList<>(pitches);
+		Collections.sort(expected);
+		Pitches.sort(pitches);
+		assertEquals(expected, pitches);
+	}
+
+	@Test
+	public void sortEnharmonicallyIsStable() {
+		Pitch[] pitches = randomPitches(5000);
+		Pitch[] expected = pitches.clone();
+		Arrays.sort(expected, Pitch.enharmonicComparator());
+		Pitches.sortEnharmonically(pitches);
+		assertArrayEquals(expected, pitches);
+
+		List<Pitch> list = Arrays.asList(Pitch.EB4, Pitch.C4, Pitch.DS4, Pitch.BS3);
+		Pitches.sortEnharmonically(list);
+		assertEquals(Arrays.asList(Pitch.C4, Pitch.BS3, Pitch.EB4, Pitch.DS4), list);
+	}
+
+	@Test
+	public void sortPacked() {
+		Pitch[] pitches = randomPitches(5000);
+		int[] packed = pack(pitches);
+		Arrays.sort(pitches, Pitch.strictComparator());
+		Pitches.sortPacked(packed);
+		assertArrayEquals(pack(pitches), packed);
+
+		pitches = randomPitches(5000);
+		packed = pack(pitches);
+		Arrays.sort(pitches, Pitch.enharmonicComparator());
+		Pitches.sortPackedEnharmonically(packed);
+		assertArrayEquals(pack(pitches), packed);
+	}
+
+	@Test
+	public void parallelSort() {
+		Pitch[] pitches = randomPitches(300_000);
+		int[] packed = pack(pitches);
+		Pitch[] expected = pitches.clone();
+		Arrays.sort(expected, Pitch.strictComparator());
+		Pitches.parallelSort(pitches);
+		assertArrayEquals(expected, pitches);
+		Pitches.parallelSortPacked(packed);
+		assertArrayEquals(pack(expected), packed);
+	}
+
+	@Test
+	public void sortTrivial() {
+		Pitch[] empty = new Pitch[0];
+		Pitches.sort(empty);
+		Pitch[] same = {Pitch.A4, Pitch.A4};
+		Pitches.sort(same);
+		assertArrayEquals(new Pitch[] {Pitch.A4, Pitch.A4}, same);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void sortNull() {
+		Pitches.sort(new Pitch[] {Pitch.A4, null});
+	}
+}
@@ -136,4 +136,24 @@ public class PitchTest {
 		assertEquals("The sounding octave does not match", soundingOct,
 		             pitch.octave() + pitch.pitchClass().relativeOctave());
 	}
+
+	@Test
+	public void canonicalInstances() {
+		assertSame(Pitch.C4, Pitch.of(C, NATURAL, 4));
+		assertSame(Pitch.of(C, NATURAL, -3), Pitch.of(PitchClass.C, -3));
+		assertSame(Pitch.of(E, Accidental.ofSteps(3), 20),
+		           Pitch.of(E, Accidental.ofSteps(3), 20));
+		assertSame(Pitch.of(B, FLAT, -1),
+		           Pitch.C0.transposeDown(SimpleInterval.MAJOR_SECOND));
+	}
+
+	@Test
+	public void cacheStatistics() {
+		Pitch.of(G, SHARP, 5);
+		CacheStatistics before = Pitch.cacheStatistics();
+		Pitch.of(G, SHARP, 5);
+		CacheStatistics after = Pitch.cacheStatistics();
+		assertTrue(after.hitCount() > before.hitCount());
+		assertEquals(before.requestCount() + 1, after.requestCount());
+	}
 }
@@ -16,7 +16,9 @@
 
 package com.github.singond.music;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.text.ParsePosition;
 
 import org.junit.Test;
 
@@ -116,6 +118,52 @@ public class PitchValueOf {
 		assertEquals(Pitch.CX8, Pitch.valueOf("Cx8"));
 	}
 
+	@Test
+	public void convertLongOctave() {
+		assertEquals(Pitch.of(PitchClass.C_SHARP, 10), Pitch.valueOf("C#10"));
+		assertEquals(Pitch.of(PitchClass.B_FLAT, -1), Pitch.valueOf("Bb-1"));
+		assertEquals(Pitch.of(PitchClass.E, -12), Pitch.valueOf("E-12"));
+		assertSame(Pitch.valueOf("Ab3"), Pitch.valueOf("Ab3"));
+	}
+
+	@Test
+	public void convertRange() {
+		assertEquals(Pitch.FS4, Pitch.valueOf("xxF#4yy", 2, 5));
+	}
+
+	@Test
+	public void parsePosition() {
+		String s = "G3Ebb5 Hb2";
+		ParsePosition pos = new ParsePosition(0);
+		assertEquals(Pitch.G3, Pitch.parse(s, pos));
+		assertEquals(2, pos.getIndex());
+		assertEquals(Pitch.EBB5, Pitch.parse(s, pos));
+		assertEquals(6, pos.getIndex());
+		pos.setIndex(7);
+		assertNull(Pitch.parse(s, pos));
+		assertEquals(7, pos.getIndex());
+		assertEquals(7, pos.getErrorIndex());
+	}
+
+	@Test
+	public void parseSequence() {
+		String s = " C4, Eb4  G4,Bb-1\n";
+		Pitch[] expected = {Pitch.C4, Pitch.EB4, Pitch.G4,
+				Pitch.of(PitchClass.B_FLAT, -1)};
+		assertArrayEquals(expected, Pitches.parseAll(s));
+		int[] packed = Pitches.parsePacked(s);
+		assertEquals(expected.length, packed.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(Pitch.pack(expected[i]), packed[i]);
+		}
+		assertEquals(0, Pitches.parseAll(" , ").length);
+	}
+
+	@Test(expected = FormatException.class)
+	public void inconvertibleSequence() {
+		Pitches.parseAll("C4 D4E");
+	}
+
 	@Test(expected = FormatException.class)
 	public void inconvertibleEmpty() {
 		Pitch.valueOf("");
@@ -125,4 +173,9 @@ public class PitchValueOf {
 	public void inconvertibleFormat() {
 		Pitch.valueOf("C");
 	}
+
+	@Test(expected = FormatException.class)
+	public void inconvertibleNegative() {
+		Pitch.valueOf("C-");
+	}
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Jan Slany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.singond.music.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.text.ParsePosition;
+
+import org.junit.Test;
+
+import com.github.singond.music.Chords;
+import com.github.singond.music.InvertibleChord;
+import com.github.singond.music.PitchClass;
+
+public class ChordSymbolFormatting {
+
+	private ChordSymbolFormat format = ChordSymbolFormat.ENGLISH_ASCII;
+
+	@Test
+	public void format() {
+		assertEquals("C", format.format(
+				Chords.chordAtRoot(PitchClass.C, Chords.MAJOR_TRIAD)));
+		assertEquals("F#m7", format.format(
+				Chords.chordAtRoot(PitchClass.F_SHARP, Chords.MINOR_7)));
+		assertEquals("Bb7/5-", format.format(
+				Chords.chordAtRoot(PitchClass.B_FLAT, Chords.HALF_DIMINISHED_7)));
+		assertEquals("C/E", format.format(
+				Chords.chordAtRoot(PitchClass.C, Chords.MAJOR_TRIAD_6)));
+		assertEquals("Ebm maj7/D", format.format(Chords.chordAtRoot(
+				PitchClass.E_FLAT, Chords.MINOR_MAJOR_7).invert(3)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void formatWithoutSymbol() {
+		format.format(Chords.chordAtRoot(PitchClass.C, Chords.DIMINISHED_7));
+	}
+
+	@Test
+	public void parse() {
+		testParse("C", Chords.chordAtRoot(PitchClass.C, Chords.MAJOR_TRIAD));
+		testParse("Cm", Chords.chordAtRoot(PitchClass.C, Chords.MINOR_TRIAD));
+		testParse("F#m7",
+				Chords.chordAtRoot(PitchClass.F_SHARP, Chords.MINOR_7));
+		testParse("Bb7/5-",
+				Chords.chordAtRoot(PitchClass.B_FLAT, Chords.HALF_DIMINISHED_7));
+		testParse("Am maj7",
+				Chords.chordAtRoot(PitchClass.A, Chords.MINOR_MAJOR_7));
+		testParse("C/E", Chords.chordAtRoot(PitchClass.C, Chords.MAJOR_TRIAD_6));
+		testParse("G7/F",
+				Chords.chordAtRoot(PitchClass.G, Chords.DOMINANT_7).invert(3));
+		testParse("Bb7/5-/Ab", Chords.chordAtRoot(
+				PitchClass.B_FLAT, Chords.HALF_DIMINISHED_7).invert(3));
+	}
+
+	@Test
+	public void roundTrip() {
+		for (PitchClass root : new PitchClass[] {PitchClass.C,
+				PitchClass.F_SHARP, PitchClass.B_FLAT, PitchClass.E_DBL_FLAT}) {
+			for (int t = 0; t < Chords.symbolTypes().size(); t++) {
+				InvertibleChord chord = Chords.chordAtRoot(
+						root, Chords.symbolTypes().get(t));
+				for (int i = 0; i < chord.size(); i++) {
+					InvertibleChord inv = chord.invert(i);
+					testParse(format.format(inv), inv);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parseRegion() {
+		String s = "| Dm7 G7 | Cmaj7 |";
+		ParsePosition pos = new ParsePosition(2);
+		assertSame(Chords.chordAtRoot(PitchClass.D, Chords.MINOR_7),
+				format.parse(s, pos));
+		assertEquals(5, pos.getIndex());
+		pos.setIndex(6);
+		assertSame(Chords.chordAtRoot(PitchClass.G, Chords.DOMINANT_7),
+				format.parse(s, pos));
+		assertEquals(8, pos.getIndex());
+		pos.setIndex(11);
+		assertSame(Chords.chordAtRoot(PitchClass.C, Chords.MAJOR_7),
+				format.parse(s, pos));
+		assertEquals(16, pos.getIndex());
+	}
+
+	@Test
+	public void parseInvalid() {
+		testInvalid("H7", 0);
+		testInvalid("C/F", 2);
+		testInvalid("C7/", 3);
+	}
+
+	private void testParse(String s, InvertibleChord expected) {
+		ParsePosition pos = new ParsePosition(0);
+		InvertibleChord chord = format.parse(s, pos);
+		assertEquals(s, expected, chord);
+		assertEquals(s, s.length(), pos.getIndex());
+	}
+
+	private void testInvalid(String s, int errorIndex) {
+		ParsePosition pos = new ParsePosition(0);
+		assertNull(s, format.parse(s, pos));
+		assertEquals(s, 0, pos.getIndex());
+		assertEquals(s, errorIndex, pos.getErrorIndex());
+	}
+}
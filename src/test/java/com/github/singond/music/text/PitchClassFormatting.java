@@ -17,6 +17,9 @@
 package com.github.singond.music.text;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.text.ParsePosition;
 
 import org.junit.Test;
 
@@ -439,6 +442,35 @@ public class PitchClassFormatting {
 		System.out.println();
 	}
 
+	@Test
+	public void parseRoundTrip() {
+		PitchClassFormat[] formats = {engAscii, engUnicode, gerAscii,
+				gerUnicode, siAscii, siUnicode, tiAscii, tiUnicode};
+		for (PitchClassFormat fmt : formats) {
+			for (BasePitchClass base : BasePitchClass.values()) {
+				for (int acc = -4; acc <= 4; acc++) {
+					PitchClass pc = PitchClass.of(base, Accidental.ofSteps(acc));
+					String text = fmt.format(pc) + "!";
+					ParsePosition pos = new ParsePosition(0);
+					assertEquals("Bad parsing of " + text,
+							pc, fmt.parse(text, pos));
+					assertEquals(text.length() - 1, pos.getIndex());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parseInvalid() {
+		ParsePosition pos = new ParsePosition(1);
+		assertNull(siAscii.parse("xSp", pos));
+		assertEquals(1, pos.getIndex());
+		assertEquals(1, pos.getErrorIndex());
+		assertEquals(PitchClass.B_FLAT,
+				gerAscii.parse("Bb", new ParsePosition(0)));
+		assertEquals(PitchClass.B, gerAscii.parse("H", new ParsePosition(0)));
+	}
+
 	private void testFormat(PitchClassFormat fmt, PitchClass pc, String exp) {
 		CharSequence formatted = fmt.format(pc);
 		System.out.format("%-5s: %s\n", pc, formatted);
@@ -17,9 +17,19 @@
 package com.github.singond.music.text;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.ParsePosition;
+import java.util.Map;
 
 import org.junit.Test;
 
+import com.github.singond.music.Accidental;
+import com.github.singond.music.BasePitchClass;
+import com.github.singond.music.Chords;
 import com.github.singond.music.Pitch;
 import com.github.singond.music.PitchClass;
 
@@ -74,6 +84,111 @@ public class PitchFormatting {
 		System.out.println();
 	}
 
+	@Test
+	public void formatToAppendable() throws IOException {
+		StringWriter out = new StringWriter();
+		PitchFormats.SCIENTIFIC.formatTo(Pitch.of(PitchClass.B_FLAT, -1), out);
+		PitchFormats.HELMHOLTZ_H_ASCII.formatTo(Pitch.of(PitchClass.B_FLAT, 5), out);
+		PitchFormats.HELMHOLTZ_B_UNICODE.formatTo(Pitch.of(PitchClass.C, 1), out);
+		assertEquals("B\u266D-1bb''\u0375C", out.toString());
+	}
+
+	@Test
+	public void formatGroup() {
+		StringBuilder sb = new StringBuilder("Chord: ");
+		PitchFormats.HELMHOLTZ_B_ASCII.formatTo(
+				Chords.chordAtBass(Pitch.C4, Chords.MAJOR_TRIAD), " ", sb);
+		assertEquals("Chord: c' e' g'", sb.toString());
+	}
+
+	@Test
+	public void compiled() {
+		PitchFormat plain = new AsciiPrimeHelmholtzPitchFormat(
+				PitchClassFormats.GERMAN_ASCII, true);
+		CompiledPitchFormat compiled = CompiledPitchFormat.of(plain);
+		assertSame(compiled, CompiledPitchFormat.of(compiled));
+		assertEquals(9 * 5 * 7, compiled.table().size());
+		for (Map.Entry<Pitch, String> e : compiled.table().entrySet()) {
+			assertEquals(plain.format(e.getKey()).toString(), e.getValue());
+			assertSame(e.getValue(), compiled.format(e.getKey()));
+		}
+		// The shared formats are compiled already
+		CompiledPitchFormat helmholtz
+				= CompiledPitchFormat.of(PitchFormats.HELMHOLTZ_B_ASCII);
+		assertSame(PitchFormats.HELMHOLTZ_B_ASCII, helmholtz);
+		assertEquals("c#'", helmholtz.table().get(Pitch.CS4));
+		CompiledPitchClassFormat english
+				= CompiledPitchClassFormat.of(PitchClassFormats.ENGLISH_ASCII);
+		assertSame(PitchClassFormats.ENGLISH_ASCII, english);
+		assertEquals("Eb", english.table().get(PitchClass.E_FLAT));
+		// Pitches outside of the table
+		testFormat(compiled, Pitch.of(PitchClass.C, 10), "c'''''''");
+		testFormat(compiled, Pitch.of(PitchClass.C, -1), ",,,C");
+		testFormat(compiled, Pitch.of(PitchClass.of(BasePitchClass.E,
+				Accidental.ofSteps(-3)), 4), "ebbb'");
+	}
+
+	@Test
+	public void parseRoundTrip() {
+		PitchFormat[] formats = {PitchFormats.SCIENTIFIC,
+				PitchFormats.HELMHOLTZ_B_ASCII, PitchFormats.HELMHOLTZ_B_UNICODE,
+				PitchFormats.HELMHOLTZ_H_ASCII, PitchFormats.HELMHOLTZ_H_UNICODE,
+				new AsciiPrimeHelmholtzPitchFormat(
+						PitchClassFormats.ITALIAN_SI_ASCII, false),
+				new NumberingPitchFormat(
+						PitchClassFormats.ITALIAN_TI_UNICODE, "/", 1)};
+		for (PitchFormat fmt : formats) {
+			for (BasePitchClass base : BasePitchClass.values()) {
+				for (int acc = -3; acc <= 3; acc++) {
+					for (int octave = -2; octave <= 11; octave++) {
+						Pitch p = Pitch.of(base, Accidental.ofSteps(acc), octave);
+						String text = fmt.format(p) + " ";
+						ParsePosition pos = new ParsePosition(0);
+						assertEquals("Bad parsing of " + text,
+								p, fmt.parse(text, pos));
+						assertEquals(text.length() - 1, pos.getIndex());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parseInvalid() {
+		ParsePosition pos = new ParsePosition(0);
+		assertNull(PitchFormats.HELMHOLTZ_B_ASCII.parse(",c", pos));
+		assertEquals(0, pos.getIndex());
+		assertEquals(1, pos.getErrorIndex());
+		pos = new ParsePosition(0);
+		assertNull(PitchFormats.SCIENTIFIC.parse("C-", pos));
+		assertEquals(2, pos.getErrorIndex());
+	}
+
+	@Test
+	public void parseOctaveRange() {
+		ParsePosition pos = new ParsePosition(0);
+		Pitch lowest = PitchFormats.SCIENTIFIC.parse("C-2147483648", pos);
+		assertEquals(Integer.MIN_VALUE, lowest.octave());
+		assertEquals(12, pos.getIndex());
+		pos = new ParsePosition(0);
+		assertNull(PitchFormats.SCIENTIFIC.parse("C2147483648", pos));
+		assertEquals(0, pos.getIndex());
+		assertEquals(1, pos.getErrorIndex());
+		pos = new ParsePosition(0);
+		assertNull(PitchFormats.SCIENTIFIC.parse("C99999999999999999999", pos));
+		assertEquals(1, pos.getErrorIndex());
+
+		// The offset is subtracted without overflow
+		PitchFormat shifted = new NumberingPitchFormat(
+				PitchClassFormats.ENGLISH_ASCII, "/", 1);
+		pos = new ParsePosition(0);
+		assertNull(shifted.parse("C/-2147483648", pos));
+		assertEquals(3, pos.getErrorIndex());
+		pos = new ParsePosition(0);
+		assertEquals(Integer.MAX_VALUE,
+				shifted.parse("C/2147483648", pos).octave());
+	}
+
 	private void testFormat(PitchFormat fmt, Pitch pc, String exp) {
 		CharSequence formatted = fmt.format(pc);
 		System.out.format("%-5s: %s\n", pc, formatted);